@@ -50,11 +50,13 @@ import com.hazelcast.jet.sql.impl.connector.map.IMapSqlConnector;
 import com.hazelcast.jet.sql.impl.opt.ExpressionValues;
 import com.hazelcast.jet.sql.impl.opt.WatermarkKeysAssigner;
 import com.hazelcast.jet.sql.impl.opt.WatermarkThrottlingFrameSizeCalculator;
+import com.hazelcast.jet.sql.impl.processors.CalcBatchP;
 import com.hazelcast.jet.sql.impl.processors.LateItemsDropP;
 import com.hazelcast.jet.sql.impl.processors.SqlHashJoinP;
 import com.hazelcast.jet.sql.impl.processors.StreamToStreamJoinP.StreamToStreamJoinProcessorSupplier;
 import com.hazelcast.jet.sql.impl.schema.HazelcastTable;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.QueryParameterMetadata;
 import com.hazelcast.sql.impl.expression.ConstantExpression;
@@ -283,7 +285,13 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
 
         Vertex vertex;
         boolean projectionsCooperative = projection.stream().allMatch(Expression::isCooperative);
-        if (program.getCondition() != null) {
+        if (nodeEngine.getProperties().getBoolean(ClusterProperty.SQL_BATCH_EXECUTION_ENABLED)) {
+            Expression<Boolean> filterExpr = program.getCondition() != null
+                    ? dagBuildContext.convertFilter(wrap(rel.filter()))
+                    : null;
+            SupplierEx<Processor> calcBatchPSupplier = () -> new CalcBatchP(filterExpr, projection);
+            vertex = dag.newUniqueVertex(filterExpr != null ? "Calc" : "Project", calcBatchPSupplier);
+        } else if (program.getCondition() != null) {
             Expression<Boolean> filterExpr = dagBuildContext.convertFilter(wrap(rel.filter()));
             assert filterExpr != null;
             vertex = dag.newUniqueVertex("Calc", mapUsingServiceP(
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.Inbox;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ColumnVector;
+import com.hazelcast.sql.impl.expression.ColumnVectorPool;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Processor which evaluates the filter and the projection of a calc
+ * relation for batches of rows, using {@link Expression#evalBatch}. The
+ * expressions of a primitive type are evaluated to a {@link ColumnVector},
+ * so their intermediate results aren't boxed. The other expressions are
+ * evaluated for each row. The vectors are reused across the batches.
+ * <p>
+ * The rows of a batch are removed from the inbox only after all the results
+ * are emitted, so that a watermark or the completion isn't processed
+ * before them.
+ * SQL engine-specific private API.
+ *
+ * @since 5.5
+ */
+public class CalcBatchP extends AbstractProcessor {
+
+    static final int BATCH_SIZE = 1024;
+
+    private static final int[] ALL_POSITIONS = new int[BATCH_SIZE];
+
+    static {
+        Arrays.setAll(ALL_POSITIONS, i -> i);
+    }
+
+    private final Expression<Boolean> filter;
+    private final List<Expression<?>> projection;
+
+    private final Row[] rows = new Row[BATCH_SIZE];
+    private final int[] selection = new int[BATCH_SIZE];
+    private final JetSqlRow[] results = new JetSqlRow[BATCH_SIZE];
+    private int batchSize;
+    private int resultCount;
+    private int emittedCount;
+
+    // reused across the batches, as are the vectors acquired from the pool by the expressions
+    private final ColumnVectorPool vectorPool = new ColumnVectorPool(BATCH_SIZE);
+    private final ColumnVector filterResult;
+    private final ColumnVector[] projectionResults;
+
+    private ExpressionEvalContext evalContext;
+    private InternalSerializationService serializationService;
+
+    public CalcBatchP(@Nullable Expression<Boolean> filter, @Nonnull List<Expression<?>> projection) {
+        this.filter = filter;
+        this.projection = projection;
+        this.filterResult = filter != null ? vectorPool.acquire(QueryDataType.BOOLEAN) : null;
+        this.projectionResults = new ColumnVector[projection.size()];
+        for (int i = 0; i < projection.size(); i++) {
+            Expression<?> expression = projection.get(i);
+            // a column is copied as it is, the other types can't be evaluated to a vector
+            if (ColumnVector.supports(expression.getType()) && !(expression instanceof ColumnExpression)) {
+                projectionResults[i] = vectorPool.acquire(expression.getType());
+            }
+        }
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) throws Exception {
+        evalContext = ExpressionEvalContext.from(context);
+        serializationService = evalContext.getSerializationService();
+        super.init(context);
+    }
+
+    @Override
+    public void process(int ordinal, @Nonnull Inbox inbox) {
+        if (batchSize == 0) {
+            for (Object item : inbox) {
+                rows[batchSize++] = ((JetSqlRow) item).getRow();
+                if (batchSize == BATCH_SIZE) {
+                    break;
+                }
+            }
+            resultCount = evaluate();
+            emittedCount = 0;
+        }
+
+        for (; emittedCount < resultCount; emittedCount++) {
+            if (!tryEmit(results[emittedCount])) {
+                return;
+            }
+        }
+
+        for (int i = 0; i < batchSize; i++) {
+            inbox.remove();
+        }
+        Arrays.fill(rows, 0, batchSize, null);
+        Arrays.fill(results, 0, resultCount, null);
+        batchSize = 0;
+    }
+
+    /**
+     * Evaluates the current batch and stores the result rows to {@link
+     * #results}.
+     *
+     * @return the number of the result rows
+     */
+    private int evaluate() {
+        int selectionSize;
+        if (filter == null) {
+            System.arraycopy(ALL_POSITIONS, 0, selection, 0, batchSize);
+            selectionSize = batchSize;
+        } else {
+            filter.evalBatch(rows, ALL_POSITIONS, batchSize, evalContext, filterResult);
+            selectionSize = filterResult.selectTrue(ALL_POSITIONS, batchSize, selection, null);
+        }
+
+        int fieldCount = projection.size();
+        for (int j = 0; j < selectionSize; j++) {
+            results[j] = new JetSqlRow(serializationService, new Object[fieldCount]);
+        }
+        for (int i = 0; i < fieldCount; i++) {
+            Expression<?> expression = projection.get(i);
+            ColumnVector vector = projectionResults[i];
+            if (vector != null) {
+                expression.evalBatch(rows, selection, selectionSize, evalContext, vector);
+                for (int j = 0; j < selectionSize; j++) {
+                    results[j].getValues()[i] = vector.get(selection[j]);
+                }
+            } else {
+                for (int j = 0; j < selectionSize; j++) {
+                    results[j].getValues()[i] = expression.evalTop(rows[selection[j]], evalContext);
+                }
+            }
+        }
+        return selectionSize;
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return (filter == null || filter.isCooperative()) && projection.stream().allMatch(Expression::isCooperative);
+    }
+
+    @Override
+    public boolean closeIsCooperative() {
+        return true;
+    }
+}
@@ -18,6 +18,7 @@ package com.hazelcast.sql.impl.expression;
 
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.sql.impl.row.Row;
 
 import java.io.IOException;
 import java.util.Objects;
@@ -39,6 +40,47 @@ public abstract class BiExpression<T> implements Expression<T> {
         this.operand2 = operand2;
     }
 
+    /**
+     * Returns {@code true} if the values of both operands can be stored in
+     * a {@link ColumnVector}.
+     */
+    protected boolean operandsSupportBatch() {
+        return ColumnVector.supports(operand1.getType()) && ColumnVector.supports(operand2.getType());
+    }
+
+    /**
+     * Evaluates the operands for the selected rows of a batch. Like the
+     * {@code eval} methods of the null-propagating expressions, the second
+     * operand is only evaluated for the rows for which the first one isn't
+     * null. Sets the result to null for the rows for which either operand is
+     * null.
+     *
+     * @param notNull the array to store the positions of the rows for which
+     *                both operands aren't null
+     * @return the number of the positions stored in {@code notNull}
+     */
+    protected int evalOperandsBatch(
+            Row[] rows,
+            int[] selection,
+            int selectionSize,
+            ExpressionEvalContext context,
+            ColumnVector left,
+            ColumnVector right,
+            ColumnVector result,
+            int[] notNull
+    ) {
+        operand1.evalBatch(rows, selection, selectionSize, context, left);
+        int leftNotNullSize = left.selectNotNull(selection, selectionSize, notNull);
+        operand2.evalBatch(rows, notNull, leftNotNullSize, context, right);
+        for (int i = 0; i < selectionSize; i++) {
+            int position = selection[i];
+            if (left.isNull(position) || right.isNull(position)) {
+                result.setNull(position);
+            }
+        }
+        return right.selectNotNull(notNull, leftNotNullSize, notNull);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeObject(operand1);
@@ -129,6 +129,49 @@ public class CaseExpression<T> implements Expression<T> {
         return (T) elseExpression.eval(row, context);
     }
 
+    @Override
+    public void evalBatch(Row[] rows, int[] selection, int selectionSize, ExpressionEvalContext context,
+                          ColumnVector result) {
+        if (!branchesSupportBatch()) {
+            ColumnVector.evalByRow(this, rows, selection, selectionSize, context, result);
+            return;
+        }
+
+        // the rows for which no condition held so far
+        ColumnVectorPool pool = result.getPool();
+        int[] remaining = pool.acquirePositions();
+        System.arraycopy(selection, 0, remaining, 0, selectionSize);
+        int remainingSize = selectionSize;
+        int[] matching = pool.acquirePositions();
+        ColumnVector conditionHolds = pool.acquire(QueryDataType.BOOLEAN);
+        for (int i = 0; i < whenExpressions.length && remainingSize > 0; i++) {
+            whenExpressions[i].evalBatch(rows, remaining, remainingSize, context, conditionHolds);
+            int matchingSize = conditionHolds.selectTrue(remaining, remainingSize, matching, remaining);
+            remainingSize -= matchingSize;
+            thenExpressions[i].evalBatch(rows, matching, matchingSize, context, result);
+        }
+        elseExpression.evalBatch(rows, remaining, remainingSize, context, result);
+        pool.release(conditionHolds);
+        pool.releasePositions(matching);
+        pool.releasePositions(remaining);
+    }
+
+    /**
+     * Returns {@code true} if all the branches can be evaluated to vectors
+     * of the result type. The results of a branch of a different type must
+     * be returned as they are, so they aren't converted to the result type.
+     */
+    private boolean branchesSupportBatch() {
+        QueryDataType type = getType();
+        for (int i = 0; i < whenExpressions.length; i++) {
+            if (!ColumnVector.supports(whenExpressions[i].getType())
+                    || thenExpressions[i].getType().getTypeFamily() != type.getTypeFamily()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public QueryDataType getType() {
         return elseExpression.getType();
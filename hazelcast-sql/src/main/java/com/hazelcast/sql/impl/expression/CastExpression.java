@@ -19,6 +19,7 @@ package com.hazelcast.sql.impl.expression;
 import com.hazelcast.jet.sql.impl.JetSqlSerializerHook;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
 import com.hazelcast.sql.impl.type.converter.Converter;
 
 /**
@@ -57,4 +58,49 @@ public final class CastExpression<T> extends UniExpressionWithType<T> {
         return (T) toConverter.convertToSelf(fromConverter, value);
     }
 
+    @Override
+    public void evalBatch(Row[] rows, int[] selection, int selectionSize, ExpressionEvalContext context,
+                          ColumnVector result) {
+        QueryDataTypeFamily from = operand.getType().getTypeFamily();
+        QueryDataTypeFamily to = resultType.getTypeFamily();
+        if (!isWidening(from, to)) {
+            // the other conversions can fail or round, leave them to the converters
+            ColumnVector.evalByRow(this, rows, selection, selectionSize, context, result);
+            return;
+        }
+
+        ColumnVectorPool pool = result.getPool();
+        ColumnVector values = pool.acquire(operand.getType());
+        operand.evalBatch(rows, selection, selectionSize, context, values);
+        for (int i = 0; i < selectionSize; i++) {
+            int position = selection[i];
+            if (values.isNull(position)) {
+                result.setNull(position);
+            } else if (to == QueryDataTypeFamily.BOOLEAN) {
+                result.setBoolean(position, values.getBoolean(position));
+            } else if (to.isNumericInteger()) {
+                result.setLong(position, values.getLong(position));
+            } else if (to == QueryDataTypeFamily.REAL) {
+                result.setDouble(position, values.getFloat(position));
+            } else {
+                result.setDouble(position, values.getDouble(position));
+            }
+        }
+        pool.release(values);
+    }
+
+    /**
+     * Returns {@code true} if the conversion between the families is a
+     * widening primitive conversion, or no conversion.
+     */
+    private static boolean isWidening(QueryDataTypeFamily from, QueryDataTypeFamily to) {
+        if (from == to) {
+            return from == QueryDataTypeFamily.BOOLEAN || from.isNumericInteger() || from.isNumericApproximate();
+        }
+        if (from.isNumericInteger()) {
+            return to.isNumericInteger() ? to.getPrecedence() > from.getPrecedence() : to.isNumericApproximate();
+        }
+        return from == QueryDataTypeFamily.REAL && to == QueryDataTypeFamily.DOUBLE;
+    }
+
 }
@@ -92,6 +92,45 @@ public final class ColumnExpression<T> implements Expression<T> {
         return (T) res;
     }
 
+    @Override
+    public void evalBatch(Row[] rows, int[] selection, int selectionSize, ExpressionEvalContext context,
+                          ColumnVector result) {
+        QueryDataTypeFamily family = type.getTypeFamily();
+        if (family == QueryDataTypeFamily.BOOLEAN) {
+            for (int i = 0; i < selectionSize; i++) {
+                int position = selection[i];
+                Boolean value = rows[position].get(index);
+                if (value == null) {
+                    result.setNull(position);
+                } else {
+                    result.setBoolean(position, value);
+                }
+            }
+        } else if (family.isNumericInteger()) {
+            for (int i = 0; i < selectionSize; i++) {
+                int position = selection[i];
+                Number value = rows[position].get(index);
+                if (value == null) {
+                    result.setNull(position);
+                } else {
+                    result.setLong(position, value.longValue());
+                }
+            }
+        } else if (family.isNumericApproximate()) {
+            for (int i = 0; i < selectionSize; i++) {
+                int position = selection[i];
+                Number value = rows[position].get(index);
+                if (value == null) {
+                    result.setNull(position);
+                } else {
+                    result.setDouble(position, value.doubleValue());
+                }
+            }
+        } else {
+            ColumnVector.evalByRow(this, rows, selection, selectionSize, context, result);
+        }
+    }
+
     @Override
     public QueryDataType getType() {
         return type;
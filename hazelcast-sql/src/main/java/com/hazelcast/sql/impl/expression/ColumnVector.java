@@ -0,0 +1,243 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression;
+
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+/**
+ * The values of an expression for a batch of rows, stored in a primitive
+ * array. The integer types are stored as {@code long}s, {@code REAL} and
+ * {@code DOUBLE} as {@code double}s and {@code BOOLEAN} as {@code boolean}s.
+ * Other types aren't supported, see {@link #supports(QueryDataType)}.
+ * <p>
+ * The vector is indexed by the position of the row in the batch. Only the
+ * positions in the selection passed to {@link Expression#evalBatch} are
+ * set, the others are undefined.
+ */
+public final class ColumnVector {
+
+    private QueryDataTypeFamily family;
+    private final boolean[] nulls;
+    private long[] longs;
+    private double[] doubles;
+    private boolean[] booleans;
+    private ColumnVectorPool pool;
+
+    public ColumnVector(QueryDataType type, int capacity) {
+        this(type.getTypeFamily(), capacity, null);
+    }
+
+    ColumnVector(QueryDataTypeFamily family, int capacity, ColumnVectorPool pool) {
+        assert supports(family) : family;
+        this.family = family;
+        this.nulls = new boolean[capacity];
+        this.pool = pool;
+        if (family == QueryDataTypeFamily.BOOLEAN) {
+            booleans = new boolean[capacity];
+        } else if (family.isNumericInteger()) {
+            longs = new long[capacity];
+        } else {
+            doubles = new double[capacity];
+        }
+    }
+
+    /**
+     * Returns {@code true} if the values of the given type can be stored in a
+     * vector.
+     */
+    public static boolean supports(QueryDataType type) {
+        return supports(type.getTypeFamily());
+    }
+
+    private static boolean supports(QueryDataTypeFamily family) {
+        return family == QueryDataTypeFamily.BOOLEAN || family.isNumericInteger() || family.isNumericApproximate();
+    }
+
+    /**
+     * Returns the pool to acquire the vectors for the intermediate results
+     * from, when evaluating an expression to this vector.
+     */
+    public ColumnVectorPool getPool() {
+        if (pool == null) {
+            pool = new ColumnVectorPool(nulls.length);
+        }
+        return pool;
+    }
+
+    QueryDataTypeFamily getFamily() {
+        return family;
+    }
+
+    /**
+     * Changes the type of the values of a recycled vector, the new type must
+     * be stored in the same array.
+     */
+    void setFamily(QueryDataTypeFamily family) {
+        this.family = family;
+    }
+
+    public boolean isNull(int position) {
+        return nulls[position];
+    }
+
+    public void setNull(int position) {
+        nulls[position] = true;
+    }
+
+    /**
+     * Returns the value of an integer type.
+     */
+    public long getLong(int position) {
+        return longs[position];
+    }
+
+    /**
+     * Returns the value of a numeric type as a {@code double}.
+     */
+    public double getDouble(int position) {
+        return doubles != null ? doubles[position] : longs[position];
+    }
+
+    /**
+     * Returns the value of a numeric type as a {@code float}.
+     */
+    public float getFloat(int position) {
+        // convert the integers directly, converting them to double first could round differently
+        return doubles != null ? (float) doubles[position] : (float) longs[position];
+    }
+
+    public boolean getBoolean(int position) {
+        return booleans[position];
+    }
+
+    public void setLong(int position, long value) {
+        nulls[position] = false;
+        longs[position] = value;
+    }
+
+    public void setDouble(int position, double value) {
+        nulls[position] = false;
+        doubles[position] = value;
+    }
+
+    public void setBoolean(int position, boolean value) {
+        nulls[position] = false;
+        booleans[position] = value;
+    }
+
+    /**
+     * Sets the value from its boxed form, as returned by {@link
+     * Expression#eval}.
+     */
+    public void set(int position, Object value) {
+        if (value == null) {
+            nulls[position] = true;
+        } else if (booleans != null) {
+            setBoolean(position, (Boolean) value);
+        } else if (longs != null) {
+            setLong(position, ((Number) value).longValue());
+        } else {
+            setDouble(position, ((Number) value).doubleValue());
+        }
+    }
+
+    /**
+     * Returns the value in its boxed form, the same as {@link
+     * Expression#eval} would return.
+     */
+    public Object get(int position) {
+        if (nulls[position]) {
+            return null;
+        }
+        switch (family) {
+            case BOOLEAN:
+                return booleans[position];
+            case TINYINT:
+                return (byte) longs[position];
+            case SMALLINT:
+                return (short) longs[position];
+            case INTEGER:
+                return (int) longs[position];
+            case BIGINT:
+                return longs[position];
+            case REAL:
+                return (float) doubles[position];
+            case DOUBLE:
+                return doubles[position];
+            default:
+                throw new IllegalStateException("Unexpected type family: " + family);
+        }
+    }
+
+    /**
+     * Copies the positions of the selection whose value is not null to {@code
+     * target}.
+     *
+     * @return the number of the copied positions
+     */
+    public int selectNotNull(int[] selection, int selectionSize, int[] target) {
+        int targetSize = 0;
+        for (int i = 0; i < selectionSize; i++) {
+            int position = selection[i];
+            if (!nulls[position]) {
+                target[targetSize++] = position;
+            }
+        }
+        return targetSize;
+    }
+
+    /**
+     * Copies the positions of the selection whose value is {@code true} to
+     * {@code target}, and the others to {@code rest}, if not null.
+     *
+     * @return the number of the positions copied to {@code target}
+     */
+    public int selectTrue(int[] selection, int selectionSize, int[] target, int[] rest) {
+        int targetSize = 0;
+        int restSize = 0;
+        for (int i = 0; i < selectionSize; i++) {
+            int position = selection[i];
+            if (!nulls[position] && booleans[position]) {
+                target[targetSize++] = position;
+            } else if (rest != null) {
+                rest[restSize++] = position;
+            }
+        }
+        return targetSize;
+    }
+
+    /**
+     * Evaluates the expression for each selected row separately and stores
+     * the results in the vector. It's the fallback for the expressions and
+     * the types that don't have a batch implementation.
+     */
+    public static void evalByRow(
+            Expression<?> expression,
+            Row[] rows,
+            int[] selection,
+            int selectionSize,
+            ExpressionEvalContext context,
+            ColumnVector result
+    ) {
+        for (int i = 0; i < selectionSize; i++) {
+            int position = selection[i];
+            result.set(position, expression.eval(rows[position], context));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression;
+
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+import java.util.ArrayDeque;
+
+/**
+ * Recycles the {@link ColumnVector}s and the position arrays holding the
+ * intermediate results of {@link Expression#evalBatch}, so that evaluating
+ * a batch doesn't allocate once the pool is warmed up. The expressions
+ * acquire them from the pool of the result vector and release them before
+ * returning.
+ * <p>
+ * Not thread-safe, a pool is used by a single processor.
+ */
+public final class ColumnVectorPool {
+
+    private final int capacity;
+    private final ArrayDeque<ColumnVector> longVectors = new ArrayDeque<>();
+    private final ArrayDeque<ColumnVector> doubleVectors = new ArrayDeque<>();
+    private final ArrayDeque<ColumnVector> booleanVectors = new ArrayDeque<>();
+    private final ArrayDeque<int[]> positionArrays = new ArrayDeque<>();
+
+    /**
+     * @param capacity the capacity of the vectors and the position arrays,
+     *                 the size of the evaluated batches
+     */
+    public ColumnVectorPool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns a vector for the values of the given type. The values of the
+     * vector are undefined.
+     */
+    public ColumnVector acquire(QueryDataType type) {
+        ColumnVector vector = freeVectors(type.getTypeFamily()).poll();
+        if (vector == null) {
+            return new ColumnVector(type.getTypeFamily(), capacity, this);
+        }
+        vector.setFamily(type.getTypeFamily());
+        return vector;
+    }
+
+    /**
+     * Gives a vector returned by {@link #acquire} back to the pool.
+     */
+    public void release(ColumnVector vector) {
+        freeVectors(vector.getFamily()).push(vector);
+    }
+
+    /**
+     * Returns an array for the positions of a selection. The content of the
+     * array is undefined.
+     */
+    public int[] acquirePositions() {
+        int[] positions = positionArrays.poll();
+        return positions != null ? positions : new int[capacity];
+    }
+
+    /**
+     * Gives an array returned by {@link #acquirePositions} back to the pool.
+     */
+    public void releasePositions(int[] positions) {
+        positionArrays.push(positions);
+    }
+
+    private ArrayDeque<ColumnVector> freeVectors(QueryDataTypeFamily family) {
+        if (family == QueryDataTypeFamily.BOOLEAN) {
+            return booleanVectors;
+        } else if (family.isNumericInteger()) {
+            return longVectors;
+        } else {
+            return doubleVectors;
+        }
+    }
+}
@@ -77,6 +77,14 @@ public final class ConstantExpression<T> implements Expression<T> {
         return value;
     }
 
+    @Override
+    public void evalBatch(Row[] rows, int[] selection, int selectionSize, ExpressionEvalContext context,
+                          ColumnVector result) {
+        for (int i = 0; i < selectionSize; i++) {
+            result.set(selection[i], value);
+        }
+    }
+
     @Override
     public QueryDataType getType() {
         return type;
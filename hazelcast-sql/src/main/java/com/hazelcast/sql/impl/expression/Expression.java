@@ -70,6 +70,33 @@ public interface Expression<T> extends IdentifiedDataSerializable, Serializable
         return eval(row, context);
     }
 
+    /**
+     * Evaluates this expression for the selected rows of a batch and stores
+     * the results in the vector, at the positions of the rows. Must only be
+     * called if {@link ColumnVector#supports} the type of this expression.
+     * <p>
+     * The results must be the same as if {@link #eval(Row, ExpressionEvalContext)}
+     * was called for each selected row, and the operands must only be
+     * evaluated for the rows for which {@code eval} would evaluate them. The
+     * default implementation calls {@code eval} for each row, the expressions
+     * that can evaluate their operands as vectors override it.
+     *
+     * @param rows          the rows of the batch
+     * @param selection     the positions of the rows to evaluate this expression for, in ascending order
+     * @param selectionSize the number of the selected positions
+     * @param context       the expression evaluation context
+     * @param result        the vector to store the results to
+     */
+    default void evalBatch(
+            Row[] rows,
+            int[] selection,
+            int selectionSize,
+            ExpressionEvalContext context,
+            ColumnVector result
+    ) {
+        ColumnVector.evalByRow(this, rows, selection, selectionSize, context, result);
+    }
+
     /**
      * @return the return query data type of this expression.
      */
@@ -43,6 +43,19 @@ public abstract class VariExpression<T> implements Expression<T> {
         return operands;
     }
 
+    /**
+     * Returns {@code true} if the values of all operands can be stored in a
+     * {@link ColumnVector}.
+     */
+    protected boolean operandsSupportBatch() {
+        for (Expression<?> operand : operands) {
+            if (!ColumnVector.supports(operand.getType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeInt(operands.length);
@@ -20,6 +20,8 @@ import com.hazelcast.jet.sql.impl.JetSqlSerializerHook;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.SqlErrorCode;
 import com.hazelcast.sql.impl.expression.BiExpressionWithType;
+import com.hazelcast.sql.impl.expression.ColumnVector;
+import com.hazelcast.sql.impl.expression.ColumnVectorPool;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.row.Row;
@@ -93,6 +95,59 @@ public final class PlusFunction<T> extends BiExpressionWithType<T> {
         return (T) evalNumeric((Number) left, (Number) right, family);
     }
 
+    @Override
+    public void evalBatch(Row[] rows, int[] selection, int selectionSize, ExpressionEvalContext context,
+                          ColumnVector result) {
+        if (!operandsSupportBatch()) {
+            ColumnVector.evalByRow(this, rows, selection, selectionSize, context, result);
+            return;
+        }
+
+        ColumnVectorPool pool = result.getPool();
+        ColumnVector left = pool.acquire(operand1.getType());
+        ColumnVector right = pool.acquire(operand2.getType());
+        int[] notNull = pool.acquirePositions();
+        int size = evalOperandsBatch(rows, selection, selectionSize, context, left, right, result, notNull);
+
+        QueryDataTypeFamily family = resultType.getTypeFamily();
+        for (int i = 0; i < size; i++) {
+            int position = notNull[i];
+            if (family.isNumericInteger()) {
+                result.setLong(position, evalInteger(left.getLong(position), right.getLong(position), family));
+            } else if (family == QueryDataTypeFamily.REAL) {
+                result.setDouble(position, left.getFloat(position) + right.getFloat(position));
+            } else {
+                result.setDouble(position, left.getDouble(position) + right.getDouble(position));
+            }
+        }
+
+        pool.release(left);
+        pool.release(right);
+        pool.releasePositions(notNull);
+    }
+
+    private static long evalInteger(long left, long right, QueryDataTypeFamily family) {
+        switch (family) {
+            case TINYINT:
+                return (byte) (left + right);
+            case SMALLINT:
+                return (short) (left + right);
+            case INTEGER:
+                return (int) (left + right);
+            default:
+                return addExact(left, right);
+        }
+    }
+
+    private static long addExact(long left, long right) {
+        try {
+            return Math.addExact(left, right);
+        } catch (ArithmeticException e) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                    "BIGINT overflow in '+' operator (consider adding explicit CAST to DECIMAL)");
+        }
+    }
+
     private static Object evalNumeric(Number left, Number right, QueryDataTypeFamily family) {
         switch (family) {
             case TINYINT:
@@ -102,12 +157,7 @@ public final class PlusFunction<T> extends BiExpressionWithType<T> {
             case INTEGER:
                 return left.intValue() + right.intValue();
             case BIGINT:
-                try {
-                    return Math.addExact(left.longValue(), right.longValue());
-                } catch (ArithmeticException e) {
-                    throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
-                            "BIGINT overflow in '+' operator (consider adding explicit CAST to DECIMAL)");
-                }
+                return addExact(left.longValue(), right.longValue());
             case REAL:
                 return left.floatValue() + right.floatValue();
             case DOUBLE:
@@ -17,6 +17,7 @@
 package com.hazelcast.sql.impl.expression.predicate;
 
 import com.hazelcast.jet.sql.impl.JetSqlSerializerHook;
+import com.hazelcast.sql.impl.expression.ColumnVector;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.expression.VariExpression;
@@ -50,6 +51,16 @@ public final class AndPredicate extends VariExpression<Boolean> {
         return TernaryLogic.and(row, context, operands);
     }
 
+    @Override
+    public void evalBatch(Row[] rows, int[] selection, int selectionSize, ExpressionEvalContext context,
+                          ColumnVector result) {
+        if (operandsSupportBatch()) {
+            TernaryLogic.and(rows, selection, selectionSize, context, result, operands);
+        } else {
+            ColumnVector.evalByRow(this, rows, selection, selectionSize, context, result);
+        }
+    }
+
     @Override
     public QueryDataType getType() {
         return QueryDataType.BOOLEAN;
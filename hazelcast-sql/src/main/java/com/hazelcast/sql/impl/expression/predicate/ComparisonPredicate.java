@@ -22,6 +22,8 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.expression.BiExpression;
+import com.hazelcast.sql.impl.expression.ColumnVector;
+import com.hazelcast.sql.impl.expression.ColumnVectorPool;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.row.Row;
@@ -95,7 +97,44 @@ public final class ComparisonPredicate extends BiExpression<Boolean> {
         Comparable rightComparable = (Comparable) right;
 
         int order = Comparables.compare(leftComparable, rightComparable);
+        return matches(order);
+    }
+
+    @Override
+    public void evalBatch(Row[] rows, int[] selection, int selectionSize, ExpressionEvalContext context,
+                          ColumnVector result) {
+        if (!operandsSupportBatch()) {
+            ColumnVector.evalByRow(this, rows, selection, selectionSize, context, result);
+            return;
+        }
+
+        ColumnVectorPool pool = result.getPool();
+        ColumnVector left = pool.acquire(operand1.getType());
+        ColumnVector right = pool.acquire(operand2.getType());
+        int[] notNull = pool.acquirePositions();
+        int size = evalOperandsBatch(rows, selection, selectionSize, context, left, right, result, notNull);
+
+        // the operands are of the same family, so they compare the same as their boxed values
+        QueryDataTypeFamily family = operand1.getType().getTypeFamily();
+        for (int i = 0; i < size; i++) {
+            int position = notNull[i];
+            int order;
+            if (family == QueryDataTypeFamily.BOOLEAN) {
+                order = Boolean.compare(left.getBoolean(position), right.getBoolean(position));
+            } else if (family.isNumericInteger()) {
+                order = Long.compare(left.getLong(position), right.getLong(position));
+            } else {
+                order = Double.compare(left.getDouble(position), right.getDouble(position));
+            }
+            result.setBoolean(position, matches(order));
+        }
+
+        pool.release(left);
+        pool.release(right);
+        pool.releasePositions(notNull);
+    }
 
+    private boolean matches(int order) {
         switch (mode) {
             case EQUALS:
                 return order == 0;
@@ -16,9 +16,12 @@
 
 package com.hazelcast.sql.impl.expression.predicate;
 
+import com.hazelcast.sql.impl.expression.ColumnVector;
+import com.hazelcast.sql.impl.expression.ColumnVectorPool;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
 
 /**
  * Implements ternary boolean logic according to SQL standard.
@@ -98,6 +101,86 @@ public final class TernaryLogic {
         return seenUnknown ? null : Boolean.FALSE;
     }
 
+    /**
+     * Performs AND for the given operands acting on the selected rows of a
+     * batch. Like {@link #and(Row, ExpressionEvalContext, Expression[])}, an
+     * operand isn't evaluated for the rows for which a previous operand was
+     * evaluated to {@code false}.
+     */
+    public static void and(
+            Row[] rows,
+            int[] selection,
+            int selectionSize,
+            ExpressionEvalContext context,
+            ColumnVector result,
+            Expression<?>... operands
+    ) {
+        evalBatch(false, rows, selection, selectionSize, context, result, operands);
+    }
+
+    /**
+     * Performs OR for the given operands acting on the selected rows of a
+     * batch. Like {@link #or(Row, ExpressionEvalContext, Expression[])}, an
+     * operand isn't evaluated for the rows for which a previous operand was
+     * evaluated to {@code true}.
+     */
+    public static void or(
+            Row[] rows,
+            int[] selection,
+            int selectionSize,
+            ExpressionEvalContext context,
+            ColumnVector result,
+            Expression<?>... operands
+    ) {
+        evalBatch(true, rows, selection, selectionSize, context, result, operands);
+    }
+
+    /**
+     * Evaluates AND if {@code decisiveValue} is {@code false}, OR if it's
+     * {@code true}.
+     */
+    private static void evalBatch(
+            boolean decisiveValue,
+            Row[] rows,
+            int[] selection,
+            int selectionSize,
+            ExpressionEvalContext context,
+            ColumnVector result,
+            Expression<?>... operands
+    ) {
+        for (int i = 0; i < selectionSize; i++) {
+            result.setBoolean(selection[i], !decisiveValue);
+        }
+
+        // the rows whose result isn't decided yet
+        ColumnVectorPool pool = result.getPool();
+        int[] remaining = pool.acquirePositions();
+        System.arraycopy(selection, 0, remaining, 0, selectionSize);
+        int remainingSize = selectionSize;
+        ColumnVector operandResult = pool.acquire(QueryDataType.BOOLEAN);
+        for (Expression<?> operand : operands) {
+            if (remainingSize == 0) {
+                break;
+            }
+            operand.evalBatch(rows, remaining, remainingSize, context, operandResult);
+            int newRemainingSize = 0;
+            for (int i = 0; i < remainingSize; i++) {
+                int position = remaining[i];
+                if (operandResult.isNull(position)) {
+                    result.setNull(position);
+                    remaining[newRemainingSize++] = position;
+                } else if (operandResult.getBoolean(position) == decisiveValue) {
+                    result.setBoolean(position, decisiveValue);
+                } else {
+                    remaining[newRemainingSize++] = position;
+                }
+            }
+            remainingSize = newRemainingSize;
+        }
+        pool.release(operandResult);
+        pool.releasePositions(remaining);
+    }
+
     /**
      * Negates the given boolean value.
      *
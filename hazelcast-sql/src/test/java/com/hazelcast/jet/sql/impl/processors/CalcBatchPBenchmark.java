@@ -0,0 +1,163 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.sql.impl.expression.ColumnVector;
+import com.hazelcast.sql.impl.expression.ColumnVectorPool;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.MockExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.math.MinusFunction;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.jet.sql.impl.processors.CalcBatchP.BATCH_SIZE;
+import static com.hazelcast.sql.impl.expression.ColumnExpression.create;
+import static java.util.Arrays.asList;
+
+/**
+ * Compares the row by row evaluation of a filter and a projection, as done
+ * by the calc processors, with the batch evaluation done by {@link
+ * CalcBatchP}: {@code SELECT a * 3 + b, a - b WHERE a > 100 AND b < ?}
+ * over {@code BIGINT} columns.
+ * <p>
+ * This is no JUnit test.
+ */
+public final class CalcBatchPBenchmark {
+
+    private static final int ROW_COUNT = 1 << 20;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int ITERATIONS = 20;
+
+    private static final Expression<?> A = create(0, QueryDataType.BIGINT);
+    private static final Expression<?> B = create(1, QueryDataType.BIGINT);
+
+    private final Expression<Boolean> filter = AndPredicate.create(
+            ComparisonPredicate.create(A, constant(100L), ComparisonMode.GREATER_THAN),
+            ComparisonPredicate.create(B, constant(ROW_COUNT - 100L), ComparisonMode.LESS_THAN));
+    private final List<Expression<?>> projection = asList(
+            PlusFunction.create(MultiplyFunction.create(A, constant(3L), QueryDataType.BIGINT), B, QueryDataType.BIGINT),
+            MinusFunction.create(A, B, QueryDataType.BIGINT));
+
+    private final ExpressionEvalContext context = new MockExpressionEvalContext();
+    private final Row[] rows = new Row[ROW_COUNT];
+
+    // the state of the batch evaluation, as in CalcBatchP
+    private final int[] allPositions = new int[BATCH_SIZE];
+    private final int[] selection = new int[BATCH_SIZE];
+    private final ColumnVectorPool pool = new ColumnVectorPool(BATCH_SIZE);
+    private final ColumnVector filterResult = pool.acquire(QueryDataType.BOOLEAN);
+    private final ColumnVector[] projectionResults = new ColumnVector[projection.size()];
+
+    private CalcBatchPBenchmark() {
+        for (int i = 0; i < ROW_COUNT; i++) {
+            rows[i] = new HeapRow(new Object[]{(long) i, (long) (ROW_COUNT - i)});
+        }
+        Arrays.setAll(allPositions, i -> i);
+        for (int i = 0; i < projectionResults.length; i++) {
+            projectionResults[i] = pool.acquire(projection.get(i).getType());
+        }
+    }
+
+    public static void main(String[] args) {
+        CalcBatchPBenchmark benchmark = new CalcBatchPBenchmark();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            benchmark.evalByRow();
+            benchmark.evalBatch();
+        }
+
+        long byRowNanos = 0;
+        long batchNanos = 0;
+        long checksum = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            checksum += benchmark.evalByRow();
+            byRowNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            checksum -= benchmark.evalBatch();
+            batchNanos += System.nanoTime() - start;
+        }
+
+        if (checksum != 0) {
+            throw new AssertionError("The results differ");
+        }
+        System.out.printf("row by row: %d ns/row%n", byRowNanos / ITERATIONS / ROW_COUNT);
+        System.out.printf("batch:      %d ns/row%n", batchNanos / ITERATIONS / ROW_COUNT);
+    }
+
+    private long evalByRow() {
+        long checksum = 0;
+        for (Row row : rows) {
+            if (!Boolean.TRUE.equals(filter.eval(row, context))) {
+                continue;
+            }
+            Object[] values = new Object[projection.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = projection.get(i).eval(row, context);
+            }
+            checksum += checksum(values);
+        }
+        return checksum;
+    }
+
+    private long evalBatch() {
+        long checksum = 0;
+        Row[] batch = new Row[BATCH_SIZE];
+        for (int offset = 0; offset < ROW_COUNT; offset += BATCH_SIZE) {
+            int batchSize = Math.min(BATCH_SIZE, ROW_COUNT - offset);
+            System.arraycopy(rows, offset, batch, 0, batchSize);
+
+            filter.evalBatch(batch, allPositions, batchSize, context, filterResult);
+            int selectionSize = filterResult.selectTrue(allPositions, batchSize, selection, null);
+
+            Object[][] values = new Object[selectionSize][];
+            for (int j = 0; j < selectionSize; j++) {
+                values[j] = new Object[projection.size()];
+            }
+            for (int i = 0; i < projection.size(); i++) {
+                ColumnVector vector = projectionResults[i];
+                projection.get(i).evalBatch(batch, selection, selectionSize, context, vector);
+                for (int j = 0; j < selectionSize; j++) {
+                    values[j][i] = vector.get(selection[j]);
+                }
+            }
+            for (Object[] rowValues : values) {
+                checksum += checksum(rowValues);
+            }
+        }
+        return checksum;
+    }
+
+    private static long checksum(Object[] values) {
+        return (Long) values[0] + 31 * (Long) values[1];
+    }
+
+    private static Expression<?> constant(long value) {
+        return ConstantExpression.create(value, QueryDataType.BIGINT);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.function.SupplierEx;
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.CaseExpression;
+import com.hazelcast.sql.impl.expression.CastExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static com.hazelcast.jet.TestContextSupport.adaptSupplier;
+import static com.hazelcast.jet.impl.JetServiceBackend.SQL_ARGUMENTS_KEY_NAME;
+import static com.hazelcast.sql.impl.expression.ColumnExpression.create;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.LongStream.range;
+
+@Category({QuickTest.class, ParallelJVMTest.class})
+@RunWith(HazelcastSerialClassRunner.class)
+public class CalcBatchPTest extends SqlTestSupport {
+    private static final Expression<?> a = create(0, QueryDataType.BIGINT);
+    private static final Expression<?> b = create(1, QueryDataType.BIGINT);
+
+    @BeforeClass
+    public static void beforeClass() {
+        initialize(1, null);
+    }
+
+    @Test
+    public void when_filterAndProjection_then_sameResultsAsRowByRow() {
+        // a > 1 OR b < 10
+        Expression<Boolean> filter = OrPredicate.create(
+                ComparisonPredicate.create(a, constant(1L), ComparisonMode.GREATER_THAN),
+                ComparisonPredicate.create(b, constant(10L), ComparisonMode.LESS_THAN));
+        List<Expression<?>> projection = asList(
+                PlusFunction.create(a, b, QueryDataType.BIGINT),
+                MultiplyFunction.create(a, constant(2L), QueryDataType.BIGINT),
+                CaseExpression.create(new Expression<?>[]{
+                        ComparisonPredicate.create(a, constant(2L), ComparisonMode.GREATER_THAN), a, b}),
+                CastExpression.create(a, QueryDataType.DOUBLE));
+
+        verify(filter, projection,
+                asList(
+                        jetRow(1L, 5L),
+                        jetRow(2L, 20L),
+                        jetRow(3L, null),
+                        jetRow(null, 4L),
+                        jetRow(null, null),
+                        jetRow(0L, 15L)
+                ),
+                asList(
+                        jetRow(6L, 2L, 5L, 1.0),
+                        jetRow(22L, 4L, 20L, 2.0),
+                        jetRow(null, 6L, 3L, 3.0),
+                        jetRow(null, null, 4L, null)
+                ));
+    }
+
+    @Test
+    public void when_booleanAndApproximateColumns_then_sameResultsAsRowByRow() {
+        Expression<?> c = create(0, QueryDataType.INT);
+        Expression<?> d = create(1, QueryDataType.DOUBLE);
+        Expression<?> e = create(2, QueryDataType.BOOLEAN);
+        // e OR d > 1.5
+        Expression<Boolean> filter = OrPredicate.create(
+                e,
+                ComparisonPredicate.create(d, ConstantExpression.create(1.5, QueryDataType.DOUBLE),
+                        ComparisonMode.GREATER_THAN));
+        List<Expression<?>> projection = asList(
+                MultiplyFunction.create(d, ConstantExpression.create(2.0, QueryDataType.DOUBLE), QueryDataType.DOUBLE),
+                CastExpression.create(c, QueryDataType.BIGINT));
+
+        verify(filter, projection,
+                asList(
+                        jetRow(1, 1.0, true),
+                        jetRow(2, 2.0, false),
+                        jetRow(3, 1.0, false),
+                        jetRow(null, null, null),
+                        jetRow(4, null, true)
+                ),
+                asList(
+                        jetRow(2.0, 1L),
+                        jetRow(4.0, 2L),
+                        jetRow(null, 4L)
+                ));
+    }
+
+    @Test
+    public void when_noFilter_then_allRowsProjected() {
+        verify(null, asList(b, a),
+                asList(
+                        jetRow(1L, 2L),
+                        jetRow(null, 3L)
+                ),
+                asList(
+                        jetRow(2L, 1L),
+                        jetRow(3L, null)
+                ));
+    }
+
+    @Test
+    public void when_moreRowsThanBatchSize_then_allRowsProcessed() {
+        int count = 2 * CalcBatchP.BATCH_SIZE + 1;
+        verify(null, singletonList(PlusFunction.create(a, constant(1L), QueryDataType.BIGINT)),
+                range(0, count).mapToObj(i -> jetRow(i)).collect(toList()),
+                range(0, count).mapToObj(i -> jetRow(i + 1)).collect(toList()));
+    }
+
+    private static void verify(
+            Expression<Boolean> filter,
+            List<Expression<?>> projection,
+            List<JetSqlRow> input,
+            List<JetSqlRow> expectedOutput
+    ) {
+        SupplierEx<Processor> supplier = () -> new CalcBatchP(filter, projection);
+
+        TestSupport.verifyProcessor(adaptSupplier(ProcessorSupplier.of(supplier)))
+                .hazelcastInstance(instance())
+                .jobConfig(new JobConfig().setArgument(SQL_ARGUMENTS_KEY_NAME, emptyList()))
+                .outputChecker(SqlTestSupport::compareRowLists)
+                .disableSnapshots()
+                .input(input)
+                .expectOutput(expectedOutput);
+    }
+
+    private static Expression<?> constant(long value) {
+        return ConstantExpression.create(value, QueryDataType.BIGINT);
+    }
+}
@@ -55,6 +55,13 @@ import static java.nio.channels.SelectionKey.OP_WRITE;
 @SuppressWarnings({"checkstyle:DeclarationOrder", "checkstyle:VisibilityOrder", "checkstyle:MethodCount", "java:S1181"})
 public final class NioAsyncSocket extends AsyncSocket {
 
+    // everything is written
+    private static final int WRITE_CLEAN = 0;
+    // everything passed to the socket is written, but there is more to write
+    private static final int WRITE_MORE = 1;
+    // the socket didn't accept all the bytes
+    private static final int WRITE_INCOMPLETE = 2;
+
     private final NioAsyncSocketOptions options;
     private final AtomicReference<Thread> flushThread = new AtomicReference<>(currentThread());
     private final MpmcArrayQueue writeQueue;
@@ -67,6 +74,8 @@ public final class NioAsyncSocket extends AsyncSocket {
     private final AsyncSocketReader reader;
     private final CircularQueue localTaskQueue;
     private final AsyncSocketWriter writer;
+    private final int readSpinCount;
+    private final int writeSpinCount;
     private boolean ioVectorWriteAllowed;
 
     // only accessed from eventloop thread
@@ -104,6 +113,8 @@ public final class NioAsyncSocket extends AsyncSocket {
                 this.ioVector = new IOVector();
             }
             this.ioVectorWriteAllowed = ioVector != null;
+            this.readSpinCount = builder.readSpinCount;
+            this.writeSpinCount = builder.writeSpinCount;
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -454,17 +465,27 @@ public final class NioAsyncSocket extends AsyncSocket {
         private void handleRead() throws IOException {
             metrics.incReadEvents();
 
-            int read = socketChannel.read(rcvBuffer);
-            //System.out.println(NioAsyncSocket.this + " bytes read: " + read);
+            int spin = readSpinCount;
+            boolean bufferFilled;
+            do {
+                int remaining = rcvBuffer.remaining();
+                int read = socketChannel.read(rcvBuffer);
+                //System.out.println(NioAsyncSocket.this + " bytes read: " + read);
 
-            if (read == -1) {
-                throw new EOFException("Socket closed by peer");
-            }
+                if (read == -1) {
+                    throw new EOFException("Socket closed by peer");
+                }
+
+                metrics.incBytesRead(read);
+                rcvBuffer.flip();
+                reader.onRead(rcvBuffer);
+                compactOrClear(rcvBuffer);
 
-            metrics.incBytesRead(read);
-            rcvBuffer.flip();
-            reader.onRead(rcvBuffer);
-            compactOrClear(rcvBuffer);
+                // if the receive buffer got filled, there likely is more data
+                // available. So lets read it now instead of waiting for the next
+                // read event.
+                bufferFilled = read > 0 && read == remaining;
+            } while (bufferFilled && --spin > 0 && key.isValid() && isReadable0());
         }
 
         // todo: temp notes.
@@ -476,54 +497,73 @@ public final class NioAsyncSocket extends AsyncSocket {
         private void handleWrite() throws IOException {
             metrics.incWriteEvents();
 
-            // todo: Netty has a write spin option we need to investigate.
-
-            long bytesWritten;
-            boolean clean;
-            if (writer == null) {
-                // the writeQueue is guaranteed to have only IOBuffers
-                // if the writer isn't set.
-                ioVector.populate(writeQueue);
+            // As long as the socket accepts all the bytes and there is more to
+            // write, we keep writing instead of waiting for the next selector
+            // round trip.
+            int spin = writeSpinCount;
+            int status;
+            do {
+                status = writer == null ? writeIOVector() : writeSndBuffer();
+            } while (status == WRITE_MORE && --spin > 0);
+
+            if (status == WRITE_CLEAN || status == WRITE_MORE && writer == null) {
+                // everything got written; if there are still pending writes in
+                // the write queue, the resetFlushed will schedule the next flush.
+                int interestOps = key.interestOps();
 
-                if (writeQueue.isEmpty()) {
-                    ioVectorWriteAllowed = true;
+                // clear the OP_WRITE flag if it was set
+                if ((interestOps & OP_WRITE) != 0) {
+                    key.interestOps(interestOps & ~OP_WRITE);
                 }
 
-                int ioVectorLength = ioVector.length();
-                ByteBuffer[] srcs = ioVector.array();
-                bytesWritten = ioVectorLength == 1
-                        ? socketChannel.write(srcs[0])
-                        : socketChannel.write(srcs, 0, ioVectorLength);
-                ioVector.compact(bytesWritten);
-                clean = ioVector.isEmpty();
+                resetFlushed();
             } else {
-                boolean writerClean = writer.onWrite(sndBuffer);
-                sndBuffer.flip();
-                bytesWritten = socketChannel.write(sndBuffer);
-                boolean sndBufferClean = !sndBuffer.hasRemaining();
-                clean = writerClean && sndBufferClean;
-                compactOrClear(sndBuffer);
+                // not everything got written, or the spin ran out while the
+                // writer still has more to write. So we need to register for
+                // the OP_WRITE so that we get an event as soon as space is
+                // available in the send buffer of the socket. The resetFlushed can't be relied on since it only
+                // schedules a flush if the write queue isn't empty, while a
+                // partly encoded message can be held by the writer.
+                key.interestOps(key.interestOps() | OP_WRITE);
+            }
+        }
+
+        private int writeIOVector() throws IOException {
+            // the writeQueue is guaranteed to have only IOBuffers
+            // if the writer isn't set.
+            ioVector.populate(writeQueue);
+
+            if (writeQueue.isEmpty()) {
+                ioVectorWriteAllowed = true;
             }
 
+            int ioVectorLength = ioVector.length();
+            ByteBuffer[] srcs = ioVector.array();
+            long bytesWritten = ioVectorLength == 1
+                    ? socketChannel.write(srcs[0])
+                    : socketChannel.write(srcs, 0, ioVectorLength);
+            ioVector.compact(bytesWritten);
             metrics.incBytesWritten(bytesWritten);
             //System.out.println(socket + " bytes written:" + bytesWritten);
 
-            if (clean) {
-                // everything got written
-                int interestOps = key.interestOps();
+            if (!ioVector.isEmpty()) {
+                return WRITE_INCOMPLETE;
+            }
+            return writeQueue.isEmpty() ? WRITE_CLEAN : WRITE_MORE;
+        }
 
-                // clear the OP_WRITE flag if it was set
-                if ((interestOps & OP_WRITE) != 0) {
-                    key.interestOps(interestOps & ~OP_WRITE);
-                }
+        private int writeSndBuffer() throws IOException {
+            boolean writerClean = writer.onWrite(sndBuffer);
+            sndBuffer.flip();
+            long bytesWritten = socketChannel.write(sndBuffer);
+            boolean sndBufferClean = !sndBuffer.hasRemaining();
+            compactOrClear(sndBuffer);
+            metrics.incBytesWritten(bytesWritten);
 
-                resetFlushed();
-            } else {
-                // not everything got written, therefor we need to register
-                // for the OP_WRITE so that we get an event as soon as space
-                // is available in the send buffer of the socket.
-                key.interestOps(key.interestOps() | OP_WRITE);
+            if (!sndBufferClean) {
+                return WRITE_INCOMPLETE;
             }
+            return writerClean ? WRITE_CLEAN : WRITE_MORE;
         }
 
 
@@ -40,6 +40,9 @@ import static com.hazelcast.internal.tpcengine.util.Preconditions.checkPositive;
 public class NioAsyncSocketBuilder implements AsyncSocketBuilder {
 
     static final int DEFAULT_WRITE_QUEUE_CAPACITY = 2 << 16;
+    // a single read/write per event, no spinning
+    static final int DEFAULT_READ_SPIN_COUNT = 1;
+    static final int DEFAULT_WRITE_SPIN_COUNT = 1;
 
     private static final Constructor<AsyncSocket> TLS_NIO_ASYNC_SOCKET_CONSTRUCTOR;
 
@@ -66,6 +69,8 @@ public class NioAsyncSocketBuilder implements AsyncSocketBuilder {
     final boolean clientSide;
     boolean directBuffers = true;
     int writeQueueCapacity = DEFAULT_WRITE_QUEUE_CAPACITY;
+    int readSpinCount = DEFAULT_READ_SPIN_COUNT;
+    int writeSpinCount = DEFAULT_WRITE_SPIN_COUNT;
     AsyncSocketReader reader;
     AsyncSocketWriter writer;
 
@@ -119,6 +124,50 @@ public class NioAsyncSocketBuilder implements AsyncSocketBuilder {
         return this;
     }
 
+    /**
+     * Sets the maximum number of reads done for a single read event. The socket
+     * is read again as long as the receive buffer is filled completely, which
+     * saves a selector round trip per read when a lot of data is received.
+     * <p>
+     * The default is 1: the socket is read once per read event. A higher value
+     * can help sockets that receive large bulk transfers, at the cost of
+     * delaying the other sockets of the reactor.
+     *
+     * @param readSpinCount the maximum number of reads per read event.
+     * @return this
+     * @throws IllegalArgumentException if readSpinCount smaller than 1.
+     * @throws IllegalStateException    if the socket is already built.
+     */
+    public NioAsyncSocketBuilder setReadSpinCount(int readSpinCount) {
+        verifyNotBuilt();
+
+        this.readSpinCount = checkPositive(readSpinCount, "readSpinCount");
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of writes done for a single flush. The socket is
+     * written again as long as it accepts all the written bytes and there are
+     * more bytes to write, instead of registering for the OP_WRITE event and
+     * waiting for the next selector round trip.
+     * <p>
+     * The default is 1: the socket is written once per flush and OP_WRITE is
+     * registered if there is more to write. A higher value can help sockets
+     * that send large bulk transfers, at the cost of delaying the other
+     * sockets of the reactor.
+     *
+     * @param writeSpinCount the maximum number of writes per flush.
+     * @return this
+     * @throws IllegalArgumentException if writeSpinCount smaller than 1.
+     * @throws IllegalStateException    if the socket is already built.
+     */
+    public NioAsyncSocketBuilder setWriteSpinCount(int writeSpinCount) {
+        verifyNotBuilt();
+
+        this.writeSpinCount = checkPositive(writeSpinCount, "writeSpinCount");
+        return this;
+    }
+
     @Override
     public final NioAsyncSocketBuilder setReader(AsyncSocketReader reader) {
         verifyNotBuilt();
@@ -90,4 +90,57 @@ public class NioAsyncSocketBuilderTest extends AsyncSocketBuilderTest {
         builder.setDirectBuffers(true);
         assertTrue(builder.directBuffers);
     }
+
+    @Test
+    public void test_spinCountDefaults() {
+        NioReactor reactor = (NioReactor) newReactor();
+        NioAsyncSocketBuilder builder = reactor.newAsyncSocketBuilder();
+
+        assertEquals(1, builder.readSpinCount);
+        assertEquals(1, builder.writeSpinCount);
+    }
+
+    @Test
+    public void test_setReadSpinCount_whenZero() {
+        NioReactor reactor = (NioReactor) newReactor();
+        NioAsyncSocketBuilder builder = reactor.newAsyncSocketBuilder();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.setReadSpinCount(0));
+    }
+
+    @Test
+    public void test_setReadSpinCount() {
+        NioReactor reactor = (NioReactor) newReactor();
+        NioAsyncSocketBuilder builder = reactor.newAsyncSocketBuilder();
+        builder.setReadSpinCount(4);
+
+        assertEquals(4, builder.readSpinCount);
+    }
+
+    @Test
+    public void test_setWriteSpinCount_whenZero() {
+        NioReactor reactor = (NioReactor) newReactor();
+        NioAsyncSocketBuilder builder = reactor.newAsyncSocketBuilder();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.setWriteSpinCount(0));
+    }
+
+    @Test
+    public void test_setWriteSpinCount_whenAlreadyBuild() {
+        NioReactor reactor = (NioReactor) newReactor();
+        NioAsyncSocketBuilder builder = reactor.newAsyncSocketBuilder();
+        builder.setReader(new DevNullAsyncSocketReader());
+        AsyncSocket socket = builder.build();
+
+        assertThrows(IllegalStateException.class, () -> builder.setWriteSpinCount(4));
+    }
+
+    @Test
+    public void test_setWriteSpinCount() {
+        NioReactor reactor = (NioReactor) newReactor();
+        NioAsyncSocketBuilder builder = reactor.newAsyncSocketBuilder();
+        builder.setWriteSpinCount(4);
+
+        assertEquals(4, builder.writeSpinCount);
+    }
 }
@@ -102,6 +102,7 @@ import com.hazelcast.internal.config.ServicesConfig;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.jet.config.JetConfig;
+import com.hazelcast.query.impl.IndexUtils;
 
 import javax.annotation.Nonnull;
 import java.io.File;
@@ -137,6 +138,7 @@ public class ClientDynamicClusterConfig extends Config {
 
     @Override
     public Config addMapConfig(MapConfig mapConfig) {
+        IndexUtils.checkNoIncludedAttributes(mapConfig.getIndexConfigs());
         List<ListenerConfigHolder> listenerConfigs = adaptListenerConfigs(mapConfig.getEntryListenerConfigs());
         List<ListenerConfigHolder> partitionLostListenerConfigs =
                 adaptListenerConfigs(mapConfig.getPartitionLostListenerConfigs());
@@ -144,6 +146,7 @@ public class ClientDynamicClusterConfig extends Config {
         if (mapConfig.getQueryCacheConfigs() != null && !mapConfig.getQueryCacheConfigs().isEmpty()) {
             queryCacheConfigHolders = new ArrayList<>(mapConfig.getQueryCacheConfigs().size());
             for (QueryCacheConfig config : mapConfig.getQueryCacheConfigs()) {
+                IndexUtils.checkNoIncludedAttributes(config.getIndexConfigs());
                 queryCacheConfigHolders.add(QueryCacheConfigHolder.of(config, serializationService));
             }
         }
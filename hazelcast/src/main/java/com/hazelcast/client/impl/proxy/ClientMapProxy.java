@@ -187,6 +187,7 @@ import static com.hazelcast.map.impl.querycache.subscriber.QueryCacheRequest.new
 import static com.hazelcast.map.impl.record.Record.UNSET;
 import static java.lang.Thread.currentThread;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.groupingBy;
 
@@ -1366,6 +1367,7 @@ public class ClientMapProxy<K, V> extends ClientProxy
         checkNotNull(indexConfig, "Index config cannot be null.");
 
         IndexConfig indexConfig0 = IndexUtils.validateAndNormalize(name, indexConfig);
+        IndexUtils.checkNoIncludedAttributes(singletonList(indexConfig0));
 
         ClientMessage request = MapAddIndexCodec.encodeRequest(name, indexConfig0);
         invoke(request);
@@ -187,6 +187,7 @@ public class ClientStatisticsService {
 
                             addStat(stats, prefix, "creationTime", nearCacheStats.getCreationTime());
                             addStat(stats, prefix, "evictions", nearCacheStats.getEvictions());
+                            addStat(stats, prefix, "admissionRejections", nearCacheStats.getAdmissionRejections());
                             addStat(stats, prefix, "hits", nearCacheStats.getHits());
                             addStat(stats, prefix, "lastPersistenceDuration", nearCacheStats.getLastPersistenceDuration());
                             addStat(stats, prefix, "lastPersistenceKeyCount", nearCacheStats.getLastPersistenceKeyCount());
@@ -35,7 +35,18 @@ public enum EvictionPolicy {
     /**
      * Randomly
      */
-    RANDOM(3);
+    RANDOM(3),
+    /**
+     * Least Frequently Used with TinyLFU admission: a newly fetched entry is
+     * only admitted into a full cache if it is estimated to be accessed more
+     * frequently than the entry it would replace, so one-off reads such as
+     * scans don't flush the frequently read entries.
+     * <p>
+     * Supported only by on-heap Near Caches.
+     *
+     * @since 5.5
+     */
+    TINY_LFU(4);
 
     private static final EvictionPolicy[] VALUES = values();
 
@@ -16,6 +16,7 @@
 
 package com.hazelcast.config;
 
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.config.ConfigDataSerializerHook;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -41,7 +42,10 @@ import static com.hazelcast.internal.util.Preconditions.checkNotNull;
  * Bitmap indexes are similar to hash index. They are able to achieve a much higher memory efficiency
  * for low cardinality attributes at the cost of reduced query performance.
  * <p>
- * Index could be created on one or more attributes.
+ * Index could be created on one or more attributes. Additional attributes could be
+ * included into the index to make it covering: their values are stored alongside the
+ * indexed entries, so queries projecting only the indexed and included attributes are
+ * answered without touching the entry values.
  *
  * @see com.hazelcast.config.IndexType
  * @see com.hazelcast.config.MapConfig#setIndexConfigs(List)
@@ -59,6 +63,9 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
     /** Indexed attributes. */
     private List<String> attributes;
 
+    /** Attributes stored alongside the indexed entries. */
+    private List<String> includedAttributes;
+
     private BitmapIndexOptions bitmapIndexOptions;
 
     private BTreeIndexConfig bTreeIndexConfig = new BTreeIndexConfig();
@@ -101,6 +108,10 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         for (String attribute : other.getAttributes()) {
             addAttributeInternal(attribute);
         }
+
+        if (other.includedAttributes != null) {
+            this.includedAttributes = new ArrayList<>(other.includedAttributes);
+        }
     }
 
     /**
@@ -202,6 +213,61 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         return this;
     }
 
+    /**
+     * Gets the attributes included into the index.
+     * <p>
+     * The values of the included attributes are stored alongside the indexed
+     * entries, so projections of the indexed and included attributes could be
+     * answered straight from the index. SQL queries use such an index as a
+     * plain one and read the entry values. The included attributes can't be
+     * configured from a client, the client protocol doesn't carry them.
+     *
+     * @return Included attributes.
+     */
+    public List<String> getIncludedAttributes() {
+        if (includedAttributes == null) {
+            includedAttributes = new ArrayList<>();
+        }
+
+        return includedAttributes;
+    }
+
+    /**
+     * Adds an attribute to be included into the index.
+     *
+     * @param includedAttribute Attribute name.
+     * @return This instance for chaining.
+     */
+    public IndexConfig addIncludedAttribute(String includedAttribute) {
+        IndexUtils.validateAttribute(includedAttribute);
+
+        if (includedAttributes == null) {
+            includedAttributes = new ArrayList<>();
+        }
+
+        includedAttributes.add(includedAttribute);
+
+        return this;
+    }
+
+    /**
+     * Sets the attributes included into the index.
+     *
+     * @param includedAttributes Included attributes.
+     * @return This instance for chaining.
+     */
+    public IndexConfig setIncludedAttributes(List<String> includedAttributes) {
+        checkNotNull(includedAttributes, "Included attributes cannot be null.");
+
+        this.includedAttributes = new ArrayList<>(includedAttributes.size());
+
+        for (String includedAttribute : includedAttributes) {
+            addIncludedAttribute(includedAttribute);
+        }
+
+        return this;
+    }
+
     /**
      * Provides access to index options specific to bitmap indexes.
      *
@@ -260,6 +326,9 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         writeNullableList(attributes, out);
         out.writeObject(bitmapIndexOptions);
         out.writeObject(bTreeIndexConfig);
+        if (out.getVersion().isGreaterOrEqual(Versions.V5_5)) {
+            writeNullableList(includedAttributes, out);
+        }
     }
 
     @Override
@@ -269,6 +338,9 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         attributes = readNullableList(in);
         bitmapIndexOptions = in.readObject();
         bTreeIndexConfig = in.readObject();
+        if (in.getVersion().isGreaterOrEqual(Versions.V5_5)) {
+            includedAttributes = readNullableList(in);
+        }
     }
 
     @Override
@@ -299,6 +371,10 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
             return false;
         }
 
+        if (!getIncludedAttributes().equals(that.getIncludedAttributes())) {
+            return false;
+        }
+
         return getAttributes().equals(that.getAttributes());
     }
 
@@ -308,6 +384,7 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
 
         result = 31 * result + (type != null ? type.hashCode() : 0);
         result = 31 * result + getAttributes().hashCode();
+        result = 31 * result + getIncludedAttributes().hashCode();
         result = 31 * result + getBitmapIndexOptions().hashCode();
         result = 31 * result + getBTreeIndexConfig().hashCode();
 
@@ -317,6 +394,9 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
     @Override
     public String toString() {
         String string = "IndexConfig{name=" + name + ", type=" + type + ", attributes=" + getAttributes();
+        if (includedAttributes != null && !includedAttributes.isEmpty()) {
+            string += ", includedAttributes=" + includedAttributes;
+        }
         if (bitmapIndexOptions != null && !bitmapIndexOptions.areDefault()) {
             string += ", bitmapIndexOptions=" + bitmapIndexOptions;
         }
@@ -99,6 +99,10 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
      * Default value of whether per entry statistics are enabled or not
      */
     public static final boolean DEFAULT_ENTRY_STATS_ENABLED = false;
+    /**
+     * Default value of whether the values are stored off-heap or not
+     */
+    public static final boolean DEFAULT_OFF_HEAP_STORAGE_ENABLED = false;
     /**
      * Default max size.
      */
@@ -117,6 +121,7 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
     private boolean readBackupData;
     private boolean statisticsEnabled = DEFAULT_STATISTICS_ENABLED;
     private boolean perEntryStatsEnabled = DEFAULT_ENTRY_STATS_ENABLED;
+    private boolean offHeapStorageEnabled = DEFAULT_OFF_HEAP_STORAGE_ENABLED;
     private int backupCount = DEFAULT_BACKUP_COUNT;
     private int asyncBackupCount = MIN_BACKUP_COUNT;
     private int timeToLiveSeconds = DEFAULT_TTL_SECONDS;
@@ -171,6 +176,7 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
         this.cacheDeserializedValues = config.cacheDeserializedValues;
         this.statisticsEnabled = config.statisticsEnabled;
         this.perEntryStatsEnabled = config.perEntryStatsEnabled;
+        this.offHeapStorageEnabled = config.offHeapStorageEnabled;
         this.mergePolicyConfig = new MergePolicyConfig(config.mergePolicyConfig);
         this.wanReplicationRef = config.wanReplicationRef != null ? new WanReplicationRef(config.wanReplicationRef) : null;
         this.entryListenerConfigs = new ArrayList<>(config.getEntryListenerConfigs());
@@ -487,6 +493,39 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
         return this;
     }
 
+    /**
+     * Checks if the values of this map are stored outside the Java heap.
+     *
+     * @return {@code true} if the off-heap storage is enabled, {@code false} otherwise
+     * @since 5.5
+     */
+    public boolean isOffHeapStorageEnabled() {
+        return offHeapStorageEnabled;
+    }
+
+    /**
+     * Set to enable/disable the off-heap storage of the values of this map.
+     * Its default value is {@code false}. It can be enabled only for maps
+     * with the {@link InMemoryFormat#BINARY} in-memory format.
+     * <p>
+     * When enabled, the values are kept in native memory allocated outside
+     * the Java heap, only the keys and the record metadata stay on-heap. The
+     * native memory is included in the owned entry memory cost of the map
+     * and can be bounded with the
+     * {@code hazelcast.map.offheap.storage.max.size.in.mb} property. Every
+     * read of a value copies it back to the heap, so the off-heap storage
+     * trades read throughput for a smaller heap.
+     *
+     * @param offHeapStorageEnabled {@code true} to store the values off-heap,
+     *                              {@code false} to store them on-heap
+     * @return the current map config instance
+     * @since 5.5
+     */
+    public MapConfig setOffHeapStorageEnabled(boolean offHeapStorageEnabled) {
+        this.offHeapStorageEnabled = offHeapStorageEnabled;
+        return this;
+    }
+
     /**
      * Checks if read-backup-data (reading local backup entries) is enabled for this map.
      *
@@ -895,6 +934,9 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
         if (perEntryStatsEnabled != that.perEntryStatsEnabled) {
             return false;
         }
+        if (offHeapStorageEnabled != that.offHeapStorageEnabled) {
+            return false;
+        }
         if (!name.equals(that.name)) {
             return false;
         }
@@ -988,6 +1030,7 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
         result = 31 * result + getPartitionLostListenerConfigs().hashCode();
         result = 31 * result + (statisticsEnabled ? 1 : 0);
         result = 31 * result + (perEntryStatsEnabled ? 1 : 0);
+        result = 31 * result + (offHeapStorageEnabled ? 1 : 0);
         result = 31 * result + (partitioningStrategyConfig != null ? partitioningStrategyConfig.hashCode() : 0);
         result = 31 * result + (splitBrainProtectionName != null ? splitBrainProtectionName.hashCode() : 0);
         result = 31 * result + merkleTreeConfig.hashCode();
@@ -1028,6 +1071,7 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
                 + ", cacheDeserializedValues=" + cacheDeserializedValues
                 + ", statisticsEnabled=" + statisticsEnabled
                 + ", entryStatsEnabled=" + perEntryStatsEnabled
+                + ", offHeapStorageEnabled=" + offHeapStorageEnabled
                 + ", tieredStoreConfig=" + tieredStoreConfig
                 + ", partitioningAttributeConfigs=" + partitioningAttributeConfigs
                 + ", userCodeNamespace=" + userCodeNamespace
@@ -1080,6 +1124,11 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
         if (out.getVersion().isGreaterOrEqual(Versions.V5_4)) {
             out.writeString(userCodeNamespace);
         }
+
+        // RU_COMPAT_5_4
+        if (out.getVersion().isGreaterOrEqual(Versions.V5_5)) {
+            out.writeBoolean(offHeapStorageEnabled);
+        }
     }
 
     @Override
@@ -1118,5 +1167,10 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
         if (in.getVersion().isGreaterOrEqual(Versions.V5_4)) {
             userCodeNamespace = in.readString();
         }
+
+        // RU_COMPAT_5_4
+        if (in.getVersion().isGreaterOrEqual(Versions.V5_5)) {
+            offHeapStorageEnabled = in.readBoolean();
+        }
     }
 }
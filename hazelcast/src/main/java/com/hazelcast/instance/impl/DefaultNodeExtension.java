@@ -85,6 +85,7 @@ import com.hazelcast.internal.networking.ChannelInitializer;
 import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.nio.ClassLoaderUtil;
+import com.hazelcast.internal.nio.PacketPayloadPool;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.SerializationServiceBuilder;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
@@ -117,6 +118,7 @@ import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.eventservice.impl.EventServiceImpl;
 import com.hazelcast.spi.impl.servicemanager.ServiceManager;
 import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.version.MemberVersion;
 import com.hazelcast.version.Version;
 import com.hazelcast.wan.impl.WanReplicationService;
@@ -144,6 +146,7 @@ import static com.hazelcast.internal.util.StringUtil.isNullOrEmpty;
 import static com.hazelcast.jet.impl.util.Util.JET_IS_DISABLED_MESSAGE;
 import static com.hazelcast.jet.impl.util.Util.checkJetIsEnabled;
 import static com.hazelcast.map.impl.MapServiceConstructor.getDefaultMapServiceConstructor;
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
 
 @SuppressWarnings({"checkstyle:methodcount", "checkstyle:classfanoutcomplexity", "checkstyle:classdataabstractioncoupling"})
 public class DefaultNodeExtension implements NodeExtension {
@@ -167,6 +170,8 @@ public class DefaultNodeExtension implements NodeExtension {
     protected IntegrityChecker integrityChecker;
 
     private final MemoryStats memoryStats = new DefaultMemoryStats();
+    private final PacketPayloadPool packetPayloadPool;
+    private final int gatheringWriteThreshold;
 
     public DefaultNodeExtension(Node node) {
         this.node = node;
@@ -185,6 +190,20 @@ public class DefaultNodeExtension implements NodeExtension {
         }
 
         integrityChecker = new IntegrityChecker(node.getConfig().getIntegrityCheckerConfig(), this.systemLogger);
+
+        packetPayloadPool = createPacketPayloadPool(node.getProperties());
+        gatheringWriteThreshold = node.getProperties().getInteger(ClusterProperty.IO_GATHERING_WRITE_THRESHOLD);
+    }
+
+    private static PacketPayloadPool createPacketPayloadPool(HazelcastProperties properties) {
+        if (!properties.getBoolean(ClusterProperty.PACKET_PAYLOAD_POOLING_ENABLED)) {
+            return null;
+        }
+        int bufferSize = properties.getInteger(ClusterProperty.PACKET_PAYLOAD_POOLED_BUFFER_SIZE);
+        int minPayloadSize = properties.getInteger(ClusterProperty.PACKET_PAYLOAD_POOLING_MIN_SIZE);
+        long maxPoolBytes = MEGABYTES.toBytes(properties.getInteger(ClusterProperty.PACKET_PAYLOAD_POOL_MAX_SIZE_IN_MB));
+        int maxBufferCount = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxPoolBytes / bufferSize));
+        return new PacketPayloadPool(bufferSize, minPayloadSize, maxBufferCount);
     }
 
     private void checkPersistenceAllowed() {
@@ -477,14 +496,14 @@ public class DefaultNodeExtension implements NodeExtension {
     public InboundHandler[] createInboundHandlers(EndpointQualifier qualifier,
                                                   ServerConnection connection, ServerContext serverContext) {
         NodeEngineImpl nodeEngine = node.nodeEngine;
-        PacketDecoder decoder = new PacketDecoder(connection, nodeEngine.getPacketDispatcher());
+        PacketDecoder decoder = new PacketDecoder(connection, nodeEngine.getPacketDispatcher(), packetPayloadPool);
         return new InboundHandler[]{decoder};
     }
 
     @Override
     public OutboundHandler[] createOutboundHandlers(EndpointQualifier qualifier,
                                                     ServerConnection connection, ServerContext serverContext) {
-        return new OutboundHandler[]{new PacketEncoder()};
+        return new OutboundHandler[]{new PacketEncoder(gatheringWriteThreshold)};
     }
 
     @Override
@@ -64,6 +64,8 @@ import static com.hazelcast.config.EvictionPolicy.LFU;
 import static com.hazelcast.config.EvictionPolicy.LRU;
 import static com.hazelcast.config.EvictionPolicy.NONE;
 import static com.hazelcast.config.EvictionPolicy.RANDOM;
+import static com.hazelcast.config.EvictionPolicy.TINY_LFU;
+import static com.hazelcast.config.InMemoryFormat.BINARY;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.MaxSizePolicy.ENTRY_COUNT;
 import static com.hazelcast.config.MaxSizePolicy.FREE_HEAP_PERCENTAGE;
@@ -130,6 +132,7 @@ public final class ConfigValidator {
 
         checkNotNativeWhenOpenSource(mapConfig.getInMemoryFormat());
         checkNotBitmapIndexWhenNativeMemory(mapConfig.getInMemoryFormat(), mapConfig.getIndexConfigs());
+        checkOffHeapStorageOnlyWhenBinary(mapConfig);
         checkTSEnabledOnEnterpriseJar(mapConfig.getTieredStoreConfig());
 
         if (getBuildInfo().isEnterprise()) {
@@ -374,6 +377,7 @@ public final class ConfigValidator {
         EvictionConfig evictionConfig = nearCacheConfig.getEvictionConfig();
         checkNearCacheEvictionConfig(evictionConfig.getEvictionPolicy(),
                 evictionConfig.getComparatorClassName(), evictionConfig.getComparator());
+        checkNativeNearCacheEvictionPolicy(nearCacheConfig);
         checkOnHeapNearCacheMaxSizePolicy(nearCacheConfig);
         checkNearCacheNativeMemoryConfig(nearCacheConfig.getInMemoryFormat(),
                 nativeMemoryConfig, getBuildInfo().isEnterprise());
@@ -427,6 +431,15 @@ public final class ConfigValidator {
                 comparator, supportedEvictionPolicies);
     }
 
+    private static void checkNativeNearCacheEvictionPolicy(NearCacheConfig nearCacheConfig) {
+        InMemoryFormat inMemoryFormat = nearCacheConfig.getInMemoryFormat();
+        EvictionPolicy evictionPolicy = nearCacheConfig.getEvictionConfig().getEvictionPolicy();
+        if (inMemoryFormat == NATIVE && evictionPolicy == TINY_LFU) {
+            throw new InvalidConfigurationException(format("Near Cache eviction policy %s cannot be used with %s storage.",
+                    evictionPolicy, inMemoryFormat));
+        }
+    }
+
     private static void checkOnHeapNearCacheMaxSizePolicy(NearCacheConfig nearCacheConfig) {
         InMemoryFormat inMemoryFormat = nearCacheConfig.getInMemoryFormat();
         if (inMemoryFormat == NATIVE) {
@@ -696,6 +709,20 @@ public final class ConfigValidator {
         }
     }
 
+    /**
+     * Throws {@link InvalidConfigurationException} if the off-heap storage is
+     * enabled for a map whose in-memory format isn't {@link InMemoryFormat#BINARY}.
+     *
+     * @param mapConfig the {@link MapConfig}
+     */
+    private static void checkOffHeapStorageOnlyWhenBinary(MapConfig mapConfig) {
+        if (mapConfig.isOffHeapStorageEnabled() && mapConfig.getInMemoryFormat() != BINARY) {
+            throw new InvalidConfigurationException(format("Off-heap storage can be enabled only for maps with"
+                    + " BINARY in-memory format, the map [%s] has %s", mapConfig.getName(),
+                    mapConfig.getInMemoryFormat()));
+        }
+    }
+
     /**
      * Throws {@link InvalidConfigurationException} if the given {@link TieredStoreConfig}
      * is enabled and Hazelcast is OS.
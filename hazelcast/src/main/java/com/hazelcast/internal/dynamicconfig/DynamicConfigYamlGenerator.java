@@ -207,6 +207,8 @@ public class DynamicConfigYamlGenerator {
                     subConfigAsObject.isStatisticsEnabled());
             addNonNullToMap(subConfigAsMap, "per-entry-stats-enabled",
                     subConfigAsObject.isPerEntryStatsEnabled());
+            addNonNullToMap(subConfigAsMap, "off-heap-storage-enabled",
+                    subConfigAsObject.isOffHeapStorageEnabled());
             addNonNullToMap(subConfigAsMap, "cache-deserialized-values",
                     cacheDeserializedValues);
             addNonNullToMap(subConfigAsMap, "backup-count",
@@ -1509,6 +1511,9 @@ public class DynamicConfigYamlGenerator {
             addNonNullToMap(indexConfigAsMap, "name", indexConfig.getName());
             addNonNullToMap(indexConfigAsMap, "type", indexConfig.getType().name());
             addNonNullToMap(indexConfigAsMap, "attributes", indexConfig.getAttributes());
+            if (!indexConfig.getIncludedAttributes().isEmpty()) {
+                indexConfigAsMap.put("included-attributes", indexConfig.getIncludedAttributes());
+            }
 
             if (indexConfig.getType() == IndexType.BITMAP) {
                 Map<String, Object> bitmapIndexOptionsAsMap = new LinkedHashMap<>();
@@ -92,6 +92,7 @@ public final class EvictionPolicyEvaluatorProvider {
             case LRU:
                 return LRUEvictionPolicyComparator.INSTANCE;
             case LFU:
+            case TINY_LFU:
                 return LFUEvictionPolicyComparator.INSTANCE;
             case RANDOM:
                 return RandomEvictionPolicyComparator.INSTANCE;
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.JVMUtil.OBJECT_HEADER_SIZE;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * A reference counted block of native memory holding the payload of a
+ * {@link Data} value.
+ * <p>
+ * The owner of the block, e.g. a record, holds the initial reference and
+ * releases it when it replaces or drops the block. A reader {@linkplain
+ * #acquire() acquires} a reference before it {@linkplain #copy() copies}
+ * the block and releases it afterwards, so the block is freed only when
+ * the last reference is released. Once freed, the block can't be
+ * acquired anymore, and the reader has to read the current block of the
+ * owner again.
+ */
+public final class OffHeapDataBlock {
+
+    /**
+     * On-heap cost of a block in bytes.
+     */
+    public static final int COST_IN_BYTES =
+            OBJECT_HEADER_SIZE + REFERENCE_COST_IN_BYTES + LONG_SIZE_IN_BYTES + 2 * INT_SIZE_IN_BYTES;
+
+    private static final AtomicIntegerFieldUpdater<OffHeapDataBlock> REFERENCE_COUNT =
+            AtomicIntegerFieldUpdater.newUpdater(OffHeapDataBlock.class, "referenceCount");
+
+    private final MemoryAllocator malloc;
+    private final long address;
+    private final int size;
+    // the reference of the owner
+    private volatile int referenceCount = 1;
+
+    /**
+     * Allocates a block with the given malloc and copies the payload into it.
+     */
+    public OffHeapDataBlock(MemoryAllocator malloc, byte[] payload) {
+        this.malloc = malloc;
+        this.size = payload.length;
+        this.address = malloc.allocate(size);
+        MEM.copyFromByteArray(payload, 0, address, size);
+    }
+
+    /**
+     * @return number of off-heap bytes occupied by this block
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Acquires a reference to this block.
+     *
+     * @return {@code false} if the block is already freed
+     */
+    public boolean acquire() {
+        for (;;) {
+            int count = referenceCount;
+            if (count == 0) {
+                return false;
+            }
+            if (REFERENCE_COUNT.compareAndSet(this, count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a reference to this block and frees the block if it was the
+     * last one.
+     */
+    public void release() {
+        if (REFERENCE_COUNT.decrementAndGet(this) == 0) {
+            malloc.free(address, size);
+        }
+    }
+
+    /**
+     * Copies the payload into a new on-heap {@link Data}. The caller must hold
+     * a reference to the block.
+     */
+    public Data copy() {
+        byte[] payload = new byte[size];
+        MEM.copyToByteArray(address, payload, 0, size);
+        return new HeapData(payload);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.internal.util.Preconditions.checkState;
+
+/**
+ * {@link MemoryAllocator} which allocates blocks of native memory outside the Java heap
+ * through {@link sun.misc.Unsafe}. Keeps track of the number of bytes currently allocated
+ * so that the owner can report its off-heap footprint.
+ * <p>
+ * Blocks allocated by this allocator must be accessed through a native {@link
+ * com.hazelcast.internal.memory.MemoryAccessor}, such as
+ * {@link com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry#MEM}.
+ */
+public final class UnsafeMemoryAllocator implements MemoryAllocator {
+
+    private final AtomicLong usedMemory = new AtomicLong();
+
+    public UnsafeMemoryAllocator() {
+        checkState(UNSAFE_AVAILABLE, "sun.misc.Unsafe is not available, cannot allocate native memory");
+    }
+
+    @Override
+    public long allocate(long size) {
+        long address = allocate0(size);
+        UNSAFE.setMemory(address, size, (byte) 0);
+        usedMemory.addAndGet(size);
+        return address;
+    }
+
+    @Override
+    public long reallocate(long address, long currentSize, long newSize) {
+        long newAddress;
+        try {
+            newAddress = UNSAFE.reallocateMemory(address, newSize);
+        } catch (OutOfMemoryError e) {
+            throw new NativeOutOfMemoryError("Cannot reallocate " + currentSize + " bytes to "
+                    + newSize + " bytes of native memory", e);
+        }
+        if (newSize > currentSize) {
+            UNSAFE.setMemory(newAddress + currentSize, newSize - currentSize, (byte) 0);
+        }
+        usedMemory.addAndGet(newSize - currentSize);
+        return newAddress;
+    }
+
+    @Override
+    public void free(long address, long size) {
+        UNSAFE.freeMemory(address);
+        usedMemory.addAndGet(-size);
+    }
+
+    /**
+     * @return number of bytes currently allocated and not yet freed
+     */
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    @Override
+    public void dispose() {
+        // NOP: blocks are owned and freed by the callers
+    }
+
+    private static long allocate0(long size) {
+        try {
+            return UNSAFE.allocateMemory(size);
+        } catch (OutOfMemoryError e) {
+            throw new NativeOutOfMemoryError("Cannot allocate " + size + " bytes of native memory", e);
+        }
+    }
+}
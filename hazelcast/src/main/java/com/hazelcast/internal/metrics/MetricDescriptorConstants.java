@@ -224,6 +224,14 @@ public final class MetricDescriptorConstants {
     public static final String MAP_METRIC_BACKUP_COUNT = "backupCount";
     public static final String MAP_METRIC_QUERY_COUNT = "queryCount";
     public static final String MAP_METRIC_INDEXED_QUERY_COUNT = "indexedQueryCount";
+    public static final String MAP_METRIC_QUERY_RESULT_CACHE_HITS = "queryResultCacheHits";
+    public static final String MAP_METRIC_QUERY_RESULT_CACHE_MISSES = "queryResultCacheMisses";
+    public static final String MAP_METRIC_WRITE_BEHIND_STORED_ENTRY_COUNT = "writeBehindStoredEntryCount";
+    public static final String MAP_METRIC_TOTAL_WRITE_BEHIND_STORE_LATENCY = "totalWriteBehindStoreLatency";
+    public static final String MAP_METRIC_WRITE_BEHIND_BATCH_SIZE = "writeBehindBatchSize";
+    public static final String MAP_METRIC_LOADED_KEY_COUNT = "loadedKeyCount";
+    public static final String MAP_METRIC_LOADED_KEY_SHARD_COUNT = "loadedKeyShardCount";
+    public static final String MAP_METRIC_LOADED_ENTRY_COUNT = "loadedEntryCount";
     public static final String MAP_METRIC_TOTAL_PUT_LATENCY = "totalPutLatency";
     public static final String MAP_METRIC_TOTAL_SET_LATENCY = "totalSetLatency";
     public static final String MAP_METRIC_TOTAL_GET_LATENCY = "totalGetLatency";
@@ -284,6 +292,7 @@ public final class MetricDescriptorConstants {
     public static final String MIGRATION_METRIC_PLANNED_MIGRATIONS = "plannedMigrations";
     public static final String MIGRATION_METRIC_COMPLETED_MIGRATIONS = "completedMigrations";
     public static final String MIGRATION_METRIC_TOTAL_COMPLETED_MIGRATIONS = "totalCompletedMigrations";
+    public static final String MIGRATION_METRIC_ESTIMATED_REMAINING_MIGRATION_TIME = "estimatedRemainingMigrationTime";
     public static final String MIGRATION_METRIC_ELAPSED_MIGRATION_OPERATION_TIME = "elapsedMigrationOperationTime";
     public static final String MIGRATION_METRIC_ELAPSED_DESTINATION_COMMIT_TIME = "elapsedDestinationCommitTime";
     public static final String MIGRATION_METRIC_ELAPSED_MIGRATION_TIME = "elapsedMigrationTime";
@@ -305,6 +314,7 @@ public final class MetricDescriptorConstants {
     public static final String NEARCACHE_METRIC_HITS = "hits";
     public static final String NEARCACHE_METRIC_MISSES = "misses";
     public static final String NEARCACHE_METRIC_EVICTIONS = "evictions";
+    public static final String NEARCACHE_METRIC_ADMISSION_REJECTIONS = "admissionRejections";
     public static final String NEARCACHE_METRIC_EXPIRATIONS = "expirations";
     public static final String NEARCACHE_METRIC_INVALIDATIONS = "invalidations";
     public static final String NEARCACHE_METRIC_INVALIDATION_REQUESTS = "invalidationRequests";
@@ -469,6 +479,14 @@ public final class MetricDescriptorConstants {
     public static final String PROXY_METRIC_DESTROYED_COUNT = "destroyedCount";
     // ===[/PROXY]=======================================================
 
+    // ===[QUERY SCAN]==================================================
+    public static final String QUERY_SCAN_PREFIX = "query.scan";
+    public static final String QUERY_SCAN_METRIC_STEAL_COUNT = "stealCount";
+    public static final String QUERY_SCAN_METRIC_CHUNK_COUNT = "chunkCount";
+    public static final String QUERY_SCAN_METRIC_CHUNK_TOTAL_LATENCY = "chunkTotalLatency";
+    public static final String QUERY_SCAN_METRIC_CHUNK_MAX_LATENCY = "chunkMaxLatency";
+    // ===[/QUERY SCAN]=================================================
+
     // ===[QUEUE]=======================================================
     public static final String QUEUE_PREFIX = "queue";
     public static final String QUEUE_METRIC_EVENT_OPERATION_COUNT = "eventOperationCount";
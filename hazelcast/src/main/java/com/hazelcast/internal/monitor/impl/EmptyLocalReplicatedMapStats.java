@@ -100,6 +100,36 @@ public class EmptyLocalReplicatedMapStats implements LocalReplicatedMapStats {
         return 0;
     }
 
+    @Override
+    public long getWriteBehindStoredEntryCount() {
+        return 0;
+    }
+
+    @Override
+    public long getTotalWriteBehindStoreLatency() {
+        return 0;
+    }
+
+    @Override
+    public int getWriteBehindBatchSize() {
+        return 0;
+    }
+
+    @Override
+    public long getLoadedKeyCount() {
+        return 0;
+    }
+
+    @Override
+    public long getLoadedKeyShardCount() {
+        return 0;
+    }
+
+    @Override
+    public long getLoadedEntryCount() {
+        return 0;
+    }
+
     @Override
     public long getPutOperationCount() {
         return 0;
@@ -185,6 +215,16 @@ public class EmptyLocalReplicatedMapStats implements LocalReplicatedMapStats {
         throw new UnsupportedOperationException("Queries on replicated maps are not supported.");
     }
 
+    @Override
+    public long getQueryResultCacheHits() {
+        throw new UnsupportedOperationException("Queries on replicated maps are not supported.");
+    }
+
+    @Override
+    public long getQueryResultCacheMisses() {
+        throw new UnsupportedOperationException("Queries on replicated maps are not supported.");
+    }
+
     @Override
     public Map<String, LocalIndexStats> getIndexStats() {
         throw new UnsupportedOperationException("Queries on replicated maps are not supported.");
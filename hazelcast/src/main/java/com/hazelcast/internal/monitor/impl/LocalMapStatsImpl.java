@@ -43,12 +43,17 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LAST_UPDATE_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LOCKED_ENTRY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_MERKLE_TREES_COST;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LOADED_ENTRY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LOADED_KEY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LOADED_KEY_SHARD_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_NUMBER_OF_EVENTS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_NUMBER_OF_OTHER_OPERATIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_OWNED_ENTRY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_OWNED_ENTRY_MEMORY_COST;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_PUT_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_QUERY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_QUERY_RESULT_CACHE_HITS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_QUERY_RESULT_CACHE_MISSES;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_REMOVE_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_SET_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_GET_LATENCY;
@@ -59,6 +64,9 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_PUT_LATENCY;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_REMOVE_LATENCY;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_SET_LATENCY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_WRITE_BEHIND_STORE_LATENCY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_BATCH_SIZE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_STORED_ENTRY_COUNT;
 import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
 import static com.hazelcast.internal.util.ConcurrencyUtil.setMax;
@@ -79,6 +87,12 @@ public class LocalMapStatsImpl implements LocalMapStats {
             newUpdater(LocalMapStatsImpl.class, "numberOfOtherOperations");
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> NUMBER_OF_EVENTS =
             newUpdater(LocalMapStatsImpl.class, "numberOfEvents");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> LOADED_KEY_COUNT =
+            newUpdater(LocalMapStatsImpl.class, "loadedKeyCount");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> LOADED_KEY_SHARD_COUNT =
+            newUpdater(LocalMapStatsImpl.class, "loadedKeyShardCount");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> LOADED_ENTRY_COUNT =
+            newUpdater(LocalMapStatsImpl.class, "loadedEntryCount");
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> GET_COUNT =
             newUpdater(LocalMapStatsImpl.class, "getCount");
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> PUT_COUNT =
@@ -167,6 +181,18 @@ public class LocalMapStatsImpl implements LocalMapStats {
     private volatile long lockedEntryCount;
     @Probe(name = MAP_METRIC_DIRTY_ENTRY_COUNT)
     private volatile long dirtyEntryCount;
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_STORED_ENTRY_COUNT)
+    private volatile long writeBehindStoredEntryCount;
+    @Probe(name = MAP_METRIC_TOTAL_WRITE_BEHIND_STORE_LATENCY, unit = MS)
+    private volatile long totalWriteBehindStoreLatency;
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_BATCH_SIZE)
+    private volatile int writeBehindBatchSize;
+    @Probe(name = MAP_METRIC_LOADED_KEY_COUNT)
+    private volatile long loadedKeyCount;
+    @Probe(name = MAP_METRIC_LOADED_KEY_SHARD_COUNT)
+    private volatile long loadedKeyShardCount;
+    @Probe(name = MAP_METRIC_LOADED_ENTRY_COUNT)
+    private volatile long loadedEntryCount;
     @Probe(name = MAP_METRIC_BACKUP_COUNT)
     private volatile int backupCount;
     private volatile NearCacheStats nearCacheStats;
@@ -174,6 +200,10 @@ public class LocalMapStatsImpl implements LocalMapStats {
     private volatile long queryCount;
     @Probe(name = MAP_METRIC_INDEXED_QUERY_COUNT)
     private volatile long indexedQueryCount;
+    @Probe(name = MAP_METRIC_QUERY_RESULT_CACHE_HITS)
+    private volatile long queryResultCacheHits;
+    @Probe(name = MAP_METRIC_QUERY_RESULT_CACHE_MISSES)
+    private volatile long queryResultCacheMisses;
 
     private final boolean ignoreMemoryCosts;
 
@@ -307,6 +337,48 @@ public class LocalMapStatsImpl implements LocalMapStats {
         this.dirtyEntryCount = dirtyEntryCount;
     }
 
+    @Override
+    public long getWriteBehindStoredEntryCount() {
+        return writeBehindStoredEntryCount;
+    }
+
+    public void setWriteBehindStoredEntryCount(long writeBehindStoredEntryCount) {
+        this.writeBehindStoredEntryCount = writeBehindStoredEntryCount;
+    }
+
+    @Override
+    public long getTotalWriteBehindStoreLatency() {
+        return totalWriteBehindStoreLatency;
+    }
+
+    public void setTotalWriteBehindStoreLatency(long totalWriteBehindStoreLatency) {
+        this.totalWriteBehindStoreLatency = totalWriteBehindStoreLatency;
+    }
+
+    @Override
+    public int getWriteBehindBatchSize() {
+        return writeBehindBatchSize;
+    }
+
+    public void setWriteBehindBatchSize(int writeBehindBatchSize) {
+        this.writeBehindBatchSize = writeBehindBatchSize;
+    }
+
+    @Override
+    public long getLoadedKeyCount() {
+        return loadedKeyCount;
+    }
+
+    @Override
+    public long getLoadedKeyShardCount() {
+        return loadedKeyShardCount;
+    }
+
+    @Override
+    public long getLoadedEntryCount() {
+        return loadedEntryCount;
+    }
+
     @Override
     public long getPutOperationCount() {
         return putCount;
@@ -446,6 +518,24 @@ public class LocalMapStatsImpl implements LocalMapStats {
         this.indexedQueryCount = indexedQueryCount;
     }
 
+    @Override
+    public long getQueryResultCacheHits() {
+        return queryResultCacheHits;
+    }
+
+    public void setQueryResultCacheHits(long queryResultCacheHits) {
+        this.queryResultCacheHits = queryResultCacheHits;
+    }
+
+    @Override
+    public long getQueryResultCacheMisses() {
+        return queryResultCacheMisses;
+    }
+
+    public void setQueryResultCacheMisses(long queryResultCacheMisses) {
+        this.queryResultCacheMisses = queryResultCacheMisses;
+    }
+
     @Override
     public Map<String, LocalIndexStats> getIndexStats() {
         return indexStats;
@@ -508,6 +598,18 @@ public class LocalMapStatsImpl implements LocalMapStats {
         NUMBER_OF_EVENTS.incrementAndGet(this);
     }
 
+    public void incrementLoadedKeys(long delta) {
+        LOADED_KEY_COUNT.addAndGet(this, delta);
+    }
+
+    public void incrementLoadedKeyShards() {
+        LOADED_KEY_SHARD_COUNT.incrementAndGet(this);
+    }
+
+    public void incrementLoadedEntries(long delta) {
+        LOADED_ENTRY_COUNT.addAndGet(this, delta);
+    }
+
     public void updateIndexStats(Map<String, OnDemandIndexStats> freshIndexStats) {
         // A new index can be added, but already existing indexes can't be
         // removed, that matches the current implementation properties of the
@@ -561,11 +663,19 @@ public class LocalMapStatsImpl implements LocalMapStats {
                 + ", creationTime=" + creationTime
                 + ", lockedEntryCount=" + lockedEntryCount
                 + ", dirtyEntryCount=" + dirtyEntryCount
+                + ", writeBehindStoredEntryCount=" + writeBehindStoredEntryCount
+                + ", totalWriteBehindStoreLatency=" + totalWriteBehindStoreLatency
+                + ", writeBehindBatchSize=" + writeBehindBatchSize
+                + ", loadedKeyCount=" + loadedKeyCount
+                + ", loadedKeyShardCount=" + loadedKeyShardCount
+                + ", loadedEntryCount=" + loadedEntryCount
                 + ", heapCost=" + heapCost
                 + ", merkleTreesCost=" + merkleTreesCost
                 + ", nearCacheStats=" + (nearCacheStats != null ? nearCacheStats : "")
                 + ", queryCount=" + queryCount
                 + ", indexedQueryCount=" + indexedQueryCount
+                + ", queryResultCacheHits=" + queryResultCacheHits
+                + ", queryResultCacheMisses=" + queryResultCacheMisses
                 + ", indexStats=" + indexStats
                 + ", replicationStats=" + replicationStats
                 + '}';
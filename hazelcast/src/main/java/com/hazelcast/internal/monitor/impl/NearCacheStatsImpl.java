@@ -22,6 +22,7 @@ import com.hazelcast.nearcache.NearCacheStats;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.LongAccumulator;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_ADMISSION_REJECTIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_CREATION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_EVICTIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_EXPIRATIONS;
@@ -52,6 +53,8 @@ public class NearCacheStatsImpl implements NearCacheStats {
             newUpdater(NearCacheStatsImpl.class, "ownedEntryMemoryCost");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> EVICTIONS =
             newUpdater(NearCacheStatsImpl.class, "evictions");
+    private static final AtomicLongFieldUpdater<NearCacheStatsImpl> ADMISSION_REJECTIONS =
+            newUpdater(NearCacheStatsImpl.class, "admissionRejections");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> EXPIRATIONS =
             newUpdater(NearCacheStatsImpl.class, "expirations");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> INVALIDATIONS =
@@ -73,6 +76,8 @@ public class NearCacheStatsImpl implements NearCacheStats {
     private final LongAccumulator misses = new LongAccumulator(Long::sum, 0);
     @Probe(name = NEARCACHE_METRIC_EVICTIONS)
     private volatile long evictions;
+    @Probe(name = NEARCACHE_METRIC_ADMISSION_REJECTIONS)
+    private volatile long admissionRejections;
     @Probe(name = NEARCACHE_METRIC_EXPIRATIONS)
     private volatile long expirations;
 
@@ -104,6 +109,7 @@ public class NearCacheStatsImpl implements NearCacheStats {
         setHits(stats.getHits());
         setMisses(stats.getMisses());
         evictions = stats.getEvictions();
+        admissionRejections = stats.getAdmissionRejections();
         expirations = stats.getExpirations();
         invalidations = stats.getInvalidations();
         invalidationRequests = stats.getInvalidationRequests();
@@ -207,6 +213,15 @@ public class NearCacheStatsImpl implements NearCacheStats {
         EVICTIONS.incrementAndGet(this);
     }
 
+    @Override
+    public long getAdmissionRejections() {
+        return admissionRejections;
+    }
+
+    public void incrementAdmissionRejections() {
+        ADMISSION_REJECTIONS.incrementAndGet(this);
+    }
+
     @Override
     public long getExpirations() {
         return expirations;
@@ -304,6 +319,7 @@ public class NearCacheStatsImpl implements NearCacheStats {
                 + ", misses=" + misses
                 + ", ratio=" + format("%.1f%%", getRatio())
                 + ", evictions=" + evictions
+                + ", admissionRejections=" + admissionRejections
                 + ", expirations=" + expirations
                 + ", invalidations=" + invalidations
                 + ", invalidationRequests=" + invalidationRequests
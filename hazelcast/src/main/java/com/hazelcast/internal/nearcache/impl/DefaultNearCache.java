@@ -23,6 +23,7 @@ import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.nearcache.NearCacheRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheDataRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheObjectRecordStore;
+import com.hazelcast.internal.nearcache.impl.store.NearCacheOffHeapDataRecordStore;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.nearcache.NearCacheStats;
@@ -34,8 +35,11 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.config.NearCacheConfig.DEFAULT_MEMORY_FORMAT;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
 import static com.hazelcast.internal.util.Preconditions.checkInstanceOf;
 import static com.hazelcast.internal.util.Preconditions.checkNotInstanceOf;
+import static com.hazelcast.spi.properties.ClusterProperty.NEAR_CACHE_OFF_HEAP_STORAGE_ENABLED;
 
 public class DefaultNearCache<K, V> implements NearCache<K, V> {
 
@@ -91,6 +95,9 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
         }
         switch (inMemoryFormat) {
             case BINARY:
+                if (isOffHeapStorageEnabled()) {
+                    return new NearCacheOffHeapDataRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader);
+                }
                 return new NearCacheDataRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader);
             case OBJECT:
                 return new NearCacheObjectRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader);
@@ -99,6 +106,11 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
         }
     }
 
+    private boolean isOffHeapStorageEnabled() {
+        return properties != null && properties.getBoolean(NEAR_CACHE_OFF_HEAP_STORAGE_ENABLED)
+                && UNSAFE_AVAILABLE && MEM_AVAILABLE;
+    }
+
     private ScheduledFuture createAndScheduleExpirationTask() {
         if (nearCacheConfig.getMaxIdleSeconds() > 0L
                 || nearCacheConfig.getTimeToLiveSeconds() > 0L) {
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_fmix;
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Count-min sketch estimating the access frequency of the keys of a Near
+ * Cache, used by the {@link com.hazelcast.config.EvictionPolicy#TINY_LFU}
+ * admission policy.
+ * <p>
+ * Each slot of the table holds sixteen 4-bit counters and a key is mapped to
+ * one counter in each of four slots, so the estimated frequency of a key is
+ * the minimum of its counters and can never exceed {@value #MAX_FREQUENCY}.
+ * To let the estimates follow the changes of the access pattern, all the
+ * counters are halved once the number of recorded accesses reaches a sample
+ * window of ten times the maximum size of the Near Cache.
+ * <p>
+ * The sketch is thread-safe. Its memory footprint is one {@code long} per
+ * Near Cache entry, bounded by {@value #MAXIMUM_CAPACITY} slots.
+ */
+public final class FrequencySketch {
+
+    static final int MAX_FREQUENCY = 15;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 20;
+    private static final int SAMPLE_WINDOW_MULTIPLIER = 10;
+    private static final int DEPTH = 4;
+    private static final int COUNTER_BITS = 4;
+    private static final long COUNTER_MASK = 0xFL;
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    private final AtomicLongArray table;
+    private final int tableMask;
+    private final int sampleWindow;
+    private final AtomicInteger sampleSize = new AtomicInteger();
+
+    public FrequencySketch(int maximumSize) {
+        int capacity = nextPowerOfTwo(Math.max(1, Math.min(maximumSize, MAXIMUM_CAPACITY)));
+        this.table = new AtomicLongArray(capacity);
+        this.tableMask = capacity - 1;
+        this.sampleWindow = (int) Math.min((long) maximumSize * SAMPLE_WINDOW_MULTIPLIER, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Records an access to the given key.
+     */
+    public void increment(Object key) {
+        int hash = MurmurHash3_fmix(key.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        // only a single thread observes the exact window size, so the
+        // counters are not halved concurrently by several threads
+        if (added && sampleSize.incrementAndGet() == sampleWindow) {
+            reset();
+        }
+    }
+
+    /**
+     * Returns the estimated number of accesses to the given key, at most
+     * {@value #MAX_FREQUENCY}.
+     */
+    public int frequency(Object key) {
+        int hash = MurmurHash3_fmix(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < DEPTH; i++) {
+            int shift = (start + i) * COUNTER_BITS;
+            int count = (int) ((table.get(indexOf(hash, i)) >>> shift) & COUNTER_MASK);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    private int indexOf(int hash, int depth) {
+        long h = (hash + SEEDS[depth]) * SEEDS[depth];
+        h += h >>> Integer.SIZE;
+        return (int) h & tableMask;
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int shift = counter * COUNTER_BITS;
+        long mask = COUNTER_MASK << shift;
+        for (;;) {
+            long slot = table.get(index);
+            if ((slot & mask) == mask) {
+                return false;
+            }
+            if (table.compareAndSet(index, slot, slot + (1L << shift))) {
+                return true;
+            }
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length(); i++) {
+            table.updateAndGet(i, slot -> (slot >>> 1) & RESET_MASK);
+        }
+        sampleSize.addAndGet(-(sampleWindow >>> 1));
+    }
+}
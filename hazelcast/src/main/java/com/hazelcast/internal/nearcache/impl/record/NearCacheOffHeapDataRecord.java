@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.impl.OffHeapDataBlock;
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Implementation of {@link com.hazelcast.internal.nearcache.NearCacheRecord} to store {@link Data} type
+ * values outside the Java heap.
+ * <p>
+ * Near Cache records are read and updated concurrently by user and
+ * invalidation threads. Reads don't lock: the off-heap block of the value
+ * is reference counted, a reader acquires the current block before copying
+ * it and the block is freed once it is neither the current block of the
+ * record nor being copied. Every {@link #getValue()} call returns a fresh
+ * on-heap copy of the value, and once the block is {@linkplain #free()
+ * freed} the record behaves as if it had no value.
+ */
+public class NearCacheOffHeapDataRecord extends AbstractNearCacheRecord<Data> {
+
+    private static final AtomicReferenceFieldUpdater<NearCacheOffHeapDataRecord, OffHeapDataBlock> BLOCK =
+            AtomicReferenceFieldUpdater.newUpdater(NearCacheOffHeapDataRecord.class, OffHeapDataBlock.class, "block");
+
+    private final MemoryAllocator malloc;
+
+    private volatile OffHeapDataBlock block;
+
+    public NearCacheOffHeapDataRecord(MemoryAllocator malloc, Data value, long creationTime, long expiryTime) {
+        super(null, creationTime, expiryTime);
+        this.malloc = malloc;
+        setValue(value);
+    }
+
+    @Override
+    public Data getValue() {
+        for (;;) {
+            OffHeapDataBlock current = block;
+            if (current == null) {
+                return null;
+            }
+            if (current.acquire()) {
+                try {
+                    return current.copy();
+                } finally {
+                    current.release();
+                }
+            }
+            // the block was replaced and freed meanwhile, read the new one
+        }
+    }
+
+    /**
+     * Copies the given value into a newly allocated off-heap block and
+     * releases the previous block, if any.
+     */
+    @Override
+    public void setValue(Data value) {
+        OffHeapDataBlock newBlock = value == null ? null : new OffHeapDataBlock(malloc, value.toByteArray());
+        OffHeapDataBlock oldBlock = BLOCK.getAndSet(this, newBlock);
+        if (oldBlock != null) {
+            oldBlock.release();
+        }
+    }
+
+    /**
+     * Releases the off-heap block of this record. Must be called once the
+     * record has been removed from its record store.
+     */
+    public void free() {
+        setValue(null);
+    }
+
+    /**
+     * @return number of off-heap bytes occupied by this record
+     */
+    public long getOffHeapCost() {
+        OffHeapDataBlock current = block;
+        return current == null ? 0L : current.size();
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheOffHeapDataRecord{"
+                + "offHeapCost=" + getOffHeapCost()
+                + ", " + super.toString()
+                + '}';
+    }
+}
@@ -20,6 +20,7 @@ import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.eviction.EvictionCandidate;
 import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.eviction.EvictionListener;
 import com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator;
@@ -28,6 +29,7 @@ import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.nearcache.NearCacheRecord;
 import com.hazelcast.internal.nearcache.NearCacheRecordStore;
+import com.hazelcast.internal.nearcache.impl.FrequencySketch;
 import com.hazelcast.internal.nearcache.impl.SampleableNearCacheRecordMap;
 import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataContainer;
 import com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector;
@@ -63,12 +65,14 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         implements NearCacheRecordStore<K, V>, EvictionListener<KS, R> {
 
     private static final long MILLI_SECONDS_IN_A_SECOND = 1000;
+    private static final int ADMISSION_SAMPLE_COUNT = 15;
     private static final AtomicLongFieldUpdater<AbstractNearCacheRecordStore> RESERVATION_ID
             = newUpdater(AbstractNearCacheRecordStore.class, "reservationId");
 
     protected final long timeToLiveMillis;
     protected final long maxIdleMillis;
     protected final boolean evictionDisabled;
+    protected final FrequencySketch frequencySketch;
     protected final ClassLoader classLoader;
     protected final InMemoryFormat inMemoryFormat;
     protected final NearCacheConfig nearCacheConfig;
@@ -83,6 +87,8 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
     protected volatile long reservationId;
     protected volatile StaleReadDetector staleReadDetector = ALWAYS_FRESH;
 
+    private final Object admissionMutex = new Object();
+
     public AbstractNearCacheRecordStore(NearCacheConfig nearCacheConfig,
                                         SerializationService serializationService,
                                         ClassLoader classLoader) {
@@ -100,6 +106,8 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         this.classLoader = classLoader;
         this.nearCacheStats = nearCacheStats;
         this.evictionDisabled = nearCacheConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.NONE;
+        this.frequencySketch = nearCacheConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.TINY_LFU
+                ? new FrequencySketch(nearCacheConfig.getEvictionConfig().getSize()) : null;
     }
 
     @Override
@@ -228,6 +236,10 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
     public V get(K key) {
         checkAvailable();
 
+        if (frequencySketch != null) {
+            frequencySketch.increment(key);
+        }
+
         R record = null;
         V value = null;
         try {
@@ -333,6 +345,10 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         if (evictionDisabled) {
             return false;
         }
+        if (frequencySketch != null && !withoutMaxSizeCheck) {
+            // a full Near Cache evicts only when admitting a new entry, see admitAndReserve()
+            return false;
+        }
 
         EvictionChecker evictionChecker = withoutMaxSizeCheck ? null : this.evictionChecker;
         evictionStrategy.evict(records, evictionPolicyEvaluator, evictionChecker, this);
@@ -347,7 +363,13 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         if (evictionDisabled && evictionChecker.isEvictionRequired() && !containsRecordKey(key)) {
             return NOT_RESERVED;
         }
+        if (frequencySketch != null) {
+            return admitAndReserve(key, keyData, updateSemantic);
+        }
+        return reserve(key, keyData, updateSemantic);
+    }
 
+    private long reserve(K key, Data keyData, NearCache.UpdateSemantic updateSemantic) {
         long reservationId = nextReservationId();
 
         R reservedRecord = updateSemantic == WRITE_UPDATE
@@ -361,6 +383,60 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         return reservationId;
     }
 
+    /**
+     * TinyLFU admission: if the Near Cache is full, a new key is admitted only
+     * if its estimated access frequency is higher than the one of the least
+     * frequently accessed sampled entry, which is then evicted to make room.
+     * <p>
+     * The admission, the reservation and the eviction are serialized, so that
+     * concurrent admissions can't push the size over the maximum. The victim
+     * is evicted only after the reservation added a record.
+     */
+    private long admitAndReserve(K key, Data keyData, NearCache.UpdateSemantic updateSemantic) {
+        synchronized (admissionMutex) {
+            boolean full = evictionChecker.isEvictionRequired();
+            EvictionCandidate<KS, R> victim = null;
+            if (full && !containsRecordKey(key)) {
+                victim = selectVictim(key);
+                if (victim == null) {
+                    nearCacheStats.incrementAdmissionRejections();
+                    return NOT_RESERVED;
+                }
+            }
+
+            int sizeBeforeReservation = records.size();
+            long reservationId = reserve(key, keyData, updateSemantic);
+            if (full && reservationId != NOT_RESERVED && records.size() > sizeBeforeReservation) {
+                // the victim might be gone already, or the key was removed
+                // after the containment check, so fall back to the regular eviction
+                if (victim == null || !records.tryEvict(victim, this)) {
+                    evictionStrategy.evict(records, evictionPolicyEvaluator, null, this);
+                }
+            }
+            return reservationId;
+        }
+    }
+
+    /**
+     * Returns the least frequently accessed sampled entry if it's accessed
+     * less frequently than the given key, {@code null} otherwise.
+     */
+    private EvictionCandidate<KS, R> selectVictim(K key) {
+        EvictionCandidate<KS, R> victim = null;
+        int victimFrequency = Integer.MAX_VALUE;
+        for (EvictionCandidate<KS, R> candidate : records.<EvictionCandidate<KS, R>>sample(ADMISSION_SAMPLE_COUNT)) {
+            if (candidate.getEvictable().getReservationId() != READ_PERMITTED) {
+                continue;
+            }
+            int frequency = frequencySketch.frequency(candidate.getAccessor());
+            if (frequency < victimFrequency) {
+                victim = candidate;
+                victimFrequency = frequency;
+            }
+        }
+        return victim != null && frequencySketch.frequency(key) > victimFrequency ? victim : null;
+    }
+
     protected R publishReservedRecord(K key, V value, R reservedRecord, long reservationId) {
         if (reservedRecord.getReservationId() != reservationId) {
             return reservedRecord;
@@ -45,7 +45,7 @@ import static java.lang.String.format;
 public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheRecord>
         extends AbstractNearCacheRecordStore<K, V, K, R, HeapNearCacheRecordMap<K, R>> {
 
-    private static final int DEFAULT_INITIAL_CAPACITY = 1000;
+    static final int DEFAULT_INITIAL_CAPACITY = 1000;
 
     private final NearCachePreloader<K> nearCachePreloader;
     private final BiFunction<? super K, ? super R, ? extends R> invalidatorFunction = createInvalidatorFunction();
@@ -200,7 +200,11 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
         nearCacheStats.incrementInvalidationRequests();
     }
 
-    private BiFunction<K, R, R> createInvalidatorFunction() {
+    /**
+     * Creates the function removing an invalidated record from the records
+     * map. Called from the constructor.
+     */
+    protected BiFunction<K, R, R> createInvalidatorFunction() {
         return (key, record) -> {
             if (canUpdateStats(record)) {
                 nearCacheStats.decrementOwnedEntryCount();
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.internal.eviction.EvictionListener;
+import com.hazelcast.internal.memory.impl.OffHeapDataBlock;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryAllocator;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheOffHeapDataRecord;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializableByConvention;
+import com.hazelcast.internal.serialization.SerializationService;
+
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import static com.hazelcast.internal.nearcache.NearCache.CACHED_AS_NULL;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.READ_PERMITTED;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.TIME_NOT_SET;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_BOOLEAN_FIELD_TYPES;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_INTEGER_FIELD_TYPES;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_LONG_FIELD_TYPES;
+import static com.hazelcast.internal.util.Clock.currentTimeMillis;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * {@link com.hazelcast.internal.nearcache.NearCacheRecordStore} implementation for Near Caches
+ * with {@link com.hazelcast.config.InMemoryFormat#BINARY} in-memory-format which keeps the
+ * values outside the Java heap.
+ * <p>
+ * Keys and record metadata stay in the on-heap {@link HeapNearCacheRecordMap}, so
+ * reservations, sampling based eviction, expiration, preloading and stale read detection
+ * work the same way as for the on-heap stores. Only the value payloads, which dominate
+ * the footprint of a Near Cache, are allocated with an {@link UnsafeMemoryAllocator}
+ * and freed as soon as their records are removed.
+ *
+ * @param <K> the type of the key stored in Near Cache
+ * @param <V> the type of the value stored in Near Cache
+ * @see com.hazelcast.spi.properties.ClusterProperty#NEAR_CACHE_OFF_HEAP_STORAGE_ENABLED
+ */
+public class NearCacheOffHeapDataRecordStore<K, V> extends BaseHeapNearCacheRecordStore<K, V, NearCacheOffHeapDataRecord> {
+
+    private final UnsafeMemoryAllocator malloc = new UnsafeMemoryAllocator();
+
+    public NearCacheOffHeapDataRecordStore(String name,
+                                           NearCacheConfig nearCacheConfig,
+                                           SerializationService serializationService,
+                                           ClassLoader classLoader) {
+        super(name, nearCacheConfig, serializationService, classLoader);
+    }
+
+    @Override
+    protected HeapNearCacheRecordMap<K, NearCacheOffHeapDataRecord> createNearCacheRecordMap(NearCacheConfig nearCacheConfig) {
+        return new OffHeapNearCacheRecordMap<>(serializationService, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    @Override
+    protected long getKeyStorageMemoryCost(K key) {
+        if (key instanceof Data) {
+            return
+                    // reference to this key data inside map ("store" field)
+                    REFERENCE_COST_IN_BYTES
+                            // heap cost of this key data
+                            + ((Data) key).getHeapCost();
+        } else {
+            // memory cost for non-data typed instance is not supported
+            return 0L;
+        }
+    }
+
+    @Override
+    protected long getRecordStorageMemoryCost(NearCacheOffHeapDataRecord record) {
+        if (record == null) {
+            return 0L;
+        }
+        long offHeapCost = record.getOffHeapCost();
+        // reference to this record inside map ("store" field)
+        return REFERENCE_COST_IN_BYTES
+                // reference to "value", "malloc" and "block" fields
+                + 3 * REFERENCE_COST_IN_BYTES
+                // the on-heap handle of the off-heap block
+                + (offHeapCost > 0 ? OffHeapDataBlock.COST_IN_BYTES : 0)
+                // partition Id
+                + (Integer.SIZE / Byte.SIZE)
+                // "uuid" ref size + 2 long in uuid
+                + REFERENCE_COST_IN_BYTES + (2 * (Long.SIZE / Byte.SIZE))
+                + NUMBER_OF_LONG_FIELD_TYPES * (Long.SIZE / Byte.SIZE)
+                + NUMBER_OF_INTEGER_FIELD_TYPES * (Integer.SIZE / Byte.SIZE)
+                + NUMBER_OF_BOOLEAN_FIELD_TYPES
+                // off-heap block of the value
+                + offHeapCost;
+    }
+
+    @Override
+    protected NearCacheOffHeapDataRecord createRecord(V value) {
+        Data dataValue = toData(value);
+        long creationTime = currentTimeMillis();
+        if (timeToLiveMillis > 0) {
+            return new NearCacheOffHeapDataRecord(malloc, dataValue, creationTime, creationTime + timeToLiveMillis);
+        } else {
+            return new NearCacheOffHeapDataRecord(malloc, dataValue, creationTime, TIME_NOT_SET);
+        }
+    }
+
+    @Override
+    protected void updateRecordValue(NearCacheOffHeapDataRecord record, V value) {
+        record.setValue(toData(value));
+    }
+
+    @Override
+    protected V recordToValue(NearCacheOffHeapDataRecord record) {
+        // copy the value only once, it may also be freed concurrently
+        Data value = record.getValue();
+        if (value == null) {
+            return record.isCachedAsNull() ? (V) CACHED_AS_NULL : null;
+        }
+        return toValue(value);
+    }
+
+    @Override
+    protected NearCacheOffHeapDataRecord putRecord(K key, NearCacheOffHeapDataRecord record) {
+        NearCacheOffHeapDataRecord oldRecord = super.putRecord(key, record);
+        if (oldRecord != null && oldRecord != record) {
+            oldRecord.free();
+        }
+        return oldRecord;
+    }
+
+    @Override
+    protected NearCacheOffHeapDataRecord reserveForWriteUpdate(K key, Data keyData,
+                                                               NearCacheOffHeapDataRecord existingRecord,
+                                                               long reservationId) {
+        NearCacheOffHeapDataRecord record = super.reserveForWriteUpdate(key, keyData, existingRecord, reservationId);
+        if (record == null && existingRecord != null) {
+            // the previously reserved record is removed
+            existingRecord.free();
+        }
+        return record;
+    }
+
+    @Override
+    protected BiFunction<K, NearCacheOffHeapDataRecord, NearCacheOffHeapDataRecord> createInvalidatorFunction() {
+        BiFunction<K, NearCacheOffHeapDataRecord, NearCacheOffHeapDataRecord> invalidator = super.createInvalidatorFunction();
+        return (key, record) -> {
+            NearCacheOffHeapDataRecord newRecord = invalidator.apply(key, record);
+            record.free();
+            return newRecord;
+        };
+    }
+
+    @Override
+    public void clear() {
+        checkAvailable();
+
+        int size = 0;
+        for (Map.Entry<K, NearCacheOffHeapDataRecord> entry : records.entrySet()) {
+            NearCacheOffHeapDataRecord record = entry.getValue();
+            if (records.remove(entry.getKey(), record)) {
+                record.free();
+                size++;
+            }
+        }
+        nearCacheStats.setOwnedEntryCount(0);
+        nearCacheStats.setOwnedEntryMemoryCost(0L);
+        nearCacheStats.incrementInvalidations(size);
+        nearCacheStats.incrementInvalidationRequests();
+    }
+
+    /**
+     * @return number of off-heap bytes used by this record store
+     */
+    public long getUsedOffHeapMemory() {
+        return malloc.getUsedMemory();
+    }
+
+    /**
+     * {@link HeapNearCacheRecordMap} which frees the off-heap blocks of the evicted records.
+     */
+    @SerializableByConvention
+    private static class OffHeapNearCacheRecordMap<K> extends HeapNearCacheRecordMap<K, NearCacheOffHeapDataRecord> {
+
+        OffHeapNearCacheRecordMap(SerializationService serializationService, int initialCapacity) {
+            super(serializationService, initialCapacity);
+        }
+
+        @Override
+        public <C extends EvictionCandidate<K, NearCacheOffHeapDataRecord>> boolean tryEvict(
+                C evictionCandidate, EvictionListener<K, NearCacheOffHeapDataRecord> evictionListener) {
+            if (evictionCandidate == null) {
+                return false;
+            }
+            NearCacheOffHeapDataRecord removedRecord = remove(evictionCandidate.getAccessor());
+            if (removedRecord == null) {
+                return false;
+            }
+            try {
+                if (removedRecord.getReservationId() != READ_PERMITTED) {
+                    // the record was a placeholder marked for update
+                    return false;
+                }
+                if (evictionListener != null) {
+                    evictionListener.onEvict(evictionCandidate.getAccessor(), removedRecord, false);
+                }
+                return true;
+            } finally {
+                removedRecord.free();
+            }
+        }
+    }
+}
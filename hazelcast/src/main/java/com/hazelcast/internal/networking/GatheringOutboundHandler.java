@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link OutboundHandler} that can hand over a buffer to the {@link OutboundPipeline}
+ * instead of copying it into its destination buffer. The pipeline writes the pending
+ * buffer directly after the content of the destination buffer using a single gathering
+ * write.
+ *
+ * This is only possible if the destination buffer of the handler is written to the
+ * socket as is, so the pipeline only enables it for the last handler of the pipeline.
+ * As long as there is a pending buffer, the handler should not add anything to its
+ * destination buffer.
+ */
+public interface GatheringOutboundHandler {
+
+    /**
+     * Enables or disables the gathering writes. Called by the pipeline when the
+     * handlers of the pipeline are changed.
+     *
+     * @param enabled {@code true} if the handler is the last handler of the pipeline.
+     */
+    void setGatheringWriteEnabled(boolean enabled);
+
+    /**
+     * Returns the buffer that should be written after the content of the
+     * destination buffer.
+     *
+     * @return the pending buffer in reading mode, or {@code null} if there is none.
+     */
+    ByteBuffer pendingBuffer();
+}
@@ -19,6 +19,7 @@ package com.hazelcast.internal.networking.nio;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.networking.ChannelErrorHandler;
 import com.hazelcast.internal.networking.ChannelHandler;
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.OutboundFrame;
 import com.hazelcast.internal.networking.OutboundHandler;
@@ -116,6 +117,8 @@ public final class NioOutboundPipeline
 
     private OutboundHandler[] handlers = new OutboundHandler[0];
     private ByteBuffer sendBuffer;
+    private GatheringOutboundHandler gatheringHandler;
+    private final ByteBuffer[] gatheringBuffers = new ByteBuffer[2];
 
     private final AtomicReference<State> scheduled = new AtomicReference<>(State.SCHEDULED);
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_WRITTEN, unit = BYTES, level = DEBUG)
@@ -331,7 +334,7 @@ public final class NioOutboundPipeline
             return;
         }
 
-        if (sendBuffer.remaining() > 0) {
+        if (sendBuffer.remaining() > 0 || (gatheringHandler != null && gatheringHandler.pendingBuffer() != null)) {
             pipelineStatus = DIRTY;
         }
 
@@ -437,7 +440,18 @@ public final class NioOutboundPipeline
 
     private void flushToSocket() throws IOException {
         lastWriteTime = currentTimeMillis();
-        int written = socketChannel.write(sendBuffer);
+        ByteBuffer pendingBuffer = gatheringHandler == null ? null : gatheringHandler.pendingBuffer();
+        long written;
+        if (pendingBuffer == null) {
+            written = socketChannel.write(sendBuffer);
+        } else {
+            // the pending buffer of the last handler is written after the content of the send buffer
+            gatheringBuffers[0] = sendBuffer;
+            gatheringBuffers[1] = pendingBuffer;
+            written = socketChannel.write(gatheringBuffers);
+            gatheringBuffers[0] = null;
+            gatheringBuffers[1] = null;
+        }
         bytesWritten.inc(written);
         //System.out.println(channel + " bytes written:" + written);
     }
@@ -513,10 +527,17 @@ public final class NioOutboundPipeline
 
     private void updatePipeline(OutboundHandler[] newHandlers) {
         this.handlers = newHandlers;
-        this.sendBuffer = newHandlers.length == 0 ? null : (ByteBuffer) newHandlers[newHandlers.length - 1].dst();
+        OutboundHandler last = newHandlers.length == 0 ? null : newHandlers[newHandlers.length - 1];
+        this.sendBuffer = last == null ? null : (ByteBuffer) last.dst();
+        this.gatheringHandler = last instanceof GatheringOutboundHandler ? (GatheringOutboundHandler) last : null;
 
         OutboundHandler prev = null;
         for (OutboundHandler handler : handlers) {
+            if (handler instanceof GatheringOutboundHandler) {
+                // only the buffers of the last handler are written to the socket
+                ((GatheringOutboundHandler) handler).setGatheringWriteEnabled(handler == last);
+            }
+
             if (prev == null) {
                 handler.src(this);
             } else {
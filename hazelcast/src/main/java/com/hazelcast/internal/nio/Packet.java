@@ -30,6 +30,10 @@ import static com.hazelcast.internal.nio.PacketIOHelper.HEADER_SIZE;
  * would mean more object litter.
  * <p>
  * Since the Packet isn't used throughout the system, this design choice is visible locally.
+ * <p>
+ * The payload of a received Packet can be read into a buffer of a {@link PacketPayloadPool}. Then the payload
+ * is the first {@link #totalSize()} bytes of the array returned by {@link #toByteArray()}, and
+ * the Packet must be {@link #release() released} once its payload is read.
  */
 // Declaration order suppressed due to private static int FLAG_TYPEx declarations
 @SuppressWarnings({"checkstyle:declarationorder", "checkstyle:magicnumber"})
@@ -109,6 +113,8 @@ public final class Packet extends HeapData implements OutboundFrame {
 
     private int partitionId;
     private transient ServerConnection conn;
+    private transient PacketPayloadPool payloadPool;
+    private int pooledPayloadSize;
 
     public Packet() {
         raiseFlags(FLAG_4_0);
@@ -124,6 +130,52 @@ public final class Packet extends HeapData implements OutboundFrame {
         raiseFlags(FLAG_4_0);
     }
 
+    /**
+     * Creates a Packet whose payload is the first {@code payloadSize} bytes of
+     * the given pooled buffer.
+     *
+     * @param pooledPayload the pooled buffer containing the payload
+     * @param payloadSize   the size of the payload in bytes
+     * @param partitionId   the partition ID
+     * @param payloadPool   the pool the buffer is released to
+     */
+    Packet(byte[] pooledPayload, int payloadSize, int partitionId, PacketPayloadPool payloadPool) {
+        this(pooledPayload, partitionId);
+        this.payloadPool = payloadPool;
+        this.pooledPayloadSize = payloadSize;
+    }
+
+    /**
+     * Gives the pooled payload buffer of this Packet back to its pool. The
+     * payload must not be accessed after the release. Does nothing if the
+     * payload of this Packet is not pooled.
+     */
+    public void release() {
+        PacketPayloadPool pool = payloadPool;
+        if (pool == null) {
+            return;
+        }
+        byte[] buffer = payload;
+        payloadPool = null;
+        pooledPayloadSize = 0;
+        payload = null;
+        pool.release(buffer);
+    }
+
+    @Override
+    public int totalSize() {
+        return payloadPool != null ? pooledPayloadSize : super.totalSize();
+    }
+
+    @Override
+    public void copyTo(byte[] dest, int destPos) {
+        if (payloadPool != null) {
+            System.arraycopy(payload, 0, dest, destPos, pooledPayloadSize);
+        } else {
+            super.copyTo(dest, destPos);
+        }
+    }
+
     /**
      * Gets the Connection this Packet was send with.
      *
@@ -21,7 +21,10 @@ import java.nio.ByteBuffer;
 import static com.hazelcast.internal.nio.Bits.BYTE_SIZE_IN_BYTES;
 import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
 import static com.hazelcast.internal.nio.Bits.SHORT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Packet.FLAG_OP_CONTROL;
+import static com.hazelcast.internal.nio.Packet.FLAG_OP_RESPONSE;
 import static com.hazelcast.internal.nio.Packet.VERSION;
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
 
 /**
  * Responsible for writing or reading a Packet. Originally the logic was placed in the Packet. The problem with this approach
@@ -34,16 +37,34 @@ import static com.hazelcast.internal.nio.Packet.VERSION;
  * write at the same time, you need to have 2 instances.
  *
  * A {@link PacketIOHelper} is designed to be reused.
+ *
+ * A reading {@link PacketIOHelper} can be given a {@link PacketPayloadPool}, then the payloads of the operation packets
+ * accepted by the pool are read into a pooled buffer instead of a new byte-array. These packets are released by
+ * the {@link com.hazelcast.spi.impl.operationservice.impl.OperationRunnerImpl} once the operation is executed.
  */
 public class PacketIOHelper {
     static final int HEADER_SIZE = BYTE_SIZE_IN_BYTES + SHORT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
 
+    private final PacketPayloadPool payloadPool;
+
     private int valueOffset;
     private int size;
     private boolean headerComplete;
     private char flags;
     private int partitionId;
     private byte[] payload;
+    private boolean pooledPayload;
+
+    public PacketIOHelper() {
+        this(null);
+    }
+
+    /**
+     * @param payloadPool the pool of the payload buffers, or {@code null} if the payloads are not pooled
+     */
+    public PacketIOHelper(PacketPayloadPool payloadPool) {
+        this.payloadPool = payloadPool;
+    }
 
     /**
      * Writes the packet data to the supplied {@code ByteBuffer}, up to the buffer's limit. If it returns {@code false},
@@ -54,15 +75,11 @@ public class PacketIOHelper {
      */
     public boolean writeTo(Packet packet, ByteBuffer dst) {
         if (!headerComplete) {
-            if (dst.remaining() < HEADER_SIZE) {
+            if (!writeHeaderTo(packet, dst)) {
                 return false;
             }
 
-            dst.put(VERSION);
-            dst.putChar(packet.getFlags());
-            dst.putInt(packet.getPartitionId());
             size = packet.totalSize();
-            dst.putInt(size);
             headerComplete = true;
         }
 
@@ -74,6 +91,25 @@ public class PacketIOHelper {
         }
     }
 
+    /**
+     * Writes only the header of the packet to the supplied {@code ByteBuffer}, so the payload can be written
+     * separately. Doesn't change the state of this {@link PacketIOHelper}.
+     *
+     * @param dst the destination byte buffer
+     * @return {@code true} if the header is written; {@code false} if the buffer doesn't have enough space.
+     */
+    public boolean writeHeaderTo(Packet packet, ByteBuffer dst) {
+        if (dst.remaining() < HEADER_SIZE) {
+            return false;
+        }
+
+        dst.put(VERSION);
+        dst.putChar(packet.getFlags());
+        dst.putInt(packet.getPartitionId());
+        dst.putInt(packet.totalSize());
+        return true;
+    }
+
     private boolean writeValue(Packet packet, ByteBuffer dst) {
         if (size > 0) {
             // the number of bytes that can be written to the bb.
@@ -131,7 +167,10 @@ public class PacketIOHelper {
         }
 
         if (readValue(src)) {
-            Packet packet = new Packet(payload, partitionId).resetFlagsTo(flags);
+            Packet packet = pooledPayload
+                    ? new Packet(payload, size, partitionId, payloadPool)
+                    : new Packet(payload, partitionId);
+            packet.resetFlagsTo(flags);
             reset();
             return packet;
         } else {
@@ -142,12 +181,19 @@ public class PacketIOHelper {
     private void reset() {
         headerComplete = false;
         payload = null;
+        pooledPayload = false;
         valueOffset = 0;
     }
 
     private boolean readValue(ByteBuffer src) {
         if (payload == null) {
-            payload = new byte[size];
+            if (isPoolablePayload()) {
+                payload = payloadPool.acquire(size);
+                pooledPayload = payload != null;
+            }
+            if (payload == null) {
+                payload = new byte[size];
+            }
         }
 
         if (size > 0) {
@@ -177,4 +223,12 @@ public class PacketIOHelper {
         return true;
     }
 
+    private boolean isPoolablePayload() {
+        if (payloadPool == null || size < HEAP_DATA_OVERHEAD) {
+            return false;
+        }
+        // only the operation requests are pooled, since they are released after the operation is executed
+        return Packet.Type.fromFlags(flags) == Packet.Type.OPERATION
+                && (flags & (FLAG_OP_RESPONSE | FLAG_OP_CONTROL)) == 0;
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+
+/**
+ * A bounded pool of the byte arrays the payloads of the received operation
+ * packets are read into. Shared by the IO threads, which acquire the arrays,
+ * and the operation threads, which release them.
+ * <p>
+ * Only the payloads between the minimum payload size and the buffer size are
+ * pooled. A smaller payload is cheaper to read into an array of its own than
+ * to keep a whole buffer while its packet is queued, a larger one doesn't fit.
+ * At most {@code maxBufferCount} buffers are created, when all of them are in
+ * use the payloads are read into arrays of their own.
+ *
+ * @see com.hazelcast.spi.properties.ClusterProperty#PACKET_PAYLOAD_POOLING_ENABLED
+ */
+public final class PacketPayloadPool {
+
+    private final int bufferSize;
+    private final int minPayloadSize;
+    private final int maxBufferCount;
+    // the free buffers, the queue doesn't allocate on offer and poll
+    private final ArrayBlockingQueue<byte[]> buffers;
+    private final AtomicInteger bufferCount = new AtomicInteger();
+
+    /**
+     * @param bufferSize     the size of the pooled buffers in bytes
+     * @param minPayloadSize the size of the smallest pooled payload in bytes
+     * @param maxBufferCount the maximum number of the buffers created by this pool
+     */
+    public PacketPayloadPool(int bufferSize, int minPayloadSize, int maxBufferCount) {
+        this.bufferSize = checkPositive("bufferSize", bufferSize);
+        this.minPayloadSize = minPayloadSize;
+        this.maxBufferCount = checkPositive("maxBufferCount", maxBufferCount);
+        this.buffers = new ArrayBlockingQueue<>(maxBufferCount);
+    }
+
+    /**
+     * Returns a buffer for a payload of the given size, or {@code null} if the
+     * payload should not be pooled or all buffers of the pool are in use.
+     */
+    @Nullable
+    byte[] acquire(int payloadSize) {
+        if (payloadSize < minPayloadSize || payloadSize > bufferSize) {
+            return null;
+        }
+
+        byte[] buffer = buffers.poll();
+        if (buffer != null) {
+            return buffer;
+        }
+
+        for (;;) {
+            int count = bufferCount.get();
+            if (count >= maxBufferCount) {
+                return null;
+            }
+            if (bufferCount.compareAndSet(count, count + 1)) {
+                return new byte[bufferSize];
+            }
+        }
+    }
+
+    /**
+     * Gives a buffer returned by {@link #acquire(int)} back to this pool.
+     */
+    void release(byte[] buffer) {
+        // never fails, the queue can hold all buffers created by this pool
+        buffers.offer(buffer);
+    }
+
+    /**
+     * Returns the number of the buffers created by this pool.
+     */
+    public int getBufferCount() {
+        return bufferCount.get();
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
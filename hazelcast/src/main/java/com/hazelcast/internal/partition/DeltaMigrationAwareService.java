@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.services.ServiceNamespace;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.properties.ClusterProperty;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+
+/**
+ * {@code DeltaMigrationAwareService} is an extension to the {@link FragmentedMigrationAwareService}
+ * which allows sending only the keys mutated while an incremental migration copies the partition,
+ * instead of the whole replica fragments of the mutated namespaces.
+ * <p>
+ * The mutated keys are recorded by the {@link PartitionMutationTracker} of the partition.
+ *
+ * @see ClusterProperty#PARTITION_INCREMENTAL_MIGRATION_ENABLED
+ * @see PartitionMutationTracker
+ * @since 5.5
+ */
+public interface DeltaMigrationAwareService extends FragmentedMigrationAwareService {
+
+    /**
+     * Returns the only key mutated by the given operation of this service.
+     *
+     * @param op operation
+     * @return the mutated key or {@code null} if the operation
+     * may mutate more than one key or the key is not known
+     */
+    @Nullable
+    Data getMutatedKey(Operation op);
+
+    /**
+     * Returns an operation which replicates the current state of the given
+     * keys of a namespace on the destination: the existing keys are put and
+     * the missing ones are removed. Called on the partition thread while the
+     * writes to the partition are paused.
+     *
+     * @param event     replication event
+     * @param namespace replica fragment namespace of the keys
+     * @param keys      mutated keys
+     * @return replication operation or {@code null} if the whole
+     * replica fragment of the namespace must be replicated
+     */
+    @Nullable
+    Operation prepareDeltaReplicationOperation(PartitionReplicationEvent event, ServiceNamespace namespace,
+                                               Collection<Data> keys);
+}
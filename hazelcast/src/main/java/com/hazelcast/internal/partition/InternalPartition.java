@@ -71,6 +71,16 @@ public interface InternalPartition extends IPartition {
      */
     boolean isOwnerOrBackup(PartitionReplica replica);
 
+    /**
+     * Returns the tracker recording the mutations of this partition while
+     * it is migrated incrementally, or {@code null} if the mutations of this
+     * partition are not tracked.
+     *
+     * @return the mutation tracker or {@code null}
+     * @see com.hazelcast.spi.properties.ClusterProperty#PARTITION_INCREMENTAL_MIGRATION_ENABLED
+     */
+    PartitionMutationTracker getMutationTracker();
+
     /**
      * Returns the integer replica indices of {@code InternalPartition} as a stream.
      */
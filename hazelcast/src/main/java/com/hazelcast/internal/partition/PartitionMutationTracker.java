@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.services.ServiceNamespace;
+import com.hazelcast.internal.services.ServiceNamespaceAware;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.ReadonlyOperation;
+import com.hazelcast.spi.impl.operationservice.UrgentSystemOperation;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.spi.impl.operationservice.Operations.isMigrationOperation;
+
+/**
+ * Records the {@link ServiceNamespace}s of a partition mutated while the
+ * partition data is sent to the destination of an incremental migration.
+ * Once all partition data is sent, the writes to the partition are paused
+ * and only the mutated namespaces are sent again.
+ * <p>
+ * The namespace of an operation is known only if the operation implements
+ * {@link ServiceNamespaceAware}. Otherwise, all namespaces of its service
+ * are considered as mutated. For a {@link DeltaMigrationAwareService}, the
+ * mutated keys of a namespace are recorded too, so that only their entries
+ * are sent again. The keys are recorded until an operation with an unknown
+ * key mutates the namespace or there are more than {@value
+ * #MAX_MUTATED_KEYS_PER_NAMESPACE} of them, then the whole namespace is
+ * sent. Since the partition-specific tasks do not
+ * declare what they mutate, they mark all namespaces as mutated, except the
+ * {@link UrgentSystemOperation}s which are used by the migration system
+ * itself.
+ * <p>
+ * Only accessed by the partition thread of the tracked partition.
+ *
+ * @see com.hazelcast.spi.properties.ClusterProperty#PARTITION_INCREMENTAL_MIGRATION_ENABLED
+ */
+public final class PartitionMutationTracker {
+
+    /**
+     * The maximum number of the mutated keys recorded for a namespace.
+     */
+    public static final int MAX_MUTATED_KEYS_PER_NAMESPACE = 10_000;
+
+    private final NodeEngine nodeEngine;
+    private final Set<ServiceNamespace> mutatedNamespaces = new HashSet<>();
+    // the namespaces mutated only by the operations with a known key,
+    // the other mutated namespaces must be sent whole
+    private final Map<ServiceNamespace, Set<Data>> mutatedKeys = new HashMap<>();
+    private final Map<String, Object> services = new HashMap<>();
+    private boolean allMutated;
+
+    public PartitionMutationTracker(NodeEngine nodeEngine) {
+        this.nodeEngine = nodeEngine;
+    }
+
+    /**
+     * Records the namespace mutated by the given operation,
+     * unless the operation is a read-only or a migration operation.
+     */
+    public void onOperation(Operation op) {
+        if (allMutated || op instanceof ReadonlyOperation || isMigrationOperation(op)) {
+            return;
+        }
+
+        if (op instanceof ServiceNamespaceAware namespaceAware) {
+            ServiceNamespace namespace = namespaceAware.getServiceNamespace();
+            if (namespace != null) {
+                Data key = getService(op.getServiceName()) instanceof DeltaMigrationAwareService service
+                        ? service.getMutatedKey(op) : null;
+                if (key != null) {
+                    onKeyMutated(namespace, key);
+                } else {
+                    onNamespaceMutated(namespace);
+                }
+                return;
+            }
+        }
+
+        String serviceName = op.getServiceName();
+        if (serviceName == null || isFragmentedService(serviceName)) {
+            allMutated = true;
+        } else {
+            mutatedNamespaces.add(NonFragmentedServiceNamespace.INSTANCE);
+        }
+    }
+
+    /**
+     * Records that the given key of the namespace is mutated. Called also for
+     * the keys mutated as a side effect of an operation, e.g. by an eviction.
+     */
+    public void onKeyMutated(ServiceNamespace namespace, Data key) {
+        if (allMutated) {
+            return;
+        }
+        Set<Data> keys = mutatedKeys.get(namespace);
+        if (keys == null) {
+            if (mutatedNamespaces.add(namespace)) {
+                keys = new HashSet<>();
+                mutatedKeys.put(namespace, keys);
+            } else {
+                // already mutated with unknown keys
+                return;
+            }
+        }
+        keys.add(key);
+        if (keys.size() > MAX_MUTATED_KEYS_PER_NAMESPACE) {
+            mutatedKeys.remove(namespace);
+        }
+    }
+
+    /**
+     * Records that unknown keys of the namespace are mutated.
+     */
+    public void onNamespaceMutated(ServiceNamespace namespace) {
+        mutatedNamespaces.add(namespace);
+        mutatedKeys.remove(namespace);
+    }
+
+    /**
+     * Records that the given partition-specific task
+     * may have mutated any namespace of the partition.
+     */
+    public void onTask(Runnable task) {
+        if (!(task instanceof UrgentSystemOperation)) {
+            allMutated = true;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the mutated namespaces are not known, hence
+     * all namespaces of the partition must be considered as mutated.
+     */
+    public boolean isAllMutated() {
+        return allMutated;
+    }
+
+    public boolean hasMutations() {
+        return allMutated || !mutatedNamespaces.isEmpty();
+    }
+
+    /**
+     * Returns the mutated namespaces. Only meaningful if
+     * {@link #isAllMutated()} returns {@code false}.
+     */
+    public Set<ServiceNamespace> getMutatedNamespaces() {
+        return mutatedNamespaces;
+    }
+
+    /**
+     * Returns the mutated keys of the namespace, or {@code null} if the whole
+     * namespace must be considered as mutated. Only meaningful for a namespace
+     * returned by {@link #getMutatedNamespaces()}.
+     */
+    @Nullable
+    public Set<Data> getMutatedKeys(ServiceNamespace namespace) {
+        return mutatedKeys.get(namespace);
+    }
+
+    private boolean isFragmentedService(String serviceName) {
+        return getService(serviceName) instanceof FragmentedMigrationAwareService;
+    }
+
+    private Object getService(String serviceName) {
+        if (serviceName == null) {
+            return null;
+        }
+        return services.computeIfAbsent(serviceName, nodeEngine::getServiceOrNull);
+    }
+}
@@ -49,6 +49,11 @@ public class ReadonlyInternalPartition extends AbstractInternalPartition {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public PartitionMutationTracker getMutationTracker() {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public int version() {
         return version;
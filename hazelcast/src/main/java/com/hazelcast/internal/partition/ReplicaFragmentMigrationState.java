@@ -17,6 +17,7 @@
 package com.hazelcast.internal.partition;
 
 import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.partition.impl.PartitionDataSerializerHook;
 import com.hazelcast.internal.services.ServiceNamespace;
 import com.hazelcast.logging.ILogger;
@@ -48,6 +49,7 @@ public class ReplicaFragmentMigrationState
     private Collection<Operation> migrationOperations;
 
     private transient ChunkSerDeHelper chunkSerDeHelper;
+    private transient volatile long serializedSizeInBytes;
 
     public ReplicaFragmentMigrationState() {
     }
@@ -72,6 +74,14 @@ public class ReplicaFragmentMigrationState
         return migrationOperations;
     }
 
+    /**
+     * Returns the size of this state in bytes when it was last serialized
+     * on this member, or {@code 0} if it has not been serialized yet.
+     */
+    public long getSerializedSizeInBytes() {
+        return serializedSizeInBytes;
+    }
+
     @Override
     public int getFactoryId() {
         return PartitionDataSerializerHook.F_ID;
@@ -84,6 +94,8 @@ public class ReplicaFragmentMigrationState
 
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
+        BufferObjectDataOutput bufferedOut = (BufferObjectDataOutput) out;
+        int startPosition = bufferedOut.position();
         out.writeInt(namespaces.size());
         for (Map.Entry<ServiceNamespace, long[]> e : namespaces.entrySet()) {
             out.writeObject(e.getKey());
@@ -96,6 +108,7 @@ public class ReplicaFragmentMigrationState
         }
 
         chunkSerDeHelper.writeChunkedOperations(out);
+        serializedSizeInBytes = bufferedOut.position() - startPosition;
     }
 
     @Override
@@ -18,6 +18,7 @@ package com.hazelcast.internal.partition.impl;
 
 import com.hazelcast.internal.partition.AbstractInternalPartition;
 import com.hazelcast.internal.partition.InternalPartition;
+import com.hazelcast.internal.partition.PartitionMutationTracker;
 import com.hazelcast.internal.partition.PartitionReplica;
 import com.hazelcast.internal.partition.PartitionReplicaInterceptor;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -35,6 +36,7 @@ public class InternalPartitionImpl extends AbstractInternalPartition implements
     private volatile int version;
     private volatile PartitionReplica localReplica;
     private volatile boolean isMigrating;
+    private volatile PartitionMutationTracker mutationTracker;
 
     InternalPartitionImpl(int partitionId, PartitionReplica localReplica, PartitionReplicaInterceptor interceptor) {
         super(partitionId);
@@ -74,6 +76,28 @@ public class InternalPartitionImpl extends AbstractInternalPartition implements
         isMigrating = false;
     }
 
+    @Override
+    public PartitionMutationTracker getMutationTracker() {
+        return mutationTracker;
+    }
+
+    /**
+     * Starts recording the mutations of this partition with the given tracker.
+     */
+    public void startMutationTracking(PartitionMutationTracker tracker) {
+        mutationTracker = tracker;
+    }
+
+    /**
+     * Stops recording the mutations of this partition.
+     * @return the tracker which was recording the mutations or {@code null}
+     */
+    public PartitionMutationTracker stopMutationTracking() {
+        PartitionMutationTracker tracker = mutationTracker;
+        mutationTracker = null;
+        return tracker;
+    }
+
     @Override
     public boolean isLocal() {
         PartitionReplica local = localReplica;
@@ -238,5 +262,6 @@ public class InternalPartitionImpl extends AbstractInternalPartition implements
         this.localReplica = localReplica;
         version = 0;
         resetMigrating();
+        stopMutationTracking();
     }
 }
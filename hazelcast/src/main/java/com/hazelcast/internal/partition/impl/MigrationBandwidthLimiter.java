@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition.impl;
+
+import com.hazelcast.internal.util.Timer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Limits the rate of the partition data sent by a member for migrations.
+ * <p>
+ * The sent data is accounted after it is sent: each send pushes the time
+ * the member may send again forward by the time needed to send the data at
+ * the allowed rate, and the sender waits until then before sending its next
+ * fragment. The limit is shared by all parallel migrations of the member.
+ *
+ * @see com.hazelcast.spi.properties.ClusterProperty#PARTITION_MIGRATION_MAX_BANDWIDTH_MB_PER_SECOND
+ */
+final class MigrationBandwidthLimiter {
+
+    private final double nanosPerByte;
+    private final AtomicLong nextSendNanos = new AtomicLong(Long.MIN_VALUE);
+
+    MigrationBandwidthLimiter(long maxBytesPerSecond) {
+        checkPositive("maxBytesPerSecond", maxBytesPerSecond);
+        this.nanosPerByte = (double) SECONDS.toNanos(1) / maxBytesPerSecond;
+    }
+
+    /**
+     * Accounts for the given number of sent bytes.
+     *
+     * @param bytes the number of bytes sent
+     * @return the time in nanoseconds to wait before sending more data
+     */
+    long acquire(long bytes) {
+        return acquire(bytes, Timer.nanos());
+    }
+
+    // for testing
+    long acquire(long bytes, long nowNanos) {
+        long sendNanos = (long) (bytes * nanosPerByte);
+        for (;;) {
+            long current = nextSendNanos.get();
+            long next = Math.max(current, nowNanos) + sendNanos;
+            if (nextSendNanos.compareAndSet(current, next)) {
+                return next - nowNanos;
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estimates the relative cost of migrating each partition on the master.
+ * <p>
+ * The master does not know the size of the partition data, so the duration
+ * of the last successful migration of a partition is used as its cost.
+ * Partitions not migrated yet are assumed to cost as much as the average of
+ * the known ones. When no migration has been observed, all partitions cost
+ * the same.
+ * <p>
+ * The costs are estimated once per repartitioning round, so that the costs
+ * of the planned and the completed migrations of a round are comparable.
+ */
+final class MigrationCostEstimator {
+
+    private static final long UNIT_COST = 1;
+
+    private final AtomicLongArray observedNanos;
+    private volatile long[] estimatedCosts;
+
+    MigrationCostEstimator(int partitionCount) {
+        this.observedNanos = new AtomicLongArray(partitionCount);
+        this.estimatedCosts = new long[partitionCount];
+    }
+
+    /**
+     * Records the duration of a successful migration of the given partition.
+     */
+    void recordMigrationTime(int partitionId, long nanos) {
+        observedNanos.set(partitionId, Math.max(nanos, UNIT_COST));
+    }
+
+    /**
+     * Estimates the migration costs of the partitions
+     * for a new repartitioning round.
+     */
+    void estimateCosts() {
+        int partitionCount = observedNanos.length();
+        long[] costs = new long[partitionCount];
+        long knownTotal = 0;
+        int knownCount = 0;
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            long nanos = observedNanos.get(partitionId);
+            costs[partitionId] = nanos;
+            if (nanos > 0) {
+                knownTotal += nanos;
+                knownCount++;
+            }
+        }
+
+        long defaultCost = knownCount > 0 ? knownTotal / knownCount : UNIT_COST;
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            if (costs[partitionId] == 0) {
+                costs[partitionId] = defaultCost;
+            }
+        }
+        estimatedCosts = costs;
+    }
+
+    /**
+     * Returns the cost of migrating the given partition estimated
+     * at the start of the current repartitioning round.
+     */
+    long getEstimatedCost(int partitionId) {
+        long cost = estimatedCosts[partitionId];
+        return cost > 0 ? cost : UNIT_COST;
+    }
+}
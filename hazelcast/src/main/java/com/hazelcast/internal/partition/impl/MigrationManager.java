@@ -65,6 +65,17 @@ public interface MigrationManager {
 
     int getMaxTotalChunkedDataInBytes();
 
+    /**
+     * Accounts for the partition data sent by this member for a migration
+     * and returns how long the sender should wait before sending more
+     * data, so that the migration traffic of this member stays within
+     * {@link com.hazelcast.spi.properties.ClusterProperty#PARTITION_MIGRATION_MAX_BANDWIDTH_MB_PER_SECOND}.
+     *
+     * @param bytes the number of bytes sent
+     * @return the time in nanoseconds to wait, {@code 0} if the bandwidth is not limited
+     */
+    long acquireMigrationBandwidth(long bytes);
+
     boolean removeFinalizingMigration(MigrationInfo migration);
 
     boolean isFinalizingMigrationRegistered(int partitionId);
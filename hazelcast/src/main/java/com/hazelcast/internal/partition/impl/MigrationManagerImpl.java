@@ -113,7 +113,9 @@ import static com.hazelcast.spi.impl.executionservice.ExecutionService.ASYNC_EXE
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_CHUNKED_MAX_MIGRATING_DATA_IN_MB;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_CHUNKED_MIGRATION_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_FRAGMENTED_MIGRATION_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_INCREMENTAL_MIGRATION_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_MIGRATION_INTERVAL;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_MIGRATION_MAX_BANDWIDTH_MB_PER_SECOND;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_MIGRATION_TIMEOUT;
 
 /**
@@ -156,6 +158,9 @@ public class MigrationManagerImpl implements MigrationManager {
     private final boolean fragmentedMigrationEnabled;
     private final boolean chunkedMigrationEnabled;
     private final int maxTotalChunkedDataInBytes;
+    private final boolean incrementalMigrationEnabled;
+    private final MigrationBandwidthLimiter bandwidthLimiter;
+    private final MigrationCostEstimator costEstimator;
     private final long memberHeartbeatTimeoutMillis;
     private boolean triggerRepartitioningWhenClusterStateAllowsMigration;
     private final int maxParallelMigrations;
@@ -185,8 +190,13 @@ public class MigrationManagerImpl implements MigrationManager {
         fragmentedMigrationEnabled = properties.getBoolean(PARTITION_FRAGMENTED_MIGRATION_ENABLED);
         chunkedMigrationEnabled = properties.getBoolean(PARTITION_CHUNKED_MIGRATION_ENABLED);
         maxTotalChunkedDataInBytes = (int) MEGABYTES.toBytes(properties.getInteger(PARTITION_CHUNKED_MAX_MIGRATING_DATA_IN_MB));
+        incrementalMigrationEnabled = properties.getBoolean(PARTITION_INCREMENTAL_MIGRATION_ENABLED);
+        int maxBandwidthMegabytes = properties.getInteger(PARTITION_MIGRATION_MAX_BANDWIDTH_MB_PER_SECOND);
+        bandwidthLimiter = maxBandwidthMegabytes > 0
+                ? new MigrationBandwidthLimiter(MEGABYTES.toBytes(maxBandwidthMegabytes)) : null;
         maxParallelMigrations = properties.getInteger(ClusterProperty.PARTITION_MAX_PARALLEL_MIGRATIONS);
         partitionStateManager = partitionService.getPartitionStateManager();
+        costEstimator = new MigrationCostEstimator(partitionService.getPartitionCount());
         ILogger migrationThreadLogger = node.getLogger(MigrationThread.class);
         String hzName = nodeEngine.getHazelcastInstance().getName();
         migrationThread = new MigrationThread(this, hzName, migrationThreadLogger, migrationQueue);
@@ -279,7 +289,11 @@ public class MigrationManagerImpl implements MigrationManager {
                     // In this case, primary owner has nothing to do anymore,
                     // just remove the active migration and clear the migrating flag.
                     removeActiveMigration(migrationInfo);
-                    partitionStateManager.clearMigratingFlag(partitionId);
+                    // if the mutations are still tracked, the incremental migration
+                    // failed before its catch-up and the flag has never been set
+                    if (partitionStateManager.getPartitionImpl(partitionId).stopMutationTracking() == null) {
+                        partitionStateManager.clearMigratingFlag(partitionId);
+                    }
                 } else {
                     logger.severe("Failed to finalize migration because " + localReplica
                             + " is not a participant of the migration: " + migrationInfo);
@@ -304,6 +318,11 @@ public class MigrationManagerImpl implements MigrationManager {
         return maxTotalChunkedDataInBytes;
     }
 
+    @Override
+    public long acquireMigrationBandwidth(long bytes) {
+        return bandwidthLimiter != null ? bandwidthLimiter.acquire(bytes) : 0;
+    }
+
     @Override
     public boolean removeFinalizingMigration(MigrationInfo migration) {
         return finalizingMigrationsRegistry.remove(migration);
@@ -515,7 +534,7 @@ public class MigrationManagerImpl implements MigrationManager {
         try {
             boolean added = completedMigrations.add(migrationInfo);
             if (added) {
-                stats.incrementCompletedMigrations();
+                stats.incrementCompletedMigrations(costEstimator.getEstimatedCost(migrationInfo.getPartitionId()));
             }
             return added;
         } finally {
@@ -972,6 +991,8 @@ public class MigrationManagerImpl implements MigrationManager {
          */
         private void processNewPartitionState(PartitionReplica[][] newState) {
             int migrationCount = 0;
+            long migrationCost = 0;
+            costEstimator.estimateCosts();
             // List of migration queues per-partition
             List<Queue<MigrationInfo>> partitionMigrationQueues = new ArrayList<>(newState.length);
             Int2ObjectHashMap<PartitionReplica> lostPartitions = new Int2ObjectHashMap<>();
@@ -995,10 +1016,11 @@ public class MigrationManagerImpl implements MigrationManager {
                 if (!migrationCollector.migrations.isEmpty()) {
                     partitionMigrationQueues.add(migrationCollector.migrations);
                     migrationCount += migrationCollector.migrations.size();
+                    migrationCost += costEstimator.getEstimatedCost(partitionId) * migrationCollector.migrations.size();
                 }
             }
 
-            stats.markNewRepartition(migrationCount);
+            stats.markNewRepartition(migrationCount, migrationCost);
             if (migrationCount > 0) {
                 partitionService.getPartitionEventManager().sendMigrationProcessStartedEvent(stats.toMigrationState());
             }
@@ -1039,7 +1061,7 @@ public class MigrationManagerImpl implements MigrationManager {
 
         private void assignLostPartitionOwner(InternalPartitionImpl partition, PartitionReplica newOwner) {
             partition.setReplica(0, newOwner);
-            stats.incrementCompletedMigrations();
+            stats.incrementCompletedMigrations(0);
             MigrationInfo migrationInfo = new MigrationInfo(partition.getPartitionId(), null, newOwner, -1, -1, -1, 0);
             migrationInfo.setStatus(MigrationStatus.SUCCESS);
             partitionService.getPartitionEventManager().sendMigrationEvent(stats.toMigrationState(), migrationInfo, 0L);
@@ -1268,7 +1290,14 @@ public class MigrationManagerImpl implements MigrationManager {
             return m;
         }
 
+        /**
+         * Returns the selectable migration with the highest priority
+         * among the heads of the partition migration queues.
+         *
+         * @see #hasPriority(MigrationInfo, MigrationInfo)
+         */
         private MigrationInfo next0() {
+            Queue<MigrationInfo> selected = null;
             Iterator<Queue<MigrationInfo>> iter = partitionMigrationQueues.iterator();
             while (iter.hasNext()) {
                 Queue<MigrationInfo> q = iter.next();
@@ -1277,13 +1306,31 @@ public class MigrationManagerImpl implements MigrationManager {
                     continue;
                 }
 
-                if (!select(q.peek())) {
-                    continue;
+                MigrationInfo m = q.peek();
+                if (select(m) && (selected == null || hasPriority(m, selected.peek()))) {
+                    selected = q;
                 }
+            }
+            return selected != null ? selected.poll() : null;
+        }
 
-                return q.poll();
+        /**
+         * Returns {@code true} if the migration {@code m} should be started
+         * before the migration {@code other}. Copies and shift-ups come first,
+         * since they restore the missing replicas, and among them the ones
+         * restoring hotter replicas. Then the migrations estimated to take
+         * longer come first, so that they do not delay the end of the
+         * rebalancing while the other migrations are already completed.
+         */
+        private boolean hasPriority(MigrationInfo m, MigrationInfo other) {
+            boolean restoresReplica = m.getSourceCurrentReplicaIndex() == -1;
+            if (restoresReplica != (other.getSourceCurrentReplicaIndex() == -1)) {
+                return restoresReplica;
             }
-            return null;
+            if (restoresReplica && m.getDestinationNewReplicaIndex() != other.getDestinationNewReplicaIndex()) {
+                return m.getDestinationNewReplicaIndex() < other.getDestinationNewReplicaIndex();
+            }
+            return costEstimator.getEstimatedCost(m.getPartitionId()) > costEstimator.getEstimatedCost(other.getPartitionId());
         }
 
         private boolean select(MigrationInfo m) {
@@ -1441,7 +1488,8 @@ public class MigrationManagerImpl implements MigrationManager {
 
                 List<MigrationInfo> completedMigrations = getCompletedMigrations(migration.getPartitionId());
                 Operation op = new MigrationRequestOperation(migration, completedMigrations, 0,
-                        fragmentedMigrationEnabled, isChunkedMigrationEnabled(), maxTotalChunkedDataInBytes);
+                        fragmentedMigrationEnabled, isChunkedMigrationEnabled(), maxTotalChunkedDataInBytes,
+                        incrementalMigrationEnabled);
                 future = nodeEngine.getOperationService()
                         .createInvocationBuilder(SERVICE_NAME, op, fromMember.getAddress())
                         .setCallTimeout(partitionMigrationTimeout)
@@ -1465,6 +1513,9 @@ public class MigrationManagerImpl implements MigrationManager {
                     }
                     return Boolean.FALSE;
                 }
+                if (Boolean.TRUE.equals(done)) {
+                    costEstimator.recordMigrationTime(migration.getPartitionId(), Timer.nanosElapsed(start));
+                }
                 return done;
             }, asyncExecutor).thenComposeAsync(result -> {
                 if (result) {
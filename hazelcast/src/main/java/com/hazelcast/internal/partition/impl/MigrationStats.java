@@ -30,6 +30,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_ELAPSED_DESTINATION_COMMIT_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_ELAPSED_MIGRATION_OPERATION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_ELAPSED_MIGRATION_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_ESTIMATED_REMAINING_MIGRATION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_LAST_REPARTITION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_PLANNED_MIGRATIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_COMPLETED_MIGRATIONS;
@@ -38,6 +39,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_ELAPSED_MIGRATION_TIME;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
 import static com.hazelcast.internal.metrics.ProbeUnit.NS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Collection of stats for partition migration tasks.
@@ -66,6 +68,18 @@ public class MigrationStats {
     @Probe(name = MIGRATION_METRIC_TOTAL_COMPLETED_MIGRATIONS)
     private final LongAdder totalCompletedMigrations = new LongAdder();
 
+    /**
+     * estimated cost of the planned migrations on the latest repartitioning round
+     *
+     * @see MigrationCostEstimator
+     */
+    private volatile long plannedMigrationCost;
+
+    /**
+     * estimated cost of the completed migrations on the latest repartitioning round
+     */
+    private final LongAdder completedMigrationCost = new LongAdder();
+
     /**
      * elapsed time of migration &amp; replication operations' executions
      */
@@ -86,23 +100,30 @@ public class MigrationStats {
      * Marks start of new repartitioning.
      * Resets stats from previous repartitioning round.
      *
-     * @param migrations number of planned migration tasks
+     * @param migrations    number of planned migration tasks
+     * @param estimatedCost estimated cost of the planned migration tasks
      */
-    void markNewRepartition(int migrations) {
+    void markNewRepartition(int migrations, long estimatedCost) {
         lastRepartitionTime = Clock.currentTimeMillis();
         lastRepartitionNanos = Timer.nanos();
         plannedMigrations = migrations;
+        plannedMigrationCost = estimatedCost;
 
         migrationOperationTime.markNewRepartition();
         destinationCommitTime.markNewRepartition();
         migrationTime.markNewRepartition();
 
         completedMigrations.reset();
+        completedMigrationCost.reset();
     }
 
-    void incrementCompletedMigrations() {
+    /**
+     * @param estimatedCost estimated cost of the completed migration task
+     */
+    void incrementCompletedMigrations(long estimatedCost) {
         completedMigrations.increment();
         totalCompletedMigrations.increment();
+        completedMigrationCost.add(estimatedCost);
     }
 
     /**
@@ -133,6 +154,29 @@ public class MigrationStats {
         return plannedMigrations - getCompletedMigrations();
     }
 
+    /**
+     * Estimates the remaining time of the latest repartitioning round
+     * by extrapolating the progress made so far, weighted by the
+     * estimated costs of the completed and the remaining migrations.
+     *
+     * @return the estimated remaining time in milliseconds, {@code 0} if all
+     * planned migrations are completed or {@code -1} if no migration is
+     * completed yet, hence the remaining time cannot be estimated.
+     */
+    @Probe(name = MIGRATION_METRIC_ESTIMATED_REMAINING_MIGRATION_TIME, unit = MS)
+    public long getEstimatedRemainingMigrationTime() {
+        long completedCost = completedMigrationCost.sum();
+        long remainingCost = plannedMigrationCost - completedCost;
+        if (remainingCost <= 0 || getRemainingMigrations() <= 0) {
+            return 0;
+        }
+        if (completedCost == 0) {
+            return -1;
+        }
+        long elapsedNanos = Timer.nanosElapsed(lastRepartitionNanos);
+        return NANOSECONDS.toMillis((long) ((double) elapsedNanos * remainingCost / completedCost));
+    }
+
     /**
      * @return the total number of completed migrations since the beginning.
      */
@@ -275,6 +319,7 @@ public class MigrationStats {
                 .append(", plannedMigrations=").append(plannedMigrations)
                 .append(", completedMigrations=").append(getCompletedMigrations())
                 .append(", remainingMigrations=").append(getRemainingMigrations())
+                .append(", estimatedRemainingMigrationTime=").append(getEstimatedRemainingMigrationTime()).append("ms")
                 .append(", totalCompletedMigrations=").append(getTotalCompletedMigrations());
 
         if (detailed) {
@@ -97,7 +97,11 @@ public final class FinalizeMigrationOperation extends AbstractPartitionOperation
             rollbackDestination();
         }
 
-        if (!isOldBackupReplicaOwner()) {
+        // On the source of an incremental migration, the migrating flag is set
+        // and the mutation tracking is stopped together, when the final catch-up
+        // starts. If the migration failed before, the flag has never been set.
+        boolean mutationsTracked = partitionStateManager.getPartitionImpl(partitionId).stopMutationTracking() != null;
+        if (!isOldBackupReplicaOwner() && !mutationsTracked) {
             // see comment above: on old backup replica, migrating flag is not set during migration.
             partitionStateManager.clearMigratingFlag(partitionId);
         }
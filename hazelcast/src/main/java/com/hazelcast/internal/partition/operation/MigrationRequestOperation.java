@@ -19,11 +19,13 @@ package com.hazelcast.internal.partition.operation;
 import com.hazelcast.cluster.Address;
 import com.hazelcast.core.MemberLeftException;
 import com.hazelcast.internal.partition.ChunkSupplier;
+import com.hazelcast.internal.partition.DeltaMigrationAwareService;
 import com.hazelcast.internal.partition.InternalPartitionService;
 import com.hazelcast.internal.partition.MigrationEndpoint;
 import com.hazelcast.internal.partition.MigrationInfo;
 import com.hazelcast.internal.partition.NonFragmentedServiceNamespace;
 import com.hazelcast.internal.partition.PartitionMigrationEvent;
+import com.hazelcast.internal.partition.PartitionMutationTracker;
 import com.hazelcast.internal.partition.PartitionReplica;
 import com.hazelcast.internal.partition.PartitionReplicaVersionManager;
 import com.hazelcast.internal.partition.PartitionReplicationEvent;
@@ -32,11 +34,15 @@ import com.hazelcast.internal.partition.impl.InternalPartitionServiceImpl;
 import com.hazelcast.internal.partition.impl.MigrationInterceptor.MigrationParticipant;
 import com.hazelcast.internal.partition.impl.MigrationManager;
 import com.hazelcast.internal.partition.impl.PartitionDataSerializerHook;
+import com.hazelcast.internal.partition.impl.PartitionStateManager;
+import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.services.ServiceNamespace;
 import com.hazelcast.internal.util.ThreadUtil;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.impl.Versioned;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.PartitionSpecificRunnable;
@@ -48,6 +54,7 @@ import com.hazelcast.spi.impl.operationservice.UrgentSystemOperation;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -60,11 +67,13 @@ import java.util.concurrent.ExecutorService;
 import java.util.function.BiConsumer;
 import java.util.logging.Level;
 
+import static com.hazelcast.internal.cluster.Versions.V5_5;
 import static com.hazelcast.internal.util.CollectionUtil.isEmpty;
 import static com.hazelcast.internal.util.CollectionUtil.isNotEmpty;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Sent from the master node to the partition owner.
@@ -80,18 +89,34 @@ import static java.util.Collections.singleton;
  * fragments and send a group of fragments within each shot.
  * <p>
  *
+ * If incremental migration is enabled, the partition keeps accepting
+ * writes while the fragments are sent and the namespaces mutated in the
+ * meantime are recorded by a {@link PartitionMutationTracker}. Once all
+ * fragments are sent, the migrating flag is set and only the mutated
+ * namespaces are sent again, in the catch-up phase of the migration. For
+ * a namespace whose mutated keys are known, only the entries of those keys
+ * are sent, see {@link DeltaMigrationAwareService}.
+ * <p>
+ * Sending of the fragments is throttled by the migration bandwidth
+ * limit of this member, see {@link MigrationManager#acquireMigrationBandwidth}.
+ *
  * @since 5.1 If chunked migration is enabled,
  * it also subdivides fragments into chunks.
  */
-public class MigrationRequestOperation extends BaseMigrationOperation {
+public class MigrationRequestOperation extends BaseMigrationOperation implements Versioned {
 
     private int maxTotalChunkedDataInBytes;
     private boolean chunkedMigrationEnabled;
     private boolean fragmentedMigrationEnabled;
+    private boolean incrementalMigrationEnabled;
 
     private transient ServiceNamespacesContext namespacesContext;
+    private transient boolean catchingUp;
     private transient Map<ServiceNamespace, Collection<ChunkSupplier>>
             namespaceToSuppliers = new HashMap<>();
+    // the operations replicating only the mutated keys of a namespace in the catch-up
+    private transient Map<ServiceNamespace, Collection<Operation>>
+            namespaceToDeltaOperations = new HashMap<>();
 
     public MigrationRequestOperation() {
     }
@@ -105,12 +130,53 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
         this.maxTotalChunkedDataInBytes = maxTotalChunkedDataInBytes;
     }
 
+    public MigrationRequestOperation(MigrationInfo migrationInfo, List<MigrationInfo> completedMigrations,
+                                     int partitionStateVersion, boolean fragmentedMigrationEnabled,
+                                     boolean chunkedMigrationEnabled, int maxTotalChunkedDataInBytes,
+                                     boolean incrementalMigrationEnabled) {
+        this(migrationInfo, completedMigrations, partitionStateVersion, fragmentedMigrationEnabled,
+                chunkedMigrationEnabled, maxTotalChunkedDataInBytes);
+        this.incrementalMigrationEnabled = incrementalMigrationEnabled;
+    }
+
     @Override
     public CallStatus call() throws Exception {
-        setActiveMigration();
+        if (incrementalMigrationEnabled) {
+            startIncrementalMigration();
+        } else {
+            setActiveMigration();
+        }
         return new OffloadImpl();
     }
 
+    /**
+     * Sets the active migration and starts tracking the mutations of the
+     * partition. Unlike {@link #setActiveMigration()}, the migrating flag
+     * is not set until the catch-up phase.
+     */
+    private void startIncrementalMigration() {
+        InternalPartitionServiceImpl partitionService = getService();
+        PartitionStateManager partitionStateManager = partitionService.getPartitionStateManager();
+        int partitionId = migrationInfo.getPartitionId();
+        if (partitionStateManager.isMigrating(partitionId)) {
+            throw new RetryableHazelcastException("Cannot start incremental migration, "
+                    + "probably previous migration's finalization is not completed yet.");
+        }
+
+        MigrationInfo currentActiveMigration = partitionService.getMigrationManager().addActiveMigration(migrationInfo);
+        if (currentActiveMigration != null) {
+            if (!migrationInfo.equals(currentActiveMigration)) {
+                throw new RetryableHazelcastException("Cannot set active migration to " + migrationInfo
+                        + ". Current active migration is " + currentActiveMigration);
+            }
+            migrationInfo = currentActiveMigration;
+        }
+
+        // runs on the partition thread, so all later mutations are tracked
+        partitionStateManager.getPartitionImpl(partitionId)
+                .startMutationTracking(new PartitionMutationTracker(getNodeEngine()));
+    }
+
     private final class OffloadImpl extends Offload {
         private OffloadImpl() {
             super(MigrationRequestOperation.this);
@@ -148,7 +214,7 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
     private void invokeMigrationOperation(ReplicaFragmentMigrationState migrationState, boolean firstFragment) {
         assert ThreadUtil.isRunningOnPartitionThread()
                 : "Migration operations must be invoked from a partition thread";
-        boolean lastFragment = !namespacesContext.hasNext();
+        boolean lastFragment = !namespacesContext.hasNext() && (!incrementalMigrationEnabled || catchingUp);
         Operation operation = new MigrationOperation(migrationInfo,
                 firstFragment ? completedMigrations : Collections.emptyList(),
                 partitionStateVersion, migrationState, firstFragment, lastFragment);
@@ -171,7 +237,7 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
                 .setResultDeserialized(true)
                 .setCallTimeout(partitionService.getPartitionMigrationTimeout())
                 .invoke()
-                .whenCompleteAsync(new MigrationCallback(), asyncExecutor);
+                .whenCompleteAsync(new MigrationCallback(migrationState), asyncExecutor);
     }
 
     private void trySendNewFragment() {
@@ -179,9 +245,7 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
             verifyMaster();
             verifyExistingDestination();
 
-            InternalPartitionServiceImpl partitionService = getService();
-            MigrationManager migrationManager = partitionService.getMigrationManager();
-            MigrationInfo currentActiveMigration = migrationManager.addActiveMigration(migrationInfo);
+            MigrationInfo currentActiveMigration = getMigrationManager().addActiveMigration(migrationInfo);
             if (!migrationInfo.equals(currentActiveMigration)) {
                 throw new IllegalStateException("Current active migration " + currentActiveMigration
                         + " is different than expected: " + migrationInfo);
@@ -194,6 +258,9 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
             if (migrationState != null) {
                 // migration ops must be serialized and invoked from partition threads
                 getNodeEngine().getOperationService().execute(new InvokeMigrationOps(migrationState, getPartitionId()));
+            } else if (incrementalMigrationEnabled && !catchingUp) {
+                // writes must be paused on the partition thread
+                getNodeEngine().getOperationService().execute(new StartCatchUp(getPartitionId()));
             } else {
                 getLogger().finest("All migration fragments done for " + migrationInfo);
                 completeMigration(true);
@@ -230,6 +297,121 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
         }
     }
 
+    /**
+     * Starts the catch-up phase of an incremental migration on the partition
+     * thread: sets the migrating flag to pause the writes to the partition,
+     * stops tracking the mutations and continues with sending the namespaces
+     * mutated since the start of the migration.
+     */
+    private final class StartCatchUp implements PartitionSpecificRunnable, UrgentSystemOperation {
+
+        private final int partitionId;
+
+        StartCatchUp(int partitionId) {
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            try {
+                startCatchUp();
+            } catch (Throwable t) {
+                logThrowable(t);
+                completeMigration(false);
+            }
+        }
+
+        private void startCatchUp() {
+            InternalPartitionServiceImpl partitionService = getService();
+            PartitionStateManager partitionStateManager = partitionService.getPartitionStateManager();
+            if (!partitionStateManager.trySetMigratingFlag(partitionId)) {
+                throw new IllegalStateException("Cannot set migrating flag for the catch-up of " + migrationInfo);
+            }
+            PartitionMutationTracker tracker = partitionStateManager.getPartitionImpl(partitionId).stopMutationTracking();
+            if (tracker == null) {
+                // migrating flag is cleared by the finalization of this migration
+                throw new IllegalStateException("Mutations are not tracked for " + migrationInfo);
+            }
+
+            NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
+            PartitionReplicationEvent event = getPartitionReplicationEvent();
+            Set<ServiceNamespace> sentNamespaces = namespacesContext.getAllNamespaces();
+            // without fragments, all namespaces are sent together
+            if (tracker.isAllMutated() || (!fragmentedMigrationEnabled && tracker.hasMutations())) {
+                namespacesContext = new ServiceNamespacesContext(nodeEngine, event);
+            } else {
+                Set<ServiceNamespace> mutatedNamespaces = tracker.getMutatedNamespaces();
+                namespacesContext = new ServiceNamespacesContext(nodeEngine, event, mutatedNamespaces::contains);
+                prepareDeltaReplicationOperations(tracker, sentNamespaces, event);
+            }
+            namespaceToSuppliers.clear();
+            catchingUp = true;
+
+            ILogger logger = getLogger();
+            if (logger.isFineEnabled()) {
+                logger.fine("Catching up " + migrationInfo + ", mutated namespaces: "
+                        + (tracker.isAllMutated() ? "all" : tracker.getMutatedNamespaces())
+                        + ", sending only the mutated keys of: " + namespaceToDeltaOperations.keySet());
+            }
+
+            if (namespacesContext.hasNext()) {
+                getNodeEngine().getExecutionService().submit(ExecutionService.ASYNC_EXECUTOR,
+                        () -> trySendNewFragment());
+            } else {
+                // nothing to catch up, just let the destination know that this is the last fragment
+                invokeMigrationOperation(initialReplicaFragmentMigrationState(), false);
+            }
+        }
+    }
+
+    /**
+     * Prepares the operations replicating only the mutated keys of the
+     * namespaces whose keys are known to the tracker. A namespace is sent
+     * whole if it was not sent before the catch-up, or if any of its services
+     * is not a {@link DeltaMigrationAwareService} or declines to send a delta.
+     * Runs on the partition thread, while the writes to the partition are paused.
+     */
+    private void prepareDeltaReplicationOperations(PartitionMutationTracker tracker,
+                                                   Set<ServiceNamespace> sentNamespaces,
+                                                   PartitionReplicationEvent event) {
+        namespaceToDeltaOperations.clear();
+        for (ServiceNamespace namespace : tracker.getMutatedNamespaces()) {
+            Set<Data> keys = tracker.getMutatedKeys(namespace);
+            Collection<String> serviceNames = namespacesContext.getServiceNames(namespace);
+            if (keys == null || serviceNames == null || !sentNamespaces.contains(namespace)) {
+                continue;
+            }
+            Collection<Operation> operations = prepareDeltaReplicationOperations(event, namespace, serviceNames, keys);
+            if (operations != null) {
+                namespaceToDeltaOperations.put(namespace, operations);
+            }
+        }
+    }
+
+    @Nullable
+    private Collection<Operation> prepareDeltaReplicationOperations(PartitionReplicationEvent event,
+                                                                    ServiceNamespace namespace,
+                                                                    Collection<String> serviceNames,
+                                                                    Set<Data> keys) {
+        Collection<Operation> operations = new ArrayList<>(serviceNames.size());
+        for (String serviceName : serviceNames) {
+            Object service = getNodeEngine().getService(serviceName);
+            Operation op = service instanceof DeltaMigrationAwareService deltaService
+                    ? deltaService.prepareDeltaReplicationOperation(event, namespace, keys) : null;
+            if (op == null) {
+                return null;
+            }
+            op.setServiceName(serviceName);
+            operations.add(op);
+        }
+        return operations;
+    }
+
     /**
      * Creates an empty {@code ReplicaFragmentMigrationState} to perform a ready-check on destination.
      * That way initial {@code MigrationOperation} will be empty and any failure or retry
@@ -265,6 +447,12 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
             return createNonFragmentedReplicaFragmentMigrationState();
         }
 
+        Collection<Operation> deltaOperations = namespaceToDeltaOperations.remove(namespace);
+        if (deltaOperations != null) {
+            return createReplicaFragmentMigrationState(singleton(namespace), deltaOperations,
+                    emptyList(), maxTotalChunkedDataInBytes);
+        }
+
         if (chunkedMigrationEnabled) {
             Collection<ChunkSupplier> chunkSuppliers = createChunkSuppliersOf(namespace);
             if (isNotEmpty(chunkSuppliers)) {
@@ -374,6 +562,11 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
         return MigrationParticipant.SOURCE;
     }
 
+    private MigrationManager getMigrationManager() {
+        InternalPartitionServiceImpl partitionService = getService();
+        return partitionService.getMigrationManager();
+    }
+
     private PartitionReplicationEvent getPartitionReplicationEvent() {
         return new PartitionReplicationEvent(migrationInfo.getDestinationAddress(),
                 migrationInfo.getPartitionId(), migrationInfo.getDestinationNewReplicaIndex());
@@ -410,6 +603,9 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
         out.writeBoolean(fragmentedMigrationEnabled);
         out.writeBoolean(chunkedMigrationEnabled);
         out.writeInt(maxTotalChunkedDataInBytes);
+        if (out.getVersion().isGreaterOrEqual(V5_5)) {
+            out.writeBoolean(incrementalMigrationEnabled);
+        }
     }
 
     @Override
@@ -418,6 +614,9 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
         fragmentedMigrationEnabled = in.readBoolean();
         chunkedMigrationEnabled = in.readBoolean();
         maxTotalChunkedDataInBytes = in.readInt();
+        if (in.getVersion().isGreaterOrEqual(V5_5)) {
+            incrementalMigrationEnabled = in.readBoolean();
+        }
     }
 
     /**
@@ -426,7 +625,10 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
      */
     private final class MigrationCallback implements BiConsumer<Object, Throwable> {
 
-        private MigrationCallback() {
+        private final ReplicaFragmentMigrationState migrationState;
+
+        private MigrationCallback(ReplicaFragmentMigrationState migrationState) {
+            this.migrationState = migrationState;
         }
 
         @Override
@@ -437,8 +639,15 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
             } else if (Boolean.TRUE.equals(result)) {
                 // ASYNC executor is of CONCRETE type (does not share threads with other executors)
                 // and is never used for user-supplied code.
-                getNodeEngine().getExecutionService().submit(ExecutionService.ASYNC_EXECUTOR,
-                        () -> trySendNewFragment());
+                ExecutionService executionService = getNodeEngine().getExecutionService();
+                long delayNanos = getMigrationManager().acquireMigrationBandwidth(migrationState.getSerializedSizeInBytes());
+                if (delayNanos > 0) {
+                    executionService.schedule(ExecutionService.ASYNC_EXECUTOR,
+                            () -> trySendNewFragment(), delayNanos, NANOSECONDS);
+                } else {
+                    executionService.submit(ExecutionService.ASYNC_EXECUTOR,
+                            () -> trySendNewFragment());
+                }
             } else {
                 ILogger logger = getLogger();
                 if (logger.isFineEnabled()) {
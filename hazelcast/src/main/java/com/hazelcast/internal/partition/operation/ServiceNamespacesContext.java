@@ -29,6 +29,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import static com.hazelcast.internal.util.CollectionUtil.isNotEmpty;
 import static java.util.Collections.singleton;
@@ -68,19 +69,31 @@ final class ServiceNamespacesContext {
     private ServiceNamespace currentNamespace;
 
     ServiceNamespacesContext(NodeEngineImpl nodeEngine, PartitionReplicationEvent event) {
+        this(nodeEngine, event, ns -> true);
+    }
+
+    /**
+     * Creates a context which contains only the namespaces matching the given filter.
+     */
+    ServiceNamespacesContext(NodeEngineImpl nodeEngine, PartitionReplicationEvent event,
+                             Predicate<ServiceNamespace> namespaceFilter) {
         nodeEngine.forEachMatchingService(FragmentedMigrationAwareService.class, serviceInfo -> {
             // get all namespaces of a service
             Collection<ServiceNamespace> namespaces = getAllServiceNamespaces(serviceInfo, event);
             if (isNotEmpty(namespaces)) {
-                // update collection of unique namespaces
-                allNamespaces.addAll(namespaces);
-                // map namespace to serviceName
-                namespaces.forEach(ns -> mapNamespaceToService(ns, serviceInfo.getName()));
+                namespaces.stream().filter(namespaceFilter).forEach(ns -> {
+                    // update collection of unique namespaces
+                    allNamespaces.add(ns);
+                    // map namespace to serviceName
+                    mapNamespaceToService(ns, serviceInfo.getName());
+                });
             }
         });
 
         // add a namespace to represent non-fragmented services
-        allNamespaces.add(NonFragmentedServiceNamespace.INSTANCE);
+        if (namespaceFilter.test(NonFragmentedServiceNamespace.INSTANCE)) {
+            allNamespaces.add(NonFragmentedServiceNamespace.INSTANCE);
+        }
 
         namespaceIterator = allNamespaces.iterator();
     }
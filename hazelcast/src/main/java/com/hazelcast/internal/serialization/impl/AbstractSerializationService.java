@@ -20,6 +20,7 @@ import com.hazelcast.config.CompactSerializationConfig;
 import com.hazelcast.core.ManagedContext;
 import com.hazelcast.internal.compatibility.serialization.impl.CompatibilitySerializationConstants;
 import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.internal.nio.Bits;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InputOutputFactory;
@@ -198,11 +199,77 @@ public abstract class AbstractSerializationService implements InternalSerializat
         if (obj instanceof Data) {
             return (B) obj;
         }
+        if (isPrimitiveFastPathEnabled()) {
+            // long and int keys are common enough to skip the pooled
+            // output buffer and serializer lookup for them
+            if (obj instanceof Long) {
+                return (B) toLongData((Long) obj, strategy);
+            }
+            if (obj instanceof Integer) {
+                return (B) toIntData((Integer) obj, strategy);
+            }
+        }
 
         byte[] bytes = toBytes(obj, 0, true, strategy);
         return (B) new HeapData(bytes);
     }
 
+    private HeapData toLongData(Long value, PartitioningStrategy strategy) {
+        byte[] bytes = new byte[HeapData.HEAP_DATA_OVERHEAD + Bits.LONG_SIZE_IN_BYTES];
+        writePrimitiveHeader(bytes, value, strategy, SerializationConstants.CONSTANT_TYPE_LONG);
+        Bits.writeLong(bytes, HeapData.DATA_OFFSET, value, isBigEndian());
+        return new HeapData(bytes);
+    }
+
+    private HeapData toIntData(Integer value, PartitioningStrategy strategy) {
+        byte[] bytes = new byte[HeapData.HEAP_DATA_OVERHEAD + Bits.INT_SIZE_IN_BYTES];
+        writePrimitiveHeader(bytes, value, strategy, SerializationConstants.CONSTANT_TYPE_INTEGER);
+        Bits.writeInt(bytes, HeapData.DATA_OFFSET, value, isBigEndian());
+        return new HeapData(bytes);
+    }
+
+    private void writePrimitiveHeader(byte[] bytes, Object value, PartitioningStrategy strategy, int typeId) {
+        try {
+            Bits.writeIntB(bytes, HeapData.PARTITION_HASH_OFFSET, calculatePartitionHash(value, strategy));
+        } catch (Throwable e) {
+            throw handleSerializeException(value, e);
+        }
+        Bits.writeIntB(bytes, HeapData.TYPE_OFFSET, typeId);
+    }
+
+    /**
+     * Reads a {@code Long} or {@code Integer} directly from the payload of the
+     * given data, bypassing the pooled input buffer.
+     *
+     * @return the deserialized value or {@code null} if the data does not
+     * contain a value of these types
+     */
+    private Object readPrimitive(Data data, int typeId) {
+        if (!(data instanceof HeapData) || !isPrimitiveFastPathEnabled()) {
+            return null;
+        }
+        switch (typeId) {
+            case SerializationConstants.CONSTANT_TYPE_LONG:
+                return Bits.readLong(data.toByteArray(), HeapData.DATA_OFFSET, isBigEndian());
+            case SerializationConstants.CONSTANT_TYPE_INTEGER:
+                return Bits.readInt(data.toByteArray(), HeapData.DATA_OFFSET, isBigEndian());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Encoding of {@code Long} and {@code Integer} values can only be
+     * inlined if they are handled by the default constant serializers.
+     */
+    private boolean isPrimitiveFastPathEnabled() {
+        return active && !allowOverrideDefaultSerializers && !isCompatibility;
+    }
+
+    private boolean isBigEndian() {
+        return inputOutputFactory.getByteOrder() == BIG_ENDIAN;
+    }
+
     @Override
     public byte[] toBytes(Object obj) {
         return toBytes(obj, 0, true, globalPartitioningStrategy);
@@ -256,6 +323,10 @@ public abstract class AbstractSerializationService implements InternalSerializat
         }
 
         final int typeId = data.getType();
+        Object primitive = readPrimitive(data, typeId);
+        if (primitive != null) {
+            return (T) (managedContext != null ? managedContext.initialize(primitive) : primitive);
+        }
         final SerializerAdapter serializer = serializerFor(typeId);
         if (serializer == null) {
             if (active) {
@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.server.tcp;
 
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.nio.Packet;
@@ -37,24 +38,63 @@ import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
  * multiple connections. The flyweight contains the actual 'position' state of
  * what has been written.
  *
+ * If the gathering writes are enabled, only the header of a packet with a payload
+ * of at least the gathering write threshold is written to the ByteBuffer. The
+ * payload is handed over to the pipeline as pending buffer and written directly
+ * from the packet, in chunks of at most the size of the ByteBuffer, instead of being
+ * copied into the ByteBuffer first.
+ *
  * @see PacketDecoder
  */
-public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> {
+public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> implements GatheringOutboundHandler {
 
     private final PacketIOHelper packetWriter = new PacketIOHelper();
+    private final int gatheringWriteThreshold;
 
     private Packet packet;
+    private boolean gatherPayload;
+    private boolean gatheringWriteEnabled;
+    private ByteBuffer pendingPayload;
+    private int pendingPayloadEnd;
+
+    public PacketEncoder() {
+        this(-1);
+    }
+
+    /**
+     * @param gatheringWriteThreshold the minimum payload size in bytes of the packets written
+     *                                with a gathering write, or {@code -1} to disable it
+     */
+    public PacketEncoder(int gatheringWriteThreshold) {
+        this.gatheringWriteThreshold = gatheringWriteThreshold;
+    }
 
     @Override
     public void handlerAdded() {
         initDstBuffer();
     }
 
+    @Override
+    public void setGatheringWriteEnabled(boolean enabled) {
+        this.gatheringWriteEnabled = enabled && gatheringWriteThreshold >= 0;
+    }
+
+    @Override
+    public ByteBuffer pendingBuffer() {
+        ByteBuffer payload = pendingPayload;
+        return payload != null && payload.hasRemaining() ? payload : null;
+    }
+
     @Override
     public HandlerStatus onWrite() {
         compactOrClear(dst);
         try {
             for (; ; ) {
+                if (!advancePendingPayload()) {
+                    // nothing can be added to dst until the payload is written
+                    return DIRTY;
+                }
+
                 if (packet == null) {
                     packet = src.get();
 
@@ -62,9 +102,18 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
                         // everything is processed, so we are done
                         return CLEAN;
                     }
+                    gatherPayload = gatheringWriteEnabled && packet.totalSize() >= gatheringWriteThreshold;
                 }
 
-                if (packetWriter.writeTo(packet, dst)) {
+                if (gatherPayload) {
+                    if (!packetWriter.writeHeaderTo(packet, dst)) {
+                        return DIRTY;
+                    }
+                    pendingPayloadEnd = packet.totalSize();
+                    pendingPayload = ByteBuffer.wrap(packet.toByteArray(), 0, pendingPayloadEnd);
+                    pendingPayload.limit(Math.min(pendingPayloadEnd, dst.capacity()));
+                    packet = null;
+                } else if (packetWriter.writeTo(packet, dst)) {
                     // packet got written, lets see if another packet can be written
                     packet = null;
                 } else {
@@ -76,4 +125,31 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
             dst.flip();
         }
     }
+
+    /**
+     * Moves the pending payload to its next chunk once the current chunk is written.
+     * The payload is limited to chunks of the size of dst, so a partial write of a
+     * large payload doesn't copy all of it into a temporary direct buffer.
+     *
+     * @return {@code true} if there is no pending payload anymore.
+     */
+    private boolean advancePendingPayload() {
+        ByteBuffer payload = pendingPayload;
+        if (payload == null) {
+            return true;
+        }
+
+        if (payload.hasRemaining()) {
+            return false;
+        }
+
+        int position = payload.position();
+        if (position == pendingPayloadEnd) {
+            pendingPayload = null;
+            return true;
+        }
+
+        payload.limit(Math.min(pendingPayloadEnd, position + dst.capacity()));
+        return false;
+    }
 }
@@ -217,6 +217,10 @@ public class InstanceConfig {
      * <p>
      * Note: the limit does not apply to streaming aggregations.
      * <p>
+     * If {@link com.hazelcast.spi.properties.ClusterProperty#JET_SPILL_DIRECTORY}
+     * is set, the batch sorting and grouping spill the records to disk when
+     * they reach the limit, instead of failing the job.
+     * <p>
      * The default value is {@link Long#MAX_VALUE}.
      *
      * @since 5.0
@@ -52,6 +52,32 @@ public final class JobConfigArguments {
      */
     public static final String KEY_JOB_IS_SUSPENDABLE = "__jet.jobIsSuspendable";
 
+    /**
+     * The key under which the weight of the job's cooperative tasklets is
+     * stored. Contains a positive {@code Integer} value, the default is 1.
+     * <p>
+     * With the adaptive scheduling enabled, the tasklets of a job with weight
+     * 2 get twice as much time of a cooperative thread as the tasklets of a
+     * job with weight 1, if both have work to do. Without it, the weight is
+     * ignored.
+     *
+     * @see com.hazelcast.spi.properties.ClusterProperty#JET_COOPERATIVE_ADAPTIVE_SCHEDULING_ENABLED
+     */
+    public static final String KEY_COOPERATIVE_WEIGHT = "__jet.cooperativeWeight";
+
+    /**
+     * The key under which the interval of full snapshots is stored. Contains
+     * a positive {@code Integer} value, the default is 1.
+     * <p>
+     * With a value of n greater than 1, every n-th automatic snapshot of the
+     * job is full and the snapshots in between are incremental: the stateful
+     * mapping and the sliding window processors save only the keys changed
+     * since the previous snapshot. The restore then reads the last full
+     * snapshot and the incremental snapshots after it. Exported snapshots are
+     * always full.
+     */
+    public static final String KEY_FULL_SNAPSHOT_INTERVAL = "__jet.fullSnapshotInterval";
+
     private JobConfigArguments() {
     }
 }
@@ -22,6 +22,7 @@ import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.BroadcastKey;
 import com.hazelcast.jet.impl.execution.BroadcastEntry;
+import com.hazelcast.jet.impl.execution.IncrementalSnapshotValue;
 import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataKey;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataValueTerminator;
@@ -36,7 +37,7 @@ import static com.hazelcast.jet.impl.util.Util.uncheckCall;
 
 public class ExplodeSnapshotP extends AbstractProcessor {
 
-    private final Map<String, FlatMapper<byte[], Object>> vertexToFlatMapper = new HashMap<>();
+    private final Map<String, FlatMapper<Entry<SnapshotDataKey, byte[]>, Object>> vertexToFlatMapper = new HashMap<>();
     private final long expectedSnapshotId;
     private InternalSerializationService serializationService;
 
@@ -58,18 +59,26 @@ public class ExplodeSnapshotP extends AbstractProcessor {
     On the other hand, the returned object doesn't hold any resources, so relying on the GC is sufficient.
     See #19799 */
     @SuppressWarnings("squid:S2095")
-    private Traverser<Object> traverser(byte[] data) {
-        BufferObjectDataInput in = serializationService.createObjectDataInput(data);
+    private Traverser<Object> traverser(Entry<SnapshotDataKey, byte[]> chunk) {
+        BufferObjectDataInput in = serializationService.createObjectDataInput(chunk.getValue());
+        // A chunk of an older snapshot was written before the incremental snapshots on top of it. Only the
+        // incremental values are restored from it, the other processors saved their full state again later.
+        boolean incrementalValuesOnly = chunk.getKey().snapshotId() != expectedSnapshotId;
 
         return () -> uncheckCall(() -> {
-            Object key = serializationService.readObject(in, true);
-            if (key == SnapshotDataValueTerminator.INSTANCE) {
-                return null;
+            for (;;) {
+                Object key = serializationService.readObject(in, true);
+                if (key == SnapshotDataValueTerminator.INSTANCE) {
+                    return null;
+                }
+                Object value = serializationService.readObject(in, true);
+                if (incrementalValuesOnly && !(value instanceof IncrementalSnapshotValue)) {
+                    continue;
+                }
+                return key instanceof BroadcastKey
+                        ? new BroadcastEntry(key, value)
+                        : entry(key, value);
             }
-            Object value = serializationService.readObject(in, true);
-            return key instanceof BroadcastKey
-                    ? new BroadcastEntry(key, value)
-                    : entry(key, value);
         });
     }
 
@@ -81,7 +90,7 @@ public class ExplodeSnapshotP extends AbstractProcessor {
         }
         Entry<SnapshotDataKey, byte[]> castItem = (Entry<SnapshotDataKey, byte[]>) item;
         String vertexName = castItem.getKey().vertexName();
-        FlatMapper<byte[], Object> flatMapper = vertexToFlatMapper.get(vertexName);
+        FlatMapper<Entry<SnapshotDataKey, byte[]>, Object> flatMapper = vertexToFlatMapper.get(vertexName);
         if (flatMapper == null) {
             if (!vertexToFlatMapper.containsKey(vertexName)) {
                 // log only once
@@ -91,12 +100,12 @@ public class ExplodeSnapshotP extends AbstractProcessor {
             return true;
         }
         long snapshotId = castItem.getKey().snapshotId();
-        if (snapshotId != expectedSnapshotId) {
+        if (snapshotId > expectedSnapshotId) {
             getLogger().warning("Data for unexpected snapshot ID encountered, ignoring. Expected="
                     + expectedSnapshotId + ", found=" + snapshotId);
             return true;
         }
-        return flatMapper.tryProcess(castItem.getValue());
+        return flatMapper.tryProcess(castItem);
     }
 
     @Override
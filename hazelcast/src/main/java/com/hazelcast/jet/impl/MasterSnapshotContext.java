@@ -18,6 +18,7 @@ package com.hazelcast.jet.impl;
 
 import com.hazelcast.core.IndeterminateOperationStateException;
 import com.hazelcast.internal.cluster.MemberInfo;
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.jet.JetException;
 import com.hazelcast.jet.impl.JobExecutionRecord.SnapshotStats;
 import com.hazelcast.jet.impl.exception.ExecutionNotFoundException;
@@ -50,6 +51,7 @@ import static com.hazelcast.jet.impl.JobRepository.exportedSnapshotMapName;
 import static com.hazelcast.jet.impl.JobRepository.safeImap;
 import static com.hazelcast.jet.impl.JobRepository.snapshotDataMapName;
 import static com.hazelcast.internal.util.ExceptionUtil.withTryCatch;
+import static com.hazelcast.jet.impl.util.Util.fullSnapshotInterval;
 import static com.hazelcast.jet.impl.util.Util.jobNameAndExecutionId;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 
@@ -68,6 +70,21 @@ class MasterSnapshotContext {
      */
     private boolean snapshotInProgress;
 
+    /**
+     * The number of incremental snapshots written on top of the current
+     * snapshot, -1 if the next snapshot has to be full.
+     *
+     * @see com.hazelcast.jet.config.JobConfigArguments#KEY_FULL_SNAPSHOT_INTERVAL
+     */
+    private int incrementalSnapshotCount = -1;
+
+    /**
+     * The number of chunks and bytes in the map of the current snapshot,
+     * including the incremental snapshots written on top of it.
+     */
+    private long dataMapNumChunks;
+    private long dataMapNumBytes;
+
     /**
      * A future (re)created when the job is started and completed when terminal
      * snapshot is completed (successfully or not).
@@ -91,6 +108,11 @@ class MasterSnapshotContext {
          * be null.
          */
         final CompletableFuture<Void> future;
+        /**
+         * If true, the snapshot is written on top of the current snapshot.
+         * It's decided when the snapshot begins.
+         */
+        boolean isIncremental;
 
         SnapshotRequest(@Nullable String snapshotName, boolean isTerminal, @Nullable CompletableFuture<Void> future) {
             this.snapshotName = snapshotName;
@@ -110,12 +132,15 @@ class MasterSnapshotContext {
         }
 
         public int snapshotFlags() {
-            return SnapshotFlags.create(isTerminal, isExport());
+            return SnapshotFlags.create(isTerminal, isExport(), isIncremental);
         }
 
         public String mapName() {
-            return isExport() ? exportedSnapshotMapName(snapshotName)
-                    : snapshotDataMapName(mc.jobId(), mc.jobExecutionRecord().ongoingDataMapIndex());
+            if (isExport()) {
+                return exportedSnapshotMapName(snapshotName);
+            }
+            JobExecutionRecord record = mc.jobExecutionRecord();
+            return snapshotDataMapName(mc.jobId(), isIncremental ? record.dataMapIndex() : record.ongoingDataMapIndex());
         }
 
         /**
@@ -200,6 +225,7 @@ class MasterSnapshotContext {
                     return;
                 }
                 snapshotInProgress = true;
+                requestedSnapshot.isIncremental = isNextSnapshotIncremental(requestedSnapshot);
                 mc.jobExecutionRecord().startNewSnapshot(requestedSnapshot.snapshotName);
                 localExecutionId = mc.executionId();
             } finally {
@@ -212,7 +238,9 @@ class MasterSnapshotContext {
 
             try {
                 mc.writeJobExecutionRecordSafe(false);
-                mc.nodeEngine().getHazelcastInstance().getMap(mapName).clear();
+                if (!requestedSnapshot.isIncremental) {
+                    mc.nodeEngine().getHazelcastInstance().getMap(mapName).clear();
+                }
             } catch (Exception e) {
                 logger.warning(String.format("Failed to start snapshot %d for %s",
                         newSnapshotId, jobNameAndExecutionId(mc.jobName(), localExecutionId)),
@@ -237,6 +265,21 @@ class MasterSnapshotContext {
         });
     }
 
+    /**
+     * Returns true if the requested snapshot can be written on top of the
+     * current snapshot. Only automatic snapshots are incremental, and only if
+     * all snapshots since the last full snapshot succeeded.
+     */
+    private boolean isNextSnapshotIncremental(SnapshotRequest requestedSnapshot) {
+        int fullSnapshotInterval = fullSnapshotInterval(mc.jobConfig());
+        return fullSnapshotInterval > 1
+                && !requestedSnapshot.isExport()
+                && incrementalSnapshotCount >= 0
+                && incrementalSnapshotCount < fullSnapshotInterval - 1
+                // members of older versions can't restore incremental snapshots
+                && mc.nodeEngine().getClusterService().getClusterVersion().isGreaterOrEqual(Versions.V5_5);
+    }
+
     /**
      * @param responses collected responses from the members
      */
@@ -327,45 +370,52 @@ class MasterSnapshotContext {
                 // Snapshot IMap proxy instance may be shared, but we always want it
                 // to have failOnIndeterminateOperationState enabled.
                 IMap<Object, Object> snapshotMap = safeImap(mc.nodeEngine().getHazelcastInstance().getMap(mapName));
-                try {
-                    SnapshotValidationRecord validationRecord = new SnapshotValidationRecord(snapshotId,
-                            mergedResult.getNumChunks(), mergedResult.getNumBytes(),
-                            mc.jobExecutionRecord().ongoingSnapshotStartTime(), mc.jobId(), mc.jobName(),
-                            mc.jobRecord().getDagJson());
-
-                    // The decision moment for _exported_ snapshots: after this the snapshot is valid to be restored
-                    // from, however it will be not listed by JetInstance.getJobStateSnapshots unless the validation
-                    // record is inserted into the cache below.
-                    //
-                    // Error during update for JobExecutionRecord does not invalidate the _exported_ snapshot.
-                    // JobExecutionRecord data in IMap becomes stale (indicates that the exported snapshot is in progress)
-                    // but it should not cause problems. They may be overwritten later (in-memory values will be correct)
-                    // or ignored when JobExecutionRecord is loaded from IMap.
-                    //
-                    // Terminal exported snapshot is formally valid from this point on, but it is safe to use it
-                    // to restore from only after and only if the job was cleanly terminated due to _this_ snapshot request.
-                    // On API level, using this snapshot is not safe if cancelAndExportSnapshot throws exception
-                    // and the job will not be cancelled but restarted.
-                    Object oldValue = snapshotMap.put(SnapshotValidationRecord.KEY, validationRecord);
-
-                    if (requestedSnapshot.isExport()) {
-                        assert requestedSnapshot.snapshotName != null;
-                        // update also for failed snapshots because the map may have contained different snapshot before
-                        mc.jobRepository().cacheValidationRecord(requestedSnapshot.snapshotName, validationRecord);
-                    }
-                    if (oldValue != null) {
-                        logger.severe("SnapshotValidationRecord overwritten after writing to '" + mapName
-                                + "' for " + mc.jobIdString() + ": snapshot data might be corrupted");
+                boolean isIncremental = requestedSnapshot.isIncremental;
+                // A failed incremental snapshot keeps the validation record of the snapshot it was written
+                // on top of, the chunks of the failed snapshot are ignored when restoring.
+                if (!isIncremental || mergedResult.getError() == null) {
+                    try {
+                        // the record of an incremental snapshot covers also the chunks it was written on top of
+                        SnapshotValidationRecord validationRecord = new SnapshotValidationRecord(snapshotId,
+                                mergedResult.getNumChunks() + (isIncremental ? dataMapNumChunks : 0),
+                                mergedResult.getNumBytes() + (isIncremental ? dataMapNumBytes : 0),
+                                mc.jobExecutionRecord().ongoingSnapshotStartTime(), mc.jobId(), mc.jobName(),
+                                mc.jobRecord().getDagJson());
+
+                        // The decision moment for _exported_ snapshots: after this the snapshot is valid to be restored
+                        // from, however it will be not listed by JetInstance.getJobStateSnapshots unless the validation
+                        // record is inserted into the cache below.
+                        //
+                        // Error during update for JobExecutionRecord does not invalidate the _exported_ snapshot.
+                        // JobExecutionRecord data in IMap becomes stale (indicates that the exported snapshot is in progress)
+                        // but it should not cause problems. They may be overwritten later (in-memory values will be correct)
+                        // or ignored when JobExecutionRecord is loaded from IMap.
+                        //
+                        // Terminal exported snapshot is formally valid from this point on, but it is safe to use it
+                        // to restore from only after and only if the job was cleanly terminated due to _this_ snapshot request.
+                        // On API level, using this snapshot is not safe if cancelAndExportSnapshot throws exception
+                        // and the job will not be cancelled but restarted.
+                        Object oldValue = snapshotMap.put(SnapshotValidationRecord.KEY, validationRecord);
+
+                        if (requestedSnapshot.isExport()) {
+                            assert requestedSnapshot.snapshotName != null;
+                            // update also for failed snapshots because the map may have contained different snapshot before
+                            mc.jobRepository().cacheValidationRecord(requestedSnapshot.snapshotName, validationRecord);
+                        }
+                        if (oldValue != null && !isIncremental) {
+                            logger.severe("SnapshotValidationRecord overwritten after writing to '" + mapName
+                                    + "' for " + mc.jobIdString() + ": snapshot data might be corrupted");
+                        }
+                    } catch (Exception e) {
+                        mergedResult.merge(new SnapshotPhase1Result(0, 0, 0, e));
                     }
-                } catch (Exception e) {
-                    mergedResult.merge(new SnapshotPhase1Result(0, 0, 0, e));
                 }
 
                 isSuccess = mergedResult.getError() == null;
                 // update snapshot state in memory after success or failure
                 stats = mc.jobExecutionRecord().ongoingSnapshotDone(
                         mergedResult.getNumBytes(), mergedResult.getNumKeys(), mergedResult.getNumChunks(),
-                        mergedResult.getError(), requestedSnapshot.isTerminal);
+                        mergedResult.getError(), requestedSnapshot.isTerminal, isIncremental);
 
                 // There is no need to restart job in case of a failed snapshot:
                 // - ongoingSnapshotId is safe in IMap, because it was written at the beginning
@@ -408,7 +458,22 @@ class MasterSnapshotContext {
                             (skipPhase2 ? ", skipping " : ", proceeding to ") + "phase 2"));
                 }
 
-                if (!isSuccess) {
+                if (isSuccess && !skipPhase2 && !requestedSnapshot.isExport()) {
+                    // the next snapshots can be written on top of this one
+                    incrementalSnapshotCount = isIncremental ? incrementalSnapshotCount + 1 : 0;
+                    dataMapNumChunks = (isIncremental ? dataMapNumChunks : 0) + mergedResult.getNumChunks();
+                    dataMapNumBytes = (isIncremental ? dataMapNumBytes : 0) + mergedResult.getNumBytes();
+                } else if (!requestedSnapshot.isExportOnly()) {
+                    // the processors discarded their changes, the next snapshot has to be full
+                    incrementalSnapshotCount = -1;
+                }
+
+                if (!isSuccess && isIncremental) {
+                    logger.warning(mc.jobIdString() + " incremental snapshot " + snapshotId + " phase 1 failed on " +
+                            "some member(s), one of the failures: " + mergedResult.getError());
+                    // The map contains also the snapshot this one was written on top of, it's cleared after
+                    // the next snapshot, which is full.
+                } else if (!isSuccess) {
                     logger.warning(mc.jobIdString() + " snapshot " + snapshotId + " phase 1 failed on some " +
                             "member(s), one of the failures: " + mergedResult.getError());
                     try {
@@ -424,7 +489,8 @@ class MasterSnapshotContext {
 
                 // Do not clear snapshot data when JobExecutionRecord update was indeterminate.
                 // It may turn out that this will be a correct snapshot after all.
-                if (isSuccess && !skipPhase2 && !requestedSnapshot.isExport()) {
+                // After an incremental snapshot, the map for the next full snapshot is already cleared.
+                if (isSuccess && !skipPhase2 && !requestedSnapshot.isExport() && !isIncremental) {
                     // clear IMap for next automatic snapshot early to decrease memory usage
                     mc.jobRepository().clearSnapshotData(mc.jobId(), mc.jobExecutionRecord().ongoingDataMapIndex());
                 }
@@ -539,6 +605,8 @@ class MasterSnapshotContext {
 
     void onExecutionStarted() {
         snapshotInProgress = false;
+        // the processors of the new execution have no changes to save, the first snapshot has to be full
+        incrementalSnapshotCount = -1;
         assert snapshotQueue.isEmpty() : "snapshotQueue not empty";
         terminalSnapshotFuture = new CompletableFuture<>();
     }
@@ -51,17 +51,24 @@ final class SnapshotValidator {
                     nameOrId, snapshotMap.getName(), snapshotMap.size(), jobIdString));
         }
         if (validationRecord.numChunks() != snapshotMap.size() - 1) {
-            // fallback validation that counts using aggregate(), ignoring different snapshot IDs
+            // fallback validation that counts using aggregate(), ignoring the chunks of newer snapshot IDs. The
+            // chunks of older snapshot IDs belong to the snapshots on top of which an incremental one was written.
+            long recordSnapshotId = validationRecord.snapshotId();
             long filteredCount = snapshotMap.aggregate(
                     Aggregators.count(),
                     e -> e.getKey() instanceof SnapshotDataKey
-                            && ((SnapshotDataKey) e.getKey()).snapshotId() == snapshotId);
+                            && ((SnapshotDataKey) e.getKey()).snapshotId() <= recordSnapshotId);
             if (validationRecord.numChunks() != filteredCount) {
                 throw new JetException(String.format(
                         "State for %s in IMap '%s' is corrupted: it should have %,d entries, but has %,d",
                         jobIdString, snapshotMap.getName(), validationRecord.numChunks(), snapshotMap.size() - 1));
             }
         }
+        if (snapshotId != NO_SNAPSHOT && snapshotId < validationRecord.snapshotId()) {
+            // The update of the JobExecutionRecord after an incremental snapshot was lost. The incremental
+            // snapshot was successfully written on top of the expected one, so we can restore from it.
+            return validationRecord.snapshotId();
+        }
         if (snapshotId != NO_SNAPSHOT && snapshotId != validationRecord.snapshotId()) {
             throw new JetException(String.format(
                     "%s: IMap '%s' was supposed to contain snapshotId %d, but it contains snapshotId %d",
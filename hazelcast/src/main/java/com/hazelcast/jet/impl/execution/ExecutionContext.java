@@ -65,7 +65,9 @@ import java.util.function.Function;
 
 import static com.hazelcast.internal.util.ConcurrencyUtil.CALLER_RUNS;
 import static com.hazelcast.internal.util.ExceptionUtil.withTryCatch;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
 import static com.hazelcast.jet.Util.idToString;
+import static com.hazelcast.jet.config.JobConfigArguments.KEY_COOPERATIVE_WEIGHT;
 import static com.hazelcast.jet.core.metrics.MetricNames.EXECUTION_COMPLETION_TIME;
 import static com.hazelcast.jet.core.metrics.MetricNames.EXECUTION_START_TIME;
 import static com.hazelcast.jet.impl.util.Util.doWithClassLoader;
@@ -102,6 +104,7 @@ public class ExecutionContext implements DynamicMetricsProvider {
     private final ConcurrentHashMap<String, File> tempDirectories = new ConcurrentHashMap<>();
 
     private String jobName;
+    private int cooperativeWeight = TaskletExecutionService.DEFAULT_COOPERATIVE_WEIGHT;
 
     private volatile Map<SenderReceiverKey, ReceiverTasklet> receiverMap;
     private volatile Map<SenderReceiverKey, SenderTasklet> senderMap;
@@ -153,6 +156,10 @@ public class ExecutionContext implements DynamicMetricsProvider {
 
         JobConfig jobConfig = plan.getJobConfig();
         jobName = jobConfig.getName() == null ? jobName : jobConfig.getName();
+        Integer weight = jobConfig.getArgument(KEY_COOPERATIVE_WEIGHT);
+        if (weight != null) {
+            cooperativeWeight = checkPositive(KEY_COOPERATIVE_WEIGHT, weight);
+        }
 
         // Must be populated early, so all processor suppliers are
         // available to be completed in the case of init failure
@@ -230,7 +237,7 @@ public class ExecutionContext implements DynamicMetricsProvider {
                 }
                 startTime.set(System.currentTimeMillis());
                 executionFuture = taskletExecService
-                        .beginExecute(tasklets, cancellationFuture, cl)
+                        .beginExecute(tasklets, cancellationFuture, cl, cooperativeWeight)
                         .whenComplete(withTryCatch(logger, (r, t) -> setCompletionTime()))
                         .thenApply(res -> {
                             // There's a race here: a snapshot could be requested after the job just completed
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.execution;
+
+import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+
+/**
+ * A value saved to a snapshot by a processor which supports incremental
+ * snapshots, see {@link SnapshotContext#isIncremental()}. An incremental
+ * snapshot contains only the keys changed since the previous snapshot and is
+ * written to the same map as the snapshots it's based on. When restoring,
+ * the value from the latest snapshot wins for each key.
+ * <p>
+ * A {@code null} value means that the key was removed.
+ */
+public final class IncrementalSnapshotValue implements IdentifiedDataSerializable {
+
+    private long snapshotId;
+    private Object value;
+
+    public IncrementalSnapshotValue() {
+    }
+
+    public IncrementalSnapshotValue(long snapshotId, @Nullable Object value) {
+        this.snapshotId = snapshotId;
+        this.value = value;
+    }
+
+    /**
+     * Returns the ID of the snapshot which saved the value.
+     */
+    public long snapshotId() {
+        return snapshotId;
+    }
+
+    /**
+     * Returns the value or {@code null}, if the key was removed.
+     */
+    @Nullable
+    public Object value() {
+        return value;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return JetInitDataSerializerHook.FACTORY_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return JetInitDataSerializerHook.INCREMENTAL_SNAPSHOT_VALUE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeLong(snapshotId);
+        out.writeObject(value);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        snapshotId = in.readLong();
+        value = in.readObject();
+    }
+
+    @Override
+    public String toString() {
+        return "IncrementalSnapshotValue{snapshotId=" + snapshotId + ", value=" + value + '}';
+    }
+}
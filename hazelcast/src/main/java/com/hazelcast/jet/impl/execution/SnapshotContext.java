@@ -173,6 +173,19 @@ public class SnapshotContext {
         return SnapshotFlags.isExportOnly(snapshotFlags);
     }
 
+    /**
+     * Returns true if the current snapshot is incremental: processors
+     * supporting it save only the keys changed since the previous snapshot,
+     * wrapped in {@link IncrementalSnapshotValue}, and the snapshot is
+     * written to the map of the previous one. Other processors save their
+     * full state.
+     *
+     * @see com.hazelcast.jet.config.JobConfigArguments#KEY_FULL_SNAPSHOT_INTERVAL
+     */
+    public boolean isIncremental() {
+        return SnapshotFlags.isIncremental(snapshotFlags);
+    }
+
     boolean isLastPhase1Successful() {
         return lastPhase1Successful;
     }
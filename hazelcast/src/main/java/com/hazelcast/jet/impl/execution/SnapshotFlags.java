@@ -32,6 +32,12 @@ public final class SnapshotFlags {
      */
     private static final int EXPORT = 2; // 0b10
 
+    /**
+     * If set, the snapshot contains only the state changed since the previous
+     * snapshot, see {@link SnapshotContext#isIncremental()}.
+     */
+    private static final int INCREMENTAL = 4; // 0b100
+
     private SnapshotFlags() { }
 
     public static boolean isTerminal(int flags) {
@@ -54,12 +60,21 @@ public final class SnapshotFlags {
         return isExport(flags) && !isTerminal(flags);
     }
 
+    public static boolean isIncremental(int flags) {
+        return (flags & INCREMENTAL) != 0;
+    }
+
     public static String toString(int flags) {
         return "terminal=" + (isTerminal(flags) ? "yes" : "no")
-                + ",export=" + (isExport(flags) ? "yes" : "no");
+                + ",export=" + (isExport(flags) ? "yes" : "no")
+                + ",incremental=" + (isIncremental(flags) ? "yes" : "no");
     }
 
     public static int create(boolean isTerminal, boolean isExport) {
-        return (isTerminal ? TERMINAL : 0) | (isExport ? EXPORT : 0);
+        return create(isTerminal, isExport, false);
+    }
+
+    public static int create(boolean isTerminal, boolean isExport, boolean isIncremental) {
+        return (isTerminal ? TERMINAL : 0) | (isExport ? EXPORT : 0) | (isIncremental ? INCREMENTAL : 0);
     }
 }
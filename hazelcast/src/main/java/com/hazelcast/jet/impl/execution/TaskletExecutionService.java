@@ -19,6 +19,7 @@ package com.hazelcast.jet.impl.execution;
 import com.hazelcast.internal.metrics.MetricDescriptor;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.metrics.ProbeUnit;
 import com.hazelcast.internal.util.RuntimeAvailableProcessors;
 import com.hazelcast.internal.util.concurrent.BackoffIdleStrategy;
 import com.hazelcast.internal.util.concurrent.IdleStrategy;
@@ -63,12 +64,15 @@ import static com.hazelcast.internal.util.executor.ExecutorType.CACHED;
 import static com.hazelcast.jet.impl.util.ExceptionUtil.peel;
 import static com.hazelcast.internal.util.ExceptionUtil.sneakyThrow;
 import static com.hazelcast.internal.util.ExceptionUtil.withTryCatch;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_COOPERATIVE_ADAPTIVE_SCHEDULING_ENABLED;
 import static com.hazelcast.jet.impl.util.Util.doWithClassLoader;
 import static com.hazelcast.jet.impl.util.Util.uncheckRun;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_COOPERATIVE_MAX_MICROSECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_COOPERATIVE_MIN_MICROSECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_NONCOOPERATIVE_MAX_MICROSECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_NONCOOPERATIVE_MIN_MICROSECONDS;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.Thread.currentThread;
 import static java.util.Collections.emptyList;
 import static java.util.concurrent.Executors.newCachedThreadPool;
@@ -79,6 +83,13 @@ import static java.util.stream.Collectors.toList;
 public class TaskletExecutionService {
 
     public static final String TASKLET_INIT_CLOSE_EXECUTOR_NAME = "jet:tasklet_initClose";
+    public static final int DEFAULT_COOPERATIVE_WEIGHT = 1;
+
+    // the time a tasklet can run ahead of the other busy tasklets on its thread, before it's skipped
+    private static final long SCHEDULING_QUANTUM_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long UTILIZATION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int REBALANCING_THRESHOLD_PERCENT = 20;
+    private static final int PERCENT = 100;
 
     private final ExecutorService blockingTaskletExecutor = newCachedThreadPool(new BlockingTaskThreadFactory());
     private final ExecutionService hzExecutionService;
@@ -93,6 +104,7 @@ public class TaskletExecutionService {
     private final Object lock = new Object();
     private final IdleStrategy idlerCooperative;
     private final IdleStrategy idlerNonCooperative;
+    private final boolean adaptiveScheduling;
 
     public TaskletExecutionService(NodeEngineImpl nodeEngine, int threadCount, HazelcastProperties properties) {
         hzExecutionService = nodeEngine.getExecutionService();
@@ -109,6 +121,7 @@ public class TaskletExecutionService {
         idlerNonCooperative = createIdler(
             properties, JET_IDLE_NONCOOPERATIVE_MIN_MICROSECONDS, JET_IDLE_NONCOOPERATIVE_MAX_MICROSECONDS
         );
+        adaptiveScheduling = properties.getBoolean(JET_COOPERATIVE_ADAPTIVE_SCHEDULING_ENABLED);
 
         Arrays.setAll(cooperativeWorkers, i -> new CooperativeWorker());
         Arrays.setAll(cooperativeThreadPool, i -> new CooperativeWorkerThread(cooperativeWorkers[i],
@@ -144,6 +157,21 @@ public class TaskletExecutionService {
             @Nonnull List<? extends Tasklet> tasklets,
             @Nonnull CompletableFuture<Void> cancellationFuture,
             @Nonnull ClassLoader jobClassLoader
+    ) {
+        return beginExecute(tasklets, cancellationFuture, jobClassLoader, DEFAULT_COOPERATIVE_WEIGHT);
+    }
+
+    /**
+     * Like {@link #beginExecute(List, CompletableFuture, ClassLoader)}, but
+     * with the given weight of the cooperative tasklets. With the adaptive
+     * scheduling enabled, the tasklets get a share of the cooperative thread
+     * time proportional to the weight.
+     */
+    CompletableFuture<Void> beginExecute(
+            @Nonnull List<? extends Tasklet> tasklets,
+            @Nonnull CompletableFuture<Void> cancellationFuture,
+            @Nonnull ClassLoader jobClassLoader,
+            int weight
     ) {
         final ExecutionTracker executionTracker = new ExecutionTracker(tasklets.size(), cancellationFuture);
         try {
@@ -151,7 +179,7 @@ public class TaskletExecutionService {
                     tasklets.stream().collect(partitioningBy(
                             tasklet -> doWithClassLoader(jobClassLoader, tasklet::isCooperative)
                     ));
-            submitCooperativeTasklets(executionTracker, jobClassLoader, byCooperation.get(true));
+            submitCooperativeTasklets(executionTracker, jobClassLoader, weight, byCooperation.get(true));
             submitBlockingTasklets(executionTracker, jobClassLoader, byCooperation.get(false));
         } catch (Throwable t) {
             executionTracker.future.internalCompleteExceptionally(t);
@@ -171,7 +199,8 @@ public class TaskletExecutionService {
         CountDownLatch startedLatch = new CountDownLatch(tasklets.size());
         executionTracker.blockingFutures = tasklets
                 .stream()
-                .map(t -> new BlockingWorker(new TaskletTracker(t, executionTracker, jobClassLoader), startedLatch))
+                .map(t -> new BlockingWorker(
+                        new TaskletTracker(t, executionTracker, jobClassLoader, DEFAULT_COOPERATIVE_WEIGHT), startedLatch))
                 .map(blockingTaskletExecutor::submit)
                 .collect(toList());
 
@@ -183,7 +212,7 @@ public class TaskletExecutionService {
     }
 
     private void submitCooperativeTasklets(
-            ExecutionTracker executionTracker, ClassLoader jobClassLoader, List<Tasklet> tasklets
+            ExecutionTracker executionTracker, ClassLoader jobClassLoader, int weight, List<Tasklet> tasklets
     ) {
         @SuppressWarnings("unchecked")
         final List<TaskletTracker>[] trackersByThread = new List[cooperativeWorkers.length];
@@ -201,7 +230,8 @@ public class TaskletExecutionService {
         // some worker might have no tasklet.
         synchronized (lock) {
             for (Tasklet t : tasklets) {
-                trackersByThread[cooperativeThreadIndex].add(new TaskletTracker(t, executionTracker, jobClassLoader));
+                trackersByThread[cooperativeThreadIndex].add(
+                        new TaskletTracker(t, executionTracker, jobClassLoader, weight));
                 cooperativeThreadIndex = (cooperativeThreadIndex + 1) % trackersByThread.length;
             }
         }
@@ -342,6 +372,14 @@ public class TaskletExecutionService {
         private final CopyOnWriteArrayList<TaskletTracker> trackers;
         @Probe(name = "iterationCount")
         private final Counter iterationCount = SwCounter.newSwCounter();
+        // busyTime and utilization are measured only with the adaptive scheduling
+        @Probe(name = "busyTime", unit = ProbeUnit.NS)
+        private final Counter busyTime = SwCounter.newSwCounter();
+        @Probe(name = "migratedTaskletCount")
+        private final Counter migratedTaskletCount = SwCounter.newSwCounter();
+        // the percentage of the last utilization interval spent in the tasklet calls
+        @Probe(name = "utilization", unit = ProbeUnit.PERCENT)
+        private volatile int utilization;
 
         private final ProgressTracker progressTracker = new ProgressTracker();
         // prevent lambda allocation on each iteration
@@ -353,6 +391,12 @@ public class TaskletExecutionService {
         private Thread myThread;
         private Contexts.Container contextContainer;
 
+        // the minimum virtual runtime of the busy tasklets in the previous and in the current iteration
+        private long minVruntime;
+        private long nextMinVruntime = Long.MAX_VALUE;
+        private long intervalStart = System.nanoTime();
+        private long intervalBusyTime;
+
         CooperativeWorker() {
             this.trackers = new CopyOnWriteArrayList<>();
         }
@@ -368,9 +412,16 @@ public class TaskletExecutionService {
             while (!isShutdown) {
                 finestLogEnabled = logger.isFinestEnabled();
                 progressTracker.reset();
+                if (nextMinVruntime != Long.MAX_VALUE) {
+                    minVruntime = nextMinVruntime;
+                }
+                nextMinVruntime = Long.MAX_VALUE;
                 // garbage-free iteration -- relies on implementation in COWArrayList that doesn't use an Iterator
                 trackers.forEach(runTasklet);
                 iterationCount.inc();
+                if (adaptiveScheduling) {
+                    updateUtilization();
+                }
                 if (!progressTracker.isMadeProgress() && newTaskletSemaphore.drainPermits() > 0) {
                     progressTracker.madeProgress();
                 }
@@ -380,6 +431,7 @@ public class TaskletExecutionService {
                     if (trackers.isEmpty()) {
                         newTaskletSemaphore.drainPermits();
                         if (trackers.isEmpty() && !isShutdown) {
+                            utilization = 0;
                             try {
                                 newTaskletSemaphore.acquire();
                             } catch (InterruptedException e) {
@@ -397,10 +449,13 @@ public class TaskletExecutionService {
         }
 
         private void runTasklet(TaskletTracker t) {
-            long start = 0;
-            if (finestLogEnabled) {
-                start = System.nanoTime();
+            if (adaptiveScheduling && skip(t)) {
+                return;
             }
+            // measure the call only if needed, nanoTime isn't free on the hot path
+            boolean timed = adaptiveScheduling || finestLogEnabled;
+            long start = timed ? System.nanoTime() : 0;
+            boolean madeProgress = false;
             try {
                 myThread.setContextClassLoader(t.jobClassLoader);
                 contextContainer.setContext(t.tasklet.getProcessorContext());
@@ -409,6 +464,7 @@ public class TaskletExecutionService {
                     dismissTasklet(t);
                 }
                 progressTracker.mergeWith(result);
+                madeProgress = result.isMadeProgress();
             } catch (Throwable e) {
                 handleTaskletExecutionError(t, e);
             } finally {
@@ -417,9 +473,16 @@ public class TaskletExecutionService {
             if (t.executionTracker.executionCompletedExceptionally()) {
                 dismissTasklet(t);
             }
+            if (!timed) {
+                return;
+            }
 
+            long elapsed = System.nanoTime() - start;
+            if (adaptiveScheduling) {
+                account(t, elapsed, madeProgress);
+            }
             if (finestLogEnabled) {
-                long elapsedMs = NANOSECONDS.toMillis((System.nanoTime() - start));
+                long elapsedMs = NANOSECONDS.toMillis(elapsed);
                 if (elapsedMs > COOPERATIVE_LOGGING_THRESHOLD) {
                     logger.finest("Cooperative tasklet call of '" + t.tasklet + "' took more than "
                             + COOPERATIVE_LOGGING_THRESHOLD + " ms: " + elapsedMs + "ms");
@@ -427,6 +490,98 @@ public class TaskletExecutionService {
             }
         }
 
+        /**
+         * Returns true if the tasklet ran ahead of the other busy tasklets
+         * on this thread by more than the scheduling quantum, so it should
+         * be skipped in this iteration.
+         */
+        private boolean skip(TaskletTracker t) {
+            if (t.rebase) {
+                // a new or a migrated tasklet starts with the current minimum
+                t.vruntime = minVruntime;
+                t.rebase = false;
+            } else if (!t.busy) {
+                // an idle tasklet doesn't get the time it didn't use
+                t.vruntime = max(t.vruntime, minVruntime - SCHEDULING_QUANTUM_NANOS);
+            }
+            if (t.vruntime - minVruntime <= SCHEDULING_QUANTUM_NANOS) {
+                return false;
+            }
+            // the tasklet is still busy, don't let the thread idle
+            nextMinVruntime = min(nextMinVruntime, t.vruntime);
+            progressTracker.madeProgress();
+            return true;
+        }
+
+        private void account(TaskletTracker t, long elapsed, boolean madeProgress) {
+            busyTime.inc(elapsed);
+            intervalBusyTime += elapsed;
+            t.intervalCpuTime += elapsed;
+            t.vruntime += elapsed / t.weight;
+            t.busy = madeProgress;
+            if (madeProgress) {
+                nextMinVruntime = min(nextMinVruntime, t.vruntime);
+            }
+        }
+
+        private void updateUtilization() {
+            long now = System.nanoTime();
+            long elapsed = now - intervalStart;
+            if (elapsed < UTILIZATION_INTERVAL_NANOS) {
+                return;
+            }
+            utilization = (int) (intervalBusyTime * PERCENT / elapsed);
+            intervalStart = now;
+            intervalBusyTime = 0;
+            for (TaskletTracker t : trackers) {
+                t.lastIntervalCpuTime = t.intervalCpuTime;
+                t.intervalCpuTime = 0;
+            }
+            rebalance(elapsed);
+        }
+
+        /**
+         * Moves a tasklet to the least utilized thread, if this thread is
+         * utilized much more. The moved tasklet is the one whose CPU time is
+         * the closest to the half of the difference, so that both threads
+         * end up utilized similarly.
+         */
+        private void rebalance(long interval) {
+            CooperativeWorker target = this;
+            for (CooperativeWorker worker : cooperativeWorkers) {
+                if (worker.utilization < target.utilization) {
+                    target = worker;
+                }
+            }
+            if (target == this || utilization - target.utilization < REBALANCING_THRESHOLD_PERCENT
+                    || trackers.size() < 2 || isShutdown) {
+                return;
+            }
+            long difference = (long) (utilization - target.utilization) * interval / PERCENT;
+            TaskletTracker best = null;
+            long bestDistance = Long.MAX_VALUE;
+            for (TaskletTracker t : trackers) {
+                long distance = Math.abs(t.lastIntervalCpuTime - difference / 2);
+                if (t.lastIntervalCpuTime > 0 && t.lastIntervalCpuTime < difference && distance < bestDistance) {
+                    best = t;
+                    bestDistance = distance;
+                }
+            }
+            if (best == null) {
+                return;
+            }
+            logger.finest("Moving %s to a less utilized cooperative thread", best.tasklet);
+            // the tasklet isn't running, it's only called from this thread and the COW list
+            // publishes its state to the target thread
+            trackers.remove(best);
+            best.rebase = true;
+            utilization -= (int) (best.lastIntervalCpuTime * PERCENT / interval);
+            target.trackers.add(best);
+            target.newTaskletSemaphore.release();
+            LockSupport.unpark(target.myThread);
+            migratedTaskletCount.inc();
+        }
+
         private void dismissTasklet(TaskletTracker t) {
             logger.finest("Tasklet %s is done", t.tasklet);
             t.executionTracker.taskletDone();
@@ -438,11 +593,24 @@ public class TaskletExecutionService {
         final Tasklet tasklet;
         final ExecutionTracker executionTracker;
         final ClassLoader jobClassLoader;
+        final int weight;
+
+        // the fields below are only accessed by the cooperative thread running the tasklet
+
+        // the time spent in the calls divided by the weight
+        long vruntime;
+        // true if the vruntime must be reset to the minimum of the thread on the next call
+        boolean rebase = true;
+        // true if the last call made progress
+        boolean busy;
+        long intervalCpuTime;
+        long lastIntervalCpuTime;
 
-        TaskletTracker(Tasklet tasklet, ExecutionTracker executionTracker, ClassLoader jobClassLoader) {
+        TaskletTracker(Tasklet tasklet, ExecutionTracker executionTracker, ClassLoader jobClassLoader, int weight) {
             this.tasklet = tasklet;
             this.executionTracker = executionTracker;
             this.jobClassLoader = jobClassLoader;
+            this.weight = weight;
         }
 
         @Override
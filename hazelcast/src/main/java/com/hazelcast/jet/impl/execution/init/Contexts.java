@@ -32,6 +32,7 @@ import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.ProcessorMetaSupplier;
 import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.impl.deployment.IMapInputStream;
+import com.hazelcast.jet.impl.execution.SnapshotContext;
 import com.hazelcast.jet.impl.metrics.MetricsContext;
 import com.hazelcast.jet.impl.util.ExceptionUtil;
 import com.hazelcast.logging.ILogger;
@@ -371,6 +372,7 @@ public final class Contexts {
 
         private final int localProcessorIndex;
         private final int globalProcessorIndex;
+        private final SnapshotContext snapshotContext;
         private final MetricsContext metricsContext = new MetricsContext();
 
         @SuppressWarnings("checkstyle:ParameterNumber")
@@ -390,13 +392,15 @@ public final class Contexts {
                        ConcurrentMap<String, File> tempDirectories,
                        InternalSerializationService serializationService,
                        Subject subject,
-                       ClassLoader classLoader
+                       ClassLoader classLoader,
+                       @Nullable SnapshotContext snapshotContext
         ) {
             super(nodeEngine, jobId, executionId, jobConfig, logger, vertexName, localParallelism,
                     memberCount * localParallelism, memberIndex, memberCount,
                     isLightJob, partitionAssignment, tempDirectories, serializationService, subject, classLoader);
             this.localProcessorIndex = localProcessorIndex;
             this.globalProcessorIndex = globalProcessorIndex;
+            this.snapshotContext = snapshotContext;
         }
 
         @Override
@@ -409,6 +413,14 @@ public final class Contexts {
             return globalProcessorIndex;
         }
 
+        /**
+         * Returns the snapshot context of the execution, {@code null} in tests.
+         */
+        @Nullable
+        public SnapshotContext snapshotContext() {
+            return snapshotContext;
+        }
+
         public MetricsContext metricsContext() {
             return metricsContext;
         }
@@ -51,6 +51,8 @@ import com.hazelcast.jet.impl.execution.StoreSnapshotTasklet;
 import com.hazelcast.jet.impl.execution.Tasklet;
 import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
 import com.hazelcast.jet.impl.execution.init.Contexts.ProcSupplierCtx;
+import com.hazelcast.jet.impl.memory.DiskBackedProcessor;
+import com.hazelcast.jet.impl.processor.ProcessorWrapper;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl;
 import com.hazelcast.jet.impl.util.ImdgUtil;
 import com.hazelcast.jet.impl.util.ObjectWithPartitionId;
@@ -241,6 +243,7 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
 
                 int localProcessorIdx = 0;
                 for (Processor processor : processors) {
+                    initDiskUsage(processor);
                     int globalProcessorIndex = memberIndex * vertex.localParallelism() + localProcessorIdx;
                     String processorPrefix = prefix(jobConfig.getName(), jobId, vertex.name(), globalProcessorIndex);
                     ILogger logger = prefixedLogger(nodeEngine.getLogger(processor.getClass()), processorPrefix);
@@ -261,7 +264,8 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
                             tempDirectories,
                             jobSerializationService,
                             subject,
-                            processorClassLoader
+                            processorClassLoader,
+                            snapshotContext
                     );
 
                     List<OutboundEdgeStream> outboundStreams = createOutboundEdgeStreams(
@@ -513,6 +517,19 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
         return processors;
     }
 
+    /**
+     * Lets a {@link DiskBackedProcessor} decide whether it keeps its data on
+     * disk, before it's asked whether it's cooperative.
+     */
+    private void initDiskUsage(Processor processor) {
+        while (processor instanceof ProcessorWrapper) {
+            processor = ((ProcessorWrapper) processor).getWrapped();
+        }
+        if (processor instanceof DiskBackedProcessor) {
+            ((DiskBackedProcessor) processor).initDiskUsage(nodeEngine.getProperties());
+        }
+    }
+
     private List<OutboundEdgeStream> createOutboundEdgeStreams(VertexDef vertex, int processorIdx) {
         List<OutboundEdgeStream> outboundStreams = new ArrayList<>();
         for (EdgeDef edge : vertex.outboundEdges()) {
@@ -29,6 +29,7 @@ import com.hazelcast.jet.impl.JobSummary;
 import com.hazelcast.jet.impl.JobSuspensionCauseImpl;
 import com.hazelcast.jet.impl.SnapshotValidationRecord;
 import com.hazelcast.jet.impl.connector.WriteFileP;
+import com.hazelcast.jet.impl.execution.IncrementalSnapshotValue;
 import com.hazelcast.jet.impl.operation.AddJobStatusListenerOperation;
 import com.hazelcast.jet.impl.operation.CheckLightJobsOperation;
 import com.hazelcast.jet.impl.operation.GetJobAndSqlSummaryListOperation;
@@ -122,6 +123,7 @@ public final class JetInitDataSerializerHook implements DataSerializerHook {
     public static final int UPLOAD_JOB_METADATA_OP = 52;
     public static final int UPLOAD_JOB_MULTIPART_OP = 53;
     public static final int UPDATE_JOB_CONFIG_OP = 54;
+    public static final int INCREMENTAL_SNAPSHOT_VALUE = 55;
 
     public static final int FACTORY_ID = FactoryIdHelper.getFactoryId(JET_IMPL_DS_FACTORY, JET_IMPL_DS_FACTORY_ID);
 
@@ -210,6 +212,8 @@ public final class JetInitDataSerializerHook implements DataSerializerHook {
                     return new AddJobStatusListenerOperation();
                 case UPDATE_JOB_CONFIG_OP:
                     return new UpdateJobConfigOperation();
+                case INCREMENTAL_SNAPSHOT_VALUE:
+                    return new IncrementalSnapshotValue();
                 case GET_JOB_METRICS_OP:
                     return new GetJobMetricsOperation();
                 case GET_LOCAL_JOB_METRICS_OP:
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A processor which keeps its data on disk if the member is configured to
+ * do so. The disk I/O blocks, so the processor must not be cooperative then.
+ * <p>
+ * Since {@link Processor#isCooperative()} is queried before the processor
+ * is initialized, the execution plan calls {@link #initDiskUsage} with the
+ * properties of the member right after it creates the processor.
+ */
+public interface DiskBackedProcessor {
+
+    /**
+     * Decides whether this processor keeps its data on disk. Called before
+     * any other method of the processor.
+     */
+    void initDiskUsage(@Nonnull HazelcastProperties properties);
+}
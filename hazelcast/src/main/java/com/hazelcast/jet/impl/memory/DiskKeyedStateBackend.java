@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import javax.annotation.Nonnull;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.impl.util.ExceptionUtil.rethrow;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * {@link KeyedStateBackend} that keeps the state in a log file on disk.
+ * Only the keys and the locations of their serialized state in the file are
+ * kept on heap, in an access-ordered index.
+ * <p>
+ * The state accessed with {@link #computeIfAbsent} or {@link #put} is kept
+ * on heap in a write buffer. When the buffer is full, its state is
+ * serialized and appended to the file in a single write and removed from
+ * the heap. The state written previously for the same key becomes garbage.
+ * Once there is more garbage than live state in the file, the live state is
+ * copied to a new file (compaction).
+ * <p>
+ * The reads are positional reads of the file, so the page cache of the
+ * operating system serves as the cache of the recently written or read state.
+ */
+public class DiskKeyedStateBackend<K, V> implements KeyedStateBackend<K, V> {
+
+    private static final int HASH_MAP_INITIAL_CAPACITY = 16;
+    private static final float HASH_MAP_LOAD_FACTOR = 0.75f;
+    private static final long MIN_COMPACTION_GARBAGE_BYTES = 1 << 20;
+    private static final int INITIAL_WRITE_BUFFER_BYTES = 1 << 16;
+
+    private final Path directory;
+    private final InternalSerializationService serializationService;
+    private final int writeBufferSize;
+    private final Map<K, Slot<V>> index = new LinkedHashMap<>(HASH_MAP_INITIAL_CAPACITY, HASH_MAP_LOAD_FACTOR, true);
+    private final List<Slot<V>> dirtySlots = new ArrayList<>();
+
+    private Path path;
+    private FileChannel channel;
+    private long fileSize;
+    private long garbageBytes;
+    private byte[] writeBuffer = new byte[INITIAL_WRITE_BUFFER_BYTES];
+
+    public DiskKeyedStateBackend(
+            @Nonnull Path directory,
+            @Nonnull InternalSerializationService serializationService,
+            int writeBufferSize
+    ) {
+        this.directory = directory;
+        this.serializationService = serializationService;
+        this.writeBufferSize = checkPositive("writeBufferSize", writeBufferSize);
+        this.path = createFile();
+        this.channel = open(path);
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Nonnull
+    @Override
+    public V computeIfAbsent(@Nonnull K key, @Nonnull Function<? super K, ? extends V> createFn) {
+        // flush before the access, so the returned state stays in the buffer until the next access
+        flushIfFull();
+        Slot<V> slot = index.get(key);
+        if (slot == null) {
+            slot = new Slot<>(createFn.apply(key));
+            index.put(key, slot);
+        } else if (slot.value == null) {
+            slot.value = read(slot);
+        }
+        markDirty(slot);
+        return slot.value;
+    }
+
+    @Override
+    public V put(@Nonnull K key, @Nonnull V value) {
+        flushIfFull();
+        Slot<V> slot = new Slot<>(value);
+        Slot<V> oldSlot = index.put(key, slot);
+        markDirty(slot);
+        if (oldSlot == null) {
+            return null;
+        }
+        remove(oldSlot);
+        return oldSlot.value != null ? oldSlot.value : read(oldSlot);
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        Iterator<Entry<K, Slot<V>>> indexIterator = index.entrySet().iterator();
+        return new Iterator<>() {
+            private Slot<V> current;
+
+            @Override
+            public boolean hasNext() {
+                return indexIterator.hasNext();
+            }
+
+            @Override
+            public Entry<K, V> next() {
+                Entry<K, Slot<V>> entry = indexIterator.next();
+                current = entry.getValue();
+                return entry(entry.getKey(), current.value != null ? current.value : read(current));
+            }
+
+            @Override
+            public void remove() {
+                indexIterator.remove();
+                DiskKeyedStateBackend.this.remove(current);
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        closeResource(channel);
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private void markDirty(Slot<V> slot) {
+        if (!slot.dirty) {
+            slot.dirty = true;
+            dirtySlots.add(slot);
+        }
+    }
+
+    private void remove(Slot<V> slot) {
+        slot.removed = true;
+        if (slot.offset >= 0) {
+            garbageBytes += slot.length;
+        }
+    }
+
+    private void flushIfFull() {
+        if (dirtySlots.size() < writeBufferSize) {
+            return;
+        }
+
+        int position = 0;
+        for (Slot<V> slot : dirtySlots) {
+            slot.dirty = false;
+            if (slot.removed) {
+                continue;
+            }
+            byte[] bytes = serializationService.toData(slot.value).toByteArray();
+            if (slot.offset >= 0) {
+                garbageBytes += slot.length;
+            }
+            ensureWriteBufferCapacity(position + bytes.length);
+            System.arraycopy(bytes, 0, writeBuffer, position, bytes.length);
+            slot.offset = fileSize + position;
+            slot.length = bytes.length;
+            slot.value = null;
+            position += bytes.length;
+        }
+        dirtySlots.clear();
+        write(channel, fileSize, position);
+        fileSize += position;
+
+        if (garbageBytes >= MIN_COMPACTION_GARBAGE_BYTES && garbageBytes > fileSize - garbageBytes) {
+            compact();
+        }
+    }
+
+    /**
+     * Copies the live state to a new file. All the state is in the file,
+     * because it's called right after the write buffer is flushed.
+     */
+    private void compact() {
+        Path newPath = createFile();
+        FileChannel newChannel = open(newPath);
+        long newFileSize = 0;
+        int position = 0;
+        for (Slot<V> slot : index.values()) {
+            if (position + slot.length > writeBuffer.length && position > 0) {
+                write(newChannel, newFileSize, position);
+                newFileSize += position;
+                position = 0;
+            }
+            ensureWriteBufferCapacity(slot.length);
+            read(slot.offset, slot.length, writeBuffer, position);
+            slot.offset = newFileSize + position;
+            position += slot.length;
+        }
+        write(newChannel, newFileSize, position);
+        newFileSize += position;
+
+        close();
+        path = newPath;
+        channel = newChannel;
+        fileSize = newFileSize;
+        garbageBytes = 0;
+    }
+
+    private V read(Slot<V> slot) {
+        byte[] bytes = new byte[slot.length];
+        read(slot.offset, slot.length, bytes, 0);
+        return serializationService.toObject(new HeapData(bytes));
+    }
+
+    private void read(long offset, int length, byte[] dst, int dstOffset) {
+        ByteBuffer buffer = ByteBuffer.wrap(dst, dstOffset, length);
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position() - dstOffset) < 0) {
+                    throw new EOFException("Unexpected end of the state file " + path);
+                }
+            }
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private void write(FileChannel channel, long offset, int length) {
+        ByteBuffer buffer = ByteBuffer.wrap(writeBuffer, 0, length);
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private void ensureWriteBufferCapacity(int capacity) {
+        if (writeBuffer.length < capacity) {
+            writeBuffer = Arrays.copyOf(writeBuffer, Math.max(capacity, writeBuffer.length * 2));
+        }
+    }
+
+    private Path createFile() {
+        try {
+            return Files.createTempFile(directory, "jet-state-", ".log");
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static FileChannel open(Path path) {
+        try {
+            return FileChannel.open(path, READ, WRITE);
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static final class Slot<V> {
+        // the state if it's in the write buffer, null otherwise
+        private V value;
+        private long offset = -1;
+        private int length;
+        private boolean dirty;
+        private boolean removed;
+
+        Slot(V value) {
+            this.value = value;
+        }
+    }
+}
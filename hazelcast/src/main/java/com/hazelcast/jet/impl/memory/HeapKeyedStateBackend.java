@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+/**
+ * {@link KeyedStateBackend} that keeps the state in an access-ordered
+ * {@link LinkedHashMap} on heap.
+ */
+public class HeapKeyedStateBackend<K, V> implements KeyedStateBackend<K, V> {
+
+    private static final int HASH_MAP_INITIAL_CAPACITY = 16;
+    private static final float HASH_MAP_LOAD_FACTOR = 0.75f;
+
+    private final Map<K, V> keyToState = new LinkedHashMap<>(HASH_MAP_INITIAL_CAPACITY, HASH_MAP_LOAD_FACTOR, true);
+
+    @Override
+    public int size() {
+        return keyToState.size();
+    }
+
+    @Nonnull
+    @Override
+    public V computeIfAbsent(@Nonnull K key, @Nonnull Function<? super K, ? extends V> createFn) {
+        return keyToState.computeIfAbsent(key, createFn);
+    }
+
+    @Override
+    public V put(@Nonnull K key, @Nonnull V value) {
+        return keyToState.put(key, value);
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return keyToState.entrySet().iterator();
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+/**
+ * The keyed state of a stateful processor. The entries are kept in the
+ * access order, so the {@linkplain #iterator() iteration} starts with the
+ * least recently accessed key.
+ * <p>
+ * A value returned by {@link #computeIfAbsent} can be modified until the
+ * next call to {@code computeIfAbsent} or {@link #put}, the modifications
+ * are retained. The values returned by the iterator are only guaranteed to
+ * be copies, so their modifications might be lost.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the state
+ */
+public interface KeyedStateBackend<K, V> extends Closeable {
+
+    /**
+     * Returns the number of keys.
+     */
+    int size();
+
+    /**
+     * Returns the state of the key, creates it with the given function if the
+     * key has no state. The key becomes the most recently accessed key.
+     */
+    @Nonnull
+    V computeIfAbsent(@Nonnull K key, @Nonnull Function<? super K, ? extends V> createFn);
+
+    /**
+     * Sets the state of the key, e.g. when it's restored from a snapshot.
+     *
+     * @return the previous state of the key, or {@code null} if there was none
+     */
+    @Nullable
+    V put(@Nonnull K key, @Nonnull V value);
+
+    /**
+     * Returns an iterator over the entries, from the least recently accessed
+     * key to the most recently accessed one. The entries can be removed using
+     * the iterator. The backend must not be modified in other ways while the
+     * iterator is in use.
+     */
+    @Nonnull
+    Iterator<Entry<K, V>> iterator();
+
+    /**
+     * Releases the resources of the backend, e.g. deletes its files.
+     */
+    @Override
+    void close();
+
+    /**
+     * Returns the directory in which the keyed state is stored on disk, as
+     * configured by {@link ClusterProperty#JET_STATE_BACKEND_DIRECTORY}, or
+     * {@code null} if the state is kept on heap.
+     */
+    @Nullable
+    static Path stateDirectory(@Nonnull HazelcastProperties properties) {
+        String directory = properties.getString(ClusterProperty.JET_STATE_BACKEND_DIRECTORY);
+        return directory != null ? Paths.get(directory) : null;
+    }
+
+    /**
+     * Creates the keyed state backend of a processor. The state is stored on
+     * disk in the given directory, or on heap if the directory is {@code
+     * null}.
+     *
+     * @param writeBufferSize the size of the write buffer of the disk backend,
+     *                        see {@link ClusterProperty#JET_STATE_BACKEND_WRITE_BUFFER_SIZE}
+     */
+    @Nonnull
+    static <K, V> KeyedStateBackend<K, V> newKeyedStateBackend(
+            @Nullable Path directory,
+            int writeBufferSize,
+            @Nonnull Processor.Context context
+    ) {
+        if (directory != null) {
+            return new DiskKeyedStateBackend<>(directory, ((ProcCtx) context).serializationService(), writeBufferSize);
+        }
+        return new HeapKeyedStateBackend<>();
+    }
+}
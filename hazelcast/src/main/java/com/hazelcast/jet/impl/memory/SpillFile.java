@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.jet.impl.util.ExceptionUtil.rethrow;
+
+/**
+ * A temporary file to which a processor spills the records it can't keep
+ * in memory because it reached the maximum number of accumulated records.
+ * The I/O blocks, so the spilling processors aren't cooperative.
+ * The records are appended in their serialized form and read back in the
+ * same order after the writing is finished.
+ * <p>
+ * The file is deleted when it's {@linkplain #close() closed}.
+ *
+ * @see ClusterProperty#JET_SPILL_DIRECTORY
+ */
+public final class SpillFile implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int NULL_LENGTH = -1;
+
+    private final InternalSerializationService serializationService;
+    private final Path path;
+
+    private DataOutputStream out;
+    private DataInputStream in;
+    private long count;
+
+    public SpillFile(@Nonnull Path directory, @Nonnull InternalSerializationService serializationService) {
+        this.serializationService = serializationService;
+        try {
+            this.path = Files.createTempFile(directory, "jet-spill-", ".bin");
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Returns the directory to which the processors of the member with the
+     * given properties spill their records, or {@code null} if the spilling
+     * is disabled.
+     */
+    @Nullable
+    public static Path spillDirectory(@Nonnull HazelcastProperties properties) {
+        String directory = properties.getString(ClusterProperty.JET_SPILL_DIRECTORY);
+        return directory == null ? null : Paths.get(directory);
+    }
+
+    /**
+     * Appends the item to the file. Must not be called after the file was
+     * {@linkplain #traverse() traversed}.
+     */
+    public void write(@Nullable Object item) {
+        Data data = serializationService.toData(item);
+        try {
+            if (data == null) {
+                out.writeInt(NULL_LENGTH);
+            } else {
+                out.writeInt(data.totalSize());
+                out.write(data.toByteArray());
+            }
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+        count++;
+    }
+
+    /**
+     * Finishes the writing and returns a traverser over the written items.
+     * The items are read lazily and the file can only be traversed once.
+     * Since the traverser returns {@code null} at the end, the written items
+     * should not be {@code null}.
+     */
+    @Nonnull
+    public <T> Traverser<T> traverse() {
+        try {
+            out.close();
+            out = null;
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE));
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+        return new Traverser<>() {
+            private long remaining = count;
+
+            @Override
+            public T next() {
+                if (remaining == 0) {
+                    closeResource(in);
+                    return null;
+                }
+                remaining--;
+                return read();
+            }
+        };
+    }
+
+    private <T> T read() {
+        try {
+            int length = in.readInt();
+            if (length == NULL_LENGTH) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return serializationService.toObject(new HeapData(bytes));
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Closes the file and deletes it.
+     */
+    @Override
+    public void close() {
+        closeResource(out);
+        closeResource(in);
+        out = null;
+        in = null;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.hazelcast.jet.impl.processor;
 
 import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import javax.annotation.Nonnull;
 
@@ -36,4 +37,9 @@ public class AggregateP<A, R> extends GroupP<String, A, R, R> {
         super(nCopies(aggrOp.arity(), t -> CONSTANT_KEY), aggrOp, (k, r) -> r);
         keyToAcc.put(CONSTANT_KEY, aggrOp.createFn().get());
     }
+
+    @Override
+    public void initDiskUsage(@Nonnull HazelcastProperties properties) {
+        // the single accumulator is never spilled, so the processor stays cooperative
+    }
 }
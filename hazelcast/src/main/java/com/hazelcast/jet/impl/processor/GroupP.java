@@ -22,9 +22,15 @@ import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.aggregate.AggregateOperation1;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.memory.DiskBackedProcessor;
+import com.hazelcast.jet.impl.memory.SpillFile;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -41,8 +47,23 @@ import static java.util.Collections.singletonList;
  * aggregate operation on each group. The items may originate from one or
  * more inbound edges. The supplied aggregate operation must have as many
  * accumulation functions as there are inbound edges.
+ * <p>
+ * If the spilling is {@linkplain SpillFile#spillDirectory enabled} and the
+ * aggregate operation can combine accumulators, the processor doesn't fail
+ * when it reaches the maximum number of accumulated records. Instead, it
+ * writes the accumulators to spill partitions by the hash of their keys and
+ * continues with an empty map. On completion, the partitions are processed
+ * one by one: the accumulators of a partition are combined by key and the
+ * results are emitted (similar to the grace hash join). A partition is
+ * read back in chunks, so that a single call doesn't block for the whole
+ * partition, but all of its keys must fit into the limit. The processor
+ * isn't cooperative if the spilling is enabled, since the partitions are
+ * written and read with blocking I/O.
  */
-public class GroupP<K, A, R, OUT> extends AbstractProcessor {
+public class GroupP<K, A, R, OUT> extends AbstractProcessor implements DiskBackedProcessor {
+
+    private static final int SPILL_PARTITION_COUNT = 16;
+    private static final int LOAD_CHUNK_SIZE = 1024;
 
     protected final Map<K, A> keyToAcc = new HashMap<>();
 
@@ -51,6 +72,11 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
     private final BiFunction<? super K, ? super R, OUT> mapToOutputFn;
 
     private long maxEntries;
+    private Path spillDirectory;
+    private ProcCtx context;
+    private List<SpillFile> spillPartitions;
+    private int loadedPartition = -1;
+    private Traverser<Object> partitionRecords;
     private Traverser<OUT> resultTraverser;
 
     public GroupP(
@@ -73,9 +99,24 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
         this(singletonList(groupKeyFn), aggrOp, mapToOutputFn);
     }
 
+    @Override
+    public void initDiskUsage(@Nonnull HazelcastProperties properties) {
+        if (aggrOp.combineFn() != null) {
+            spillDirectory = SpillFile.spillDirectory(properties);
+        }
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return spillDirectory == null;
+    }
+
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxEntries = context.maxProcessorAccumulatedRecords();
+        if (spillDirectory != null) {
+            this.context = (ProcCtx) context;
+        }
     }
 
     @Override
@@ -83,6 +124,9 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
     protected boolean tryProcess(int ordinal, @Nonnull Object item) {
         Function<Object, ? extends K> keyFn = (Function<Object, ? extends K>) groupKeyFns.get(ordinal);
         K key = keyFn.apply(item);
+        if (spillDirectory != null && keyToAcc.size() == maxEntries && !keyToAcc.containsKey(key)) {
+            spill();
+        }
         A acc = keyToAcc.computeIfAbsent(key, k -> {
             if (keyToAcc.size() == maxEntries) {
                 throw new AccumulationLimitExceededException();
@@ -94,19 +138,103 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
         return true;
     }
 
+    private void spill() {
+        if (spillPartitions == null) {
+            spillPartitions = new ArrayList<>(SPILL_PARTITION_COUNT);
+            for (int i = 0; i < SPILL_PARTITION_COUNT; i++) {
+                spillPartitions.add(new SpillFile(spillDirectory, context.serializationService()));
+            }
+        }
+        for (Entry<K, A> entry : keyToAcc.entrySet()) {
+            SpillFile partition = spillPartitions.get(Math.floorMod(entry.getKey().hashCode(), SPILL_PARTITION_COUNT));
+            partition.write(entry.getKey());
+            partition.write(entry.getValue());
+        }
+        keyToAcc.clear();
+    }
+
     @Override
     public boolean complete() {
+        if (spillPartitions != null) {
+            return completeSpilled();
+        }
         if (resultTraverser == null) {
-            resultTraverser = new ResultTraverser()
-                    // reuse null filtering done by map()
-                    .map(e -> mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue())));
+            resultTraverser = finish(new ResultTraverser());
         }
         return emitFromTraverser(resultTraverser);
     }
 
+    /**
+     * Spills the accumulators left in memory, then combines and emits the
+     * spilled partitions one at a time. A single call loads at most {@link
+     * #LOAD_CHUNK_SIZE} records of a partition.
+     */
+    private boolean completeSpilled() {
+        for (;;) {
+            if (resultTraverser != null) {
+                if (!emitFromTraverser(resultTraverser)) {
+                    return false;
+                }
+                resultTraverser = null;
+            }
+            if (partitionRecords == null) {
+                if (loadedPartition < 0) {
+                    spill();
+                }
+                if (++loadedPartition == SPILL_PARTITION_COUNT) {
+                    return true;
+                }
+                partitionRecords = spillPartitions.get(loadedPartition).traverse();
+            }
+            if (!loadChunk()) {
+                return false;
+            }
+            partitionRecords = null;
+            spillPartitions.get(loadedPartition).close();
+            resultTraverser = finish(new ResultTraverser());
+        }
+    }
+
+    /**
+     * Combines the next chunk of the records of the loaded partition into the
+     * map. Returns {@code true} if the partition has no more records.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean loadChunk() {
+        for (int i = 0; i < LOAD_CHUNK_SIZE; i++) {
+            Object key = partitionRecords.next();
+            if (key == null) {
+                return true;
+            }
+            A acc = (A) partitionRecords.next();
+            A existingAcc = keyToAcc.putIfAbsent((K) key, acc);
+            if (existingAcc != null) {
+                aggrOp.combineFn().accept(existingAcc, acc);
+            } else if (keyToAcc.size() > maxEntries) {
+                throw new AccumulationLimitExceededException();
+            }
+        }
+        return false;
+    }
+
+    private Traverser<OUT> finish(Traverser<Entry<K, A>> entries) {
+        // reuse null filtering done by map()
+        return entries.map(e -> mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue())));
+    }
+
+    @Override
+    public void close() {
+        if (spillPartitions != null) {
+            for (SpillFile partition : spillPartitions) {
+                partition.close();
+            }
+            spillPartitions = null;
+        }
+    }
+
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return spillDirectory == null;
     }
 
     private class ResultTraverser implements Traverser<Entry<K, A>> {
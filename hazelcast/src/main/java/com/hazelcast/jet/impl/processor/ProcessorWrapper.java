@@ -80,7 +80,8 @@ public abstract class ProcessorWrapper implements Processor, DynamicMetricsProvi
             context = new ProcCtx(c.nodeEngine(), c.jobId(), c.executionId(), c.jobConfig(),
                     newLogger, c.vertexName(), c.localProcessorIndex(), c.globalProcessorIndex(),
                     c.isLightJob(), c.partitionAssignment(), c.localParallelism(), c.memberIndex(),
-                    c.memberCount(), c.tempDirectories(), c.serializationService(), c.subject(), c.classLoader());
+                    c.memberCount(), c.tempDirectories(), c.serializationService(), c.subject(), c.classLoader(),
+                    c.snapshotContext());
         }
         return context;
     }
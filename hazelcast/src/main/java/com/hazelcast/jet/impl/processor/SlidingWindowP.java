@@ -31,6 +31,8 @@ import com.hazelcast.jet.core.SlidingWindowPolicy;
 import com.hazelcast.jet.core.Watermark;
 import com.hazelcast.jet.core.function.KeyedWindowResultFunction;
 import com.hazelcast.jet.core.processor.Processors;
+import com.hazelcast.jet.impl.execution.IncrementalSnapshotValue;
+import com.hazelcast.jet.impl.execution.SnapshotContext;
 import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
 import com.hazelcast.nio.ObjectDataInput;
@@ -41,11 +43,14 @@ import com.hazelcast.partition.PartitionAware;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.LongFunction;
@@ -61,6 +66,7 @@ import static com.hazelcast.jet.Traversers.traverseStream;
 import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.config.ProcessingGuarantee.EXACTLY_ONCE;
 import static com.hazelcast.jet.core.BroadcastKey.broadcastKey;
+import static com.hazelcast.jet.impl.util.Util.incrementalSnapshotContext;
 import static com.hazelcast.jet.impl.util.Util.logLateEvent;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
@@ -108,6 +114,7 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
     // extracted lambdas to reduce GC litter
     private final LongFunction<Map<K, A>> createMapPerTsFunction;
     private final Function<K, A> createAccFunction;
+    private final LongFunction<Set<K>> createSetPerTsFunction = x -> new HashSet<>();
 
     @Probe(name = "lateEventsDropped")
     private final Counter lateEventsDropped = SwCounter.newSwCounter();
@@ -129,10 +136,17 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
     // optimization that avoids a full scan over the entire keyset.
     private long topTs = Long.MIN_VALUE;
 
+    // non-null if the job takes incremental snapshots
+    private SnapshotContext snapshotContext;
+    // the keys changed since the last snapshot per frame, tracked for incremental snapshots
+    private final Long2ObjectHashMap<Set<K>> dirtyFrames = new Long2ObjectHashMap<>();
+
     // values used temporarily during snapshot restore
     private long minRestoredNextWinToEmit = Long.MAX_VALUE;
     private long minRestoredFrameTs = Long.MAX_VALUE;
     private boolean badFrameRestored;
+    private long restoredNextWinToEmitSnapshotId = Long.MIN_VALUE;
+    private final Map<SnapshotKey, IncrementalSnapshotValue> restoredValues = new HashMap<>();
 
     @SuppressWarnings({"unchecked", "checkstyle:ExecutableStatementCount"})
     public SlidingWindowP(
@@ -184,6 +198,8 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
         processingGuarantee = context.processingGuarantee();
         lastTimeEarlyResultsEmitted = NANOSECONDS.toMillis(System.nanoTime());
         maxEntries = context.maxProcessorAccumulatedRecords();
+        // the first stage saves no state
+        snapshotContext = isLastStage ? incrementalSnapshotContext(context) : null;
     }
 
     @Override
@@ -248,6 +264,9 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
                 .computeIfAbsent(frameTs, createMapPerTsFunction)
                 .computeIfAbsent(key, createAccFunction);
         aggrOp.accumulateFn(ordinal).accept(acc, item);
+        if (snapshotContext != null) {
+            dirtyFrames.computeIfAbsent(frameTs, createSetPerTsFunction).add(key);
+        }
         topTs = max(topTs, frameTs);
         return true;
     }
@@ -269,14 +288,24 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
     @Override
     public boolean saveToSnapshot() {
         if (!isLastStage || flushTraverser != null) {
-            return flushBuffers();
+            if (!flushBuffers()) {
+                return false;
+            }
+            if (snapshotContext == null || !snapshotContext.isIncremental()) {
+                return true;
+            }
+            // The incremental snapshot has to save nextWinToEmit after the flush: on restore,
+            // it drops the flushed frames saved by the earlier snapshots.
         }
         if (snapshotTraverser == null) {
-            snapshotTraverser = traverseIterable(tsToKeyToAcc.entrySet())
-                    .<Entry>flatMap(e -> traverseIterable(e.getValue().entrySet())
-                            .map(e2 -> entry(new SnapshotKey(e.getKey(), e2.getKey()), e2.getValue()))
-                    )
-                    .append(entry(broadcastKey(Keys.NEXT_WIN_TO_EMIT), nextWinToEmit))
+            Traverser<Entry> entries = snapshotContext == null
+                    ? traverseIterable(tsToKeyToAcc.entrySet())
+                            .<Entry>flatMap(e -> traverseIterable(e.getValue().entrySet())
+                                    .map(e2 -> entry(new SnapshotKey(e.getKey(), e2.getKey()), e2.getValue()))
+                            )
+                            .append(entry(broadcastKey(Keys.NEXT_WIN_TO_EMIT), nextWinToEmit))
+                    : incrementalSnapshotTraverser();
+            snapshotTraverser = entries
                     .onFirstNull(() -> {
                         getLogger().finest("Saved nextWinToEmit: %s", nextWinToEmit);
                         snapshotTraverser = null;
@@ -285,6 +314,38 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
         return emitFromTraverserToSnapshot(snapshotTraverser);
     }
 
+    /**
+     * Returns a traverser over the state wrapped in {@link
+     * IncrementalSnapshotValue}: the changed keys of the frames for an
+     * incremental snapshot, all keys for a full snapshot. The changes are
+     * cleared, unless the snapshot is only exported.
+     * <p>
+     * The evicted frames aren't removed from the snapshot, they are dropped
+     * on restore as older than the saved {@code nextWinToEmit}.
+     */
+    private Traverser<Entry> incrementalSnapshotTraverser() {
+        long snapshotId = snapshotContext.currentSnapshotId();
+        Traverser<Entry> entries = snapshotContext.isIncremental()
+                ? traverseIterable(dirtyFrames.entrySet())
+                        .flatMap(e -> frameSnapshotTraverser(snapshotId, e.getKey(), e.getValue()))
+                : traverseIterable(tsToKeyToAcc.entrySet())
+                        .flatMap(e -> frameSnapshotTraverser(snapshotId, e.getKey(), e.getValue().keySet()));
+        boolean clearChanges = !snapshotContext.isExportOnly();
+        return entries
+                .append(entry(broadcastKey(Keys.NEXT_WIN_TO_EMIT), new IncrementalSnapshotValue(snapshotId, nextWinToEmit)))
+                .onFirstNull(() -> {
+                    if (clearChanges) {
+                        dirtyFrames.clear();
+                    }
+                });
+    }
+
+    private Traverser<Entry> frameSnapshotTraverser(long snapshotId, long frameTs, Collection<K> keys) {
+        Map<K, A> keyToAcc = tsToKeyToAcc.get(frameTs);
+        return traverseIterable(keys)
+                .map(key -> entry(new SnapshotKey(frameTs, key), new IncrementalSnapshotValue(snapshotId, keyToAcc.get(key))));
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected void restoreFromSnapshot(@Nonnull Object key, @Nonnull Object value) {
@@ -293,6 +354,17 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
             if (!Keys.NEXT_WIN_TO_EMIT.equals(bcastKey.key())) {
                 throw new JetException("Unexpected broadcast key: " + bcastKey.key());
             }
+            if (value instanceof IncrementalSnapshotValue incrementalValue) {
+                // the value of the latest snapshot wins
+                if (incrementalValue.snapshotId() < restoredNextWinToEmitSnapshotId) {
+                    return;
+                }
+                if (incrementalValue.snapshotId() > restoredNextWinToEmitSnapshotId) {
+                    restoredNextWinToEmitSnapshotId = incrementalValue.snapshotId();
+                    minRestoredNextWinToEmit = Long.MAX_VALUE;
+                }
+                value = incrementalValue.value();
+            }
             long newNextWinToEmit = (long) value;
             assert processingGuarantee != EXACTLY_ONCE
                     || minRestoredNextWinToEmit == Long.MAX_VALUE
@@ -303,6 +375,16 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
             return;
         }
         SnapshotKey k = (SnapshotKey) key;
+        if (value instanceof IncrementalSnapshotValue incrementalValue) {
+            // the value of the latest snapshot wins, the frames are restored when the restore finishes
+            restoredValues.merge(k, incrementalValue, (o, n) -> n.snapshotId() > o.snapshotId() ? n : o);
+            return;
+        }
+        restoreFrame(k, (A) value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void restoreFrame(SnapshotKey k, A value) {
         // align frame timestamp to our frame - they can be misaligned
         // if the slide step was changed in the updated DAG
         long higherFrameTs = winPolicy.higherFrameTs(k.timestamp - 1);
@@ -317,7 +399,7 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
         minRestoredFrameTs = Math.min(higherFrameTs, minRestoredFrameTs);
         tsToKeyToAcc
                 .computeIfAbsent(higherFrameTs, createMapPerTsFunction)
-                .merge((K) k.key, (A) value, (o, n) -> {
+                .merge((K) k.key, value, (o, n) -> {
                     if (!badFrameRestored) {
                         throw new JetException("Duplicate key in snapshot: " + k);
                     }
@@ -333,7 +415,12 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public boolean finishSnapshotRestore() {
+        for (Entry<SnapshotKey, IncrementalSnapshotValue> entry : restoredValues.entrySet()) {
+            restoreFrame(entry.getKey(), (A) entry.getValue().value());
+        }
+        restoredValues.clear();
         // In the first stage we should theoretically have saved `nextWinToEmit`
         // to the snapshot. We don't bother since the first stage is effectively a
         // tumbling window and it makes no difference in that case. So we don't
@@ -450,6 +537,7 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
     private void completeWindow(long frameTs) {
         long tsOfFrameToEvict = frameTs - winPolicy.windowSize() + winPolicy.frameSize();
         Map<K, A> evictedFrame = tsToKeyToAcc.remove(tsOfFrameToEvict);
+        dirtyFrames.remove(tsOfFrameToEvict);
         if (evictedFrame != null) {
             totalKeysInFrames.inc(-evictedFrame.size());
             totalFrames.inc(-1);
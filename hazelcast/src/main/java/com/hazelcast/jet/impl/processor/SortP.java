@@ -16,51 +16,189 @@
 
 package com.hazelcast.jet.impl.processor;
 
+import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.memory.DiskBackedProcessor;
+import com.hazelcast.jet.impl.memory.SpillFile;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.PriorityQueue;
 
-public class SortP<T> extends AbstractProcessor {
+/**
+ * Batch processor that sorts the items it receives.
+ * <p>
+ * If the spilling is {@linkplain SpillFile#spillDirectory enabled}, the
+ * processor doesn't fail when it reaches the maximum number of accumulated
+ * records. Instead, it writes the sorted records to a run file and continues
+ * with an empty queue. On completion, the runs and the records in memory
+ * are merged (external merge sort). At most {@value #MAX_MERGE_FAN_IN} runs
+ * are read at once: if there are more, the oldest runs are first merged
+ * into longer runs. The processor isn't cooperative then, since the runs
+ * are written and read with blocking I/O.
+ */
+public class SortP<T> extends AbstractProcessor implements DiskBackedProcessor {
+
+    /**
+     * The maximum number of runs merged at once. Each of them keeps an open
+     * file and a read buffer.
+     */
+    static final int MAX_MERGE_FAN_IN = 64;
 
+    private final Comparator<T> comparator;
     private final PriorityQueue<T> priorityQueue;
-    private final Traverser<T> resultTraverser;
+    private final List<SpillFile> runs = new ArrayList<>();
 
     private long maxItems;
+    private Path spillDirectory;
+    private InternalSerializationService serializationService;
+    private Traverser<T> resultTraverser;
 
+    @SuppressWarnings("unchecked")
     public SortP(@Nullable Comparator<T> comparator) {
-        this.priorityQueue = new PriorityQueue<>(comparator);
-        this.resultTraverser = priorityQueue::poll;
+        this.comparator = comparator != null ? comparator : (Comparator<T>) Comparator.naturalOrder();
+        this.priorityQueue = new PriorityQueue<>(this.comparator);
+    }
+
+    @Override
+    public void initDiskUsage(@Nonnull HazelcastProperties properties) {
+        spillDirectory = SpillFile.spillDirectory(properties);
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return spillDirectory == null;
     }
 
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxItems = context.maxProcessorAccumulatedRecords();
+        if (spillDirectory != null) {
+            serializationService = ((ProcCtx) context).serializationService();
+        }
     }
 
     @Override
     @SuppressWarnings("unchecked")
     protected boolean tryProcess0(@Nonnull Object item) {
         if (priorityQueue.size() == maxItems) {
-            throw new AccumulationLimitExceededException();
+            if (spillDirectory == null) {
+                throw new AccumulationLimitExceededException();
+            }
+            spillRun();
         }
 
         priorityQueue.add((T) item);
         return true;
     }
 
+    private void spillRun() {
+        SpillFile run = new SpillFile(spillDirectory, serializationService);
+        runs.add(run);
+        for (T item; (item = priorityQueue.poll()) != null; ) {
+            run.write(item);
+        }
+    }
+
     @Override
     public boolean complete() {
+        if (resultTraverser == null) {
+            if (runs.isEmpty()) {
+                resultTraverser = priorityQueue::poll;
+            } else {
+                mergeOldestRuns();
+                resultTraverser = new MergingTraverser(runs, priorityQueue::poll);
+            }
+        }
         return emitFromTraverser(resultTraverser);
     }
 
+    /**
+     * Merges the oldest runs into a new run until the remaining runs and
+     * the records in memory can be merged at once. The merged runs are
+     * deleted right away, so the disk usage doesn't double.
+     */
+    private void mergeOldestRuns() {
+        while (runs.size() >= MAX_MERGE_FAN_IN) {
+            // the new run is added first, so that close() deletes it on failure
+            SpillFile run = new SpillFile(spillDirectory, serializationService);
+            runs.add(run);
+            List<SpillFile> merged = runs.subList(0, MAX_MERGE_FAN_IN);
+            Traverser<T> traverser = new MergingTraverser(merged, null);
+            for (T item; (item = traverser.next()) != null; ) {
+                run.write(item);
+            }
+            for (SpillFile mergedRun : merged) {
+                mergedRun.close();
+            }
+            merged.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (SpillFile run : runs) {
+            run.close();
+        }
+        runs.clear();
+    }
+
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return spillDirectory == null;
+    }
+
+    /**
+     * Merges the given sorted runs and, optionally, the records in memory
+     * by keeping the head of each of them in a priority queue.
+     */
+    private final class MergingTraverser implements Traverser<T> {
+        private final PriorityQueue<RunHead> heads;
+
+        MergingTraverser(List<SpillFile> runs, @Nullable Traverser<T> inMemory) {
+            heads = new PriorityQueue<>(runs.size() + 1, (h1, h2) -> comparator.compare(h1.item, h2.item));
+            for (SpillFile run : runs) {
+                addHead(new RunHead(run.traverse()));
+            }
+            if (inMemory != null) {
+                addHead(new RunHead(inMemory));
+            }
+        }
+
+        @Override
+        public T next() {
+            RunHead head = heads.poll();
+            if (head == null) {
+                return null;
+            }
+            T item = head.item;
+            addHead(head);
+            return item;
+        }
+
+        private void addHead(RunHead head) {
+            head.item = head.run.next();
+            if (head.item != null) {
+                heads.add(head);
+            }
+        }
+    }
+
+    private final class RunHead {
+        private final Traverser<T> run;
+        private T item;
+
+        RunHead(Traverser<T> run) {
+            this.run = run;
+        }
     }
 }
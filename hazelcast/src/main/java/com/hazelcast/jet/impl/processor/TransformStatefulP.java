@@ -28,28 +28,38 @@ import com.hazelcast.jet.core.ResettableSingletonTraverser;
 import com.hazelcast.jet.core.Watermark;
 import com.hazelcast.jet.datamodel.TimestampedItem;
 import com.hazelcast.jet.function.TriFunction;
+import com.hazelcast.jet.impl.execution.IncrementalSnapshotValue;
+import com.hazelcast.jet.impl.execution.SnapshotContext;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.memory.DiskBackedProcessor;
+import com.hazelcast.jet.impl.memory.KeyedStateBackend;
 import com.hazelcast.jet.impl.util.Util;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.ToLongFunction;
 
 import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.core.BroadcastKey.broadcastKey;
+import static com.hazelcast.jet.impl.memory.KeyedStateBackend.newKeyedStateBackend;
+import static com.hazelcast.jet.impl.memory.KeyedStateBackend.stateDirectory;
+import static com.hazelcast.jet.impl.util.Util.incrementalSnapshotContext;
 import static com.hazelcast.jet.impl.util.Util.logLateEvent;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 
-public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
-    private static final int HASH_MAP_INITIAL_CAPACITY = 16;
-    private static final float HASH_MAP_LOAD_FACTOR = 0.75f;
+public class TransformStatefulP<T, K, S, R> extends AbstractProcessor implements DiskBackedProcessor {
     private static final Watermark FLUSHING_WATERMARK = new Watermark(Long.MAX_VALUE);
 
     @Probe(name = "lateEventsDropped")
@@ -62,19 +72,28 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
     private final TriFunction<? super S, ? super K, ? super T, ? extends Traverser<R>> statefulFlatMapFn;
     @Nullable
     private final TriFunction<? super S, ? super K, ? super Long, ? extends Traverser<R>> onEvictFn;
-    private final Map<K, TimestampedItem<S>> keyToState =
-            new LinkedHashMap<>(HASH_MAP_INITIAL_CAPACITY, HASH_MAP_LOAD_FACTOR, true);
     private final FlatMapper<T, R> flatMapper = flatMapper(this::flatMapEvent);
 
     private final FlatMapper<Watermark, Object> wmFlatMapper = flatMapper(this::flatMapWm);
     private final EvictingTraverser evictingTraverser = new EvictingTraverser();
     private final Traverser<?> evictingTraverserFlattened = evictingTraverser.flatMap(x -> x);
 
+    private KeyedStateBackend<K, TimestampedItem<S>> keyToState;
     private long currentWm = Long.MIN_VALUE;
     private Traverser<? extends Entry<?, ?>> snapshotTraverser;
     private boolean inComplete;
 
+    // non-null if the job takes incremental snapshots
+    private SnapshotContext snapshotContext;
+    // the keys changed or evicted since the last snapshot, tracked for incremental snapshots
+    private final Set<K> dirtyKeys = new HashSet<>();
+    // values used temporarily during snapshot restore
+    private final Map<K, IncrementalSnapshotValue> restoredValues = new HashMap<>();
+    private long restoredWmSnapshotId = Long.MIN_VALUE;
+
     private long maxEntries;
+    private Path stateDirectory;
+    private int stateWriteBufferSize;
 
     public TransformStatefulP(
             long ttl,
@@ -92,9 +111,23 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
         this.onEvictFn = onEvictFn;
     }
 
+    @Override
+    public void initDiskUsage(@Nonnull HazelcastProperties properties) {
+        stateDirectory = stateDirectory(properties);
+        stateWriteBufferSize = properties.getInteger(ClusterProperty.JET_STATE_BACKEND_WRITE_BUFFER_SIZE);
+    }
+
+    @Override
+    public boolean isCooperative() {
+        // the disk backend reads and writes the state file on access
+        return stateDirectory == null;
+    }
+
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxEntries = context.maxProcessorAccumulatedRecords();
+        keyToState = newKeyedStateBackend(stateDirectory, stateWriteBufferSize, context);
+        snapshotContext = incrementalSnapshotContext(context);
     }
 
     @Override
@@ -120,6 +153,9 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
             return createIfAbsentFn.apply(k);
         });
         tsAndState.setTimestamp(max(tsAndState.timestamp(), timestamp));
+        if (snapshotContext != null) {
+            dirtyKeys.add(key);
+        }
         S state = tsAndState.item();
         return statefulFlatMapFn.apply(state, key, event);
     }
@@ -143,9 +179,16 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
         return tryProcessWatermark(FLUSHING_WATERMARK);
     }
 
+    @Override
+    public void close() {
+        if (keyToState != null) {
+            keyToState.close();
+        }
+    }
+
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return stateDirectory == null;
     }
 
     private class EvictingTraverser implements Traverser<Traverser<?>> {
@@ -153,7 +196,7 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
         private final ResettableSingletonTraverser<Watermark> wmTraverser = new ResettableSingletonTraverser<>();
 
         void reset(Watermark wm) {
-            keyToStateIterator = keyToState.entrySet().iterator();
+            keyToStateIterator = keyToState.iterator();
             if (wm == FLUSHING_WATERMARK) {
                 // don't forward the flushing watermark
                 return;
@@ -173,6 +216,9 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
                     break;
                 }
                 keyToStateIterator.remove();
+                if (snapshotContext != null) {
+                    dirtyKeys.add(entry.getKey());
+                }
                 if (onEvictFn != null) {
                     return onEvictFn.apply(entry.getValue().item(), entry.getKey(), currentWm);
                 }
@@ -188,29 +234,105 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
 
     @Override
     public boolean saveToSnapshot() {
-        if (inComplete) {
-            // If we are in completing phase, we can have a half-emitted item. Instead of finishing it and
-            // writing a snapshot, we finish the final items and save no state.
-            return complete();
-        }
         if (snapshotTraverser == null) {
-            snapshotTraverser = Traversers.<Entry<?, ?>>traverseIterable(keyToState.entrySet())
-                    .append(entry(broadcastKey(SnapshotKeys.WATERMARK), currentWm))
-                    .onFirstNull(() -> snapshotTraverser = null);
+            if (inComplete) {
+                // If we are in completing phase, we can have a half-emitted item. Instead of finishing it and
+                // writing a snapshot, we finish the final items and save no state.
+                if (!complete()) {
+                    return false;
+                }
+                if (snapshotContext == null || !snapshotContext.isIncremental()) {
+                    return true;
+                }
+                // The incremental snapshot has to remove the evicted keys saved by the earlier snapshots.
+                snapshotTraverser = evictedKeysTraverser().onFirstNull(() -> snapshotTraverser = null);
+            } else if (snapshotContext == null) {
+                snapshotTraverser = Traversers.<Entry<?, ?>>traverseIterator(keyToState.iterator())
+                        .append(entry(broadcastKey(SnapshotKeys.WATERMARK), currentWm))
+                        .onFirstNull(() -> snapshotTraverser = null);
+            } else {
+                snapshotTraverser = incrementalSnapshotTraverser().onFirstNull(() -> snapshotTraverser = null);
+            }
         }
         return emitFromTraverserToSnapshot(snapshotTraverser);
     }
 
+    /**
+     * Returns a traverser over the state wrapped in {@link
+     * IncrementalSnapshotValue}: the changed and evicted keys for an
+     * incremental snapshot, all keys for a full snapshot. The changes are
+     * cleared, unless the snapshot is only exported.
+     */
+    private Traverser<Entry<?, ?>> incrementalSnapshotTraverser() {
+        long snapshotId = snapshotContext.currentSnapshotId();
+        Traverser<Entry<K, TimestampedItem<S>>> entries = Traversers.traverseIterator(keyToState.iterator());
+        if (snapshotContext.isIncremental()) {
+            // the changed keys which still have a state are removed, the evicted ones remain
+            entries = entries.filter(e -> dirtyKeys.remove(e.getKey()));
+        } else if (!snapshotContext.isExportOnly()) {
+            dirtyKeys.clear();
+        }
+        Traverser<Entry<?, ?>> state = entries
+                .<Entry<?, ?>>map(e -> entry(e.getKey(), new IncrementalSnapshotValue(snapshotId, e.getValue())))
+                .append(entry(broadcastKey(SnapshotKeys.WATERMARK), new IncrementalSnapshotValue(snapshotId, currentWm)));
+        // the evicted keys are known only after the state was traversed
+        return Traversers.traverseItems(state, Traversers.lazy(this::evictedKeysTraverser))
+                .flatMap(t -> t);
+    }
+
+    /**
+     * Returns a traverser which removes the remaining keys in {@link
+     * #dirtyKeys} from the snapshot, for an incremental snapshot all of them
+     * are evicted. The keys are cleared after the traversal.
+     */
+    private Traverser<Entry<?, ?>> evictedKeysTraverser() {
+        if (!snapshotContext.isIncremental()) {
+            return Traversers.empty();
+        }
+        IncrementalSnapshotValue removed = new IncrementalSnapshotValue(snapshotContext.currentSnapshotId(), null);
+        return Traversers.traverseIterable(dirtyKeys)
+                .<Entry<?, ?>>map(key -> entry(key, removed))
+                .onFirstNull(dirtyKeys::clear);
+    }
+
     @Override
+    @SuppressWarnings("unchecked")
     protected void restoreFromSnapshot(@Nonnull Object key, @Nonnull Object value) {
         if (key instanceof BroadcastKey) {
             assert ((BroadcastKey<?>) key).key() == SnapshotKeys.WATERMARK : "Unexpected " + key;
+            if (value instanceof IncrementalSnapshotValue incrementalValue) {
+                // the watermark of the latest snapshot wins
+                if (incrementalValue.snapshotId() < restoredWmSnapshotId) {
+                    return;
+                }
+                if (incrementalValue.snapshotId() > restoredWmSnapshotId) {
+                    restoredWmSnapshotId = incrementalValue.snapshotId();
+                    currentWm = Long.MIN_VALUE;
+                }
+                value = incrementalValue.value();
+            }
             long wm = (long) value;
             currentWm = (currentWm == Long.MIN_VALUE) ? wm : min(currentWm, wm);
+        } else if (value instanceof IncrementalSnapshotValue incrementalValue) {
+            // the value of the latest snapshot wins, the values are put to the state when the restore finishes
+            restoredValues.merge((K) key, incrementalValue,
+                    (o, n) -> n.snapshotId() > o.snapshotId() ? n : o);
         } else {
-            @SuppressWarnings("unchecked")
             TimestampedItem<S> old = keyToState.put((K) key, (TimestampedItem<S>) value);
             assert old == null : "Duplicate key '" + key + '\'';
         }
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean finishSnapshotRestore() {
+        for (Entry<K, IncrementalSnapshotValue> entry : restoredValues.entrySet()) {
+            // a null value means that the key was evicted
+            if (entry.getValue().value() != null) {
+                keyToState.put(entry.getKey(), (TimestampedItem<S>) entry.getValue().value());
+            }
+        }
+        restoredValues.clear();
+        return true;
+    }
 }
@@ -33,12 +33,15 @@ import com.hazelcast.jet.config.EdgeConfig;
 import com.hazelcast.jet.config.JobConfig;
 import com.hazelcast.jet.config.ProcessingGuarantee;
 import com.hazelcast.jet.core.DAG;
+import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.Vertex;
 import com.hazelcast.jet.core.Watermark;
 import com.hazelcast.jet.function.RunnableEx;
 import com.hazelcast.jet.impl.JetEvent;
 import com.hazelcast.jet.impl.JetServiceBackend;
 import com.hazelcast.jet.impl.exception.JetDisabledException;
+import com.hazelcast.jet.impl.execution.SnapshotContext;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -91,8 +94,10 @@ import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static com.hazelcast.internal.util.ExceptionUtil.sneakyThrow;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
 import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.Util.idToString;
+import static com.hazelcast.jet.config.JobConfigArguments.KEY_FULL_SNAPSHOT_INTERVAL;
 import static com.hazelcast.jet.config.JobConfigArguments.KEY_JOB_IS_SUSPENDABLE;
 import static com.hazelcast.jet.core.Edge.between;
 import static com.hazelcast.jet.core.processor.SinkProcessors.writeMapP;
@@ -148,6 +153,34 @@ public final class Util {
         return argument == null || argument;
     }
 
+    /**
+     * Returns the interval of full snapshots of the job, 1 if all snapshots
+     * are full.
+     *
+     * @see com.hazelcast.jet.config.JobConfigArguments#KEY_FULL_SNAPSHOT_INTERVAL
+     */
+    public static int fullSnapshotInterval(JobConfig jobConfig) {
+        Integer argument = jobConfig.getArgument(KEY_FULL_SNAPSHOT_INTERVAL);
+        return argument == null ? 1 : checkPositive(KEY_FULL_SNAPSHOT_INTERVAL, argument);
+    }
+
+    /**
+     * Returns the snapshot context of the processor, if the job takes
+     * incremental snapshots. Such a processor saves all its values wrapped in
+     * {@link com.hazelcast.jet.impl.execution.IncrementalSnapshotValue}.
+     * Returns {@code null} if the job takes only full snapshots or if the
+     * context isn't a real processor context, e.g. in tests.
+     */
+    @Nullable
+    public static SnapshotContext incrementalSnapshotContext(Processor.Context context) {
+        if (context instanceof ProcCtx
+                && context.processingGuarantee() != ProcessingGuarantee.NONE
+                && fullSnapshotInterval(context.jobConfig()) > 1) {
+            return ((ProcCtx) context).snapshotContext();
+        }
+        return null;
+    }
+
     public static <T> Supplier<T> memoize(Supplier<T> onceSupplier) {
         return new MemoizingSupplier<>(onceSupplier);
     }
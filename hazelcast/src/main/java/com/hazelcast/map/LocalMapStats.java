@@ -135,6 +135,82 @@ public interface LocalMapStats extends LocalInstanceStats {
      */
     long getDirtyEntryCount();
 
+    /**
+     * Returns the number of entries stored into or deleted from the map
+     * store by write-behind on this member, including the entries flushed
+     * explicitly. Its growth rate is the write-behind flush throughput.
+     * <p>
+     * If the map has no write-behind map store, the returned value is
+     * {@code 0}.
+     *
+     * @return the number of entries persisted by write-behind
+     * @see #getDirtyEntryCount()
+     * @since 5.5
+     */
+    long getWriteBehindStoredEntryCount();
+
+    /**
+     * Returns the total time spent by write-behind in the map store calls
+     * on this member, in milliseconds.
+     * <p>
+     * If the map has no write-behind map store, the returned value is
+     * {@code 0}.
+     *
+     * @return the total write-behind store latency in milliseconds
+     * @since 5.5
+     */
+    long getTotalWriteBehindStoreLatency();
+
+    /**
+     * Returns the number of entries passed to a single batch call to the
+     * map store by write-behind. It differs from the configured
+     * {@link com.hazelcast.config.MapStoreConfig#getWriteBatchSize()} only if
+     * the batch size is adapted to the measured map store latency.
+     * <p>
+     * If the map has no write-behind map store, the returned value is
+     * {@code 0}.
+     *
+     * @return the current write-behind batch size
+     * @see com.hazelcast.spi.properties.ClusterProperty#MAP_WRITE_BEHIND_TARGET_BATCH_LATENCY_MILLIS
+     * @since 5.5
+     */
+    int getWriteBehindBatchSize();
+
+    /**
+     * Returns the number of keys loaded from the map loader by this member
+     * and dispatched to the partition owners for value loading, when
+     * loading all keys of the map. Only the member owning the partition of
+     * the map name loads the keys.
+     *
+     * @return the number of keys loaded by this member
+     * @see com.hazelcast.map.MapLoader#loadAllKeys()
+     * @see com.hazelcast.map.ShardedMapLoader#loadKeyShard(int)
+     * @since 5.5
+     */
+    long getLoadedKeyCount();
+
+    /**
+     * Returns the number of key shards of a {@link com.hazelcast.map.ShardedMapLoader}
+     * whose keys have been loaded and dispatched by this member. Compared to
+     * {@link com.hazelcast.map.ShardedMapLoader#getKeyShardCount()}, it shows the
+     * progress of the key loading.
+     *
+     * @return the number of key shards loaded by this member
+     * @since 5.5
+     */
+    long getLoadedKeyShardCount();
+
+    /**
+     * Returns the number of entries loaded from the map loader by this member
+     * for the keys dispatched to its partitions, when loading all keys of
+     * the map or the given keys.
+     *
+     * @return the number of entries loaded by this member
+     * @see com.hazelcast.map.MapLoader#loadAll(java.util.Collection)
+     * @since 5.5
+     */
+    long getLoadedEntryCount();
+
     /**
      * Returns the number of put operations
      *
@@ -283,6 +359,30 @@ public interface LocalMapStats extends LocalInstanceStats {
      */
     long getIndexedQueryCount();
 
+    /**
+     * Returns the number of queries on the map answered from the member-side
+     * query result cache.
+     * <p>
+     * If the query result cache is not enabled, the returned value is
+     * {@code 0}.
+     *
+     * @see com.hazelcast.spi.properties.ClusterProperty#QUERY_RESULT_CACHE_ENABLED
+     * @since 5.5
+     */
+    long getQueryResultCacheHits();
+
+    /**
+     * Returns the number of queries on the map which were not found in the
+     * member-side query result cache or whose cached result was outdated.
+     * <p>
+     * If the query result cache is not enabled, the returned value is
+     * {@code 0}.
+     *
+     * @see com.hazelcast.spi.properties.ClusterProperty#QUERY_RESULT_CACHE_ENABLED
+     * @since 5.5
+     */
+    long getQueryResultCacheMisses();
+
     /**
      * Returns the per-index statistics map keyed by the index name.
      */
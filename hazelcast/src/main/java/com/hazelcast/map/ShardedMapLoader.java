@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.spi.annotation.NamespacesSupported;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * A {@link MapLoader} which is able to split the key space of the
+ * underlying store into disjoint shards, for example key ranges or
+ * cursors over table partitions.
+ * <p>
+ * When the initial load or {@link IMap#loadAll(boolean)} is triggered
+ * for a map with a sharded loader, the keys are loaded with
+ * {@link #loadKeyShard(int)} by several threads in parallel instead of
+ * a single {@link #loadAllKeys()} call, and the loaded keys are streamed
+ * to the partition owners as they arrive. The partition owners load the
+ * values with {@link #loadAll(java.util.Collection)} concurrently and
+ * push back on the key loading when they have too many pending keys.
+ * <p>
+ * {@link #loadAllKeys()} must still return all keys, it is used when
+ * the loader reports no shards.
+ *
+ * @param <K> type of the MapLoader key
+ * @param <V> type of the MapLoader value
+ * @see com.hazelcast.spi.properties.ClusterProperty#MAP_LOAD_KEY_SHARD_PARALLELISM
+ * @see com.hazelcast.spi.properties.ClusterProperty#MAP_LOAD_PENDING_KEY_LIMIT_PER_NODE
+ * @since 5.5
+ */
+@NamespacesSupported
+public interface ShardedMapLoader<K, V> extends MapLoader<K, V> {
+
+    /**
+     * Returns the number of key shards of the store. The shards are
+     * identified by the IDs from {@code 0} to {@code getKeyShardCount() - 1}.
+     * Returning {@code 0} disables sharded key loading.
+     *
+     * @return the number of key shards
+     */
+    int getKeyShardCount();
+
+    /**
+     * Loads the keys of the given shard. The union of the keys of all
+     * shards must be equal to the keys returned by {@link #loadAllKeys()}
+     * and a key must not be returned by more than one shard. The
+     * shards are loaded concurrently, so this method must be thread-safe.
+     * <p>
+     * As with {@link #loadAllKeys()}, the returned {@link Iterable} may
+     * return the keys lazily and its {@link Iterator} may implement the
+     * {@link Closeable} interface in which case it will be closed once
+     * iteration is over.
+     *
+     * @param shardId the ID of the shard, between {@code 0} and
+     *                {@code getKeyShardCount() - 1}
+     * @return the keys of the shard. Keys inside the Iterable cannot be {@code null}.
+     */
+    Iterable<K> loadKeyShard(int shardId);
+}
@@ -35,8 +35,12 @@ import com.hazelcast.internal.util.ExceptionUtil;
 import com.hazelcast.internal.util.MapUtil;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.LocalMapStats;
+import com.hazelcast.map.impl.mapstore.MapStoreManager;
+import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindManager;
+import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindProcessor;
 import com.hazelcast.map.impl.nearcache.MapNearCacheManager;
 import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.map.impl.query.QueryResultCache;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.nearcache.NearCacheStats;
 import com.hazelcast.query.impl.IndexRegistry;
@@ -53,6 +57,7 @@ import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Provides node local statistics of a map via {@link #createLocalMapStats}
@@ -120,6 +125,8 @@ public class LocalMapStatsProvider {
         LocalMapOnDemandCalculatedStats onDemandStats = new LocalMapOnDemandCalculatedStats();
         addNearCacheStats(mapName, stats, onDemandStats);
         addIndexStats(mapName, stats);
+        addQueryResultCacheStats(mapName, stats);
+        addWriteBehindStats(mapName, stats);
         updateMapOnDemandStats(mapName, onDemandStats);
 
         return onDemandStats.updateAndGet(stats);
@@ -153,6 +160,8 @@ public class LocalMapStatsProvider {
             LocalMapOnDemandCalculatedStats onDemand = ((LocalMapOnDemandCalculatedStats) entry.getValue());
             addNearCacheStats(mapName, existingStats, onDemand);
             addIndexStats(mapName, existingStats);
+            addQueryResultCacheStats(mapName, existingStats);
+            addWriteBehindStats(mapName, existingStats);
             addStructureStats(mapName, onDemand);
 
             LocalMapStatsImpl updatedStats = onDemand.updateAndGet(existingStats);
@@ -396,6 +405,31 @@ public class LocalMapStatsProvider {
         localMapStats.updateIndexStats(freshStats);
     }
 
+    private void addQueryResultCacheStats(String mapName, LocalMapStatsImpl localMapStats) {
+        MapContainer mapContainer = mapServiceContext.getExistingMapContainer(mapName);
+        if (mapContainer == null || mapContainer.getQueryResultCache() == null) {
+            return;
+        }
+        QueryResultCache queryResultCache = mapContainer.getQueryResultCache();
+        localMapStats.setQueryResultCacheHits(queryResultCache.getHits());
+        localMapStats.setQueryResultCacheMisses(queryResultCache.getMisses());
+    }
+
+    private void addWriteBehindStats(String mapName, LocalMapStatsImpl localMapStats) {
+        MapContainer mapContainer = mapServiceContext.getExistingMapContainer(mapName);
+        if (mapContainer == null) {
+            return;
+        }
+        MapStoreManager mapStoreManager = mapContainer.getMapStoreContext().getMapStoreManager();
+        if (!(mapStoreManager instanceof WriteBehindManager)) {
+            return;
+        }
+        WriteBehindProcessor writeBehindProcessor = ((WriteBehindManager) mapStoreManager).getWriteBehindProcessor();
+        localMapStats.setWriteBehindStoredEntryCount(writeBehindProcessor.getStoredEntryCount());
+        localMapStats.setTotalWriteBehindStoreLatency(NANOSECONDS.toMillis(writeBehindProcessor.getTotalStoreLatencyNanos()));
+        localMapStats.setWriteBehindBatchSize(writeBehindProcessor.getWriteBatchSize());
+    }
+
     private static Map<String, OnDemandIndexStats> aggregateFreshIndexStats(InternalIndex[] freshIndexes,
                                                                             Map<String, OnDemandIndexStats> freshStats) {
         if (freshIndexes.length > 0 && freshStats == null) {
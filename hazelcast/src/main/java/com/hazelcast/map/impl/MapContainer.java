@@ -25,6 +25,7 @@ import com.hazelcast.map.impl.eviction.Evictor;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.wan.MapWanContext;
 import com.hazelcast.partition.PartitioningStrategy;
+import com.hazelcast.map.impl.query.QueryResultCache;
 import com.hazelcast.query.impl.IndexRegistry;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.getters.Extractors;
@@ -77,6 +78,13 @@ public interface MapContainer {
 
     // Only used for testing
     boolean isEmptyIndexRegistry();
+
+    /**
+     * @return the query result cache of this map or {@code null} if the
+     * results of the queries are not cached.
+     */
+    @Nullable
+    QueryResultCache getQueryResultCache();
     MapWanContext getWanContext();
 
 
@@ -41,6 +41,7 @@ import com.hazelcast.map.impl.eviction.EvictorImpl;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.nearcache.invalidation.InvalidationListener;
 import com.hazelcast.map.impl.query.QueryEntryFactory;
+import com.hazelcast.map.impl.query.QueryResultCache;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.map.impl.wan.MapWanContext;
 import com.hazelcast.partition.PartitioningStrategy;
@@ -50,6 +51,7 @@ import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.spi.eviction.EvictionPolicyComparator;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import javax.annotation.Nullable;
 import java.util.HashMap;
@@ -68,8 +70,11 @@ import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider.getEvictionPolicyComparator;
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 import static com.hazelcast.map.impl.mapstore.MapStoreContextFactory.createMapStoreContext;
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
 import static com.hazelcast.query.impl.InternalIndex.GLOBAL_INDEX_NOOP_PARTITION_ID;
 import static com.hazelcast.spi.properties.ClusterProperty.MAP_EVICTION_BATCH_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_RESULT_CACHE_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_RESULT_CACHE_MAX_SIZE_IN_MB;
 import static java.lang.System.getProperty;
 
 /**
@@ -90,6 +95,7 @@ public class MapContainerImpl implements MapContainer {
     protected final IndexRegistry globalIndexRegistry;
     protected final MapServiceContext mapServiceContext;
     protected final QueryEntryFactory queryEntryFactory;
+    protected final QueryResultCache queryResultCache;
     protected final EventJournalConfig eventJournalConfig;
     protected final PartitioningStrategy partitioningStrategy;
     protected final InternalSerializationService serializationService;
@@ -135,10 +141,22 @@ public class MapContainerImpl implements MapContainer {
                 serializationService, extractors);
         this.globalIndexRegistry = shouldUseGlobalIndex()
                 ? createIndexRegistry(true, GLOBAL_INDEX_NOOP_PARTITION_ID) : null;
+        this.queryResultCache = createQueryResultCache(nodeEngine);
         this.mapStoreContext = createMapStoreContext(this);
         this.wanContext = new MapWanContext(this);
     }
 
+    private QueryResultCache createQueryResultCache(NodeEngine nodeEngine) {
+        HazelcastProperties properties = nodeEngine.getProperties();
+        if (!properties.getBoolean(QUERY_RESULT_CACHE_ENABLED)
+                || mapConfig.getInMemoryFormat() == NATIVE
+                || mapConfig.getTieredStoreConfig().isEnabled()) {
+            return null;
+        }
+        long maxSizeInBytes = MEGABYTES.toBytes(properties.getLong(QUERY_RESULT_CACHE_MAX_SIZE_IN_MB));
+        return new QueryResultCache(nodeEngine.getPartitionService().getPartitionCount(), maxSizeInBytes);
+    }
+
     public void init() {
         initEvictor();
         mapStoreContext.start();
@@ -312,6 +330,10 @@ public class MapContainerImpl implements MapContainer {
         return partitionedIndexRegistry.isEmpty();
     }
 
+    public QueryResultCache getQueryResultCache() {
+        return queryResultCache;
+    }
+
     public MapWanContext getWanContext() {
         return wanContext;
     }
@@ -425,6 +447,10 @@ public class MapContainerImpl implements MapContainer {
             destroyGlobalIndexes();
         }
 
+        if (queryResultCache != null) {
+            queryResultCache.clear();
+        }
+
         mapServiceContext.getLocalMapStatsProvider()
                 .destroyLocalMapStatsImpl(getName());
     }
@@ -66,6 +66,7 @@ import com.hazelcast.map.impl.operation.KeyLoadStatusOperationFactory;
 import com.hazelcast.map.impl.operation.LoadAllOperation;
 import com.hazelcast.map.impl.operation.LoadMapOperation;
 import com.hazelcast.map.impl.operation.MapChunk;
+import com.hazelcast.map.impl.operation.MapDeltaReplicationOperation;
 import com.hazelcast.map.impl.operation.MapFetchEntriesOperation;
 import com.hazelcast.map.impl.operation.MapFetchIndexOperation;
 import com.hazelcast.map.impl.operation.MapFetchIndexOperation.MapFetchIndexOperationResult;
@@ -124,6 +125,7 @@ import com.hazelcast.map.impl.operation.SetTtlBackupOperation;
 import com.hazelcast.map.impl.operation.SetTtlOperation;
 import com.hazelcast.map.impl.operation.SetWithExpiryOperation;
 import com.hazelcast.map.impl.operation.SizeOperationFactory;
+import com.hazelcast.map.impl.operation.StreamedLoadAllOperation;
 import com.hazelcast.map.impl.operation.TriggerLoadIfNeededOperation;
 import com.hazelcast.map.impl.operation.TryPutOperation;
 import com.hazelcast.map.impl.operation.TryRemoveOperation;
@@ -327,8 +329,10 @@ public final class MapDataSerializerHook implements DataSerializerHook {
     public static final int INDEX_ITERATION_POINTER = 156;
     public static final int MAP_FETCH_INDEX_OPERATION_RESULT = 157;
     public static final int MAP_CHUNK = 158;
+    public static final int STREAMED_LOAD_ALL = 159;
+    public static final int MAP_DELTA_REPLICATION = 160;
 
-    private static final int LEN = MAP_CHUNK + 1;
+    private static final int LEN = MAP_DELTA_REPLICATION + 1;
 
     @Override
     public int getFactoryId() {
@@ -494,6 +498,8 @@ public final class MapDataSerializerHook implements DataSerializerHook {
         constructors[INDEX_ITERATION_POINTER] = IndexIterationPointer::new;
         constructors[MAP_FETCH_INDEX_OPERATION_RESULT] = MapFetchIndexOperationResult::new;
         constructors[MAP_CHUNK] = MapChunk::new;
+        constructors[STREAMED_LOAD_ALL] = StreamedLoadAllOperation::new;
+        constructors[MAP_DELTA_REPLICATION] = MapDeltaReplicationOperation::new;
 
         return new ArrayDataSerializableFactory(constructors);
     }
@@ -20,6 +20,8 @@ import com.hazelcast.cluster.Address;
 import com.hazelcast.cluster.Member;
 import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.cluster.Versions;
+import com.hazelcast.internal.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.internal.partition.IPartition;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
@@ -32,6 +34,7 @@ import com.hazelcast.internal.util.scheduler.CoalescingDelayedTrigger;
 import com.hazelcast.jet.impl.util.ReflectionUtils;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.MapLoader;
+import com.hazelcast.map.ShardedMapLoader;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.operation.KeyLoadStatusOperation;
 import com.hazelcast.map.impl.operation.KeyLoadStatusOperationFactory;
@@ -53,14 +56,20 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.IterableUtil.limit;
 import static com.hazelcast.internal.util.IterableUtil.map;
+import static com.hazelcast.internal.util.MapUtil.createHashMap;
 import static com.hazelcast.logging.Logger.getLogger;
 import static com.hazelcast.map.impl.MapKeyLoaderUtil.assignRole;
 import static com.hazelcast.map.impl.MapKeyLoaderUtil.toBatches;
@@ -113,6 +122,12 @@ public class MapKeyLoader {
      * @see ClusterProperty#MAP_LOAD_CHUNK_SIZE
      */
     private int maxBatch;
+    /**
+     * The maximum number of key shards loaded in parallel
+     *
+     * @see ClusterProperty#MAP_LOAD_KEY_SHARD_PARALLELISM
+     */
+    private int keyShardParallelism = 1;
     private int mapNamePartition;
     private int partitionId;
     private boolean hasBackup;
@@ -133,6 +148,7 @@ public class MapKeyLoader {
      */
     private LoadFinishedFuture keyLoadFinished = new LoadFinishedFuture(true);
     private MapOperationProvider operationProvider;
+    private LocalMapStatsImpl mapStats;
 
     /**
      * Role of this {@link MapKeyLoader}
@@ -421,6 +437,8 @@ public class MapKeyLoader {
      * many keys have been loaded from the map loader. If the keys returned from the
      * map loader are not equally distributed over all partitions, this may cause some nodes
      * to load more entries than others and exceed the configured policy.
+     * If the map loader is a {@link ShardedMapLoader}, the key shards are
+     * loaded in parallel instead.
      *
      * @param mapStoreContext       the map store context for this map
      * @param replaceExistingValues if the existing entries for the loaded keys should be replaced
@@ -436,10 +454,16 @@ public class MapKeyLoader {
         Throwable loadError = null;
 
         try {
+            int mapMaxSize = clusterSize * maxSizePerNode;
+            int keyShardCount = mapStoreContext.getKeyShardCount();
+            if (keyShardCount > 0) {
+                sendKeyShards(mapStoreContext, keyShardCount, mapMaxSize, replaceExistingValues);
+                return;
+            }
+
             Iterable<Object> allKeys = mapStoreContext.loadAllKeys();
             keys = allKeys.iterator();
             Iterator<Data> dataKeys = map(keys, toData);
-            int mapMaxSize = clusterSize * maxSizePerNode;
 
             if (mapMaxSize > 0) {
                 dataKeys = limit(dataKeys, mapMaxSize);
@@ -478,6 +502,168 @@ public class MapKeyLoader {
         }
     }
 
+    /**
+     * Loads the key shards of a {@link ShardedMapLoader} in parallel on the
+     * {@link ExecutionService#MAP_LOAD_ALL_KEYS_EXECUTOR} executor and streams
+     * the keys to the partition owners for value loading. The calling thread
+     * loads shards as well. This method will return after all shards have
+     * been loaded and all keys have been accepted by the partition owners.
+     *
+     * @param mapStoreContext       the map store context for this map
+     * @param keyShardCount         the number of key shards
+     * @param mapMaxSize            the maximum number of keys to load or a
+     *                              non-positive value if there is no limit
+     * @param replaceExistingValues if the existing entries for the loaded keys should be replaced
+     * @throws Exception if there was an exception when loading or dispatching the keys
+     * @see ShardedMapLoader#loadKeyShard(int)
+     */
+    private void sendKeyShards(MapStoreContext mapStoreContext, int keyShardCount, int mapMaxSize,
+                               boolean replaceExistingValues) throws Exception {
+        // members of older versions do not know the operation rejecting the keys
+        boolean streamed = clusterService.getClusterVersion().isGreaterOrEqual(Versions.V5_5);
+        AtomicInteger nextShardId = new AtomicInteger();
+        AtomicInteger keyBudget = mapMaxSize > 0 ? new AtomicInteger(mapMaxSize) : null;
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        // loaders register only when they start running, so the loaders still queued
+        // in the executor after all shards have been taken are not waited for
+        Phaser loaders = new Phaser(1);
+
+        Runnable loader = () -> {
+            if (loaders.register() < 0) {
+                return;
+            }
+            try {
+                loadKeyShards(mapStoreContext, keyShardCount, nextShardId, keyBudget, failure,
+                        streamed, replaceExistingValues);
+            } finally {
+                loaders.arriveAndDeregister();
+            }
+        };
+        for (int i = 1; i < Math.min(keyShardParallelism, keyShardCount); i++) {
+            try {
+                execService.execute(MAP_LOAD_ALL_KEYS_EXECUTOR, loader);
+            } catch (RejectedExecutionException e) {
+                logger.fine("Could not start a key shard loader for map " + mapName, e);
+                break;
+            }
+        }
+
+        loadKeyShards(mapStoreContext, keyShardCount, nextShardId, keyBudget, failure, streamed, replaceExistingValues);
+        loaders.arriveAndAwaitAdvance();
+
+        Throwable t = failure.get();
+        if (t instanceof Exception exception) {
+            throw exception;
+        } else if (t != null) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Takes key shards and sends their keys to the partition owners
+     * until all shards have been taken or a loader has failed.
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    private void loadKeyShards(MapStoreContext mapStoreContext, int keyShardCount, AtomicInteger nextShardId,
+                               AtomicInteger keyBudget, AtomicReference<Throwable> failure,
+                               boolean streamed, boolean replaceExistingValues) {
+        try {
+            int shardId;
+            while (failure.get() == null && (shardId = nextShardId.getAndIncrement()) < keyShardCount) {
+                sendKeyShard(mapStoreContext, shardId, keyBudget, streamed, replaceExistingValues);
+                mapStats.incrementLoadedKeyShards();
+            }
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        }
+    }
+
+    /**
+     * Loads the keys of a single shard and sends them to the partition
+     * owners in batches for value loading.
+     *
+     * @param mapStoreContext       the map store context for this map
+     * @param shardId               the ID of the key shard
+     * @param keyBudget             the number of keys which can still be loaded
+     *                              or {@code null} if there is no limit
+     * @param streamed              if the partition owners may reject keys when
+     *                              they are loading too many values
+     * @param replaceExistingValues if the existing entries for the loaded keys should be replaced
+     */
+    private void sendKeyShard(MapStoreContext mapStoreContext, int shardId, AtomicInteger keyBudget,
+                              boolean streamed, boolean replaceExistingValues) {
+        Iterator<Object> keys = mapStoreContext.loadKeyShard(shardId).iterator();
+        try {
+            if (keyBudget != null) {
+                keys = MapKeyLoaderUtil.limit(keys, keyBudget);
+            }
+            Iterator<Entry<Integer, Data>> partitionsAndKeys = map(map(keys, toData), toPartition(partitionService));
+            Iterator<Map<Integer, List<Data>>> batches = toBatches(partitionsAndKeys, maxBatch, nodeWideLoadedKeyLimiter);
+
+            int callCount = 0;
+            List<Future<Object>> futures = new ArrayList<>();
+            while (batches.hasNext()) {
+                Map<Integer, List<Data>> batch = batches.next();
+                if (batch.isEmpty()) {
+                    IDLE_STRATEGY.idle(++callCount);
+                } else if (streamed) {
+                    callCount = 0;
+                    sendStreamedBatch(batch, replaceExistingValues);
+                } else {
+                    callCount = 0;
+                    futures.addAll(sendBatch(batch, replaceExistingValues, nodeWideLoadedKeyLimiter));
+                }
+            }
+            // same barrier as for the keys loaded with MapLoader#loadAllKeys()
+            FutureUtil.waitForever(futures);
+        } finally {
+            if (keys instanceof Closeable closeable) {
+                closeResource(closeable);
+            }
+        }
+    }
+
+    /**
+     * Sends the key batch to the partition owners for value loading and
+     * waits until every partition owner has accepted its keys. The partition
+     * owners reject the keys when they are loading values for too many keys,
+     * the rejected keys are sent again after backing off.
+     *
+     * @param batch                 a map from partition ID
+     *                              to a batch of keys for that partition
+     * @param replaceExistingValues if the existing
+     *                              entries for the loaded keys should be replaced
+     * @see com.hazelcast.map.impl.operation.StreamedLoadAllOperation
+     */
+    private void sendStreamedBatch(Map<Integer, List<Data>> batch, boolean replaceExistingValues) {
+        try {
+            int rejectedCount = 0;
+            while (!batch.isEmpty()) {
+                Map<Integer, InternalCompletableFuture<Boolean>> futures = createHashMap(batch.size());
+                for (Entry<Integer, List<Data>> e : batch.entrySet()) {
+                    MapOperation op = operationProvider.createStreamedLoadAllOperation(mapName, e.getValue(),
+                            replaceExistingValues);
+                    futures.put(e.getKey(), opService.invokeOnPartition(SERVICE_NAME, op, e.getKey()));
+                }
+                for (Entry<Integer, InternalCompletableFuture<Boolean>> e : futures.entrySet()) {
+                    if (e.getValue().join()) {
+                        int numberOfLoadedKeys = batch.remove(e.getKey()).size();
+                        nodeWideLoadedKeyLimiter.release(numberOfLoadedKeys);
+                        mapStats.incrementLoadedKeys(numberOfLoadedKeys);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    IDLE_STRATEGY.idle(++rejectedCount);
+                }
+            }
+        } finally {
+            for (List<Data> keys : batch.values()) {
+                nodeWideLoadedKeyLimiter.release(keys.size());
+            }
+            batch.clear();
+        }
+    }
+
     /**
      * Sends the key batches to the partition owners for value
      * loading. The returned futures represent pending offloading
@@ -516,6 +702,7 @@ public class MapKeyLoader {
             } finally {
                 nodeWideLoadedKeyLimiter.release(numberOfLoadedKeys);
             }
+            mapStats.incrementLoadedKeys(numberOfLoadedKeys);
 
             iterator.remove();
         }
@@ -600,10 +787,30 @@ public class MapKeyLoader {
         this.hasBackup = hasBackup;
     }
 
+    /**
+     * Sets the maximum number of key shards of a {@link ShardedMapLoader}
+     * which are loaded in parallel.
+     *
+     * @param keyShardParallelism the maximum number of key shards loaded in parallel
+     */
+    public void setKeyShardParallelism(int keyShardParallelism) {
+        this.keyShardParallelism = keyShardParallelism;
+    }
+
     public void setMapOperationProvider(MapOperationProvider operationProvider) {
         this.operationProvider = operationProvider;
     }
 
+    /**
+     * Sets the statistics of this map which track the progress of the
+     * key loading.
+     *
+     * @param mapStats the local statistics of this map
+     */
+    public void setMapStats(LocalMapStatsImpl mapStats) {
+        this.mapStats = mapStats;
+    }
+
     /**
      * Returns {@code true} if there is no ongoing key loading and dispatching
      * task on this map key loader.
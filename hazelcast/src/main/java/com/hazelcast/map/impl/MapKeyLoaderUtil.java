@@ -30,6 +30,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static com.hazelcast.config.MaxSizePolicy.PER_NODE;
@@ -107,6 +108,50 @@ public final class MapKeyLoaderUtil {
         };
     }
 
+    /**
+     * Returns an iterator which stops iterating over the {@code iterator}
+     * when the {@code budget} shared with other iterators is exhausted.
+     * Each returned element takes one from the budget.
+     *
+     * @param iterator the iterator to be limited
+     * @param budget   the number of elements which can still be returned
+     *                 by all iterators sharing the budget
+     * @return the limited iterator
+     */
+    static <T> Iterator<T> limit(final Iterator<T> iterator, final AtomicInteger budget) {
+        return new UnmodifiableIterator<>() {
+            private boolean reserved;
+
+            @Override
+            public boolean hasNext() {
+                if (!reserved) {
+                    reserved = iterator.hasNext() && tryTakeOne(budget);
+                }
+                return reserved;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                reserved = false;
+                return iterator.next();
+            }
+        };
+    }
+
+    private static boolean tryTakeOne(AtomicInteger budget) {
+        int remaining;
+        do {
+            remaining = budget.get();
+            if (remaining <= 0) {
+                return false;
+            }
+        } while (!budget.compareAndSet(remaining, remaining - 1));
+        return true;
+    }
+
     /**
      * Groups entries by the entry key. The entries will be grouped
      * until at least one group has up to {@code maxBatch}
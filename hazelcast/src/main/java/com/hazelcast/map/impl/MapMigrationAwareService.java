@@ -21,15 +21,20 @@ import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataGenerator;
 import com.hazelcast.internal.partition.ChunkSupplier;
 import com.hazelcast.internal.partition.ChunkSuppliers;
 import com.hazelcast.internal.partition.ChunkedMigrationAwareService;
+import com.hazelcast.internal.partition.DeltaMigrationAwareService;
 import com.hazelcast.internal.partition.MigrationEndpoint;
 import com.hazelcast.internal.partition.OffloadedReplicationPreparation;
 import com.hazelcast.internal.partition.PartitionMigrationEvent;
 import com.hazelcast.internal.partition.PartitionReplicationEvent;
+import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.services.ObjectNamespace;
 import com.hazelcast.internal.services.ServiceNamespace;
 import com.hazelcast.internal.util.Clock;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindStore;
+import com.hazelcast.map.impl.operation.KeyBasedMapOperation;
+import com.hazelcast.map.impl.operation.MapDeltaReplicationOperation;
 import com.hazelcast.map.impl.operation.MapReplicationOperation;
 import com.hazelcast.map.impl.querycache.QueryCacheContext;
 import com.hazelcast.map.impl.querycache.publisher.PublisherContext;
@@ -61,7 +66,7 @@ import static com.hazelcast.map.impl.querycache.publisher.AccumulatorSweeper.sen
  * @see MapService
  */
 class MapMigrationAwareService
-        implements ChunkedMigrationAwareService, OffloadedReplicationPreparation {
+        implements ChunkedMigrationAwareService, DeltaMigrationAwareService, OffloadedReplicationPreparation {
 
     protected final PartitionContainer[] containers;
     protected final MapServiceContext mapServiceContext;
@@ -146,6 +151,32 @@ class MapMigrationAwareService
         return operation;
     }
 
+    @Override
+    public Data getMutatedKey(Operation op) {
+        return op instanceof KeyBasedMapOperation keyBasedOp ? keyBasedOp.getKey() : null;
+    }
+
+    @Override
+    public Operation prepareDeltaReplicationOperation(PartitionReplicationEvent event, ServiceNamespace namespace,
+                                                      Collection<Data> keys) {
+        assert isKnownServiceNamespace(namespace);
+
+        int partitionId = event.getPartitionId();
+        String mapName = ((ObjectNamespace) namespace).getObjectName();
+        RecordStore<Record> recordStore = containers[partitionId].getExistingRecordStore(mapName);
+        if (recordStore == null || recordStore.getMapDataStore() instanceof WriteBehindStore) {
+            // the write-behind queue is replicated only as a whole
+            return null;
+        }
+
+        Operation operation = new MapDeltaReplicationOperation(recordStore, keys,
+                partitionId, event.getReplicaIndex());
+        operation.setService(mapServiceContext.getService());
+        operation.setNodeEngine(mapServiceContext.getNodeEngine());
+
+        return operation;
+    }
+
     @Override
     public ChunkSupplier newChunkSupplier(PartitionReplicationEvent event,
                                           Collection<ServiceNamespace> namespaces) {
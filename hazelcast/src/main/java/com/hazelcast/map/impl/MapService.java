@@ -26,6 +26,7 @@ import com.hazelcast.internal.metrics.MetricDescriptor;
 import com.hazelcast.internal.metrics.MetricsCollectionContext;
 import com.hazelcast.internal.partition.ChunkSupplier;
 import com.hazelcast.internal.partition.ChunkedMigrationAwareService;
+import com.hazelcast.internal.partition.DeltaMigrationAwareService;
 import com.hazelcast.internal.partition.IPartitionLostEvent;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.partition.OffloadedReplicationPreparation;
@@ -101,7 +102,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_TAG_I
  * @see MapServiceContext
  */
 @SuppressWarnings({"checkstyle:ClassFanOutComplexity", "checkstyle:MethodCount"})
-public class MapService implements ManagedService, ChunkedMigrationAwareService,
+public class MapService implements ManagedService, ChunkedMigrationAwareService, DeltaMigrationAwareService,
         TransactionalService, RemoteService,
         EventPublishingService<Object, ListenerAdapter>,
         PostJoinAwareService, SplitBrainHandlerService,
@@ -416,6 +417,17 @@ public class MapService implements ManagedService, ChunkedMigrationAwareService,
         return migrationAwareService.newChunkSupplier(event, namespace);
     }
 
+    @Override
+    public Data getMutatedKey(Operation op) {
+        return migrationAwareService.getMutatedKey(op);
+    }
+
+    @Override
+    public Operation prepareDeltaReplicationOperation(PartitionReplicationEvent event, ServiceNamespace namespace,
+                                                      Collection<Data> keys) {
+        return migrationAwareService.prepareDeltaReplicationOperation(event, namespace, keys);
+    }
+
     /**
      * Looks up the User Code Namespace name associated with the specified map name. This starts
      * by looking for an existing {@link MapContainer} and checking its defined
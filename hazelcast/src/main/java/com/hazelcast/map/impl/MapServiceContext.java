@@ -271,6 +271,15 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     Semaphore getNodeWideLoadedKeyLimiter();
 
+    /**
+     * Returns the limiter of the number of keys streamed from a
+     * {@link com.hazelcast.map.ShardedMapLoader} for which this
+     * member loads the values at the same time.
+     *
+     * @see com.hazelcast.spi.properties.ClusterProperty#MAP_LOAD_PENDING_KEY_LIMIT_PER_NODE
+     */
+    Semaphore getNodeWidePendingLoadKeyLimiter();
+
     /**
      * @return {@code true} when Merkle tree maintenance should be enabled for given {@code mapConfig},
      * otherwise {@code false}.
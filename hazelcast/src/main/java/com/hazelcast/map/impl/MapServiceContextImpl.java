@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl;
 
 import com.hazelcast.cluster.ClusterState;
+import com.hazelcast.config.ExecutorConfig;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.PartitioningAttributeConfig;
@@ -32,10 +33,10 @@ import com.hazelcast.internal.util.ConstructorFunction;
 import com.hazelcast.internal.util.ContextMutexFactory;
 import com.hazelcast.internal.util.InvocationUtil;
 import com.hazelcast.internal.util.LocalRetryableExecution;
+import com.hazelcast.internal.util.RuntimeAvailableProcessors;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.internal.util.comparators.ValueComparator;
 import com.hazelcast.internal.util.comparators.ValueComparatorUtil;
-import com.hazelcast.internal.util.executor.ManagedExecutorService;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.impl.event.MapEventPublisher;
@@ -55,8 +56,6 @@ import com.hazelcast.map.impl.query.AggregationResult;
 import com.hazelcast.map.impl.query.AggregationResultProcessor;
 import com.hazelcast.map.impl.query.CallerRunsAccumulationExecutor;
 import com.hazelcast.map.impl.query.CallerRunsPartitionScanExecutor;
-import com.hazelcast.map.impl.query.ParallelAccumulationExecutor;
-import com.hazelcast.map.impl.query.ParallelPartitionScanExecutor;
 import com.hazelcast.map.impl.query.PartitionScanExecutor;
 import com.hazelcast.map.impl.query.PartitionScanRunner;
 import com.hazelcast.map.impl.query.QueryEngine;
@@ -65,6 +64,9 @@ import com.hazelcast.map.impl.query.QueryResult;
 import com.hazelcast.map.impl.query.QueryResultProcessor;
 import com.hazelcast.map.impl.query.QueryRunner;
 import com.hazelcast.map.impl.query.ResultProcessorRegistry;
+import com.hazelcast.map.impl.query.WorkStealingAccumulationExecutor;
+import com.hazelcast.map.impl.query.WorkStealingPartitionScanExecutor;
+import com.hazelcast.map.impl.query.WorkStealingScanner;
 import com.hazelcast.map.impl.querycache.NodeQueryCacheContext;
 import com.hazelcast.map.impl.querycache.QueryCacheContext;
 import com.hazelcast.map.impl.recordstore.DefaultRecordStore;
@@ -110,8 +112,10 @@ import static com.hazelcast.spi.impl.executionservice.ExecutionService.QUERY_EXE
 import static com.hazelcast.spi.impl.operationservice.Operation.GENERIC_PARTITION_ID;
 import static com.hazelcast.spi.properties.ClusterProperty.AGGREGATION_ACCUMULATION_PARALLEL_EVALUATION;
 import static com.hazelcast.spi.properties.ClusterProperty.INDEX_COPY_BEHAVIOR;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_LOAD_PENDING_KEY_LIMIT_PER_NODE;
 import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_CALL_TIMEOUT_MILLIS;
 import static com.hazelcast.spi.properties.ClusterProperty.QUERY_PREDICATE_PARALLEL_EVALUATION;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_SCAN_CHUNK_SIZE;
 import static java.lang.Thread.currentThread;
 
 /**
@@ -149,11 +153,13 @@ class MapServiceContextImpl implements MapServiceContext {
     private final ConcurrentMap<String, MapContainer> mapContainers = new ConcurrentHashMap<>();
     private final ExecutorStats offloadedExecutorStats = new ExecutorStats();
     private final AtomicReference<PartitionIdSet> cachedOwnedPartitions = new AtomicReference<>();
+    private final WorkStealingScanner workStealingScanner;
 
     /**
      * @see {@link MapKeyLoader#DEFAULT_LOADED_KEY_LIMIT_PER_NODE}
      */
     private final Semaphore nodeWideLoadedKeyLimiter;
+    private final Semaphore nodeWidePendingLoadKeyLimiter;
     private final boolean forceOffloadEnabled;
     private final long maxSuccessiveOffloadedOpRunNanos;
 
@@ -173,6 +179,7 @@ class MapServiceContextImpl implements MapServiceContext {
         this.mapEventPublisher = createMapEventPublisherSupport();
         this.eventJournal = createEventJournal();
         this.queryOptimizer = newOptimizer(nodeEngine.getProperties());
+        this.workStealingScanner = createWorkStealingScanner();
         this.resultProcessorRegistry = createResultProcessorRegistry(serializationService);
         this.partitionScanRunner = createPartitionScanRunner();
         this.queryEngine = createMapQueryEngine();
@@ -184,6 +191,8 @@ class MapServiceContextImpl implements MapServiceContext {
         this.nodeWideUsedCapacityCounter = new NodeWideUsedCapacityCounter(nodeEngine.getProperties());
         this.nodeWideLoadedKeyLimiter = new Semaphore(checkPositive(PROP_LOADED_KEY_LIMITER_PER_NODE,
                 nodeEngine.getProperties().getInteger(LOADED_KEY_LIMITER_PER_NODE)));
+        this.nodeWidePendingLoadKeyLimiter = new Semaphore(checkPositive(MAP_LOAD_PENDING_KEY_LIMIT_PER_NODE.getName(),
+                nodeEngine.getProperties().getInteger(MAP_LOAD_PENDING_KEY_LIMIT_PER_NODE)));
         this.logger = nodeEngine.getLogger(getClass());
         this.forceOffloadEnabled = nodeEngine.getProperties()
                 .getBoolean(FORCE_OFFLOAD_ALL_OPERATIONS);
@@ -256,6 +265,16 @@ class MapServiceContextImpl implements MapServiceContext {
         return new PartitionScanRunner(this);
     }
 
+    private WorkStealingScanner createWorkStealingScanner() {
+        // the scanner replaces the query executor, sized like it if configured
+        ExecutorConfig executorConfig = nodeEngine.getConfig().getExecutorConfigs().get(QUERY_EXECUTOR);
+        int parallelism = executorConfig != null ? executorConfig.getPoolSize() : RuntimeAvailableProcessors.get();
+        WorkStealingScanner scanner = new WorkStealingScanner(nodeEngine.getHazelcastInstance().getName(),
+                parallelism, nodeEngine.getConfigClassLoader());
+        scanner.provideStaticMetrics(nodeEngine.getMetricsRegistry());
+        return scanner;
+    }
+
     protected QueryRunner createMapQueryRunner(NodeEngine nodeEngine, QueryOptimizer queryOptimizer,
                                                ResultProcessorRegistry resultProcessorRegistry,
                                                PartitionScanRunner partitionScanRunner) {
@@ -263,9 +282,9 @@ class MapServiceContextImpl implements MapServiceContext {
         PartitionScanExecutor partitionScanExecutor;
         if (parallelEvaluation) {
             int opTimeoutInMillis = nodeEngine.getProperties().getInteger(OPERATION_CALL_TIMEOUT_MILLIS);
-            ManagedExecutorService queryExecutorService = nodeEngine.getExecutionService().getExecutor(QUERY_EXECUTOR);
-            partitionScanExecutor = new ParallelPartitionScanExecutor(partitionScanRunner, queryExecutorService,
-                    opTimeoutInMillis);
+            int chunkSize = nodeEngine.getProperties().getInteger(QUERY_SCAN_CHUNK_SIZE);
+            partitionScanExecutor = new WorkStealingPartitionScanExecutor(partitionScanRunner, workStealingScanner,
+                    chunkSize, opTimeoutInMillis);
         } else {
             partitionScanExecutor = new CallerRunsPartitionScanExecutor(partitionScanRunner);
         }
@@ -288,8 +307,9 @@ class MapServiceContextImpl implements MapServiceContext {
         int opTimeoutInMillis = nodeEngine.getProperties().getInteger(OPERATION_CALL_TIMEOUT_MILLIS);
         AccumulationExecutor accumulationExecutor;
         if (parallelAccumulation) {
-            ManagedExecutorService queryExecutorService = nodeEngine.getExecutionService().getExecutor(QUERY_EXECUTOR);
-            accumulationExecutor = new ParallelAccumulationExecutor(queryExecutorService, ss, opTimeoutInMillis);
+            int chunkSize = nodeEngine.getProperties().getInteger(QUERY_SCAN_CHUNK_SIZE);
+            accumulationExecutor = new WorkStealingAccumulationExecutor(workStealingScanner, ss, chunkSize,
+                    opTimeoutInMillis);
         } else {
             accumulationExecutor = new CallerRunsAccumulationExecutor(ss);
         }
@@ -519,6 +539,7 @@ class MapServiceContextImpl implements MapServiceContext {
         mapContainers.clear();
         expirationManager.onShutdown();
         offloadedExecutorStats.clear();
+        workStealingScanner.shutdown();
     }
 
     @Override
@@ -935,6 +956,11 @@ class MapServiceContextImpl implements MapServiceContext {
         return nodeWideLoadedKeyLimiter;
     }
 
+    @Override
+    public Semaphore getNodeWidePendingLoadKeyLimiter() {
+        return nodeWidePendingLoadKeyLimiter;
+    }
+
     public NodeWideUsedCapacityCounter getNodeWideUsedCapacityCounter() {
         return nodeWideUsedCapacityCounter;
     }
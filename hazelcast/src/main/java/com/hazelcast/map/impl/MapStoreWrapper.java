@@ -25,6 +25,7 @@ import com.hazelcast.map.MapLoader;
 import com.hazelcast.map.MapLoaderLifecycleSupport;
 import com.hazelcast.map.MapStore;
 import com.hazelcast.map.PostProcessingMapStore;
+import com.hazelcast.map.ShardedMapLoader;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 
@@ -170,6 +171,30 @@ public class MapStoreWrapper implements MapStore, MapLoaderLifecycleSupport {
         return null;
     }
 
+    /**
+     * Returns the number of key shards of the configured map loader or
+     * {@code 0} if the map loader is not a {@link ShardedMapLoader}.
+     */
+    public int getKeyShardCount() {
+        if (impl instanceof ShardedMapLoader shardedLoader) {
+            return NamespaceUtil.callWithOwnClassLoader(shardedLoader, shardedLoader::getKeyShardCount);
+        }
+        return 0;
+    }
+
+    /**
+     * Returns an {@link Iterable} of the keys of the given shard or
+     * {@code null} if the map loader is not a {@link ShardedMapLoader}.
+     *
+     * @see ShardedMapLoader#loadKeyShard(int)
+     */
+    public Iterable<Object> loadKeyShard(int shardId) {
+        if (impl instanceof ShardedMapLoader shardedLoader) {
+            return NamespaceUtil.callWithOwnClassLoader(shardedLoader, () -> shardedLoader.loadKeyShard(shardId));
+        }
+        return null;
+    }
+
     @Override
     public Object load(Object key) {
         if (isMapLoader()) {
@@ -100,7 +100,9 @@ public class PartitionContainerImpl implements PartitionContainer {
         keyLoader.setMaxBatch(hazelcastProperties.getInteger(ClusterProperty.MAP_LOAD_CHUNK_SIZE));
         keyLoader.setMaxSize(getMaxSizePerNode(mapConfig.getEvictionConfig()));
         keyLoader.setHasBackup(mapConfig.getTotalBackupCount() > 0);
+        keyLoader.setKeyShardParallelism(hazelcastProperties.getInteger(ClusterProperty.MAP_LOAD_KEY_SHARD_PARALLELISM));
         keyLoader.setMapOperationProvider(serviceContext.getMapOperationProvider(name));
+        keyLoader.setMapStats(serviceContext.getLocalMapStatsProvider().getLocalMapStatsImpl(name));
         int partitionId = getPartitionId();
 
         if (!mapContainer.shouldUseGlobalIndex()) {
@@ -26,9 +26,12 @@ import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.nearcache.MapNearCacheManager;
+import com.hazelcast.map.impl.recordstore.OffHeapStorage;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.Storage;
 import com.hazelcast.nearcache.NearCacheStats;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -56,6 +59,7 @@ public class EvictionChecker {
     private final MemoryInfoAccessor memoryInfoAccessor;
     private final MapNearCacheManager mapNearCacheManager;
     private final AtomicBoolean misconfiguredPerNodeMaxSizeWarningLogged;
+    private final long maxOffHeapStorageBytes;
 
     public EvictionChecker(MemoryInfoAccessor givenMemoryInfoAccessor, MapServiceContext mapServiceContext) {
         checkNotNull(givenMemoryInfoAccessor, "givenMemoryInfoAccessor cannot be null");
@@ -74,6 +78,8 @@ public class EvictionChecker {
         }
 
         this.misconfiguredPerNodeMaxSizeWarningLogged = new AtomicBoolean();
+        this.maxOffHeapStorageBytes = MEGABYTES.toBytes(
+                nodeEngine.getProperties().getInteger(ClusterProperty.MAP_OFF_HEAP_STORAGE_MAX_SIZE_IN_MB));
     }
 
     public boolean checkEvictable(RecordStore recordStore) {
@@ -82,6 +88,9 @@ public class EvictionChecker {
         }
 
         String mapName = recordStore.getName();
+        if (offHeapStorageLimitExceeded(recordStore, mapName)) {
+            return true;
+        }
 
         MapContainer mapContainer = recordStore.getMapContainer();
         EvictionConfig evictionConfig = mapContainer.getMapConfig().getEvictionConfig();
@@ -159,7 +168,28 @@ public class EvictionChecker {
         if (existingRecordStore == null) {
             return 0L;
         }
-        return existingRecordStore.getOwnedEntryCost();
+        // the owned entry cost includes the native memory of the off-heap storage
+        return existingRecordStore.getOwnedEntryCost() - getUsedOffHeapMemory(existingRecordStore);
+    }
+
+    private boolean offHeapStorageLimitExceeded(RecordStore recordStore, String mapName) {
+        if (maxOffHeapStorageBytes <= 0 || !(recordStore.getStorage() instanceof OffHeapStorage)) {
+            return false;
+        }
+
+        long usedOffHeapMemory = 0L;
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            RecordStore existingRecordStore = containers[partitionId].getExistingRecordStore(mapName);
+            if (existingRecordStore != null) {
+                usedOffHeapMemory += getUsedOffHeapMemory(existingRecordStore);
+            }
+        }
+        return usedOffHeapMemory > maxOffHeapStorageBytes;
+    }
+
+    private static long getUsedOffHeapMemory(RecordStore recordStore) {
+        Storage storage = recordStore.getStorage();
+        return storage instanceof OffHeapStorage offHeapStorage ? offHeapStorage.getUsedOffHeapMemory() : 0L;
     }
 
     private long totalMemoryInBytes() {
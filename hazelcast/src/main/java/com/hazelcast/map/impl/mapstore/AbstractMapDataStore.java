@@ -41,10 +41,12 @@ public abstract class AbstractMapDataStore<K, V> implements MapDataStore<K, V> {
     protected final NodeEngine nodeEngine;
 
     private final MapStoreWrapper store;
+    private final MapLoadCoalescer loadCoalescer;
     private final InternalSerializationService serializationService;
 
     protected AbstractMapDataStore(MapStoreContext mapStoreContext) {
         this.store = mapStoreContext.getMapStoreWrapper();
+        this.loadCoalescer = mapStoreContext.getLoadCoalescer();
         this.nodeEngine = mapStoreContext.getMapServiceContext().getNodeEngine();
         this.serializationService = (InternalSerializationService) nodeEngine.getSerializationService();
     }
@@ -64,6 +66,22 @@ public abstract class AbstractMapDataStore<K, V> implements MapDataStore<K, V> {
         return entries;
     }
 
+    /**
+     * Loads the value of the given key from the map store, sharing
+     * the load with the concurrent loads of the map if they are
+     * coalesced.
+     *
+     * @param key the key to load
+     * @return the loaded value or {@code null} if there is no value for the key
+     * @see MapLoadCoalescer
+     */
+    protected Object loadFromStore(Data key) {
+        if (loadCoalescer == null) {
+            return store.load(toObject(key));
+        }
+        return loadCoalescer.load(toHeapData(key), toObject(key));
+    }
+
     /**
      * {@inheritDoc}
      *
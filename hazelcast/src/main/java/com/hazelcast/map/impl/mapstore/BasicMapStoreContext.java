@@ -26,6 +26,7 @@ import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.MapStoreWrapper;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.util.IterableUtil;
 
@@ -34,6 +35,9 @@ import java.util.Properties;
 import static com.hazelcast.map.impl.mapstore.MapStoreManagers.createWriteBehindManager;
 import static com.hazelcast.map.impl.mapstore.MapStoreManagers.createWriteThroughManager;
 import static com.hazelcast.map.impl.mapstore.StoreConstructor.createStore;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_LOAD_CHUNK_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_LOAD_COALESCING_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_LOAD_COALESCING_WINDOW_MILLIS;
 
 /**
  * Default impl. of {@link com.hazelcast.map.impl.mapstore.MapStoreContext}
@@ -47,6 +51,8 @@ final class BasicMapStoreContext implements MapStoreContext {
 
     private MapStoreWrapper storeWrapper;
 
+    private MapLoadCoalescer loadCoalescer;
+
     private MapServiceContext mapServiceContext;
 
     private MapStoreConfig mapStoreConfig;
@@ -111,6 +117,11 @@ final class BasicMapStoreContext implements MapStoreContext {
         return storeWrapper;
     }
 
+    @Override
+    public MapLoadCoalescer getLoadCoalescer() {
+        return loadCoalescer;
+    }
+
     static MapStoreContext create(MapContainer mapContainer) {
         final BasicMapStoreContext context = new BasicMapStoreContext();
         final String mapName = mapContainer.getName();
@@ -134,6 +145,7 @@ final class BasicMapStoreContext implements MapStoreContext {
         context.setPartitioningStrategy(partitioningStrategy);
         context.setMapServiceContext(mapServiceContext);
         context.setStoreWrapper(storeWrapper);
+        context.setLoadCoalescer(createLoadCoalescer(nodeEngine, storeWrapper));
 
         final MapStoreManager mapStoreManager = createMapStoreManager(context);
         context.setMapStoreManager(mapStoreManager);
@@ -144,6 +156,15 @@ final class BasicMapStoreContext implements MapStoreContext {
         return context;
     }
 
+    private static MapLoadCoalescer createLoadCoalescer(NodeEngine nodeEngine, MapStoreWrapper storeWrapper) {
+        HazelcastProperties properties = nodeEngine.getProperties();
+        if (!storeWrapper.isMapLoader() || !properties.getBoolean(MAP_LOAD_COALESCING_ENABLED)) {
+            return null;
+        }
+        return new MapLoadCoalescer(storeWrapper, properties.getNanos(MAP_LOAD_COALESCING_WINDOW_MILLIS),
+                properties.getInteger(MAP_LOAD_CHUNK_SIZE));
+    }
+
     private static MapStoreManager createMapStoreManager(MapStoreContext mapStoreContext) {
         final MapStoreConfig mapStoreConfig = mapStoreContext.getMapStoreConfig();
         if (isWriteBehindMapStoreEnabled(mapStoreConfig)) {
@@ -174,6 +195,16 @@ final class BasicMapStoreContext implements MapStoreContext {
         return IterableUtil.nullToEmpty(storeWrapper.loadAllKeys());
     }
 
+    @Override
+    public int getKeyShardCount() {
+        return storeWrapper.getKeyShardCount();
+    }
+
+    @Override
+    public Iterable<Object> loadKeyShard(int shardId) {
+        return IterableUtil.nullToEmpty(storeWrapper.loadKeyShard(shardId));
+    }
+
     void setMapStoreManager(MapStoreManager mapStoreManager) {
         this.mapStoreManager = mapStoreManager;
     }
@@ -182,6 +213,10 @@ final class BasicMapStoreContext implements MapStoreContext {
         this.storeWrapper = storeWrapper;
     }
 
+    void setLoadCoalescer(MapLoadCoalescer loadCoalescer) {
+        this.loadCoalescer = loadCoalescer;
+    }
+
     void setMapServiceContext(MapServiceContext mapServiceContext) {
         this.mapServiceContext = mapServiceContext;
     }
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.ThreadUtil;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.map.impl.MapStoreWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Coalesces the read-through loads of a map.
+ * <p>
+ * Concurrent loads of the same key share a single in-flight load, and
+ * loads of different keys arriving within a short window are grouped
+ * into a single {@link com.hazelcast.map.MapLoader#loadAll} call. The
+ * thread which opens a batch waits for the window, then loads the whole
+ * batch and hands the values over to the other waiting threads. If the
+ * batch fills up before the window elapses, the thread adding the last
+ * key loads it instead.
+ * <p>
+ * Loads on partition threads bypass the coalescing, since a blocked
+ * partition thread cannot receive other loads of its partitions anyway.
+ * The loads of the operations offloaded from the partition threads,
+ * which is the default for maps with a map store, are coalesced.
+ *
+ * @see com.hazelcast.spi.properties.ClusterProperty#MAP_LOAD_COALESCING_ENABLED
+ * @see com.hazelcast.spi.properties.ClusterProperty#MAP_LOAD_COALESCING_WINDOW_MILLIS
+ */
+public final class MapLoadCoalescer {
+
+    private static final int INITIAL_BATCH_CAPACITY = 16;
+
+    private final MapStoreWrapper store;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ConcurrentMap<Data, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+    private final Counter coalescedLoadCount = newMwCounter();
+    private final Counter batchLoadCount = newMwCounter();
+
+    // guarded by this
+    private Batch openBatch;
+
+    MapLoadCoalescer(MapStoreWrapper store, long windowNanos, int maxBatchSize) {
+        this.store = store;
+        this.windowNanos = windowNanos;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Loads the value of the given key from the map store.
+     *
+     * @param key       the serialized key, used to find the in-flight loads
+     * @param objectKey the deserialized key passed to the map store
+     * @return the loaded value or {@code null} if the map store has no value for the key
+     */
+    public Object load(Data key, Object objectKey) {
+        if (ThreadUtil.isRunningOnPartitionThread()) {
+            return store.load(objectKey);
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlightLoad = inFlightLoads.putIfAbsent(key, future);
+        if (inFlightLoad != null) {
+            coalescedLoadCount.inc();
+            return join(inFlightLoad);
+        }
+
+        Batch fullBatch = null;
+        Batch openedBatch = null;
+        synchronized (this) {
+            if (openBatch == null) {
+                openBatch = new Batch(maxBatchSize);
+                openedBatch = openBatch;
+            }
+            openBatch.add(key, objectKey, future);
+            if (openBatch.size() >= maxBatchSize) {
+                fullBatch = openBatch;
+                openBatch = null;
+            }
+        }
+
+        if (fullBatch != null) {
+            loadBatch(fullBatch);
+        } else if (openedBatch != null) {
+            LockSupport.parkNanos(windowNanos);
+            if (close(openedBatch)) {
+                loadBatch(openedBatch);
+            }
+        }
+        return join(future);
+    }
+
+    /**
+     * Returns the number of loads which have been served by an
+     * in-flight load of the same key.
+     */
+    public long getCoalescedLoadCount() {
+        return coalescedLoadCount.get();
+    }
+
+    /**
+     * Returns the number of {@link com.hazelcast.map.MapLoader#loadAll}
+     * calls made for the coalesced loads.
+     */
+    public long getBatchLoadCount() {
+        return batchLoadCount.get();
+    }
+
+    private synchronized boolean close(Batch batch) {
+        if (openBatch != batch) {
+            // the batch has been filled up and loaded by another thread
+            return false;
+        }
+        openBatch = null;
+        return true;
+    }
+
+    private void loadBatch(Batch batch) {
+        batchLoadCount.inc();
+        Map loaded;
+        try {
+            loaded = store.loadAll(batch.objectKeys);
+        } catch (Throwable t) {
+            for (int i = 0; i < batch.size(); i++) {
+                inFlightLoads.remove(batch.keys.get(i), batch.futures.get(i));
+                batch.futures.get(i).completeExceptionally(t);
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            inFlightLoads.remove(batch.keys.get(i), batch.futures.get(i));
+            batch.futures.get(i).complete(loaded == null ? null : loaded.get(batch.objectKeys.get(i)));
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (Throwable t) {
+            // unwrap the exception of the map store
+            Throwable cause = t.getCause() != null ? t.getCause() : t;
+            throw rethrow(cause);
+        }
+    }
+
+    /**
+     * Keys whose values are loaded by a single
+     * {@link com.hazelcast.map.MapLoader#loadAll} call.
+     */
+    private static final class Batch {
+
+        private final List<Data> keys;
+        private final List<Object> objectKeys;
+        private final List<CompletableFuture<Object>> futures;
+
+        Batch(int maxBatchSize) {
+            int capacity = Math.min(maxBatchSize, INITIAL_BATCH_CAPACITY);
+            this.keys = new ArrayList<>(capacity);
+            this.objectKeys = new ArrayList<>(capacity);
+            this.futures = new ArrayList<>(capacity);
+        }
+
+        void add(Data key, Object objectKey, CompletableFuture<Object> future) {
+            keys.add(key);
+            objectKeys.add(objectKey);
+            futures.add(future);
+        }
+
+        int size() {
+            return keys.size();
+        }
+    }
+}
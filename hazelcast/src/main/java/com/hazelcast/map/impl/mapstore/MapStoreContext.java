@@ -43,6 +43,13 @@ public interface MapStoreContext {
 
     MapStoreWrapper getMapStoreWrapper();
 
+    /**
+     * @return the coalescer of the read-through loads or {@code null}
+     * if the loads of this map are not coalesced
+     * @see com.hazelcast.spi.properties.ClusterProperty#MAP_LOAD_COALESCING_ENABLED
+     */
+    MapLoadCoalescer getLoadCoalescer();
+
     boolean isWriteBehindMapStoreEnabled();
 
     SerializationService getSerializationService();
@@ -63,6 +70,24 @@ public interface MapStoreContext {
      */
     Iterable<Object> loadAllKeys();
 
+    /**
+     * Returns the number of key shards of the map loader or {@code 0}
+     * if there is no {@link com.hazelcast.map.ShardedMapLoader} configured
+     * for this map.
+     *
+     * @see com.hazelcast.map.ShardedMapLoader#getKeyShardCount()
+     */
+    int getKeyShardCount();
+
+    /**
+     * Returns an {@link Iterable} over the keys of the given shard or an
+     * empty iterable if there is no {@link com.hazelcast.map.ShardedMapLoader}
+     * configured for this map.
+     *
+     * @see com.hazelcast.map.ShardedMapLoader#loadKeyShard(int)
+     */
+    Iterable<Object> loadKeyShard(int shardId);
+
     /**
      * @return {@code true} if a {@link MapLoader} is configured for this map
      */
@@ -61,6 +61,11 @@ public final class MapStoreContextFactory {
             return null;
         }
 
+        @Override
+        public MapLoadCoalescer getLoadCoalescer() {
+            return null;
+        }
+
         @Override
         public void start() {
         }
@@ -104,6 +109,16 @@ public final class MapStoreContextFactory {
             return Collections.emptyList();
         }
 
+        @Override
+        public int getKeyShardCount() {
+            return 0;
+        }
+
+        @Override
+        public Iterable<Object> loadKeyShard(int shardId) {
+            return Collections.emptyList();
+        }
+
         @Override
         public boolean isMapLoader() {
             return false;
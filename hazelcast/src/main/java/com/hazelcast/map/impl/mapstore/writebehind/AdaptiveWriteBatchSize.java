@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+/**
+ * Write batch size adapted to the measured latency of the batch store
+ * operations of a map store.
+ * <p>
+ * After each batch, the number of entries which could have been stored
+ * within the target latency is estimated from the measured latency per
+ * entry, and the batch size moves half way towards that estimate. The
+ * batch size is kept between {@code 1} and {@value #MAX_BATCH_SIZE_MULTIPLIER}
+ * times the configured write batch size.
+ *
+ * @see com.hazelcast.spi.properties.ClusterProperty#MAP_WRITE_BEHIND_TARGET_BATCH_LATENCY_MILLIS
+ */
+final class AdaptiveWriteBatchSize {
+
+    static final int MAX_BATCH_SIZE_MULTIPLIER = 16;
+
+    private final long targetLatencyNanos;
+    private final int maxBatchSize;
+
+    // updates from concurrent flushers may overwrite each other,
+    // which is fine since each of them is a valid estimate
+    private volatile int batchSize;
+
+    AdaptiveWriteBatchSize(int writeBatchSize, long targetLatencyNanos) {
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.maxBatchSize = (int) Math.min((long) writeBatchSize * MAX_BATCH_SIZE_MULTIPLIER, Integer.MAX_VALUE);
+        this.batchSize = writeBatchSize;
+    }
+
+    int get() {
+        return batchSize;
+    }
+
+    /**
+     * Resizes the batch according to the latency of a completed batch.
+     *
+     * @param entryCount   number of entries in the completed batch
+     * @param elapsedNanos time it took to store the batch
+     */
+    void onBatchStored(int entryCount, long elapsedNanos) {
+        if (entryCount <= 0) {
+            return;
+        }
+        long latencyPerEntry = Math.max(1, elapsedNanos / entryCount);
+        long estimate = targetLatencyNanos / latencyPerEntry;
+        long next = (batchSize + estimate + 1) / 2;
+        batchSize = (int) Math.max(1, Math.min(maxBatchSize, next));
+    }
+}
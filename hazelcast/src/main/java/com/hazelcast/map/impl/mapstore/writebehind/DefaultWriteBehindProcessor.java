@@ -16,10 +16,13 @@
 
 package com.hazelcast.map.impl.mapstore.writebehind;
 
+import com.hazelcast.internal.util.Timer;
+import com.hazelcast.internal.util.counters.Counter;
 import com.hazelcast.map.EntryLoader.MetadataAwareValue;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntry;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -32,6 +35,8 @@ import java.util.Set;
 
 import static com.hazelcast.internal.util.CollectionUtil.isNotEmpty;
 import static com.hazelcast.internal.util.MapUtil.createHashMap;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_WRITE_BEHIND_TARGET_BATCH_LATENCY_MILLIS;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -52,9 +57,29 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
 
     private final List<StoreListener> storeListeners;
 
+    private final Counter storedEntryCount = newMwCounter();
+
+    private final Counter totalStoreLatencyNanos = newMwCounter();
+
+    /**
+     * {@code null} if the write batch size is not adapted to the map store latency.
+     */
+    private final AdaptiveWriteBatchSize adaptiveWriteBatchSize;
+
     DefaultWriteBehindProcessor(MapStoreContext mapStoreContext) {
         super(mapStoreContext);
         this.storeListeners = new ArrayList<>(2);
+        this.adaptiveWriteBatchSize = newAdaptiveWriteBatchSizeOrNull(mapStoreContext);
+    }
+
+    private AdaptiveWriteBatchSize newAdaptiveWriteBatchSizeOrNull(MapStoreContext mapStoreContext) {
+        // batch store methods are only called for write-coalescing map stores
+        if (writeBatchSize <= 1 || !writeCoalescing) {
+            return null;
+        }
+        HazelcastProperties properties = mapStoreContext.getMapServiceContext().getNodeEngine().getProperties();
+        long targetLatencyNanos = properties.getNanos(MAP_WRITE_BEHIND_TARGET_BATCH_LATENCY_MILLIS);
+        return targetLatencyNanos > 0 ? new AdaptiveWriteBatchSize(writeBatchSize, targetLatencyNanos) : null;
     }
 
     @Override
@@ -300,18 +325,44 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
         }
     }
 
+    @Override
+    public long getStoredEntryCount() {
+        return storedEntryCount.get();
+    }
+
+    @Override
+    public long getTotalStoreLatencyNanos() {
+        return totalStoreLatencyNanos.get();
+    }
+
+    @Override
+    public int getWriteBatchSize() {
+        return adaptiveWriteBatchSize != null ? adaptiveWriteBatchSize.get() : writeBatchSize;
+    }
+
+    private void onStored(int entryCount, long elapsedNanos, boolean batch) {
+        storedEntryCount.inc(entryCount);
+        totalStoreLatencyNanos.inc(elapsedNanos);
+        if (batch && adaptiveWriteBatchSize != null) {
+            adaptiveWriteBatchSize.onBatchStored(entryCount, elapsedNanos);
+        }
+    }
+
     /**
-     * Store chunk by chunk using write batch size {@link #writeBatchSize}
+     * Store chunk by chunk using write batch size {@link #getWriteBatchSize()}
      *
      * @param sortedDelayedEntries entries to be stored.
      * @return not-stored entries per partition.
      */
     private Map<Integer, List<DelayedEntry>> doStoreUsingBatchSize(List<DelayedEntry> sortedDelayedEntries) {
         Map<Integer, List<DelayedEntry>> failsPerPartition = new HashMap<>();
-        int page = 0;
-        List<DelayedEntry> delayedEntryList;
-        while ((delayedEntryList = getBatchChunk(sortedDelayedEntries, writeBatchSize, page++)) != null) {
-            Map<Integer, List<DelayedEntry>> fails = processInternal(delayedEntryList);
+        int size = sortedDelayedEntries.size();
+        int from = 0;
+        while (from < size) {
+            // the batch size may change after each chunk
+            int to = (int) Math.min((long) from + getWriteBatchSize(), size);
+            Map<Integer, List<DelayedEntry>> fails = processInternal(sortedDelayedEntries.subList(from, to));
+            from = to;
             Set<Map.Entry<Integer, List<DelayedEntry>>> entries = fails.entrySet();
             for (Map.Entry<Integer, List<DelayedEntry>> entry : entries) {
                 addFailsTo(failsPerPartition, entry.getValue());
@@ -404,6 +455,7 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
             final Object key = toObject(entry.getKey());
             final Object value = toObject(entry.getValue());
             boolean result;
+            long startNanos = Timer.nanos();
             // if value is null, then we have a DeletedDelayedEntry. We should not create
             // an EntryLoaderEntry for that
             if (withTtl && value != null) {
@@ -412,6 +464,7 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
             } else {
                 result = operationType.processSingle(key, value, mapStore);
             }
+            onStored(1, Timer.nanosElapsed(startNanos), false);
             callAfterStoreListeners(entry);
             return result;
         }
@@ -442,12 +495,14 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
             callBeforeStoreListeners(batchMap.values());
             final Map map = convertToObject(batchMap);
             boolean result;
+            long startNanos = Timer.nanos();
             try {
                 result = operationType.processBatch(map, mapStore);
             } catch (Exception ex) {
                 batchMap.keySet().removeIf(o -> !map.containsKey(toObject(o)));
                 throw ex;
             }
+            onStored(batchMap.size(), Timer.nanosElapsed(startNanos), true);
             callAfterStoreListeners(batchMap.values());
             return result;
         }
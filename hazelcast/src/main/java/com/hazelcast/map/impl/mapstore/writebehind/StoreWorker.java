@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl.mapstore.writebehind;
 
 import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
@@ -35,8 +36,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static com.hazelcast.internal.util.CollectionUtil.isEmpty;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.MAP_WRITE_BEHIND_EXECUTOR;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -45,7 +49,12 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * That thread uses this runnable task to process write-behind-queues. This task collects entries from
  * write behind queues and passes them to {@link #writeBehindProcessor}.
  * <p>
- * Only one {@link StoreWorker} task is created for a map on a member.
+ * Only one {@link StoreWorker} task is created for a map on a member. If
+ * {@link ClusterProperty#MAP_WRITE_BEHIND_FLUSHER_COUNT} is greater than {@code 1},
+ * the partitions are sharded across that many flushers which process their
+ * write-behind queues in parallel on the {@link ExecutionService#MAP_WRITE_BEHIND_EXECUTOR}.
+ * This task is then rescheduled once all of them completed, without blocking the scheduler
+ * thread while they run.
  */
 public class StoreWorker implements Runnable {
     private final String mapName;
@@ -53,12 +62,14 @@ public class StoreWorker implements Runnable {
     private final IPartitionService partitionService;
     private final ExecutionService executionService;
     private final WriteBehindProcessor writeBehindProcessor;
+    private final ILogger logger;
     /**
      * Run on backup nodes after this interval.
      */
     private final long backupDelayMillis;
     private final long writeDelayMillis;
     private final int partitionCount;
+    private final int flusherCount;
     /**
      * Entries are fetched from write-behind-queues according to highestStoreTime. If an entry
      * has a store-time which is smaller than or equal to the highestStoreTime, it will be processed.
@@ -79,6 +90,8 @@ public class StoreWorker implements Runnable {
         this.lastHighestStoreTime = Clock.currentTimeMillis();
         this.writeDelayMillis = SECONDS.toMillis(getWriteDelaySeconds(mapStoreContext));
         this.partitionCount = partitionService.getPartitionCount();
+        this.flusherCount = getFlusherCount(nodeEngine.getProperties(), partitionCount);
+        this.logger = nodeEngine.getLogger(StoreWorker.class);
     }
 
 
@@ -97,11 +110,19 @@ public class StoreWorker implements Runnable {
 
     @Override
     public void run() {
+        CompletableFuture<Void> flush = null;
         try {
-            runInternal();
+            flush = runInternal();
         } finally {
-            if (running) {
-                schedule();
+            if (flush == null) {
+                scheduleIfRunning();
+            } else {
+                flush.whenComplete((r, t) -> {
+                    if (t != null) {
+                        logger.warning("Write-behind flush of map " + mapName + " failed", t);
+                    }
+                    scheduleIfRunning();
+                });
             }
         }
     }
@@ -110,7 +131,17 @@ public class StoreWorker implements Runnable {
         executionService.schedule(this, 1, SECONDS);
     }
 
-    private void runInternal() {
+    private void scheduleIfRunning() {
+        if (running) {
+            schedule();
+        }
+    }
+
+    /**
+     * @return the completion of the parallel flushers, or {@code null} if
+     * the queues were flushed by the calling thread
+     */
+    private CompletableFuture<Void> runInternal() {
         final long now = Clock.currentTimeMillis();
         // if this node is the owner of a partition, we use this criteria time.
         final long ownerHighestStoreTime = calculateHighestStoreTime(lastHighestStoreTime, now);
@@ -119,10 +150,39 @@ public class StoreWorker implements Runnable {
 
         lastHighestStoreTime = ownerHighestStoreTime;
 
+        if (flusherCount == 1) {
+            flushPartitions(0, ownerHighestStoreTime, backupHighestStoreTime);
+            notifyFlush();
+            return null;
+        }
+
+        Executor executor = executionService.getExecutor(MAP_WRITE_BEHIND_EXECUTOR);
+        CompletableFuture<?>[] flushers = new CompletableFuture[flusherCount];
+        for (int flusherId = 0; flusherId < flusherCount; flusherId++) {
+            final int firstPartitionId = flusherId;
+            flushers[flusherId] = CompletableFuture
+                    .runAsync(() -> flushPartitions(firstPartitionId, ownerHighestStoreTime, backupHighestStoreTime),
+                            executor)
+                    .exceptionally(t -> {
+                        logger.warning("Write-behind flush of map " + mapName + " failed", t);
+                        return null;
+                    });
+        }
+        return CompletableFuture.allOf(flushers).thenRun(this::notifyFlush);
+    }
+
+    /**
+     * Processes the write-behind queues of every {@link #flusherCount}th
+     * partition starting from the given one. All entries of a partition are
+     * processed by the same flusher, which keeps the order of the store
+     * operations on a key.
+     */
+    private void flushPartitions(int firstPartitionId, long ownerHighestStoreTime, long backupHighestStoreTime) {
         List<DelayedEntry> ownersList = null;
         List<DelayedEntry> backupsList = null;
+        int capacity = partitionCount / flusherCount + 1;
 
-        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+        for (int partitionId = firstPartitionId; partitionId < partitionCount; partitionId += flusherCount) {
             if (currentThread().isInterrupted()) {
                 break;
             }
@@ -135,10 +195,10 @@ public class StoreWorker implements Runnable {
             boolean localPartition = isPartitionLocal(partitionId);
 
             if (!localPartition) {
-                backupsList = initListIfNull(backupsList, partitionCount);
+                backupsList = initListIfNull(backupsList, capacity);
                 selectEntriesToStore(recordStore, backupsList, backupHighestStoreTime);
             } else {
-                ownersList = initListIfNull(ownersList, partitionCount);
+                ownersList = initListIfNull(ownersList, capacity);
                 selectEntriesToStore(recordStore, ownersList, ownerHighestStoreTime);
             }
         }
@@ -152,9 +212,6 @@ public class StoreWorker implements Runnable {
         if (!isEmpty(backupsList)) {
             doInBackup(backupsList);
         }
-
-        notifyFlush();
-
     }
 
     private static List<DelayedEntry> initListIfNull(List<DelayedEntry> list, int capacity) {
@@ -279,6 +336,11 @@ public class StoreWorker implements Runnable {
         return writeBehindStore.getSequenceToFlush();
     }
 
+    private static int getFlusherCount(HazelcastProperties properties, int partitionCount) {
+        int flusherCount = properties.getInteger(ClusterProperty.MAP_WRITE_BEHIND_FLUSHER_COUNT);
+        return Math.max(1, Math.min(flusherCount, partitionCount));
+    }
+
     private static int getWriteDelaySeconds(MapStoreContext mapStoreContext) {
         MapStoreConfig mapStoreConfig = mapStoreContext.getMapStoreConfig();
         return mapStoreConfig.getWriteDelaySeconds();
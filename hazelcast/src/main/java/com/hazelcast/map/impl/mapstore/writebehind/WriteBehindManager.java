@@ -52,6 +52,13 @@ public class WriteBehindManager implements MapStoreManager {
         storeWorker.stop();
     }
 
+    /**
+     * @return the processor persisting the write-behind queues of the map
+     */
+    public WriteBehindProcessor getWriteBehindProcessor() {
+        return writeBehindProcessor;
+    }
+
     //todo get this via constructor function.
     @Override
     public MapDataStore getMapDataStore(String mapName, int partitionId) {
@@ -55,4 +55,26 @@ public interface WriteBehindProcessor<E> {
      * @param key to be flushed.
      */
     void flush(E key);
+
+    /**
+     * Returns the number of entries written to or deleted from the map store.
+     *
+     * @return number of stored entries.
+     */
+    long getStoredEntryCount();
+
+    /**
+     * Returns the total time spent in the map store calls.
+     *
+     * @return total store latency in nanoseconds.
+     */
+    long getTotalStoreLatencyNanos();
+
+    /**
+     * Returns the size of the next store batch, which may be adapted
+     * to the measured map store latency.
+     *
+     * @return current write batch size.
+     */
+    int getWriteBatchSize();
 }
@@ -240,7 +240,7 @@ public class WriteBehindStore extends AbstractMapDataStore<Data, Object> {
     public Object load(Data key) {
         DelayedEntry delayedEntry = getFromStagingArea(key);
         if (delayedEntry == null) {
-            return getStore().load(toObject(key));
+            return loadFromStore(key);
         }
         // At this point, the value comes from staging area.
         // This may be a value with expirationTime. So we need
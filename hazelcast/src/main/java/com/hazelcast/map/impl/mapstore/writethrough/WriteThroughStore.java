@@ -85,7 +85,7 @@ public class WriteThroughStore extends AbstractMapDataStore<Data, Object> {
 
     @Override
     public Object load(Data key) {
-        return getStore().load(toObject(key));
+        return loadFromStore(key);
     }
 
     @Override
@@ -264,6 +264,11 @@ public class DefaultMapOperationProvider implements MapOperationProvider {
         return new LoadAllOperation(name, keys, replaceExistingValues);
     }
 
+    @Override
+    public MapOperation createStreamedLoadAllOperation(String name, List<Data> keys, boolean replaceExistingValues) {
+        return new StreamedLoadAllOperation(name, keys, replaceExistingValues);
+    }
+
     @Override
     public MapOperation createPutAllOperation(String name, MapEntries mapEntries, boolean triggerMapLoader) {
         return new PutAllOperation(name, mapEntries, triggerMapLoader);
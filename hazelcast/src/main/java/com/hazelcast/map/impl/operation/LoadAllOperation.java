@@ -42,9 +42,9 @@ import java.util.List;
  */
 public class LoadAllOperation extends MapOperation implements PartitionAwareOperation, MutatingOperation {
 
-    private List<Data> keys;
+    protected List<Data> keys;
 
-    private boolean replaceExistingValues;
+    protected boolean replaceExistingValues;
 
     public LoadAllOperation() {
         keys = Collections.emptyList();
@@ -74,7 +74,7 @@ public class LoadAllOperation extends MapOperation implements PartitionAwareOper
      *
      * @return the filtered key list
      */
-    private List<Data> selectThisPartitionsKeys() {
+    protected List<Data> selectThisPartitionsKeys() {
         final IPartitionService partitionService = mapServiceContext.getNodeEngine().getPartitionService();
         final int partitionId = getPartitionId();
         List<Data> dataKeys = null;
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataGenerator;
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.Records;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.IndexRegistry;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static com.hazelcast.map.impl.operation.MapReplicationStateHolder.indexesMustBePopulated;
+
+/**
+ * Replicates the current state of the given keys of a map partition. Used
+ * by the catch-up phase of an incremental migration instead of a {@link
+ * MapReplicationOperation}, when only a few keys of the map are mutated
+ * after the map is replicated. The existing keys are put to the replica,
+ * the missing ones are removed from it.
+ *
+ * @see com.hazelcast.internal.partition.PartitionMutationTracker
+ */
+public class MapDeltaReplicationOperation extends Operation
+        implements IdentifiedDataSerializable {
+
+    private String mapName;
+    // key, record and expiry metadata triplets, the record and
+    // the expiry metadata are null if the key is removed
+    private List<Object> keyRecordExpiry;
+    // Near Cache metadata of the map, as in MapNearCacheStateHolder
+    private UUID partitionUuid;
+    private long nearCacheSequence;
+
+    // written lazily like MapReplicationStateHolder, the writes to
+    // the partition are paused until the migration completes
+    private transient RecordStore<Record> recordStore;
+    private transient Collection<Data> keys;
+
+    public MapDeltaReplicationOperation() {
+    }
+
+    public MapDeltaReplicationOperation(RecordStore<Record> recordStore, Collection<Data> keys,
+                                        int partitionId, int replicaIndex) {
+        setPartitionId(partitionId)
+                .setReplicaIndex(replicaIndex);
+
+        this.mapName = recordStore.getName();
+        this.recordStore = recordStore;
+        this.keys = new ArrayList<>(keys);
+
+        MetaDataGenerator metaData = getMetaDataGenerator(recordStore.getMapContainer().getMapServiceContext());
+        this.partitionUuid = metaData.getOrCreateUuid(partitionId);
+        this.nearCacheSequence = metaData.currentSequence(mapName, partitionId);
+    }
+
+    @Override
+    public void run() {
+        RecordStore replica = getRecordStore();
+        replica.beforeOperation();
+        try {
+            MapContainer mapContainer = replica.getMapContainer();
+            IndexRegistry indexRegistry = mapContainer.getOrCreateIndexRegistry(getPartitionId());
+            boolean populateIndexes = indexesMustBePopulated(indexRegistry, getReplicaIndex());
+            long nowInMillis = Clock.currentTimeMillis();
+            for (int i = 0; i < keyRecordExpiry.size(); i += 3) {
+                Data dataKey = (Data) keyRecordExpiry.get(i);
+                Record record = (Record) keyRecordExpiry.get(i + 1);
+                ExpiryMetadata expiryMetadata = (ExpiryMetadata) keyRecordExpiry.get(i + 2);
+
+                // removed first, so that the partitioned indexes forget the old value
+                replica.removeReplicatedRecord(dataKey, !populateIndexes);
+                if (record != null) {
+                    replica.putOrUpdateReplicatedRecord(dataKey, record, expiryMetadata,
+                            populateIndexes, nowInMillis);
+                }
+            }
+        } finally {
+            replica.afterOperation();
+        }
+
+        if (getReplicaIndex() == 0) {
+            MetaDataGenerator metaData = getMetaDataGenerator(getMapServiceContext());
+            metaData.setUuid(getPartitionId(), partitionUuid);
+            metaData.setCurrentSequence(mapName, getPartitionId(), nearCacheSequence);
+        }
+    }
+
+    @Override
+    public void afterRun() throws Exception {
+        try {
+            RecordStore replica = getMapServiceContext().getExistingRecordStore(getPartitionId(), mapName);
+            if (replica != null) {
+                replica.disposeDeferredBlocks();
+            }
+        } finally {
+            super.afterRun();
+        }
+    }
+
+    private RecordStore getRecordStore() {
+        final boolean skipLoadingOnRecordStoreCreate = true;
+        return getMapServiceContext().getRecordStore(getPartitionId(), mapName, skipLoadingOnRecordStoreCreate);
+    }
+
+    private MapServiceContext getMapServiceContext() {
+        MapService mapService = getService();
+        return mapService.getMapServiceContext();
+    }
+
+    private static MetaDataGenerator getMetaDataGenerator(MapServiceContext mapServiceContext) {
+        return mapServiceContext.getMapNearCacheManager().getInvalidator().getMetaDataGenerator();
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeString(mapName);
+        out.writeLong(partitionUuid.getMostSignificantBits());
+        out.writeLong(partitionUuid.getLeastSignificantBits());
+        out.writeLong(nearCacheSequence);
+        out.writeInt(keys.size());
+        SerializationService ss = getNodeEngine().getSerializationService();
+        recordStore.beforeOperation();
+        try {
+            for (Data dataKey : keys) {
+                IOUtil.writeData(out, dataKey);
+                Record record = recordStore.getRecord(dataKey);
+                out.writeBoolean(record != null);
+                if (record != null) {
+                    Records.writeRecord(out, record, ss.toData(record.getValue()));
+                    Records.writeExpiry(out, recordStore.getExpirySystem().getExpiryMetadata(dataKey));
+                }
+            }
+        } finally {
+            recordStore.afterOperation();
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        mapName = in.readString();
+        partitionUuid = new UUID(in.readLong(), in.readLong());
+        nearCacheSequence = in.readLong();
+        int size = in.readInt();
+        keyRecordExpiry = new ArrayList<>(size * 3);
+        for (int i = 0; i < size; i++) {
+            keyRecordExpiry.add(IOUtil.readData(in));
+            if (in.readBoolean()) {
+                keyRecordExpiry.add(Records.readRecord(in));
+                keyRecordExpiry.add(Records.readExpiry(in));
+            } else {
+                keyRecordExpiry.add(null);
+                keyRecordExpiry.add(null);
+            }
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.MAP_DELTA_REPLICATION;
+    }
+
+    @Override
+    public boolean requiresTenantContext() {
+        return true;
+    }
+}
@@ -29,6 +29,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.impl.Comparison;
+import com.hazelcast.query.impl.CoveringQueryableEntry;
 import com.hazelcast.query.impl.GlobalIndexPartitionTracker.PartitionStamp;
 import com.hazelcast.query.impl.IndexKeyEntries;
 import com.hazelcast.query.impl.InternalIndex;
@@ -161,7 +162,7 @@ public class MapFetchIndexOperation extends MapOperation implements ReadonlyOper
                 while (keyEntries.hasNext() && entries.size() < sizeLimit) {
                     QueryableEntry<?, ?> entry = keyEntries.next();
                     if (isInPartitionSet(entry, partitionIdSet, partitionCount)) {
-                        entries.add(entry);
+                        entries.add(CoveringQueryableEntry.unwrap(entry));
                         lastEntryKeyData = entry.getKeyData();
                     }
                 }
@@ -265,13 +266,10 @@ public class MapFetchIndexOperation extends MapOperation implements ReadonlyOper
 
             @SuppressWarnings({"rawtypes", "unchecked"})
             Collection<QueryableEntry<?, ?>> keyEntries = (Collection) index.getRecords(pointer.getFrom());
-            if (partitionIdSet == null) {
-                entries.addAll(keyEntries);
-            } else {
-                for (QueryableEntry<?, ?> entry : keyEntries) {
-                    if (isInPartitionSet(entry, partitionIdSet, partitionCount)) {
-                        entries.add(entry);
-                    }
+            for (QueryableEntry<?, ?> entry : keyEntries) {
+                if (isInPartitionSet(entry, partitionIdSet, partitionCount)) {
+                    // covering entries are not serializable, ship the wrapped ones
+                    entries.add(CoveringQueryableEntry.unwrap(entry));
                 }
             }
         }
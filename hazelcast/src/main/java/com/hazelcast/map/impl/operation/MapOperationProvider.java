@@ -100,6 +100,19 @@ public interface MapOperationProvider {
      */
     MapOperation createLoadAllOperation(String name, List<Data> keys, boolean replaceExistingValues);
 
+    /**
+     * Creates an operation to load entry values for the provided {@code keys}
+     * streamed from a {@link com.hazelcast.map.ShardedMapLoader} on the partition
+     * owner. The operation responds with {@code false} if the partition owner
+     * has too many pending keys and the keys should be sent again later.
+     *
+     * @param name                  the map name
+     * @param keys                  the keys for which values are to be loaded
+     * @param replaceExistingValues if the existing entries for the loaded keys should be replaced
+     * @return the operation for triggering entry value loading
+     */
+    MapOperation createStreamedLoadAllOperation(String name, List<Data> keys, boolean replaceExistingValues);
+
     MapOperation createPutAllOperation(String name, MapEntries mapEntries, boolean triggerMapLoader);
 
     MapOperation createPutFromLoadAllOperation(String name, List<Data> keyValueSequence, boolean expirationTime);
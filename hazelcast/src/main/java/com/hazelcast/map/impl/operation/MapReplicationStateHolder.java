@@ -187,7 +187,7 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable, Ve
                     }
 
                     IndexRegistry indexRegistry = mapContainer.getOrCreateIndexRegistry(partitionContainer.getPartitionId());
-                    boolean populateIndexes = indexesMustBePopulated(indexRegistry, operation);
+                    boolean populateIndexes = indexesMustBePopulated(indexRegistry, operation.getReplicaIndex());
 
                     InternalIndex[] indexesSnapshot = null;
 
@@ -465,7 +465,7 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable, Ve
         return MapDataSerializerHook.MAP_REPLICATION_STATE_HOLDER;
     }
 
-    private static boolean indexesMustBePopulated(IndexRegistry indexRegistry, MapReplicationOperation operation) {
+    static boolean indexesMustBePopulated(IndexRegistry indexRegistry, int replicaIndex) {
         if (!indexRegistry.haveAtLeastOneIndex()) {
             // no indexRegistry to populate
             return false;
@@ -476,7 +476,7 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable, Ve
             return false;
         }
 
-        if (operation.getReplicaIndex() != 0) {
+        if (replicaIndex != 0) {
             // backup partitions have no indexRegistry to populate
             return false;
         }
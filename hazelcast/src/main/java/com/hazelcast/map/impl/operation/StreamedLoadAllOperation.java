@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_LOAD_PENDING_KEY_LIMIT_PER_NODE;
+
+/**
+ * Triggers loading values for the keys streamed from a
+ * {@link com.hazelcast.map.ShardedMapLoader}.
+ * <p>
+ * Unlike {@link LoadAllOperation}, the value loading is only started if
+ * the number of keys for which this member is loading the values stays
+ * within the node-wide limit. Otherwise, the keys are rejected with a
+ * {@code false} response and the
+ * {@link com.hazelcast.map.impl.MapKeyLoader.Role#SENDER} sends them again
+ * later, so a slow value loading pushes back on the key loading.
+ *
+ * @see com.hazelcast.spi.properties.ClusterProperty#MAP_LOAD_PENDING_KEY_LIMIT_PER_NODE
+ */
+public class StreamedLoadAllOperation extends LoadAllOperation {
+
+    private transient boolean accepted;
+
+    public StreamedLoadAllOperation() {
+    }
+
+    public StreamedLoadAllOperation(String name, List<Data> keys, boolean replaceExistingValues) {
+        super(name, keys, replaceExistingValues);
+    }
+
+    @Override
+    protected void runInternal() {
+        keys = selectThisPartitionsKeys();
+        if (keys.isEmpty()) {
+            accepted = true;
+            return;
+        }
+
+        // a batch larger than the limit is admitted
+        // once no other keys are pending on this member
+        int limit = getNodeEngine().getProperties().getInteger(MAP_LOAD_PENDING_KEY_LIMIT_PER_NODE);
+        int permits = Math.min(keys.size(), limit);
+        Semaphore pendingKeyLimiter = mapServiceContext.getNodeWidePendingLoadKeyLimiter();
+        if (!pendingKeyLimiter.tryAcquire(permits)) {
+            keys = Collections.emptyList();
+            return;
+        }
+        accepted = true;
+
+        Future<?> loading;
+        try {
+            loading = recordStore.loadAllFromStore(keys, replaceExistingValues);
+        } catch (Throwable t) {
+            pendingKeyLimiter.release(permits);
+            throw t;
+        }
+        if (loading == null) {
+            pendingKeyLimiter.release(permits);
+        } else {
+            getNodeEngine().getExecutionService().asCompletableFuture(loading)
+                    .whenComplete((result, throwable) -> pendingKeyLimiter.release(permits));
+        }
+    }
+
+    @Override
+    public Object getResponse() {
+        return accepted;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.STREAMED_LOAD_ALL;
+    }
+}
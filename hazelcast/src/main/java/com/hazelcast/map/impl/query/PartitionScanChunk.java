@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.record.Record;
+
+/**
+ * A contiguous run of entries of a single partition collected by
+ * {@link PartitionScanRunner#forEachChunk} so that the predicate can be
+ * evaluated on it independently of the other chunks of the same partition.
+ * <p>
+ * Only references to the keys and records are held, the values are read
+ * when the chunk is evaluated.
+ */
+public final class PartitionScanChunk {
+
+    private final int partitionId;
+    private final Data[] keys;
+    private final Record[] records;
+    private int size;
+
+    PartitionScanChunk(int partitionId, int capacity) {
+        this.partitionId = partitionId;
+        this.keys = new Data[capacity];
+        this.records = new Record[capacity];
+    }
+
+    void add(Data key, Record record) {
+        keys[size] = key;
+        records[size] = record;
+        size++;
+    }
+
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    Data[] getKeys() {
+        return keys;
+    }
+
+    Record[] getRecords() {
+        return records;
+    }
+}
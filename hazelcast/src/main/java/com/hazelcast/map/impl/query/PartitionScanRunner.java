@@ -34,8 +34,11 @@ import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.QueryableEntriesSegment;
+import com.hazelcast.query.impl.JsonMetadata;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.BatchPredicateEvaluator;
+import com.hazelcast.query.impl.predicates.BatchPredicateEvaluator.EntryBatch;
 import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.OperationService;
@@ -46,16 +49,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import static com.hazelcast.internal.util.SortingUtil.compareAnchor;
 import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
 import static com.hazelcast.map.impl.record.Records.getValueOrCachedValue;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_PREDICATE_BATCH_EVALUATION;
 
 /**
  * Responsible for running a full-partition scan for a single partition in the calling thread.
  */
 public class PartitionScanRunner {
 
+    private static final int BATCH_SIZE = 128;
+
     protected final MapServiceContext mapServiceContext;
     protected final NodeEngine nodeEngine;
     protected final ILogger logger;
@@ -63,6 +70,7 @@ public class PartitionScanRunner {
     protected final IPartitionService partitionService;
     protected final OperationService operationService;
     protected final ClusterService clusterService;
+    protected final boolean batchEvaluation;
 
     public PartitionScanRunner(MapServiceContext mapServiceContext) {
         this.mapServiceContext = mapServiceContext;
@@ -72,51 +80,75 @@ public class PartitionScanRunner {
         this.logger = nodeEngine.getLogger(getClass());
         this.operationService = nodeEngine.getOperationService();
         this.clusterService = nodeEngine.getClusterService();
+        this.batchEvaluation = nodeEngine.getProperties().getBoolean(QUERY_PREDICATE_BATCH_EVALUATION);
     }
 
     @SuppressWarnings("unchecked")
     public void run(String mapName, Predicate predicate, int partitionId, Result result) {
-        PagingPredicateImpl pagingPredicate = predicate instanceof PagingPredicateImpl
-                ? (PagingPredicateImpl) predicate : null;
+        ScanConsumer scanConsumer = new ScanConsumer(mapName, predicate, partitionId, result);
+        scanConsumer.recordStore.forEachAfterLoad(scanConsumer, false);
+        scanConsumer.complete();
+    }
 
+    /**
+     * Runs the predicate on the entries of a chunk previously produced by
+     * {@link #forEachChunk(String, int, int, Consumer)} and adds the matching
+     * entries to the given result. The result is ordered and limited
+     * according to the paging predicate, if any, the same way as the
+     * full-partition scan does.
+     *
+     * @param mapName   the map name
+     * @param predicate the predicate which the entries must match
+     * @param chunk     the chunk of the partition to evaluate
+     * @param result    the result to which matching entries are added
+     */
+    @SuppressWarnings("unchecked")
+    public void run(String mapName, Predicate predicate, PartitionScanChunk chunk, Result result) {
+        ScanConsumer scanConsumer = new ScanConsumer(mapName, predicate, chunk.getPartitionId(), result);
+        Data[] keys = chunk.getKeys();
+        Record[] records = chunk.getRecords();
+        for (int i = 0; i < chunk.size(); i++) {
+            scanConsumer.accept(keys[i], records[i]);
+        }
+        scanConsumer.complete();
+    }
+
+    /**
+     * Walks the records of the given partition and hands them to the
+     * {@code chunkConsumer} in chunks of at most {@code chunkSize} entries.
+     * Only the key and record references are collected, the predicate is
+     * evaluated later by {@link #run(String, Predicate, PartitionScanChunk, Result)},
+     * which allows the chunks of a single partition to be evaluated by
+     * different threads.
+     * <p>
+     * At least one chunk is always produced, even for an empty partition,
+     * so that the partition is accounted for in the query result.
+     *
+     * @param mapName       the map name
+     * @param partitionId   the partition to walk
+     * @param chunkSize     the maximum number of entries in a chunk
+     * @param chunkConsumer consumer of the produced chunks
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachChunk(String mapName, int partitionId, int chunkSize,
+                             Consumer<PartitionScanChunk> chunkConsumer) {
         PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
         RecordStore<Record> recordStore = partitionContainer.getRecordStore(mapName);
-        MapContainer mapContainer = recordStore.getMapContainer();
-        boolean nativeMemory = recordStore.getInMemoryFormat() == InMemoryFormat.NATIVE;
-        boolean useCachedValues = isUseCachedDeserializedValuesEnabled(mapContainer, partitionId);
-        Extractors extractors = mapServiceContext.getExtractors(mapName);
-        Map.Entry<Integer, Map.Entry> nearestAnchorEntry =
-                pagingPredicate == null ? null : pagingPredicate.getNearestAnchorEntry();
-
-        recordStore.forEachAfterLoad(new BiConsumer<Data, Record>() {
-            LazyMapEntry queryEntry = new LazyMapEntry();
-
-            @Override
-            public void accept(Data key, Record record) {
-                Object value = useCachedValues ? getValueOrCachedValue(record, ss) : record.getValue();
-                // TODO how can a value be null?
-                if (value == null) {
-                    return;
-                }
-
-                queryEntry.init(ss, key, value, extractors);
-                queryEntry.setRecord(record);
-                queryEntry.setMetadata(recordStore.getOrCreateMetadataStore().get(key));
 
-                if (predicate.apply(queryEntry)
-                        && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
-
-                    // always copy key&value to heap if map is backed by native memory
-                    value = nativeMemory ? toHeapData((Data) value) : value;
-                    result.add(queryEntry.init(ss, toHeapData(key), value, extractors));
-
-                    // We can't reuse the existing entry after it was added to the
-                    // result. Allocate the new one.
-                    queryEntry = new LazyMapEntry();
-                }
+        PartitionScanChunk[] current = {new PartitionScanChunk(partitionId, chunkSize)};
+        boolean[] emitted = {false};
+        recordStore.forEachAfterLoad((key, record) -> {
+            current[0].add(key, record);
+            if (current[0].size() == chunkSize) {
+                chunkConsumer.accept(current[0]);
+                emitted[0] = true;
+                current[0] = new PartitionScanChunk(partitionId, chunkSize);
             }
         }, false);
-        result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
+
+        if (current[0].size() > 0 || !emitted[0]) {
+            chunkConsumer.accept(current[0]);
+        }
     }
 
     /**
@@ -173,4 +205,143 @@ public class PartitionScanRunner {
     protected boolean isUseCachedDeserializedValuesEnabled(MapContainer mapContainer, int partitionId) {
         return mapContainer.isUseCachedDeserializedValuesEnabled(partitionId);
     }
+
+    /**
+     * Applies the predicate to the visited entries of a single partition and
+     * adds the matching ones to the result.
+     * <p>
+     * If batch evaluation is enabled and the predicate supports it, the
+     * entries are collected into blocks of {@link #BATCH_SIZE} and the
+     * predicate is evaluated on a whole block at once by the
+     * {@link BatchPredicateEvaluator}. The entries of a block share a single
+     * {@link LazyMapEntry}, a new one is allocated only for the matching
+     * entries added to the result. Native memory is never evaluated in
+     * batches since its entries are not copied to heap before they match.
+     */
+    private final class ScanConsumer implements BiConsumer<Data, Record>, EntryBatch {
+
+        private final Predicate predicate;
+        private final Result result;
+        private final RecordStore<Record> recordStore;
+        private final PagingPredicateImpl pagingPredicate;
+        private final boolean nativeMemory;
+        private final boolean useCachedValues;
+        private final Extractors extractors;
+        private final Map.Entry<Integer, Map.Entry> nearestAnchorEntry;
+
+        private final BatchPredicateEvaluator batchEvaluator;
+
+        private LazyMapEntry queryEntry = new LazyMapEntry();
+        private Data[] batchKeys;
+        private Object[] batchValues;
+        private Record[] batchRecords;
+        private JsonMetadata[] batchMetadata;
+        private boolean[] batchMatches;
+        private int batchSize;
+
+        @SuppressWarnings("unchecked")
+        ScanConsumer(String mapName, Predicate predicate, int partitionId, Result result) {
+            this.predicate = predicate;
+            this.result = result;
+            this.pagingPredicate = predicate instanceof PagingPredicateImpl
+                    ? (PagingPredicateImpl) predicate : null;
+
+            PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
+            this.recordStore = partitionContainer.getRecordStore(mapName);
+            MapContainer mapContainer = recordStore.getMapContainer();
+            this.nativeMemory = recordStore.getInMemoryFormat() == InMemoryFormat.NATIVE;
+            this.useCachedValues = isUseCachedDeserializedValuesEnabled(mapContainer, partitionId);
+            this.extractors = mapServiceContext.getExtractors(mapName);
+            this.nearestAnchorEntry = pagingPredicate == null ? null : pagingPredicate.getNearestAnchorEntry();
+            this.batchEvaluator = batchEvaluation && !nativeMemory ? BatchPredicateEvaluator.of(predicate) : null;
+            if (batchEvaluator != null) {
+                this.batchKeys = new Data[BATCH_SIZE];
+                this.batchValues = new Object[BATCH_SIZE];
+                this.batchRecords = new Record[BATCH_SIZE];
+                this.batchMetadata = new JsonMetadata[BATCH_SIZE];
+                this.batchMatches = new boolean[BATCH_SIZE];
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void accept(Data key, Record record) {
+            Object value = useCachedValues ? getValueOrCachedValue(record, ss) : record.getValue();
+            // TODO how can a value be null?
+            if (value == null) {
+                return;
+            }
+
+            if (batchEvaluator != null) {
+                acceptIntoBatch(key, record, value);
+                return;
+            }
+
+            queryEntry.init(ss, key, value, extractors);
+            queryEntry.setRecord(record);
+            queryEntry.setMetadata(recordStore.getOrCreateMetadataStore().get(key));
+
+            if (predicate.apply(queryEntry)
+                    && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
+
+                // always copy key&value to heap if map is backed by native memory
+                value = nativeMemory ? toHeapData((Data) value) : value;
+                result.add(queryEntry.init(ss, toHeapData(key), value, extractors));
+
+                // We can't reuse the existing entry after it was added to the
+                // result. Allocate the new one.
+                queryEntry = new LazyMapEntry();
+            }
+        }
+
+        private void acceptIntoBatch(Data key, Record record, Object value) {
+            batchKeys[batchSize] = key;
+            batchValues[batchSize] = value;
+            batchRecords[batchSize] = record;
+            batchMetadata[batchSize] = recordStore.getOrCreateMetadataStore().get(key);
+            batchSize++;
+            if (batchSize == BATCH_SIZE) {
+                evaluateBatch();
+            }
+        }
+
+        @Override
+        public int size() {
+            return batchSize;
+        }
+
+        @Override
+        public QueryableEntry entry(int index) {
+            queryEntry.init(ss, batchKeys[index], batchValues[index], extractors);
+            queryEntry.setRecord(batchRecords[index]);
+            queryEntry.setMetadata(batchMetadata[index]);
+            return queryEntry;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void evaluateBatch() {
+            batchEvaluator.evaluate(this, batchMatches);
+            for (int i = 0; i < batchSize; i++) {
+                if (batchMatches[i] && (pagingPredicate == null
+                        || compareAnchor(pagingPredicate, entry(i), nearestAnchorEntry))) {
+                    LazyMapEntry resultEntry = new LazyMapEntry(toHeapData(batchKeys[i]), batchValues[i], ss, extractors);
+                    resultEntry.setRecord(batchRecords[i]);
+                    resultEntry.setMetadata(batchMetadata[i]);
+                    result.add(resultEntry);
+                }
+                batchKeys[i] = null;
+                batchValues[i] = null;
+                batchRecords[i] = null;
+                batchMetadata[i] = null;
+            }
+            batchSize = 0;
+        }
+
+        void complete() {
+            if (batchSize > 0) {
+                evaluateBatch();
+            }
+            result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
+        }
+    }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.internal.util.counters.Counter;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Member-side cache of the results of the queries run on the owned partitions
+ * of a single map.
+ * <p>
+ * The results are cached in their serialized form keyed by the serialized
+ * query. Every partition of the map has a mutation stamp which is advanced on
+ * each mutation of the partition's data, including backup and replication
+ * ones. A cached result is served only if the stamps of the queried
+ * partitions are the same as they were before the result was computed, so a
+ * result is never served after any of its partitions has been mutated.
+ * <p>
+ * The memory used by the cached results is bounded: the least recently used
+ * results are evicted once their total size exceeds the configured maximum.
+ */
+public final class QueryResultCache {
+
+    private final AtomicLongArray stamps;
+    private final long maxSizeInBytes;
+    private final Map<Data, CachedResult> results = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter hits = newMwCounter();
+    private final Counter misses = newMwCounter();
+
+    private long sizeInBytes;
+
+    public QueryResultCache(int partitionCount, long maxSizeInBytes) {
+        this.stamps = new AtomicLongArray(partitionCount);
+        this.maxSizeInBytes = maxSizeInBytes;
+    }
+
+    /**
+     * Advances the mutation stamp of the given partition, invalidating all
+     * the cached results covering it.
+     */
+    public void onMutation(int partitionId) {
+        stamps.incrementAndGet(partitionId);
+    }
+
+    /**
+     * Returns the combined mutation stamp of the given partitions. Since
+     * every stamp only grows, the combined stamp changes whenever any of the
+     * partitions is mutated.
+     */
+    long stamp(PartitionIdSet partitions) {
+        long stamp = 0;
+        for (PrimitiveIterator.OfInt iterator = partitions.intIterator(); iterator.hasNext(); ) {
+            stamp += stamps.get(iterator.nextInt());
+        }
+        return stamp;
+    }
+
+    /**
+     * Returns the cached result of the given query run on the given
+     * partitions, or {@code null} if there is no such result or it was
+     * computed before the current {@code stamp}.
+     */
+    Data get(Data query, PartitionIdSet partitions, long stamp) {
+        Data result = null;
+        synchronized (results) {
+            CachedResult cached = results.get(query);
+            if (cached != null) {
+                if (cached.stamp == stamp && cached.partitions.equals(partitions)) {
+                    result = cached.result;
+                } else {
+                    remove(query, cached);
+                }
+            }
+        }
+        if (result == null) {
+            misses.inc();
+        } else {
+            hits.inc();
+        }
+        return result;
+    }
+
+    /**
+     * Caches the result of the given query run on the given partitions
+     * computed at the given {@code stamp}.
+     */
+    void put(Data query, PartitionIdSet partitions, long stamp, Data result) {
+        long size = cost(query, result);
+        if (size > maxSizeInBytes) {
+            return;
+        }
+        synchronized (results) {
+            CachedResult previous = results.put(query, new CachedResult(new PartitionIdSet(partitions), stamp, result));
+            if (previous != null) {
+                sizeInBytes -= cost(query, previous.result);
+            }
+            sizeInBytes += size;
+
+            Iterator<Map.Entry<Data, CachedResult>> iterator = results.entrySet().iterator();
+            while (sizeInBytes > maxSizeInBytes) {
+                Map.Entry<Data, CachedResult> eldest = iterator.next();
+                sizeInBytes -= cost(eldest.getKey(), eldest.getValue().result);
+                iterator.remove();
+            }
+        }
+    }
+
+    private void remove(Data query, CachedResult cached) {
+        results.remove(query);
+        sizeInBytes -= cost(query, cached.result);
+    }
+
+    public void clear() {
+        synchronized (results) {
+            results.clear();
+            sizeInBytes = 0;
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    // only used for testing
+    long getSizeInBytes() {
+        synchronized (results) {
+            return sizeInBytes;
+        }
+    }
+
+    private static long cost(Data query, Data result) {
+        return query.getHeapCost() + result.getHeapCost();
+    }
+
+    private static final class CachedResult {
+
+        private final PartitionIdSet partitions;
+        private final long stamp;
+        private final Data result;
+
+        CachedResult(PartitionIdSet partitions, long stamp, Data result) {
+            this.partitions = partitions;
+            this.stamp = stamp;
+            this.result = result;
+        }
+    }
+}
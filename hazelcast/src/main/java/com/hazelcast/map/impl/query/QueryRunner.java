@@ -18,6 +18,7 @@ package com.hazelcast.map.impl.query;
 
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.HashUtil;
 import com.hazelcast.internal.util.IterableUtil;
@@ -29,6 +30,7 @@ import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.IndexRegistry;
 import com.hazelcast.query.impl.QueryableEntriesSegment;
@@ -38,6 +40,7 @@ import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.OperationService;
 
 import java.util.Collection;
+import java.util.PrimitiveIterator;
 
 import static com.hazelcast.internal.util.SetUtil.singletonPartitionIdSet;
 
@@ -124,13 +127,67 @@ public class QueryRunner {
      * global index failed.
      */
     public Result runIndexOrPartitionScanQueryOnOwnedPartitions(Query query, boolean doPartitionScan) {
-        int migrationStamp = getMigrationStamp();
-        PartitionIdSet ownedPartitions = mapServiceContext.getCachedOwnedPartitions();
-        PartitionIdSet actualPartitions = query.getPartitionIdSet() != null
+        MapContainer mapContainer = mapServiceContext.getMapContainer(query.getMapName());
+        QueryResultCache queryResultCache = mapContainer.getQueryResultCache();
+        if (queryResultCache == null) {
+            return runIndexOrPartitionScanQuery(query, doPartitionScan, mapContainer);
+        }
+
+        PartitionIdSet partitions = getActualPartitions(query, mapServiceContext.getCachedOwnedPartitions());
+        Data queryData = toCacheKey(query, partitions);
+        if (queryData == null) {
+            return runIndexOrPartitionScanQuery(query, doPartitionScan, mapContainer);
+        }
+
+        // the stamp must be taken before running the query, so the mutations
+        // racing with the query invalidate its result
+        long stamp = queryResultCache.stamp(partitions);
+        Data cachedResult = queryResultCache.get(queryData, partitions, stamp);
+        if (cachedResult != null) {
+            return serializationService.toObject(cachedResult);
+        }
+
+        Result result = runIndexOrPartitionScanQuery(query, doPartitionScan, mapContainer);
+        if (result != null && partitions.equals(result.getPartitionIds())) {
+            queryResultCache.put(queryData, partitions, stamp, serializationService.toData(result));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the serialized query to be used as a key of the query result
+     * cache, or {@code null} if the result of the query on the given
+     * partitions can't be cached.
+     */
+    private Data toCacheKey(Query query, PartitionIdSet partitions) {
+        String mapName = query.getMapName();
+        for (PrimitiveIterator.OfInt iterator = partitions.intIterator(); iterator.hasNext(); ) {
+            RecordStore recordStore = mapServiceContext.getPartitionContainer(iterator.nextInt())
+                    .getExistingRecordStore(mapName);
+            if (recordStore != null && recordStore.isExpirable()) {
+                // the entries may expire without any mutation
+                return null;
+            }
+        }
+
+        try {
+            return serializationService.toData(query);
+        } catch (HazelcastSerializationException e) {
+            // the query is not serializable, it's local
+            return null;
+        }
+    }
+
+    private PartitionIdSet getActualPartitions(Query query, PartitionIdSet ownedPartitions) {
+        return query.getPartitionIdSet() != null
                 ? ownedPartitions.intersectCopy(query.getPartitionIdSet())
                 : ownedPartitions;
+    }
 
-        MapContainer mapContainer = mapServiceContext.getMapContainer(query.getMapName());
+    private Result runIndexOrPartitionScanQuery(Query query, boolean doPartitionScan, MapContainer mapContainer) {
+        int migrationStamp = getMigrationStamp();
+        PartitionIdSet ownedPartitions = mapServiceContext.getCachedOwnedPartitions();
+        PartitionIdSet actualPartitions = getActualPartitions(query, ownedPartitions);
 
         // to optimize the query we need to get any index instance
         IndexRegistry indexRegistry = mapContainer.getGlobalIndexRegistry();
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.impl.query.WorkStealingScanner.ChunkSource;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Implementation of the {@link AccumulationExecutor} that runs the accumulation
+ * on the {@link WorkStealingScanner}. Entries are split into chunks which are
+ * accumulated by the clones of the aggregator, the clones are combined at the
+ * end. A clone is reused by the subsequent chunks once its chunk is done, so
+ * the aggregator is cloned about once per scanner thread rather than once per
+ * chunk.
+ */
+public class WorkStealingAccumulationExecutor implements AccumulationExecutor {
+
+    private final WorkStealingScanner scanner;
+    private final SerializationService serializationService;
+    private final int chunkSize;
+    private final int callTimeoutInMillis;
+
+    public WorkStealingAccumulationExecutor(WorkStealingScanner scanner, SerializationService serializationService,
+                                            int chunkSize, int callTimeoutInMillis) {
+        this.scanner = scanner;
+        this.serializationService = serializationService;
+        this.chunkSize = chunkSize;
+        this.callTimeoutInMillis = callTimeoutInMillis;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public AggregationResult execute(Aggregator aggregator,
+                                     Iterable<QueryableEntry> entries,
+                                     PartitionIdSet partitionIds) {
+        AggregatorPool aggregatorPool = new AggregatorPool(aggregator);
+        ChunkSource<Void> source = chunkConsumer -> {
+            List<QueryableEntry> buffer = new ArrayList<>(chunkSize);
+            for (QueryableEntry entry : entries) {
+                buffer.add(entry);
+                if (buffer.size() == chunkSize) {
+                    chunkConsumer.accept(accumulateTask(aggregatorPool, buffer));
+                    buffer = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!buffer.isEmpty()) {
+                chunkConsumer.accept(accumulateTask(aggregatorPool, buffer));
+            }
+        };
+        scanner.execute(singletonList(source), callTimeoutInMillis);
+
+        Aggregator resultAggregator = clone(aggregator);
+        try {
+            for (Aggregator chunkAggregator : aggregatorPool.all) {
+                chunkAggregator.onAccumulationFinished();
+                resultAggregator.combine(chunkAggregator);
+            }
+        } finally {
+            resultAggregator.onCombinationFinished();
+        }
+
+        AggregationResult result = new AggregationResult(resultAggregator, serializationService);
+        result.setPartitionIds(partitionIds);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Supplier<Void> accumulateTask(AggregatorPool aggregatorPool, List<QueryableEntry> entries) {
+        return () -> {
+            Aggregator chunkAggregator = aggregatorPool.acquire();
+            try {
+                for (QueryableEntry entry : entries) {
+                    chunkAggregator.accumulate(entry);
+                }
+            } finally {
+                aggregatorPool.idle.offer(chunkAggregator);
+            }
+            return null;
+        };
+    }
+
+    private Aggregator clone(Aggregator aggregator) {
+        return serializationService.toObject(serializationService.toData(aggregator));
+    }
+
+    /**
+     * The clones of the aggregator of a single execution, a clone is used by
+     * one chunk at a time.
+     */
+    private final class AggregatorPool {
+
+        private final Aggregator aggregator;
+        private final Queue<Aggregator> idle = new ConcurrentLinkedQueue<>();
+        private final Queue<Aggregator> all = new ConcurrentLinkedQueue<>();
+
+        AggregatorPool(Aggregator aggregator) {
+            this.aggregator = aggregator;
+        }
+
+        Aggregator acquire() {
+            Aggregator chunkAggregator = idle.poll();
+            if (chunkAggregator == null) {
+                chunkAggregator = WorkStealingAccumulationExecutor.this.clone(aggregator);
+                all.add(chunkAggregator);
+            }
+            return chunkAggregator;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.map.impl.query.WorkStealingScanner.ChunkSource;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntriesSegment;
+import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.hazelcast.internal.util.SetUtil.singletonPartitionIdSet;
+
+/**
+ * Implementation of the {@link PartitionScanExecutor} which splits every
+ * partition into chunks and evaluates the chunks on the
+ * {@link WorkStealingScanner}. Unlike when every partition is evaluated
+ * by a single thread, a large partition is evaluated by all idle scanner
+ * threads.
+ */
+public class WorkStealingPartitionScanExecutor implements PartitionScanExecutor {
+
+    private final PartitionScanRunner partitionScanRunner;
+    private final WorkStealingScanner scanner;
+    private final int chunkSize;
+    private final int timeoutInMillis;
+
+    public WorkStealingPartitionScanExecutor(PartitionScanRunner partitionScanRunner,
+                                             WorkStealingScanner scanner,
+                                             int chunkSize,
+                                             int timeoutInMillis) {
+        this.partitionScanRunner = partitionScanRunner;
+        this.scanner = scanner;
+        this.chunkSize = chunkSize;
+        this.timeoutInMillis = timeoutInMillis;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void execute(String mapName, Predicate predicate, Collection<Integer> partitions, Result result) {
+        List<ChunkSource<Result>> sources = new ArrayList<>(partitions.size());
+        for (Integer partitionId : partitions) {
+            sources.add(new PartitionChunkSource(mapName, predicate, partitionId, result));
+        }
+
+        for (Result subResult : scanner.execute(sources, timeoutInMillis)) {
+            result.combine(subResult);
+        }
+
+        if (predicate instanceof PagingPredicateImpl) {
+            PagingPredicateImpl pagingPredicate = (PagingPredicateImpl) predicate;
+            Map.Entry<Integer, Map.Entry> nearestAnchorEntry = pagingPredicate.getNearestAnchorEntry();
+            result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Parallel execution for a partition chunk query is not supported.
+     */
+    @Override
+    public QueryableEntriesSegment execute(
+            String mapName, Predicate predicate, int partitionId,
+            IterationPointer[] pointers, int fetchSize) {
+        return partitionScanRunner.run(mapName, predicate, partitionId, pointers, fetchSize);
+    }
+
+    private final class PartitionChunkSource implements ChunkSource<Result> {
+
+        private final String mapName;
+        private final Predicate predicate;
+        private final int partitionId;
+        private final Result result;
+
+        private PartitionChunkSource(String mapName, Predicate predicate, int partitionId, Result result) {
+            this.mapName = mapName;
+            this.predicate = predicate;
+            this.partitionId = partitionId;
+            this.result = result;
+        }
+
+        @Override
+        public void split(Consumer<Supplier<Result>> chunkConsumer) {
+            partitionScanRunner.forEachChunk(mapName, partitionId, chunkSize,
+                    chunk -> chunkConsumer.accept(() -> runChunk(chunk)));
+        }
+
+        private Result runChunk(PartitionScanChunk chunk) {
+            Result subResult = result.createSubResult();
+            partitionScanRunner.run(mapName, predicate, chunk, subResult);
+            subResult.setPartitionIds(singletonPartitionIdSet(partitionScanRunner.partitionService.getPartitionCount(),
+                    partitionId));
+            return subResult;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.QUERY_SCAN_METRIC_CHUNK_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.QUERY_SCAN_METRIC_CHUNK_MAX_LATENCY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.QUERY_SCAN_METRIC_CHUNK_TOTAL_LATENCY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.QUERY_SCAN_METRIC_STEAL_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.QUERY_SCAN_PREFIX;
+import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static com.hazelcast.internal.util.ThreadUtil.createThreadPoolName;
+import static com.hazelcast.internal.util.ThreadUtil.isRunningOnPartitionThread;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Executes query work split into small chunks on a shared {@link ForkJoinPool}.
+ * <p>
+ * Every {@link ChunkSource} (usually a partition or a list of index matches)
+ * is split by a dedicated task which forks a task per chunk as soon as the
+ * chunk is available. Idle workers steal the forked chunks, so a single large
+ * or skewed source doesn't leave the rest of the workers idle as it would when
+ * whole sources were the unit of work.
+ * <p>
+ * When invoked on a partition thread the work is executed in the calling
+ * thread, since data owned by a partition thread must not be handed over to
+ * other threads.
+ */
+public class WorkStealingScanner {
+
+    private static final String POOL_NAME = "query-scan";
+
+    private final ForkJoinPool pool;
+
+    @Probe(name = QUERY_SCAN_METRIC_CHUNK_COUNT, level = MANDATORY)
+    private final MwCounter chunkCount = newMwCounter();
+    @Probe(name = QUERY_SCAN_METRIC_CHUNK_TOTAL_LATENCY, unit = NS, level = MANDATORY)
+    private final MwCounter chunkTotalLatencyNanos = newMwCounter();
+    @Probe(name = QUERY_SCAN_METRIC_CHUNK_MAX_LATENCY, unit = NS, level = MANDATORY)
+    private final AtomicLong chunkMaxLatencyNanos = new AtomicLong();
+
+    public WorkStealingScanner(String hzName, int parallelism, ClassLoader classLoader) {
+        String threadNamePrefix = createThreadPoolName(hzName, POOL_NAME);
+        AtomicInteger threadIdGen = new AtomicInteger();
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(threadNamePrefix + threadIdGen.incrementAndGet());
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, false);
+    }
+
+    public void provideStaticMetrics(MetricsRegistry registry) {
+        registry.registerStaticMetrics(this, QUERY_SCAN_PREFIX);
+    }
+
+    /**
+     * Returns the number of chunks stolen by a worker other than the one
+     * that split them.
+     */
+    @Probe(name = QUERY_SCAN_METRIC_STEAL_COUNT, level = MANDATORY)
+    public long getStealCount() {
+        return pool.getStealCount();
+    }
+
+    public long getChunkCount() {
+        return chunkCount.get();
+    }
+
+    /**
+     * Splits all given sources into chunks, executes the chunks and returns
+     * the chunk results in the order of the sources and of the chunks within
+     * every source.
+     *
+     * @param sources       the sources of chunks to execute
+     * @param timeoutMillis the maximum time to wait for the results
+     * @param <T>           the type of the chunk result
+     * @return the results of all chunks of all sources
+     * @throws RuntimeException the exception thrown by a chunk or the
+     *                          wrapped timeout
+     */
+    public <T> List<T> execute(Collection<? extends ChunkSource<T>> sources, long timeoutMillis) {
+        if (sources.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        if (isRunningOnPartitionThread()) {
+            return executeInCallingThread(sources);
+        }
+
+        RootTask<T> root = new RootTask<>(sources);
+        if (ForkJoinTask.getPool() == pool) {
+            // already a worker of this pool, join helps executing the chunks
+            return root.invoke();
+        }
+
+        pool.execute(root);
+        try {
+            return root.get(timeoutMillis, MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            root.cancel(false);
+            Thread.currentThread().interrupt();
+            throw rethrow(e);
+        } catch (TimeoutException e) {
+            root.cancel(false);
+            throw rethrow(e);
+        }
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private <T> List<T> executeInCallingThread(Collection<? extends ChunkSource<T>> sources) {
+        List<T> results = new ArrayList<>();
+        for (ChunkSource<T> source : sources) {
+            source.split(chunk -> results.add(runChunk(chunk)));
+        }
+        return results;
+    }
+
+    private <T> T runChunk(Supplier<T> chunk) {
+        long startNanos = System.nanoTime();
+        try {
+            return chunk.get();
+        } finally {
+            long latencyNanos = System.nanoTime() - startNanos;
+            chunkCount.inc();
+            chunkTotalLatencyNanos.inc(latencyNanos);
+            chunkMaxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+        }
+    }
+
+    /**
+     * A unit of work which can be split into independently executable chunks.
+     *
+     * @param <T> the type of the chunk result
+     */
+    @FunctionalInterface
+    public interface ChunkSource<T> {
+
+        /**
+         * Splits the source into chunks and passes every chunk to the given
+         * consumer as soon as it is available. The consumer may start
+         * executing a chunk before the source is completely split.
+         *
+         * @param chunkConsumer consumer of the chunks
+         */
+        void split(Consumer<Supplier<T>> chunkConsumer);
+    }
+
+    private final class RootTask<T> extends RecursiveTask<List<T>> {
+
+        private final Collection<? extends ChunkSource<T>> sources;
+
+        RootTask(Collection<? extends ChunkSource<T>> sources) {
+            this.sources = sources;
+        }
+
+        @Override
+        protected List<T> compute() {
+            List<SourceTask<T>> sourceTasks = new ArrayList<>(sources.size());
+            for (ChunkSource<T> source : sources) {
+                SourceTask<T> sourceTask = new SourceTask<>(this, source);
+                sourceTask.fork();
+                sourceTasks.add(sourceTask);
+            }
+
+            List<T> results = new ArrayList<>();
+            for (SourceTask<T> sourceTask : sourceTasks) {
+                results.addAll(sourceTask.join());
+            }
+            return results;
+        }
+    }
+
+    private final class SourceTask<T> extends RecursiveTask<List<T>> {
+
+        private final RootTask<T> root;
+        private final ChunkSource<T> source;
+
+        SourceTask(RootTask<T> root, ChunkSource<T> source) {
+            this.root = root;
+            this.source = source;
+        }
+
+        @Override
+        protected List<T> compute() {
+            List<ChunkTask<T>> chunkTasks = new ArrayList<>();
+            source.split(chunk -> {
+                if (root.isDone()) {
+                    // the caller gave up waiting, stop producing chunks
+                    throw new CancellationException();
+                }
+                ChunkTask<T> chunkTask = new ChunkTask<>(root, chunk);
+                chunkTask.fork();
+                chunkTasks.add(chunkTask);
+            });
+
+            List<T> results = new ArrayList<>(chunkTasks.size());
+            for (ChunkTask<T> chunkTask : chunkTasks) {
+                results.add(chunkTask.join());
+            }
+            return results;
+        }
+    }
+
+    private final class ChunkTask<T> extends RecursiveTask<T> {
+
+        private final RootTask<T> root;
+        private final Supplier<T> chunk;
+
+        ChunkTask(RootTask<T> root, Supplier<T> chunk) {
+            this.root = root;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected T compute() {
+            if (root.isDone()) {
+                throw new CancellationException();
+            }
+            return runChunk(chunk);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.impl.OffHeapDataBlock;
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * A record whose value payload lives outside the Java heap once it has
+ * been put into an off-heap backed storage. Only the record metadata
+ * stays on-heap, every {@link #getValue()} call returns a fresh on-heap
+ * copy of the stored value. The copy is the price of the smaller heap, a
+ * read costs an allocation of the size of the value.
+ * <p>
+ * The record is mutated on the partition thread, but its value can be read
+ * concurrently by other threads, e.g. by queries or by readers of backup
+ * data. The off-heap block of the value is reference counted: a reader
+ * acquires the current block before copying it, and a block replaced by a
+ * mutation is freed only once the last reader released it.
+ * <p>
+ * A new value set by {@link #setValue} is kept on-heap until the owning
+ * storage calls {@link #moveOffHeap}. This lets the record be used before
+ * it is put into storage, e.g. by post-processing map stores.
+ */
+public class OffHeapDataRecord extends AbstractRecord<Data> {
+
+    private static final AtomicReferenceFieldUpdater<OffHeapDataRecord, OffHeapDataBlock> BLOCK =
+            AtomicReferenceFieldUpdater.newUpdater(OffHeapDataRecord.class, OffHeapDataBlock.class, "block");
+
+    private volatile Data heapValue;
+    private volatile OffHeapDataBlock block;
+
+    public OffHeapDataRecord() {
+    }
+
+    public OffHeapDataRecord(Data value) {
+        setValue(value);
+    }
+
+    @Override
+    public Data getValue() {
+        Data value = heapValue;
+        if (value != null) {
+            return value;
+        }
+
+        for (;;) {
+            OffHeapDataBlock current = block;
+            if (current == null) {
+                return null;
+            }
+            if (current.acquire()) {
+                try {
+                    return current.copy();
+                } finally {
+                    current.release();
+                }
+            }
+            // the block was replaced and freed meanwhile, read the new one
+        }
+    }
+
+    @Override
+    public void setValue(Data value) {
+        heapValue = value;
+    }
+
+    /**
+     * Copies the pending on-heap value into a newly allocated off-heap
+     * block and releases the previous block, if any.
+     *
+     * @param malloc allocator owning the off-heap blocks of this record
+     */
+    public void moveOffHeap(MemoryAllocator malloc) {
+        Data value = heapValue;
+        if (value == null) {
+            return;
+        }
+
+        // the new block is published before the heap value is dropped,
+        // so a concurrent reader always finds one of them
+        swapBlock(new OffHeapDataBlock(malloc, value.toByteArray()));
+        heapValue = null;
+    }
+
+    /**
+     * Releases the off-heap block of this record.
+     *
+     * @param retainValue {@code true} to copy the value back on-heap first, so
+     *                    callers still holding a removed record can read it
+     */
+    public void freeOffHeap(boolean retainValue) {
+        if (retainValue && heapValue == null) {
+            heapValue = getValue();
+        }
+        swapBlock(null);
+    }
+
+    private void swapBlock(OffHeapDataBlock newBlock) {
+        OffHeapDataBlock oldBlock = BLOCK.getAndSet(this, newBlock);
+        if (oldBlock != null) {
+            oldBlock.release();
+        }
+    }
+
+    /**
+     * @return {@code true} if the value of this record is held off-heap
+     */
+    public boolean isOffHeap() {
+        return heapValue == null && block != null;
+    }
+
+    /**
+     * @return number of off-heap bytes occupied by this record
+     */
+    public long getOffHeapCost() {
+        OffHeapDataBlock current = block;
+        return current == null ? 0L : current.size();
+    }
+
+    /**
+     * Get record size in bytes, including its off-heap block.
+     */
+    @Override
+    public long getCost() {
+        Data value = heapValue;
+        long offHeapCost = getOffHeapCost();
+        return super.getCost() + 2 * REFERENCE_COST_IN_BYTES
+                + (value == null ? 0L : value.getHeapCost())
+                + (offHeapCost > 0 ? OffHeapDataBlock.COST_IN_BYTES + offHeapCost : 0L);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        OffHeapDataRecord that = (OffHeapDataRecord) o;
+        Data value = getValue();
+        return value == null ? that.getValue() == null : value.equals(that.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+        Data value = getValue();
+        int result = super.hashCode();
+        result = 31 * result + (value == null ? 0 : value.hashCode());
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapDataRecord{"
+                + "value=" + getValue()
+                + ", offHeapCost=" + getOffHeapCost()
+                + ", " + super.toString()
+                + "} ";
+    }
+}
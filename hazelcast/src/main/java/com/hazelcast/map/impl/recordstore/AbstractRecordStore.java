@@ -37,12 +37,15 @@ import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.MapStoreWrapper;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
+import com.hazelcast.map.impl.query.QueryResultCache;
 import com.hazelcast.map.impl.record.DataRecordFactory;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
+import com.hazelcast.map.impl.record.OffHeapDataRecordFactory;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.record.RecordReaderWriter;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.wan.impl.CallerProvenance;
 
 import javax.annotation.Nonnull;
@@ -89,7 +92,9 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         MapConfig mapConfig = mapContainer.getMapConfig();
         switch (mapConfig.getInMemoryFormat()) {
             case BINARY:
-                return new DataRecordFactory(mapContainer, serializationService);
+                return OffHeapStorage.isOffHeapStorageEnabled(mapContainer)
+                        ? new OffHeapDataRecordFactory(serializationService)
+                        : new DataRecordFactory(mapContainer, serializationService);
             case OBJECT:
                 return new ObjectRecordFactory(mapContainer, serializationService);
             default:
@@ -130,6 +135,32 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         // Add observer for indexing
         indexingObserver = new IndexingMutationObserver<>(this, serializationService);
         mutationObserver.add(indexingObserver);
+
+        // Add observer for query result cache
+        QueryResultCache queryResultCache = mapContainer.getQueryResultCache();
+        if (queryResultCache != null) {
+            mutationObserver.add(new QueryResultCacheMutationObserver(queryResultCache, partitionId));
+        }
+
+        // Add observer for the keys mutated during an incremental migration
+        if (mapServiceContext.getNodeEngine().getProperties()
+                .getBoolean(ClusterProperty.PARTITION_INCREMENTAL_MIGRATION_ENABLED)) {
+            mutationObserver.add(new MigrationMutationObserver(mapContainer, partitionId));
+        }
+    }
+
+    /**
+     * Advances the query result cache stamp of this partition. Must be called
+     * after the storage changes whose mutation observers are notified before
+     * the change. Otherwise, a query racing with the change could read the
+     * stamp advanced by the observer, scan the storage before the change and
+     * cache a stale result under that stamp.
+     */
+    protected void advanceQueryResultCacheStamp() {
+        QueryResultCache queryResultCache = mapContainer.getQueryResultCache();
+        if (queryResultCache != null) {
+            queryResultCache.onMutation(partitionId);
+        }
     }
 
     public IndexingMutationObserver<Record> getIndexingObserver() {
@@ -175,6 +206,9 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     }
 
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (recordFactory instanceof OffHeapDataRecordFactory) {
+            return new OffHeapStorage(getExpirySystem(), serializationService);
+        }
         return new StorageImpl(memoryFormat, getExpirySystem(), serializationService);
     }
 
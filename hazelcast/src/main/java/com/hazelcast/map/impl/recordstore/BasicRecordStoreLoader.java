@@ -214,6 +214,10 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
     private List<Data> loadAndGet(List<Data> keys) {
         try {
             Map entries = mapDataStore.loadAll(keys);
+            if (entries != null && !entries.isEmpty()) {
+                mapServiceContext.getLocalMapStatsProvider().getLocalMapStatsImpl(name)
+                        .incrementLoadedEntries(entries.size());
+            }
             return getLoadingSequence(entries);
         } catch (Throwable t) {
             logger.warning("Could not load keys from map store", t);
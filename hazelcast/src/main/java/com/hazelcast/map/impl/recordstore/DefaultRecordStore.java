@@ -594,6 +594,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         }
         removeKeyFromExpirySystem(dataKey);
         storage.removeRecord(dataKey, record);
+        advanceQueryResultCacheStamp();
 
         if (wanReplicateEvictions && eviction) {
             mapEventPublisher.publishWanRemove(name, toHeapData(dataKey));
@@ -610,6 +611,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             mutationObserver.onEvictRecord(key, record, backup);
             removeKeyFromExpirySystem(key);
             storage.removeRecord(key, record);
+            advanceQueryResultCacheStamp();
             if (!backup) {
                 mapServiceContext.interceptRemove(interceptorRegistry, value);
             }
@@ -1121,6 +1123,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         newValue = mapDataStore.add(key, newValue, expirationTime, now, transactionId);
         if (mapDataStore.isPostProcessingMapStore()) {
             storage.updateRecordValue(key, record, newValue);
+            advanceQueryResultCacheStamp();
         }
         onStore(record);
         return newValue;
@@ -1332,6 +1335,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         mutationObserver.onRemoveRecord(key, record, backup);
         removeKeyFromExpirySystem(key);
         storage.removeRecord(key, record);
+        advanceQueryResultCacheStamp();
     }
 
     public void removeByKey(Data key, boolean backup) {
@@ -1495,16 +1499,17 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     }
 
     @Override
-    public void loadAllFromStore(List<Data> keys,
-                                 boolean replaceExistingValues) {
-        if (!keys.isEmpty()) {
-            Future<?> f = recordStoreLoader.loadValues(keys, replaceExistingValues);
-            addLoadingFuture(f);
-        }
-
+    public Future<?> loadAllFromStore(List<Data> keys,
+                                      boolean replaceExistingValues) {
         // We should not track key loading here. IT's not key loading but values loading.
         // Apart from that it's irrelevant for RECEIVER nodes. SENDER and SENDER_BACKUP will track the key-loading anyway.
         // Fixes https://github.com/hazelcast/hazelcast/issues/9255
+        if (keys.isEmpty()) {
+            return null;
+        }
+        Future<?> f = recordStoreLoader.loadValues(keys, replaceExistingValues);
+        addLoadingFuture(f);
+        return f;
     }
 
     @Override
@@ -1609,6 +1614,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             mapDataStore.reset();
             expirySystem.clear();
             storage.clear(false);
+            advanceQueryResultCacheStamp();
             stats.reset();
         }
     }
@@ -1651,6 +1657,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         destroyMetadataStore();
         // Destroy storage in the end
         storage.destroy(isDuringShutdown);
+        advanceQueryResultCacheStamp();
     }
 
     /**
@@ -1672,6 +1679,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         } finally {
             expirySystem.clear();
             storage.clear(isDuringShutdown);
+            advanceQueryResultCacheStamp();
         }
     }
 
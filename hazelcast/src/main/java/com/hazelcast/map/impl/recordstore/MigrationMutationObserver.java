@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.partition.InternalPartition;
+import com.hazelcast.internal.partition.InternalPartitionService;
+import com.hazelcast.internal.partition.PartitionMutationTracker;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.services.ObjectNamespace;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.record.Record;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Records the keys mutated while the observed partition is migrated
+ * incrementally to the {@link PartitionMutationTracker} of the partition.
+ * The tracker knows the key of an operation only, this observer records
+ * also the keys mutated as a side effect, e.g. evicted or loaded ones.
+ *
+ * @see com.hazelcast.spi.properties.ClusterProperty#PARTITION_INCREMENTAL_MIGRATION_ENABLED
+ */
+public class MigrationMutationObserver implements MutationObserver<Record> {
+
+    private final InternalPartitionService partitionService;
+    private final ObjectNamespace namespace;
+    private final int partitionId;
+
+    public MigrationMutationObserver(MapContainer mapContainer, int partitionId) {
+        this.partitionService = (InternalPartitionService) mapContainer.getMapServiceContext()
+                .getNodeEngine().getPartitionService();
+        this.namespace = mapContainer.getObjectNamespace();
+        this.partitionId = partitionId;
+    }
+
+    @Override
+    public void onPutRecord(@Nonnull Data key, Record record, Object oldValue, boolean backup) {
+        onKeyMutated(key);
+    }
+
+    @Override
+    public void onReplicationPutRecord(@Nonnull Data key, @Nonnull Record record, boolean populateIndex) {
+        onKeyMutated(key);
+    }
+
+    @Override
+    public void onUpdateRecord(@Nonnull Data key, @Nonnull Record record,
+                               Object oldValue, Object newValue, boolean backup) {
+        onKeyMutated(key);
+    }
+
+    @Override
+    public void onRemoveRecord(@Nonnull Data key, Record record, boolean backup) {
+        onKeyMutated(key);
+    }
+
+    @Override
+    public void onEvictRecord(@Nonnull Data key, @Nonnull Record record, boolean backup) {
+        onKeyMutated(key);
+    }
+
+    @Override
+    public void onLoadRecord(@Nonnull Data key, @Nonnull Record record, boolean backup) {
+        onKeyMutated(key);
+    }
+
+    @Override
+    public void onReset() {
+        onNamespaceMutated();
+    }
+
+    @Override
+    public void onClear() {
+        onNamespaceMutated();
+    }
+
+    @Override
+    public void onDestroy(boolean isDuringShutdown, boolean internal) {
+        onNamespaceMutated();
+    }
+
+    private void onKeyMutated(Data key) {
+        PartitionMutationTracker tracker = getMutationTracker();
+        if (tracker != null) {
+            tracker.onKeyMutated(namespace, key);
+        }
+    }
+
+    private void onNamespaceMutated() {
+        PartitionMutationTracker tracker = getMutationTracker();
+        if (tracker != null) {
+            tracker.onNamespaceMutated(namespace);
+        }
+    }
+
+    private PartitionMutationTracker getMutationTracker() {
+        InternalPartition partition = partitionService.getPartition(partitionId, false);
+        return partition.getMutationTracker();
+    }
+}
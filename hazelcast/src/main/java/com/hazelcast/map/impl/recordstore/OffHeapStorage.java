@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryAllocator;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.record.OffHeapDataRecord;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.spi.properties.ClusterProperty;
+
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+import java.util.Map;
+
+import static com.hazelcast.config.InMemoryFormat.BINARY;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+
+/**
+ * {@link Storage} of {@link com.hazelcast.config.InMemoryFormat#BINARY}
+ * maps which keeps record values outside the Java heap.
+ * <p>
+ * Keys, record metadata and the index used for sampling based eviction,
+ * expiry and iteration stay in the on-heap {@link StorageSCHM}, while value
+ * payloads of the stored {@link OffHeapDataRecord}s are allocated with an
+ * {@link UnsafeMemoryAllocator}. The blocks are allocated and released on
+ * the partition thread, while the values can be read from any thread: the
+ * blocks are reference counted, so a block replaced or removed during a
+ * read is freed only after the read.
+ * <p>
+ * The off-heap blocks are included in the cost of the records, so they are
+ * reported in the owned entry memory cost of the map. The used native
+ * memory can be bounded with {@link ClusterProperty#MAP_OFF_HEAP_STORAGE_MAX_SIZE_IN_MB}.
+ *
+ * @param <R> the value type to be put in this storage.
+ * @see com.hazelcast.config.MapConfig#setOffHeapStorageEnabled
+ */
+public class OffHeapStorage<R extends Record> extends StorageImpl<R> {
+
+    private final UnsafeMemoryAllocator malloc = new UnsafeMemoryAllocator();
+    private final SerializationService serializationService;
+
+    OffHeapStorage(ExpirySystem expirySystem, SerializationService serializationService) {
+        super(BINARY, expirySystem, serializationService);
+        this.serializationService = serializationService;
+    }
+
+    /**
+     * @return {@code true} if records of the given map are stored by an
+     * {@link OffHeapStorage}. If the native memory can't be accessed on this
+     * JVM, the records are stored on-heap even if the off-heap storage is
+     * enabled in the map config.
+     */
+    public static boolean isOffHeapStorageEnabled(MapContainer mapContainer) {
+        MapConfig mapConfig = mapContainer.getMapConfig();
+        return mapConfig.getInMemoryFormat() == BINARY
+                && mapConfig.isOffHeapStorageEnabled()
+                && UNSAFE_AVAILABLE && MEM_AVAILABLE;
+    }
+
+    @Override
+    public void put(Data key, R record) {
+        R previousRecord = get(key);
+
+        asOffHeapRecord(record).moveOffHeap(malloc);
+        super.put(key, record);
+
+        if (previousRecord != null && previousRecord != record) {
+            asOffHeapRecord(previousRecord).freeOffHeap(true);
+        }
+    }
+
+    @Override
+    public R updateRecordValue(Data key, R record, Object value) {
+        if (get(key) != record) {
+            // not stored yet, value is moved off-heap by put
+            return super.updateRecordValue(key, record, value);
+        }
+
+        updateCostEstimate(-getEntryCostEstimator().calculateValueCost(record));
+
+        record.setValue(serializationService.toData(value));
+        asOffHeapRecord(record).moveOffHeap(malloc);
+
+        updateCostEstimate(getEntryCostEstimator().calculateValueCost(record));
+        return record;
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, @Nonnull R record) {
+        super.removeRecord(dataKey, record);
+
+        asOffHeapRecord(record).freeOffHeap(true);
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        Iterator<Map.Entry<Data, R>> iterator = mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            asOffHeapRecord(iterator.next().getValue()).freeOffHeap(false);
+        }
+
+        super.clear(isDuringShutdown);
+    }
+
+    /**
+     * @return number of off-heap bytes used by this storage
+     */
+    public long getUsedOffHeapMemory() {
+        return malloc.getUsedMemory();
+    }
+
+    private static OffHeapDataRecord asOffHeapRecord(Record record) {
+        return (OffHeapDataRecord) record;
+    }
+}
@@ -51,6 +51,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 
 /**
@@ -594,9 +595,11 @@ public interface RecordStore<R extends Record> {
      * @param keys                  the keys for which values will be loaded
      * @param replaceExistingValues if the existing entries for the keys should
      *                              be replaced with the loaded values
+     * @return the future representing pending completion of the value loading
+     * task or {@code null} if there are no keys to load
      */
-    void loadAllFromStore(List<Data> keys,
-                          boolean replaceExistingValues);
+    Future<?> loadAllFromStore(List<Data> keys,
+                               boolean replaceExistingValues);
 
     /**
      * Advances the state of the map key loader for this partition and sets the key
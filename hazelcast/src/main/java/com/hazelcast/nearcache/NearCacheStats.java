@@ -60,6 +60,19 @@ public interface NearCacheStats extends LocalInstanceStats {
      */
     long getEvictions();
 
+    /**
+     * Returns the number of fetched entries which were not admitted into the
+     * full Near Cache since they were estimated to be accessed less frequently
+     * than the entries they would have replaced.
+     * <p>
+     * Only the {@link com.hazelcast.config.EvictionPolicy#TINY_LFU} eviction
+     * policy rejects entries, it is always zero for the other policies.
+     *
+     * @return number of entries rejected by the Near Cache admission policy
+     * @since 5.5
+     */
+    long getAdmissionRejections();
+
     /**
      * @return number of TTL and max-idle expirations of Near Cache entries owned by this member
      */
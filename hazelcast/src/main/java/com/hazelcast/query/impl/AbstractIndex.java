@@ -32,7 +32,9 @@ import com.hazelcast.query.impl.getters.MultiResult;
 import com.hazelcast.query.impl.predicates.PredicateDataSerializerHook;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import static com.hazelcast.internal.util.SetUtil.createHashSet;
@@ -60,6 +62,7 @@ public abstract class AbstractIndex implements InternalIndex {
     protected final IndexCopyBehavior copyBehavior;
 
     private final String[] components;
+    private final String[] coveredAttributes;
     private final IndexConfig config;
     private final boolean ordered;
     private final PerIndexStats stats;
@@ -78,6 +81,7 @@ public abstract class AbstractIndex implements InternalIndex {
             int partitionId) {
         this.config = config;
         this.components = IndexUtils.getComponents(config);
+        this.coveredAttributes = coveredAttributes(components, config);
         this.ordered = config.getType() == IndexType.SORTED;
         this.ss = ss;
         this.extractors = extractors;
@@ -86,6 +90,22 @@ public abstract class AbstractIndex implements InternalIndex {
         this.stats = stats;
     }
 
+    /**
+     * Returns the attributes whose values are stored alongside the entries of
+     * the index, or {@code null} if the index has no included attributes.
+     */
+    private static String[] coveredAttributes(String[] components, IndexConfig config) {
+        List<String> includedAttributes = config.getIncludedAttributes();
+        if (includedAttributes.isEmpty()) {
+            return null;
+        }
+        String[] attributes = Arrays.copyOf(components, components.length + includedAttributes.size());
+        for (int i = 0; i < includedAttributes.size(); i++) {
+            attributes[components.length + i] = includedAttributes.get(i);
+        }
+        return attributes;
+    }
+
     protected abstract IndexStore createIndexStore(Node node, IndexConfig config,
                                                    PerIndexStats stats, String mapName, int partitionId);
 
@@ -133,6 +153,9 @@ public abstract class AbstractIndex implements InternalIndex {
         }
 
         Object newAttributeValue = extractAttributeValue(newEntry);
+        if (coveredAttributes != null) {
+            entryToStore = CoveringQueryableEntry.cover(entryToStore, newEntry, coveredAttributes);
+        }
         if (oldEntry == null) {
             indexStore.insert(newAttributeValue, newEntry, entryToStore, operationStats);
             stats.onInsert(timestamp, operationStats, operationSource);
@@ -0,0 +1,883 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+import static com.hazelcast.query.impl.OrderedIndexStore.DATA_COMPARATOR;
+import static com.hazelcast.query.impl.OrderedIndexStore.SPECIAL_AWARE_COMPARATOR;
+
+/**
+ * A concurrent B+tree mapping {@code (value, key)} pairs to queryable entries,
+ * ordered by the value first and by the key second.
+ * <p>
+ * Readers never block and never write to shared memory: every node carries a
+ * version which is odd while the node is being modified, readers descend the
+ * tree optimistically validating the version of each node after reading it
+ * (optimistic lock coupling) and restart from the root if a concurrent
+ * modification is detected. Range scans copy a leaf worth of entries at a time
+ * and re-descend from the last returned pair, so they are weakly consistent,
+ * like the iterators of concurrent collections are.
+ * <p>
+ * Writers are serialized by a mutex and bump the versions of all the nodes they
+ * modify. Nodes are freed when they become empty instead of being merged when
+ * they become half-full, the tree stays balanced and the utilization stays
+ * reasonable under random deletions while the write path stays simple.
+ * <p>
+ * An entry costs three array slots in a leaf; no objects are allocated on
+ * inserts and removals besides the nodes created by splits.
+ */
+@SuppressWarnings("rawtypes")
+final class BPlusTree {
+
+    static final int LEAF_CAPACITY = 64;
+    static final int INNER_CAPACITY = 64;
+
+    // 64^16 entries can't be addressed anyway
+    private static final int MAX_HEIGHT = 16;
+
+    private static final VarHandle VERSION;
+
+    static {
+        try {
+            VERSION = MethodHandles.lookup().findVarHandle(Node.class, "version", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // the descent path of the writer, guarded by the write lock
+    private final Inner[] pathNodes = new Inner[MAX_HEIGHT];
+    private final int[] pathIndexes = new int[MAX_HEIGHT];
+
+    // the layout of an overflowing inner node, guarded by the write lock
+    private final Comparable[] scratchValues = new Comparable[INNER_CAPACITY + 1];
+    private final Data[] scratchKeys = new Data[INNER_CAPACITY + 1];
+    private final Node[] scratchChildren = new Node[INNER_CAPACITY + 2];
+
+    private volatile Node root = new Leaf();
+
+    /**
+     * Associates the given entry with the given value.
+     *
+     * @return the entry previously associated with the given value and the
+     * key of the given entry, {@code null} if there was none.
+     */
+    QueryableEntry put(Comparable value, QueryableEntry entry) {
+        Data key = entry.getKeyData();
+        writeLock.lock();
+        try {
+            int height = descendForUpdate(value, key);
+            Leaf leaf = (Leaf) (height == 0 ? root : pathNodes[height - 1].children[pathIndexes[height - 1]]);
+
+            int index = leaf.search(value, key);
+            if (index >= 0) {
+                QueryableEntry previous = leaf.entries[index];
+                leaf.beginWrite();
+                leaf.entries[index] = entry;
+                leaf.endWrite();
+                return previous;
+            }
+            index = -index - 1;
+
+            if (leaf.size < LEAF_CAPACITY) {
+                leaf.beginWrite();
+                leaf.insert(index, value, key, entry);
+                leaf.endWrite();
+                return null;
+            }
+
+            split(leaf, index, value, key, entry, height);
+            return null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the association of an entry having the given key with the given
+     * value.
+     *
+     * @return the removed entry, {@code null} if there was none.
+     */
+    QueryableEntry remove(Comparable value, Data key) {
+        writeLock.lock();
+        try {
+            int height = descendForUpdate(value, key);
+            Leaf leaf = (Leaf) (height == 0 ? root : pathNodes[height - 1].children[pathIndexes[height - 1]]);
+
+            int index = leaf.search(value, key);
+            if (index < 0) {
+                return null;
+            }
+            QueryableEntry removed = leaf.entries[index];
+
+            if (leaf.size > 1 || height == 0) {
+                leaf.beginWrite();
+                leaf.delete(index);
+                leaf.endWrite();
+            } else {
+                unlink(leaf, height);
+            }
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes all the entries from this tree.
+     */
+    void clear() {
+        writeLock.lock();
+        try {
+            Node oldRoot = root;
+            root = new Leaf();
+            // force the readers still descending the old tree to restart
+            oldRoot.beginWrite();
+            oldRoot.endWrite();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Copies the entries associated with the given value to the given map.
+     */
+    void copyEntries(Comparable value, Map<Data, QueryableEntry> result) {
+        Scan scan = new Scan(value, null, -1, true, true);
+        while (scan.hasCurrent() && SPECIAL_AWARE_COMPARATOR.compare(scan.value(), value) == 0) {
+            result.put(scan.key(), scan.entry());
+            scan.skip();
+        }
+    }
+
+    /**
+     * Copies the entries associated with the values of the given range to the
+     * given map. The bounds are inclusive or exclusive as specified and may
+     * be {@code null} to leave the respective side unbounded.
+     */
+    void copyEntries(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive,
+                     Map<Data, QueryableEntry> result) {
+        Scan scan = from == null ? new Scan(null, null, 0, false, true) : new Scan(from, null, fromInclusive ? -1 : 1,
+                false, true);
+        while (scan.hasCurrent() && !beyond(scan.value(), to, toInclusive, true)) {
+            result.put(scan.key(), scan.entry());
+            scan.skip();
+        }
+    }
+
+    /**
+     * Returns an iterator over the entries associated with the values of the
+     * given range grouped by the values.
+     *
+     * @param from          the lower bound or {@code null} if unbounded.
+     * @param fromInclusive {@code true} if the lower bound is inclusive.
+     * @param to            the upper bound or {@code null} if unbounded.
+     * @param toInclusive   {@code true} if the upper bound is inclusive.
+     * @param descending    {@code true} to iterate in the descending order.
+     * @param lastKey       the key of the last entry returned by the previous
+     *                      iteration for the starting bound, the iteration
+     *                      resumes after it; {@code null} to start from the
+     *                      starting bound.
+     */
+    Iterator<IndexKeyEntries> iterator(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive,
+                                       boolean descending, Data lastKey) {
+        Scan scan;
+        if (descending) {
+            if (to == null) {
+                scan = new Scan(POSITIVE_INFINITY, null, 0, false, false);
+            } else {
+                scan = new Scan(to, lastKey, toInclusive ? 1 : -1, false, false);
+            }
+            return new GroupIterator(scan, from, fromInclusive, false);
+        } else {
+            if (from == null) {
+                scan = new Scan(null, null, 0, false, true);
+            } else {
+                scan = new Scan(from, lastKey, fromInclusive ? -1 : 1, false, true);
+            }
+            return new GroupIterator(scan, to, toInclusive, true);
+        }
+    }
+
+    private static boolean beyond(Comparable value, Comparable bound, boolean boundInclusive, boolean ascending) {
+        if (bound == null) {
+            return false;
+        }
+        int order = SPECIAL_AWARE_COMPARATOR.compare(value, bound);
+        if (order == 0) {
+            return !boundInclusive;
+        }
+        return ascending ? order > 0 : order < 0;
+    }
+
+    /**
+     * Compares the given pair with the given cursor. A {@code null} cursor key
+     * stands for a key ordered before ({@code keyBound < 0}) or after ({@code
+     * keyBound > 0}) all the keys of the cursor value.
+     */
+    private static int compare(Comparable value, Data key, Comparable cursorValue, Data cursorKey, int keyBound) {
+        int order = SPECIAL_AWARE_COMPARATOR.compare(value, cursorValue);
+        if (order != 0) {
+            return order;
+        }
+        return cursorKey == null ? -keyBound : DATA_COMPARATOR.compare(key, cursorKey);
+    }
+
+    // --- writer side
+
+    /**
+     * Descends to the leaf responsible for the given pair recording the path in
+     * {@link #pathNodes} and {@link #pathIndexes}.
+     *
+     * @return the number of inner nodes on the path.
+     */
+    private int descendForUpdate(Comparable value, Data key) {
+        Node node = root;
+        int height = 0;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int index = inner.childIndex(value, key);
+            pathNodes[height] = inner;
+            pathIndexes[height] = index;
+            ++height;
+            node = inner.children[index];
+        }
+        return height;
+    }
+
+    private void split(Leaf leaf, int index, Comparable value, Data key, QueryableEntry entry, int height) {
+        Leaf right = new Leaf();
+        int half = LEAF_CAPACITY / 2;
+
+        leaf.beginWrite();
+        leaf.moveUpperHalf(right, half);
+        if (index <= half) {
+            leaf.insert(index, value, key, entry);
+        } else {
+            right.insert(index - half, value, key, entry);
+        }
+        insertChild(leaf, right, right.values[0], right.keys[0], height);
+        leaf.endWrite();
+    }
+
+    /**
+     * Inserts the given right sibling of the given node into the parent of
+     * the node. The node itself is being modified by the caller.
+     */
+    private void insertChild(Node node, Node right, Comparable separatorValue, Data separatorKey, int height) {
+        if (height == 0) {
+            Inner newRoot = new Inner();
+            newRoot.children[0] = node;
+            newRoot.insert(0, separatorValue, separatorKey, right);
+            root = newRoot;
+            return;
+        }
+
+        Inner parent = pathNodes[height - 1];
+        int index = pathIndexes[height - 1];
+        parent.beginWrite();
+        if (parent.size < INNER_CAPACITY) {
+            parent.insert(index, separatorValue, separatorKey, right);
+        } else {
+            // lay out the overflowing node in the scratch space and split it,
+            // the separator at the split point moves up to the grandparent
+            System.arraycopy(parent.values, 0, scratchValues, 0, INNER_CAPACITY);
+            System.arraycopy(parent.keys, 0, scratchKeys, 0, INNER_CAPACITY);
+            System.arraycopy(parent.children, 0, scratchChildren, 0, INNER_CAPACITY + 1);
+            System.arraycopy(scratchValues, index, scratchValues, index + 1, INNER_CAPACITY - index);
+            System.arraycopy(scratchKeys, index, scratchKeys, index + 1, INNER_CAPACITY - index);
+            System.arraycopy(scratchChildren, index + 1, scratchChildren, index + 2, INNER_CAPACITY - index);
+            scratchValues[index] = separatorValue;
+            scratchKeys[index] = separatorKey;
+            scratchChildren[index + 1] = right;
+
+            int half = (INNER_CAPACITY + 1) / 2;
+            Inner parentRight = new Inner();
+            parentRight.fill(scratchValues, scratchKeys, scratchChildren, half + 1, INNER_CAPACITY - half);
+            parent.fill(scratchValues, scratchKeys, scratchChildren, 0, half);
+            insertChild(parent, parentRight, scratchValues[half], scratchKeys[half], height - 1);
+
+            Arrays.fill(scratchValues, null);
+            Arrays.fill(scratchKeys, null);
+            Arrays.fill(scratchChildren, null);
+        }
+        parent.endWrite();
+    }
+
+    /**
+     * Removes the given node, which is about to become empty, from the tree.
+     */
+    private void unlink(Node node, int height) {
+        node.beginWrite();
+        if (height == 0) {
+            root = new Leaf();
+            node.endWrite();
+            return;
+        }
+
+        Inner parent = pathNodes[height - 1];
+        int index = pathIndexes[height - 1];
+        if (parent.size == 0) {
+            // the node is the only child of the parent
+            unlink(parent, height - 1);
+        } else {
+            parent.beginWrite();
+            parent.deleteChild(index);
+            parent.endWrite();
+            collapseRoot();
+        }
+        node.endWrite();
+    }
+
+    private void collapseRoot() {
+        Node node = root;
+        while (node instanceof Inner && ((Inner) node).size == 0) {
+            Node child = ((Inner) node).children[0];
+            root = child;
+            node.beginWrite();
+            node.endWrite();
+            node = child;
+        }
+    }
+
+    // --- reader side
+
+    /**
+     * Finds the pairs following the given cursor in the given direction within
+     * a single leaf.
+     *
+     * @param cursorValue the value of the cursor; for ascending scans {@code
+     *                    null} precedes all the values.
+     * @param cursorKey   the key of the cursor, may be {@code null}.
+     * @param keyBound    the ordering of a {@code null} cursor key.
+     * @param inclusive   {@code true} if a pair equal to the cursor follows it.
+     * @param ascending   the direction.
+     */
+    @SuppressWarnings({"checkstyle:CyclomaticComplexity", "checkstyle:NPathComplexity"})
+    private Batch seek(Comparable cursorValue, Data cursorKey, int keyBound, boolean inclusive, boolean ascending) {
+        restart:
+        for (;;) {
+            Node node = root;
+            long version = node.awaitStable();
+            Comparable fenceValue = null;
+            Data fenceKey = null;
+            boolean hasFence = false;
+            try {
+                while (node instanceof Inner) {
+                    Inner inner = (Inner) node;
+                    int size = inner.size;
+                    // a pair equal to a separator lives in the child to the right
+                    // of it, so only descending inclusive seeks go there
+                    int index = inner.seekIndex(size, cursorValue, cursorKey, keyBound, !ascending && inclusive,
+                            ascending);
+                    if (ascending && index < size) {
+                        fenceValue = inner.values[index];
+                        fenceKey = inner.keys[index];
+                        hasFence = true;
+                    } else if (!ascending && index > 0) {
+                        fenceValue = inner.values[index - 1];
+                        fenceKey = inner.keys[index - 1];
+                        hasFence = true;
+                    }
+                    Node child = inner.children[index];
+                    long childVersion = child.awaitStable();
+                    if (!inner.validate(version)) {
+                        continue restart;
+                    }
+                    node = child;
+                    version = childVersion;
+                }
+
+                Batch batch = ((Leaf) node).copy(cursorValue, cursorKey, keyBound, inclusive, ascending);
+                if (!node.validate(version)) {
+                    continue restart;
+                }
+                if (hasFence) {
+                    batch.fenceValue = fenceValue;
+                    batch.fenceKey = fenceKey;
+                    batch.hasFence = true;
+                }
+                return batch;
+            } catch (RuntimeException e) {
+                // the node might have been read in the middle of a modification
+                if (!node.validate(version)) {
+                    continue;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private abstract static class Node {
+
+        // odd while the node is being modified
+        volatile long version;
+
+        int size;
+        final Comparable[] values;
+        final Data[] keys;
+
+        Node(int capacity) {
+            this.values = new Comparable[capacity];
+            this.keys = new Data[capacity];
+        }
+
+        void beginWrite() {
+            VERSION.getAndAdd(this, 1L);
+        }
+
+        void endWrite() {
+            VERSION.setRelease(this, version + 1);
+        }
+
+        long awaitStable() {
+            long current = (long) VERSION.getAcquire(this);
+            while ((current & 1) != 0) {
+                Thread.onSpinWait();
+                current = (long) VERSION.getAcquire(this);
+            }
+            return current;
+        }
+
+        boolean validate(long expected) {
+            VarHandle.acquireFence();
+            return (long) VERSION.getAcquire(this) == expected;
+        }
+
+        /**
+         * @return the index of the first of the given number of pairs following
+         * the given cursor in the given direction.
+         */
+        int seekIndex(int size, Comparable cursorValue, Data cursorKey, int keyBound, boolean inclusive,
+                      boolean ascending) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int order = compare(values[middle], keys[middle], cursorValue, cursorKey, keyBound);
+                // ascending: find the first pair after the cursor;
+                // descending: find the first pair not before the cursor
+                boolean atOrAfter = ascending ? order > 0 || inclusive && order == 0 : order > 0 || !inclusive && order == 0;
+                if (atOrAfter) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+
+    }
+
+    private static final class Leaf extends Node {
+
+        final QueryableEntry[] entries = new QueryableEntry[LEAF_CAPACITY];
+
+        Leaf() {
+            super(LEAF_CAPACITY);
+        }
+
+        /**
+         * @return the index of the given pair if found, {@code -(insertion
+         * point) - 1} otherwise.
+         */
+        int search(Comparable value, Data key) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int order = compare(values[middle], keys[middle], value, key, 0);
+                if (order < 0) {
+                    low = middle + 1;
+                } else if (order > 0) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insert(int index, Comparable value, Data key, QueryableEntry entry) {
+            int tail = size - index;
+            System.arraycopy(values, index, values, index + 1, tail);
+            System.arraycopy(keys, index, keys, index + 1, tail);
+            System.arraycopy(entries, index, entries, index + 1, tail);
+            values[index] = value;
+            keys[index] = key;
+            entries[index] = entry;
+            ++size;
+        }
+
+        void delete(int index) {
+            int tail = size - index - 1;
+            System.arraycopy(values, index + 1, values, index, tail);
+            System.arraycopy(keys, index + 1, keys, index, tail);
+            System.arraycopy(entries, index + 1, entries, index, tail);
+            --size;
+            values[size] = null;
+            keys[size] = null;
+            entries[size] = null;
+        }
+
+        void moveUpperHalf(Leaf right, int half) {
+            int moved = size - half;
+            System.arraycopy(values, half, right.values, 0, moved);
+            System.arraycopy(keys, half, right.keys, 0, moved);
+            System.arraycopy(entries, half, right.entries, 0, moved);
+            right.size = moved;
+            for (int i = half; i < size; ++i) {
+                values[i] = null;
+                keys[i] = null;
+                entries[i] = null;
+            }
+            size = half;
+        }
+
+        Batch copy(Comparable cursorValue, Data cursorKey, int keyBound, boolean inclusive, boolean ascending) {
+            int size = this.size;
+            int index = seekIndex(size, cursorValue, cursorKey, keyBound, inclusive, ascending);
+            Batch batch;
+            if (ascending) {
+                batch = new Batch(size - index);
+                for (int i = index, j = 0; i < size; ++i, ++j) {
+                    batch.set(j, values[i], keys[i], entries[i]);
+                }
+            } else {
+                batch = new Batch(index);
+                for (int i = index - 1, j = 0; i >= 0; --i, ++j) {
+                    batch.set(j, values[i], keys[i], entries[i]);
+                }
+            }
+            return batch;
+        }
+
+    }
+
+    /**
+     * An inner node: child {@code i} holds the pairs not less than separator
+     * {@code i - 1} and less than separator {@code i}; {@link #size} is the
+     * number of separators.
+     */
+    private static final class Inner extends Node {
+
+        final Node[] children = new Node[INNER_CAPACITY + 1];
+
+        Inner() {
+            super(INNER_CAPACITY);
+        }
+
+        int childIndex(Comparable value, Data key) {
+            // the number of separators not greater than the pair
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compare(values[middle], keys[middle], value, key, 0) > 0) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Inserts the given separator and the given child following it after
+         * the child having the given index.
+         */
+        void insert(int index, Comparable value, Data key, Node child) {
+            int tail = size - index;
+            System.arraycopy(values, index, values, index + 1, tail);
+            System.arraycopy(keys, index, keys, index + 1, tail);
+            System.arraycopy(children, index + 1, children, index + 2, tail);
+            values[index] = value;
+            keys[index] = key;
+            children[index + 1] = child;
+            ++size;
+        }
+
+        void deleteChild(int index) {
+            // the separator bounding the child from below goes along with it,
+            // the first child takes over the range of the second one
+            int separator = index == 0 ? 0 : index - 1;
+            int tail = size - separator - 1;
+            System.arraycopy(values, separator + 1, values, separator, tail);
+            System.arraycopy(keys, separator + 1, keys, separator, tail);
+            System.arraycopy(children, index + 1, children, index, size - index);
+            --size;
+            values[size] = null;
+            keys[size] = null;
+            children[size + 1] = null;
+        }
+
+        /**
+         * Fills this node with the given number of separators starting from
+         * the given offset and the children surrounding them.
+         */
+        void fill(Comparable[] values, Data[] keys, Node[] children, int offset, int size) {
+            System.arraycopy(values, offset, this.values, 0, size);
+            System.arraycopy(keys, offset, this.keys, 0, size);
+            System.arraycopy(children, offset, this.children, 0, size + 1);
+            Arrays.fill(this.values, size, INNER_CAPACITY, null);
+            Arrays.fill(this.keys, size, INNER_CAPACITY, null);
+            Arrays.fill(this.children, size + 1, INNER_CAPACITY + 1, null);
+            this.size = size;
+        }
+
+    }
+
+    /**
+     * The pairs copied out of a leaf in the iteration order along with the
+     * bound of the leaf in the iteration direction.
+     */
+    private static final class Batch {
+
+        final Comparable[] values;
+        final Data[] keys;
+        final QueryableEntry[] entries;
+
+        Comparable fenceValue;
+        Data fenceKey;
+        boolean hasFence;
+
+        Batch(int size) {
+            this.values = new Comparable[size];
+            this.keys = new Data[size];
+            this.entries = new QueryableEntry[size];
+        }
+
+        void set(int index, Comparable value, Data key, QueryableEntry entry) {
+            values[index] = value;
+            keys[index] = key;
+            entries[index] = entry;
+        }
+
+        int size() {
+            return values.length;
+        }
+
+    }
+
+    /**
+     * Iterates over the pairs of the tree starting from a cursor batch by
+     * batch.
+     */
+    private final class Scan {
+
+        private final boolean ascending;
+
+        private Comparable cursorValue;
+        private Data cursorKey;
+        private int keyBound;
+        private boolean inclusive;
+
+        private Batch batch;
+        private int position;
+        private boolean done;
+
+        Scan(Comparable cursorValue, Data cursorKey, int keyBound, boolean inclusive, boolean ascending) {
+            this.cursorValue = cursorValue;
+            this.cursorKey = cursorKey;
+            this.keyBound = keyBound;
+            this.inclusive = inclusive;
+            this.ascending = ascending;
+        }
+
+        /**
+         * Continues the scan from the given batch position.
+         */
+        Scan(Batch batch, int position, boolean ascending) {
+            this.ascending = ascending;
+            this.batch = batch;
+            this.position = position;
+        }
+
+        boolean hasCurrent() {
+            while (batch == null || position == batch.size()) {
+                if (done) {
+                    return false;
+                }
+                if (batch != null) {
+                    if (batch.size() > 0) {
+                        int last = batch.size() - 1;
+                        moveCursor(batch.values[last], batch.keys[last], false);
+                    } else if (batch.hasFence) {
+                        moveCursor(batch.fenceValue, batch.fenceKey, ascending);
+                    } else {
+                        done = true;
+                        batch = null;
+                        return false;
+                    }
+                }
+                batch = seek(cursorValue, cursorKey, keyBound, inclusive, ascending);
+                position = 0;
+                if (batch.size() == 0 && !batch.hasFence) {
+                    done = true;
+                    batch = null;
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Skips all the pairs having the given value, the next batch starts
+         * after them.
+         */
+        void skipValue(Comparable value) {
+            cursorValue = value;
+            cursorKey = null;
+            keyBound = ascending ? 1 : -1;
+            inclusive = false;
+            batch = null;
+        }
+
+        Comparable value() {
+            return batch.values[position];
+        }
+
+        Data key() {
+            return batch.keys[position];
+        }
+
+        QueryableEntry entry() {
+            return batch.entries[position];
+        }
+
+        void skip() {
+            ++position;
+        }
+
+        private void moveCursor(Comparable value, Data key, boolean inclusive) {
+            this.cursorValue = value;
+            this.cursorKey = key;
+            this.keyBound = 0;
+            this.inclusive = inclusive;
+        }
+
+    }
+
+    /**
+     * Groups the pairs produced by a scan by their values, up to the given
+     * bound.
+     */
+    private final class GroupIterator implements Iterator<IndexKeyEntries> {
+
+        private final Scan scan;
+        private final Comparable bound;
+        private final boolean boundInclusive;
+        private final boolean ascending;
+
+        private IndexKeyEntries next;
+
+        GroupIterator(Scan scan, Comparable bound, boolean boundInclusive, boolean ascending) {
+            this.scan = scan;
+            this.bound = bound;
+            this.boundInclusive = boundInclusive;
+            this.ascending = ascending;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (!scan.hasCurrent()) {
+                return false;
+            }
+            Comparable value = scan.value();
+            if (beyond(value, bound, boundInclusive, ascending)) {
+                return false;
+            }
+
+            // the group starts at the current scan position and continues with
+            // its own scan if the batch is exhausted by it
+            Batch batch = scan.batch;
+            int start = scan.position;
+            int end = start + 1;
+            while (end < batch.size() && SPECIAL_AWARE_COMPARATOR.compare(batch.values[end], value) == 0) {
+                ++end;
+            }
+            Scan groupScan = new Scan(batch, start, ascending);
+            if (end < batch.size()) {
+                // the group is complete within the batch
+                groupScan.done = true;
+                scan.position = end;
+            } else {
+                scan.skipValue(value);
+            }
+            next = new IndexKeyEntries(value, new EntryIterator(groupScan, value));
+            return true;
+        }
+
+        @Override
+        public IndexKeyEntries next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            IndexKeyEntries result = next;
+            next = null;
+            return result;
+        }
+
+    }
+
+    /**
+     * Iterates over the entries of a single value.
+     */
+    private static final class EntryIterator implements Iterator<QueryableEntry> {
+
+        private final Scan scan;
+        private final Comparable value;
+
+        EntryIterator(Scan scan, Comparable value) {
+            this.scan = scan;
+            this.value = value;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return scan.hasCurrent() && SPECIAL_AWARE_COMPARATOR.compare(scan.value(), value) == 0;
+        }
+
+        @Override
+        public QueryableEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            QueryableEntry entry = scan.entry();
+            scan.skip();
+            return entry;
+        }
+
+    }
+
+}
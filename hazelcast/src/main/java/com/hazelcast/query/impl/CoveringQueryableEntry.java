@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.query.QueryException;
+
+/**
+ * Entry stored by covering indexes: wraps the entry to store and carries the
+ * values of the indexed and included attributes extracted at the time the
+ * entry was indexed.
+ * <p>
+ * The attribute values are served without touching the wrapped entry, so
+ * projections of the covered attributes never deserialize the entry value.
+ * Everything else is delegated to the wrapped entry.
+ *
+ * @see com.hazelcast.config.IndexConfig#getIncludedAttributes()
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public final class CoveringQueryableEntry<K, V> extends QueryableEntry<K, V> {
+
+    private final QueryableEntry<K, V> delegate;
+    private final String[] attributes;
+    private final Object[] values;
+
+    private CoveringQueryableEntry(QueryableEntry<K, V> delegate, String[] attributes, Object[] values) {
+        this.delegate = delegate;
+        this.attributes = attributes;
+        this.values = values;
+    }
+
+    /**
+     * Wraps the given entry to store into a covering entry.
+     *
+     * @param entryToStore the entry to be stored in the index.
+     * @param newEntry     the entry to extract the covered attribute values
+     *                     from; usually caches the deserialized key and value.
+     * @param attributes   the canonical names of the covered attributes.
+     * @return the covering entry to store.
+     */
+    static QueryableEntry cover(QueryableEntry entryToStore, QueryableEntry newEntry, String[] attributes) {
+        QueryableEntry delegate = unwrap(entryToStore);
+        Object[] values = new Object[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            values[i] = newEntry.getAttributeValue(attributes[i]);
+        }
+        return new CoveringQueryableEntry(delegate, attributes, values);
+    }
+
+    /**
+     * Returns the entry wrapped by the given covering entry, or the given
+     * entry itself if it is not a covering one.
+     */
+    public static <K, V> QueryableEntry<K, V> unwrap(QueryableEntry<K, V> entry) {
+        return entry instanceof CoveringQueryableEntry ? ((CoveringQueryableEntry<K, V>) entry).delegate : entry;
+    }
+
+    @Override
+    public Object getAttributeValue(String attributeName) throws QueryException {
+        int index = indexOf(attributeName);
+        if (index == -1) {
+            index = indexOf(IndexUtils.canonicalizeAttribute(attributeName));
+        }
+        return index == -1 ? delegate.getAttributeValue(attributeName) : values[index];
+    }
+
+    private int indexOf(String attributeName) {
+        for (int i = 0; i < attributes.length; i++) {
+            if (attributes[i].equals(attributeName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public K getKey() {
+        return delegate.getKey();
+    }
+
+    @Override
+    public Data getKeyData() {
+        return delegate.getKeyData();
+    }
+
+    @Override
+    public V getValue() {
+        return delegate.getValue();
+    }
+
+    @Override
+    public Data getValueData() {
+        return delegate.getValueData();
+    }
+
+    @Override
+    public K getKeyIfPresent() {
+        return delegate.getKeyIfPresent();
+    }
+
+    @Override
+    public Data getKeyDataIfPresent() {
+        return delegate.getKeyDataIfPresent();
+    }
+
+    @Override
+    public V getValueIfPresent() {
+        return delegate.getValueIfPresent();
+    }
+
+    @Override
+    public Data getValueDataIfPresent() {
+        return delegate.getValueDataIfPresent();
+    }
+
+    @Override
+    protected Object getTargetObject(boolean key) {
+        return delegate.getTargetObject(key);
+    }
+
+    @Override
+    public V setValue(V value) {
+        return delegate.setValue(value);
+    }
+
+    @Override
+    public Record getRecord() {
+        return delegate.getRecord();
+    }
+
+    @Override
+    public void setRecord(Record record) {
+        delegate.setRecord(record);
+    }
+
+    @Override
+    public JsonMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public void setMetadata(JsonMetadata metadata) {
+        delegate.setMetadata(metadata);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return delegate.equals(((CoveringQueryableEntry) o).delegate);
+    }
+
+    @Override
+    public int hashCode() {
+        return delegate.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CoveringQueryableEntry{delegate=" + delegate + '}';
+    }
+}
@@ -47,6 +47,9 @@ public final class IndexHeapMemoryCostUtil {
     private static final int CONCURRENT_SKIP_LIST_MAP_ENTRY_COST = 24;
     private static final int QUERY_ENTRY_COST = 32;
     private static final int CACHED_QUERYABLE_ENTRY_COST = 40;
+    private static final int HASH_MAP_ENTRY_COST = 32;
+    private static final int TREE_MAP_ENTRY_COST = 40;
+    private static final int BASE_SPARSE_BIT_SET_COST = 96;
 
     private static final Map<Class, Integer> KNOWN_FINAL_CLASSES_COSTS;
 
@@ -69,6 +72,8 @@ public final class IndexHeapMemoryCostUtil {
     private static final int ROUGH_BIG_INTEGER_COST = BASE_BIG_INTEGER_COST + 16;
     private static final int ROUGH_BIG_DECIMAL_COST = BASE_BIG_DECIMAL_COST + ROUGH_BIG_INTEGER_COST;
     private static final int ROUGH_UNKNOWN_CLASS_COST = 24;
+    // a bit set member and a sparse array slot amortized over the storages
+    private static final int ROUGH_BITMAP_ENTRY_COST = 16;
 
     private IndexHeapMemoryCostUtil() {
     }
@@ -84,6 +89,9 @@ public final class IndexHeapMemoryCostUtil {
         if (value == null) {
             return 0;
         }
+        if (value instanceof PrecomputedCost) {
+            return ((PrecomputedCost) value).cost;
+        }
         Class<?> clazz = value.getClass();
 
         Integer cost = KNOWN_FINAL_CLASSES_COSTS.get(clazz);
@@ -150,4 +158,41 @@ public final class IndexHeapMemoryCostUtil {
         return mapCost + queryableEntriesCost;
     }
 
+    /**
+     * Estimates the on-heap memory cost of a distinct value indexed by a bitmap
+     * index: the value itself, its bit set and the map entries referencing the
+     * bit set.
+     *
+     * @param value the distinct value to estimate the cost of.
+     * @return the estimated distinct value cost.
+     */
+    public static long estimateBitmapValueCost(Object value) {
+        return estimateValueCost(value) + HASH_MAP_ENTRY_COST + TREE_MAP_ENTRY_COST + BASE_SPARSE_BIT_SET_COST
+                + ROUGH_BITMAP_ENTRY_COST;
+    }
+
+    /**
+     * Represents a memory cost computed by an index itself, reported to the
+     * index stats instead of the value being indexed.
+     */
+    public static final class PrecomputedCost {
+
+        /**
+         * The cost of a single entry added to an existing bit set of a bitmap
+         * index.
+         */
+        public static final PrecomputedCost BITMAP_ENTRY_COST = new PrecomputedCost(ROUGH_BITMAP_ENTRY_COST);
+
+        private final long cost;
+
+        public PrecomputedCost(long cost) {
+            this.cost = cost;
+        }
+
+        public long getCost() {
+            return cost;
+        }
+
+    }
+
 }
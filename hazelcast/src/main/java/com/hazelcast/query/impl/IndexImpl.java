@@ -22,6 +22,7 @@ import com.hazelcast.internal.monitor.impl.PerIndexStats;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.query.impl.GlobalIndexPartitionTracker.PartitionStamp;
 import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 /**
  * Provides implementation of on-heap indexes.
@@ -49,7 +50,7 @@ public class IndexImpl extends AbstractIndex {
                                           PerIndexStats stats, String mapName, int ignored) {
         switch (config.getType()) {
             case SORTED:
-                return new OrderedIndexStore(copyBehavior);
+                return useBPlusTree(node) ? new BPlusTreeIndexStore(copyBehavior) : new OrderedIndexStore(copyBehavior);
             case HASH:
                 return new UnorderedIndexStore(copyBehavior);
             case BITMAP:
@@ -59,6 +60,10 @@ public class IndexImpl extends AbstractIndex {
         }
     }
 
+    private static boolean useBPlusTree(Node node) {
+        return node != null && node.getProperties().getBoolean(ClusterProperty.INDEX_SORTED_BPLUS_TREE_ENABLED);
+    }
+
     @Override
     public final boolean hasPartitionIndexed(int partitionId) {
         return partitionTracker.isIndexed(partitionId);
@@ -30,6 +30,7 @@ import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -133,9 +134,45 @@ public final class IndexUtils {
             normalizedConfig.getBitmapIndexOptions().setUniqueKey(uniqueKey).setUniqueKeyTransformation(uniqueKeyTransformation);
         }
 
+        addNormalizedIncludedAttributes(config, normalizedAttributeNames, normalizedConfig);
+
         return normalizedConfig;
     }
 
+    private static void addNormalizedIncludedAttributes(IndexConfig config, List<String> normalizedAttributeNames,
+                                                        IndexConfig normalizedConfig) {
+        for (String includedAttributeName : config.getIncludedAttributes()) {
+            validateAttribute(config, includedAttributeName);
+
+            String normalizedAttributeName = canonicalizeAttribute(includedAttributeName.trim());
+
+            if (normalizedAttributeNames.contains(normalizedAttributeName)
+                    || normalizedConfig.getIncludedAttributes().contains(normalizedAttributeName)) {
+                throw new IllegalArgumentException("Duplicate included attribute name [attributeName="
+                    + includedAttributeName + ", indexConfig=" + config + ']');
+            }
+
+            normalizedConfig.addIncludedAttribute(normalizedAttributeName);
+        }
+    }
+
+    /**
+     * Checks that none of the given index configs has included attributes.
+     * Used by the clients, since the client protocol doesn't carry the
+     * included attributes.
+     *
+     * @param configs Index configs.
+     * @throws UnsupportedOperationException if an index config has included attributes.
+     */
+    public static void checkNoIncludedAttributes(Collection<IndexConfig> configs) {
+        for (IndexConfig config : configs) {
+            if (!config.getIncludedAttributes().isEmpty()) {
+                throw new UnsupportedOperationException("Included index attributes are not supported by the client "
+                    + "[indexConfig=" + config + ']');
+            }
+        }
+    }
+
     private static IndexConfig buildNormalizedConfig(String mapName, IndexType indexType, String indexName,
                                                      List<String> normalizedAttributeNames,
                                                      BTreeIndexConfig btreeIndexConfig) {
@@ -285,6 +322,14 @@ public final class IndexUtils {
             }
             gen.close();
 
+            if (!indexCfg.getIncludedAttributes().isEmpty()) {
+                gen.open("included-attributes");
+                for (String attribute : indexCfg.getIncludedAttributes()) {
+                    gen.node("attribute", attribute);
+                }
+                gen.close();
+            }
+
             if (indexCfg.getType() == IndexType.BITMAP) {
                 BitmapIndexOptions bitmapIndexOptions = indexCfg.getBitmapIndexOptions();
 
@@ -328,14 +373,11 @@ public final class IndexUtils {
         IndexConfig res = new IndexConfig().setName(name).setType(type);
 
         for (Node attributesNode : childElements(indexNode)) {
-            if ("attributes".equals(cleanNodeName(attributesNode))) {
-                for (Node attributeNode : childElements(attributesNode)) {
-                    if ("attribute".equals(cleanNodeName(attributeNode))) {
-                        String attribute = getTextContent(attributeNode, domLevel3);
-
-                        res.addAttribute(attribute);
-                    }
-                }
+            String attributesNodeName = cleanNodeName(attributesNode);
+            if ("attributes".equals(attributesNodeName)) {
+                getAttributesFromXml(attributesNode, domLevel3).forEach(res::addAttribute);
+            } else if ("included-attributes".equals(attributesNodeName)) {
+                getAttributesFromXml(attributesNode, domLevel3).forEach(res::addIncludedAttribute);
             }
         }
 
@@ -371,6 +413,16 @@ public final class IndexUtils {
         return res;
     }
 
+    private static List<String> getAttributesFromXml(Node attributesNode, boolean domLevel3) {
+        List<String> attributes = new ArrayList<>();
+        for (Node attributeNode : childElements(attributesNode)) {
+            if ("attribute".equals(cleanNodeName(attributeNode))) {
+                attributes.add(getTextContent(attributeNode, domLevel3));
+            }
+        }
+        return attributes;
+    }
+
     private static Capacity getCapacity(Node node, boolean domLevel3) {
         if (node == null) {
             return null;
@@ -421,6 +473,13 @@ public final class IndexUtils {
             res.addAttribute(attribute);
         }
 
+        Node includedAttributesNode = attrs.getNamedItem("included-attributes");
+        if (includedAttributesNode != null) {
+            for (Node attributeNode : childElements(includedAttributesNode)) {
+                res.addIncludedAttribute(attributeNode.getNodeValue());
+            }
+        }
+
         if (type == IndexType.BITMAP) {
             Node optionsNode = childElementWithName(indexNode, "bitmap-index-options", strict);
             if (optionsNode != null) {
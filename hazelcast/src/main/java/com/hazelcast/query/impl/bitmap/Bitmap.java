@@ -19,16 +19,26 @@ package com.hazelcast.query.impl.bitmap;
 import com.hazelcast.core.TypeConverter;
 import com.hazelcast.internal.monitor.impl.IndexOperationStats;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AbstractIndex;
+import com.hazelcast.query.impl.Comparables;
+import com.hazelcast.query.impl.IndexHeapMemoryCostUtil.PrecomputedCost;
 import com.hazelcast.query.impl.predicates.AndPredicate;
 import com.hazelcast.query.impl.predicates.EqualPredicate;
 import com.hazelcast.query.impl.predicates.InPredicate;
 import com.hazelcast.query.impl.predicates.NotEqualPredicate;
 import com.hazelcast.query.impl.predicates.NotPredicate;
 import com.hazelcast.query.impl.predicates.OrPredicate;
+import com.hazelcast.query.impl.predicates.RangePredicate;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static com.hazelcast.query.impl.IndexHeapMemoryCostUtil.estimateBitmapValueCost;
 
 /**
  * Provides indexing and querying capabilities for a single attribute of entries
@@ -38,6 +48,10 @@ import java.util.Map;
  * Internally, each bitmap manages a set of sparse bit sets, one for each
  * possible attribute value, and a sparse array to map from unique {@code long}
  * entry keys back to entries.
+ * <p>
+ * Non-null attribute values are additionally kept in a sorted order, this
+ * allows answering range predicates by merging the bit sets of all the values
+ * falling into the range instead of scanning the whole value domain.
  *
  * @param <E> the type of entries being indexed.
  */
@@ -46,12 +60,14 @@ public final class Bitmap<E> {
 
     private final Map<Object, SparseBitSet> bitSets = new HashMap<>();
 
-    private final SparseArray<E> entries = new SparseArray<>();
+    /**
+     * The bit sets of non-null values ordered by their values, {@code null} if
+     * the values indexed so far are not mutually comparable. In the latter
+     * case, range predicates are evaluated by filtering {@link #bitSets}.
+     */
+    private NavigableMap<Comparable, SparseBitSet> orderedBitSets = new TreeMap<>(Comparables.COMPARATOR);
 
-    // Note! At the moment bitmap index doesn't support memory statistics,
-    // because we cannot produce precise memory estimate.
-    // Instead, we provide zero memory consumption estimation.
-    private enum ZeroCost { ZERO_COST }
+    private final SparseArray<E> entries = new SparseArray<>();
 
     /**
      * Inserts the given values associated with the given entry having the given
@@ -66,9 +82,7 @@ public final class Bitmap<E> {
             Object value = values.next();
             assert value != null;
 
-            SparseBitSet bitSet = bitSets.computeIfAbsent(value, x -> new SparseBitSet());
-            operationStats.onEntryAdded(ZeroCost.ZERO_COST);
-            bitSet.add(key);
+            addValue(value, key, operationStats);
         }
 
         entries.set(key, entry);
@@ -88,20 +102,14 @@ public final class Bitmap<E> {
             Object value = oldValues.next();
             assert value != null;
 
-            SparseBitSet bitSet = bitSets.get(value);
-            if (bitSet != null) {
-                bitSet.remove(key);
-            }
-            operationStats.onEntryRemoved(ZeroCost.ZERO_COST);
+            removeValue(value, key, operationStats);
         }
 
         while (newValues.hasNext()) {
             Object value = newValues.next();
             assert value != null;
 
-            SparseBitSet bitSet = bitSets.computeIfAbsent(value, x -> new SparseBitSet());
-            operationStats.onEntryAdded(ZeroCost.ZERO_COST);
-            bitSet.add(key);
+            addValue(value, key, operationStats);
         }
 
         entries.set(key, entry);
@@ -119,13 +127,7 @@ public final class Bitmap<E> {
             Object value = values.next();
             assert value != null;
 
-            SparseBitSet bitSet = bitSets.get(value);
-            if (bitSet != null) {
-                if (bitSet.remove(key)) {
-                    bitSets.remove(value);
-                }
-            }
-            operationStats.onEntryRemoved(ZeroCost.ZERO_COST);
+            removeValue(value, key, operationStats);
         }
 
         entries.clear(key);
@@ -136,6 +138,7 @@ public final class Bitmap<E> {
      */
     public void clear() {
         bitSets.clear();
+        orderedBitSets = new TreeMap<>(Comparables.COMPARATOR);
         entries.clear();
     }
 
@@ -145,7 +148,8 @@ public final class Bitmap<E> {
      * <p>
      * The following predicates (and combinations of them) are supported:
      * {@link AndPredicate}, {@link OrPredicate}, {@link NotPredicate}, {@link
-     * NotEqualPredicate}, {@link EqualPredicate}, {@link InPredicate}.
+     * NotEqualPredicate}, {@link EqualPredicate}, {@link InPredicate} and
+     * {@link RangePredicate}s.
      *
      * @param predicate the predicate to evaluate.
      * @param converter the converter to use for the predicate arguments
@@ -156,7 +160,7 @@ public final class Bitmap<E> {
         return new EntryIterator<>(predicateIterator(predicate, converter), entries.iterator());
     }
 
-    @SuppressWarnings("checkstyle:npathcomplexity")
+    @SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:returncount"})
     private AscendingLongIterator predicateIterator(Predicate predicate, TypeConverter converter) {
         if (predicate instanceof AndPredicate) {
             Predicate[] predicates = ((AndPredicate) predicate).getPredicates();
@@ -198,6 +202,10 @@ public final class Bitmap<E> {
             return BitmapAlgorithms.or(valueIterators(values, converter));
         }
 
+        if (predicate instanceof RangePredicate) {
+            return rangeIterator((RangePredicate) predicate, converter);
+        }
+
         throw new IllegalArgumentException("unexpected predicate: " + predicate);
     }
 
@@ -214,6 +222,136 @@ public final class Bitmap<E> {
         return bitSet == null ? AscendingLongIterator.EMPTY : bitSet.iterator();
     }
 
+    @SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:cyclomaticcomplexity"})
+    private AscendingLongIterator rangeIterator(RangePredicate predicate, TypeConverter converter) {
+        Comparable from = predicate.getFrom();
+        Comparable to = predicate.getTo();
+        if (from == null && to == null) {
+            return AscendingLongIterator.EMPTY;
+        }
+        boolean fromInclusive = predicate.isFromInclusive();
+        boolean toInclusive = predicate.isToInclusive();
+
+        // nulls are never matched by the range predicates
+        if (from != null) {
+            from = converter.convert(from);
+            if (from == AbstractIndex.NULL) {
+                return AscendingLongIterator.EMPTY;
+            }
+        }
+        if (to != null) {
+            to = converter.convert(to);
+            if (to == AbstractIndex.NULL) {
+                return AscendingLongIterator.EMPTY;
+            }
+        }
+        if (from != null && to != null) {
+            int order = Comparables.compare(from, to);
+            if (order > 0 || order == 0 && !(fromInclusive && toInclusive)) {
+                return AscendingLongIterator.EMPTY;
+            }
+        }
+
+        List<AscendingLongIterator> iterators = orderedRangeIterators(from, fromInclusive, to, toInclusive);
+        if (iterators == null) {
+            iterators = new ArrayList<>();
+            for (Map.Entry<Object, SparseBitSet> entry : bitSets.entrySet()) {
+                Object value = entry.getKey();
+                if (value != AbstractIndex.NULL && inRange((Comparable) value, from, fromInclusive, to, toInclusive)) {
+                    iterators.add(entry.getValue().iterator());
+                }
+            }
+        }
+
+        switch (iterators.size()) {
+            case 0:
+                return AscendingLongIterator.EMPTY;
+            case 1:
+                return iterators.get(0);
+            default:
+                return BitmapAlgorithms.or(iterators.toArray(new AscendingLongIterator[0]));
+        }
+    }
+
+    private List<AscendingLongIterator> orderedRangeIterators(Comparable from, boolean fromInclusive, Comparable to,
+                                                              boolean toInclusive) {
+        if (orderedBitSets == null) {
+            return null;
+        }
+
+        try {
+            NavigableMap<Comparable, SparseBitSet> range = orderedBitSets;
+            if (from != null) {
+                range = range.tailMap(from, fromInclusive);
+            }
+            if (to != null) {
+                range = range.headMap(to, toInclusive);
+            }
+            List<AscendingLongIterator> iterators = new ArrayList<>();
+            for (SparseBitSet bitSet : range.values()) {
+                iterators.add(bitSet.iterator());
+            }
+            return iterators;
+        } catch (ClassCastException e) {
+            // the bounds are not comparable with the indexed values
+            return null;
+        }
+    }
+
+    private static boolean inRange(Comparable value, Comparable from, boolean fromInclusive, Comparable to,
+                                   boolean toInclusive) {
+        try {
+            if (from != null) {
+                int order = Comparables.compare(value, from);
+                if (order < 0 || order == 0 && !fromInclusive) {
+                    return false;
+                }
+            }
+            if (to != null) {
+                int order = Comparables.compare(value, to);
+                return order < 0 || order == 0 && toInclusive;
+            }
+            return true;
+        } catch (ClassCastException e) {
+            // incomparable values never fall into the range
+            return false;
+        }
+    }
+
+    private void addValue(Object value, long key, IndexOperationStats operationStats) {
+        SparseBitSet bitSet = bitSets.get(value);
+        if (bitSet == null) {
+            bitSet = new SparseBitSet();
+            bitSets.put(value, bitSet);
+            if (orderedBitSets != null && value != AbstractIndex.NULL) {
+                try {
+                    orderedBitSets.put((Comparable) value, bitSet);
+                } catch (ClassCastException e) {
+                    // the values are not mutually comparable, fall back to
+                    // filtering the unordered bit sets on range queries
+                    orderedBitSets = null;
+                }
+            }
+            operationStats.onEntryAdded(new PrecomputedCost(estimateBitmapValueCost(value)));
+        } else {
+            operationStats.onEntryAdded(PrecomputedCost.BITMAP_ENTRY_COST);
+        }
+        bitSet.add(key);
+    }
+
+    private void removeValue(Object value, long key, IndexOperationStats operationStats) {
+        SparseBitSet bitSet = bitSets.get(value);
+        if (bitSet != null && bitSet.remove(key)) {
+            bitSets.remove(value);
+            if (orderedBitSets != null && value != AbstractIndex.NULL) {
+                orderedBitSets.remove(value);
+            }
+            operationStats.onEntryRemoved(new PrecomputedCost(estimateBitmapValueCost(value)));
+        } else {
+            operationStats.onEntryRemoved(PrecomputedCost.BITMAP_ENTRY_COST);
+        }
+    }
+
     private AscendingLongIterator[] valueIterators(Comparable[] values, TypeConverter converter) {
         AscendingLongIterator[] iterators = new AscendingLongIterator[values.length];
         for (int i = 0; i < values.length; ++i) {
@@ -0,0 +1,474 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
+
+/**
+ * Evaluates a predicate on a block of entries at once.
+ * <p>
+ * For every attribute referenced by the predicate the values of the block are
+ * materialized into a primitive column and the comparison is done in a tight
+ * loop over the column instead of going through {@link Comparable}s entry by
+ * entry. Supported are {@link EqualPredicate}, {@link BetweenPredicate},
+ * {@link GreaterLessPredicate} and {@link InPredicate} and their conjunctions
+ * with {@link AndPredicate}, on attributes of the {@code byte}, {@code short},
+ * {@code int}, {@code long}, {@code float} and {@code double} types.
+ * <p>
+ * The evaluation yields the same results as {@link Predicate#apply}: a column
+ * is built only from the values having the same class as the first numeric
+ * value of the block and only if the operands of the predicate convert to that
+ * class, so the numeric comparison is equivalent to the {@link Comparable} one.
+ * All other values are evaluated with {@link Predicate#apply}.
+ * <p>
+ * Instances are not thread-safe, they reuse the column buffers between blocks.
+ */
+public final class BatchPredicateEvaluator {
+
+    private final ColumnFilter[] filters;
+    // the distinct attributes of the filters and, for every filter, the
+    // index of its attribute
+    private final String[] attributeNames;
+    private final int[] filterColumns;
+
+    private Object[][] columns = new Object[0][];
+
+    private BatchPredicateEvaluator(ColumnFilter[] filters) {
+        this.filters = filters;
+        List<String> attributeNames = new ArrayList<>();
+        this.filterColumns = new int[filters.length];
+        for (int i = 0; i < filters.length; i++) {
+            String attributeName = filters[i].predicate.attributeName;
+            int column = attributeNames.indexOf(attributeName);
+            if (column < 0) {
+                column = attributeNames.size();
+                attributeNames.add(attributeName);
+            }
+            filterColumns[i] = column;
+        }
+        this.attributeNames = attributeNames.toArray(new String[0]);
+    }
+
+    /**
+     * Creates a batch evaluator for the given predicate.
+     *
+     * @param predicate the predicate to evaluate
+     * @return the batch evaluator or {@code null} if the predicate can't be
+     * evaluated in batches
+     */
+    public static BatchPredicateEvaluator of(Predicate predicate) {
+        if (predicate instanceof AndPredicate) {
+            Predicate[] predicates = ((AndPredicate) predicate).predicates;
+            ColumnFilter[] filters = new ColumnFilter[predicates.length];
+            for (int i = 0; i < predicates.length; i++) {
+                filters[i] = createFilter(predicates[i]);
+                if (filters[i] == null) {
+                    return null;
+                }
+            }
+            return new BatchPredicateEvaluator(filters);
+        }
+
+        ColumnFilter filter = createFilter(predicate);
+        return filter == null ? null : new BatchPredicateEvaluator(new ColumnFilter[]{filter});
+    }
+
+    private static ColumnFilter createFilter(Predicate predicate) {
+        // exact class checks, subclasses may have different semantics
+        Class<?> predicateClass = predicate.getClass();
+        if (predicateClass == EqualPredicate.class) {
+            return new EqualFilter((EqualPredicate) predicate);
+        } else if (predicateClass == GreaterLessPredicate.class) {
+            return new GreaterLessFilter((GreaterLessPredicate) predicate);
+        } else if (predicateClass == BetweenPredicate.class) {
+            return new BetweenFilter((BetweenPredicate) predicate);
+        } else if (predicateClass == InPredicate.class) {
+            return new InFilter((InPredicate) predicate);
+        }
+        return null;
+    }
+
+    /**
+     * Evaluates the predicate on the entries of the given batch.
+     * <p>
+     * The values of every attribute referenced by the predicate are extracted
+     * once for the whole batch, visiting every entry of the batch once, and
+     * are shared by all filters on the attribute.
+     *
+     * @param batch   the entries to evaluate the predicate on
+     * @param matches receives {@code true} at the index of every entry
+     *                matching the predicate and {@code false} otherwise
+     */
+    public void evaluate(EntryBatch batch, boolean[] matches) {
+        int size = batch.size();
+        ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+            QueryableEntry entry = batch.entry(i);
+            for (int column = 0; column < attributeNames.length; column++) {
+                columns[column][i] = entry.getAttributeValue(attributeNames[column]);
+            }
+        }
+
+        Arrays.fill(matches, 0, size, true);
+        for (int i = 0; i < filters.length; i++) {
+            filters[i].filter(columns[filterColumns[i]], batch, size, matches);
+        }
+
+        // don't retain the values until the next batch
+        for (Object[] column : columns) {
+            Arrays.fill(column, 0, size, null);
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (columns.length == 0 || columns[0].length < size) {
+            columns = new Object[attributeNames.length][size];
+        }
+    }
+
+    /**
+     * The entries evaluated by a {@link BatchPredicateEvaluator}.
+     */
+    public interface EntryBatch {
+
+        /**
+         * Returns the number of the entries in this batch.
+         */
+        int size();
+
+        /**
+         * Returns the entry at the given index. The returned entry may be
+         * reused, it is valid only until the next call of this method.
+         */
+        QueryableEntry entry(int index);
+    }
+
+    private static boolean isIntegral(Class<?> clazz) {
+        return clazz == Integer.class || clazz == Long.class || clazz == Short.class || clazz == Byte.class;
+    }
+
+    private static boolean isFloatingPoint(Class<?> clazz) {
+        return clazz == Double.class || clazz == Float.class;
+    }
+
+    /**
+     * Filters the entries by a single attribute predicate. Entries already
+     * rejected by a preceding filter are skipped.
+     */
+    private abstract static class ColumnFilter {
+
+        final AbstractPredicate predicate;
+
+        private int[] positions = new int[0];
+        private long[] longs = new long[0];
+        private double[] doubles = new double[0];
+
+        ColumnFilter(AbstractPredicate predicate) {
+            this.predicate = predicate;
+        }
+
+        /**
+         * @param column  the values of the attribute of the predicate, at the
+         *                indexes of the entries
+         * @param batch   the evaluated entries
+         * @param size    the number of the evaluated entries
+         * @param matches the matches of the preceding filters, receives the
+         *                matches of this filter
+         */
+        @SuppressWarnings("unchecked")
+        void filter(Object[] column, EntryBatch batch, int size, boolean[] matches) {
+            ensureCapacity(size);
+
+            Class<?> columnClass = null;
+            boolean vectorizable = true;
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (!matches[i]) {
+                    continue;
+                }
+
+                Object value = column[i];
+                Class<?> valueClass = value == null ? null : value.getClass();
+                if (columnClass == null && vectorizable && (isIntegral(valueClass) || isFloatingPoint(valueClass))) {
+                    vectorizable = prepare((Comparable) value);
+                    columnClass = vectorizable ? valueClass : null;
+                }
+
+                if (valueClass != null && valueClass == columnClass) {
+                    collect(count++, i, (Number) value);
+                } else {
+                    matches[i] = predicate.apply(batch.entry(i));
+                }
+            }
+
+            if (count > 0) {
+                filterCollected(columnClass, count, matches);
+            }
+        }
+
+        private void collect(int index, int position, Number value) {
+            positions[index] = position;
+            if (isIntegral(value.getClass())) {
+                longs[index] = value.longValue();
+            } else {
+                doubles[index] = value.doubleValue();
+            }
+        }
+
+        private void filterCollected(Class<?> columnClass, int count, boolean[] matches) {
+            if (isIntegral(columnClass)) {
+                filterLongs(longs, positions, count, matches);
+            } else {
+                filterDoubles(doubles, positions, count, matches);
+            }
+        }
+
+        private void ensureCapacity(int size) {
+            if (positions.length < size) {
+                positions = new int[size];
+                longs = new long[size];
+                doubles = new double[size];
+            }
+        }
+
+        /**
+         * Converts the operands of the predicate to the class of the given
+         * attribute value.
+         *
+         * @return {@code false} if any operand doesn't convert to the class of
+         * the attribute value, in which case the entries must be evaluated
+         * one by one
+         */
+        abstract boolean prepare(Comparable sample);
+
+        abstract void filterLongs(long[] column, int[] positions, int count, boolean[] matches);
+
+        abstract void filterDoubles(double[] column, int[] positions, int count, boolean[] matches);
+
+        Comparable convertOperand(Comparable sample, Comparable operand) {
+            Comparable converted = predicate.convert(sample, operand);
+            return isNull(converted) || converted.getClass() != sample.getClass() ? null : converted;
+        }
+    }
+
+    private static final class EqualFilter extends ColumnFilter {
+
+        private long longOperand;
+        private double doubleOperand;
+
+        EqualFilter(EqualPredicate predicate) {
+            super(predicate);
+        }
+
+        @Override
+        boolean prepare(Comparable sample) {
+            Comparable operand = convertOperand(sample, ((EqualPredicate) predicate).value);
+            if (operand == null) {
+                return false;
+            }
+            longOperand = ((Number) operand).longValue();
+            doubleOperand = ((Number) operand).doubleValue();
+            return true;
+        }
+
+        @Override
+        void filterLongs(long[] column, int[] positions, int count, boolean[] matches) {
+            long operand = longOperand;
+            for (int i = 0; i < count; i++) {
+                matches[positions[i]] = column[i] == operand;
+            }
+        }
+
+        @Override
+        void filterDoubles(double[] column, int[] positions, int count, boolean[] matches) {
+            double operand = doubleOperand;
+            for (int i = 0; i < count; i++) {
+                matches[positions[i]] = Double.compare(column[i], operand) == 0;
+            }
+        }
+    }
+
+    private static final class GreaterLessFilter extends ColumnFilter {
+
+        private long longOperand;
+        private double doubleOperand;
+
+        GreaterLessFilter(GreaterLessPredicate predicate) {
+            super(predicate);
+        }
+
+        @Override
+        boolean prepare(Comparable sample) {
+            Comparable operand = convertOperand(sample, ((GreaterLessPredicate) predicate).value);
+            if (operand == null) {
+                return false;
+            }
+            longOperand = ((Number) operand).longValue();
+            doubleOperand = ((Number) operand).doubleValue();
+            return true;
+        }
+
+        @Override
+        void filterLongs(long[] column, int[] positions, int count, boolean[] matches) {
+            GreaterLessPredicate greaterLess = (GreaterLessPredicate) predicate;
+            long operand = longOperand;
+            if (greaterLess.less) {
+                if (greaterLess.equal) {
+                    for (int i = 0; i < count; i++) {
+                        matches[positions[i]] = column[i] <= operand;
+                    }
+                } else {
+                    for (int i = 0; i < count; i++) {
+                        matches[positions[i]] = column[i] < operand;
+                    }
+                }
+            } else {
+                if (greaterLess.equal) {
+                    for (int i = 0; i < count; i++) {
+                        matches[positions[i]] = column[i] >= operand;
+                    }
+                } else {
+                    for (int i = 0; i < count; i++) {
+                        matches[positions[i]] = column[i] > operand;
+                    }
+                }
+            }
+        }
+
+        @Override
+        void filterDoubles(double[] column, int[] positions, int count, boolean[] matches) {
+            GreaterLessPredicate greaterLess = (GreaterLessPredicate) predicate;
+            boolean equal = greaterLess.equal;
+            boolean less = greaterLess.less;
+            double operand = doubleOperand;
+            for (int i = 0; i < count; i++) {
+                // Double.compare to order NaNs and signed zeros as Double.compareTo does
+                int result = Double.compare(column[i], operand);
+                matches[positions[i]] = equal && result == 0 || (less ? result < 0 : result > 0);
+            }
+        }
+    }
+
+    private static final class BetweenFilter extends ColumnFilter {
+
+        private long longFrom;
+        private long longTo;
+        private double doubleFrom;
+        private double doubleTo;
+
+        BetweenFilter(BetweenPredicate predicate) {
+            super(predicate);
+        }
+
+        @Override
+        boolean prepare(Comparable sample) {
+            BetweenPredicate between = (BetweenPredicate) predicate;
+            Comparable from = convertOperand(sample, between.from);
+            Comparable to = convertOperand(sample, between.to);
+            if (from == null || to == null) {
+                return false;
+            }
+            longFrom = ((Number) from).longValue();
+            longTo = ((Number) to).longValue();
+            doubleFrom = ((Number) from).doubleValue();
+            doubleTo = ((Number) to).doubleValue();
+            return true;
+        }
+
+        @Override
+        void filterLongs(long[] column, int[] positions, int count, boolean[] matches) {
+            long from = longFrom;
+            long to = longTo;
+            for (int i = 0; i < count; i++) {
+                long value = column[i];
+                matches[positions[i]] = value >= from && value <= to;
+            }
+        }
+
+        @Override
+        void filterDoubles(double[] column, int[] positions, int count, boolean[] matches) {
+            double from = doubleFrom;
+            double to = doubleTo;
+            for (int i = 0; i < count; i++) {
+                double value = column[i];
+                matches[positions[i]] = Double.compare(value, from) >= 0 && Double.compare(value, to) <= 0;
+            }
+        }
+    }
+
+    private static final class InFilter extends ColumnFilter {
+
+        private long[] longOperands;
+        private double[] doubleOperands;
+
+        InFilter(InPredicate predicate) {
+            super(predicate);
+        }
+
+        @Override
+        boolean prepare(Comparable sample) {
+            Comparable[] values = ((InPredicate) predicate).values;
+            long[] longs = new long[values.length];
+            double[] doubles = new double[values.length];
+            int count = 0;
+            for (Comparable value : values) {
+                if (isNull(value)) {
+                    // a null never matches a non-null attribute value
+                    continue;
+                }
+                Comparable operand = convertOperand(sample, value);
+                if (operand == null) {
+                    return false;
+                }
+                longs[count] = ((Number) operand).longValue();
+                doubles[count] = ((Number) operand).doubleValue();
+                count++;
+            }
+
+            longOperands = Arrays.copyOf(longs, count);
+            Arrays.sort(longOperands);
+            doubleOperands = Arrays.copyOf(doubles, count);
+            Arrays.sort(doubleOperands);
+            return true;
+        }
+
+        @Override
+        void filterLongs(long[] column, int[] positions, int count, boolean[] matches) {
+            long[] operands = longOperands;
+            for (int i = 0; i < count; i++) {
+                matches[positions[i]] = Arrays.binarySearch(operands, column[i]) >= 0;
+            }
+        }
+
+        @Override
+        void filterDoubles(double[] column, int[] positions, int count, boolean[] matches) {
+            // Arrays.sort and Arrays.binarySearch order NaNs and signed zeros
+            // as Double.equals does
+            double[] operands = doubleOperands;
+            for (int i = 0; i < count; i++) {
+                matches[positions[i]] = Arrays.binarySearch(operands, column[i]) >= 0;
+            }
+        }
+    }
+}
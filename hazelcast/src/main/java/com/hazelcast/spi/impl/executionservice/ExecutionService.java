@@ -111,6 +111,16 @@ public interface ExecutionService {
      */
     String MAP_LOAD_ALL_KEYS_EXECUTOR = "hz:map-loadAllKeys";
 
+    /**
+     * Name of the executor running the parallel write-behind flushers
+     * which persist the write-behind queues of the maps. This is the
+     * executor you want to configure when you want to store more data
+     * into the database in parallel.
+     *
+     * @see com.hazelcast.spi.properties.ClusterProperty#MAP_WRITE_BEHIND_FLUSHER_COUNT
+     */
+    String MAP_WRITE_BEHIND_EXECUTOR = "hz:map-write-behind";
+
     /**
      * Name of the Management Center executor. Used to execute blocking tasks
      * related with operations run by Management Center.
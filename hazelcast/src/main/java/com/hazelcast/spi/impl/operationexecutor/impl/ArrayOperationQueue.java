@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.util.concurrent.IdleStrategy;
+import com.hazelcast.internal.util.concurrent.ManyToOneConcurrentArrayQueue;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static java.util.concurrent.locks.LockSupport.park;
+import static java.util.concurrent.locks.LockSupport.unpark;
+
+/**
+ * An {@link OperationQueue} for a single consumer thread, e.g. a
+ * {@link PartitionOperationThread}, backed by a {@link ManyToOneConcurrentArrayQueue}.
+ * <p>
+ * Unlike the {@link com.hazelcast.internal.util.concurrent.MPSCQueue} used by the
+ * {@link OperationQueueImpl}, adding a normal task doesn't allocate, and the consumer
+ * drains up to {@code batchSize} normal tasks from the array at once. The priority
+ * tasks are still checked before each normal task is handed out.
+ * <p>
+ * The array is bounded, but the operation queue must not be: when the array is full,
+ * the tasks are added to an overflow queue. To keep the FIFO ordering of the normal
+ * tasks, once there are tasks in the overflow queue, all normal tasks are added to
+ * the overflow queue until it is drained, and the consumer takes a task from the
+ * overflow queue only when the array is empty.
+ * <p>
+ * If there is nothing to take, the consumer idles with the configured {@link IdleStrategy},
+ * or blocks if no idle strategy is configured.
+ */
+public final class ArrayOperationQueue implements OperationQueue {
+
+    private final ManyToOneConcurrentArrayQueue<Object> normalQueue;
+    private final Queue<Object> overflowQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger overflowCount = new AtomicInteger();
+    private final Queue<Object> priorityQueue = new ConcurrentLinkedQueue<>();
+    private final IdleStrategy idleStrategy;
+    private volatile boolean consumerBlocked;
+    private Thread consumerThread;
+
+    // only accessed by the consumer thread, except for the best effort size
+    private final Object[] batch;
+    private final Predicate<Object> batchFiller = this::addToBatch;
+    private int batchIndex;
+    private int batchCount;
+
+    /**
+     * @param capacity     the capacity of the array, rounded up to the next power of two
+     * @param batchSize    the maximum number of normal tasks drained from the array at once
+     * @param idleStrategy the idleStrategy. If null, the consumer will block if the queue is empty.
+     */
+    public ArrayOperationQueue(int capacity, int batchSize, IdleStrategy idleStrategy) {
+        checkPositive("capacity", capacity);
+        checkPositive("batchSize", batchSize);
+        this.normalQueue = new ManyToOneConcurrentArrayQueue<>(capacity);
+        this.batch = new Object[batchSize];
+        this.idleStrategy = idleStrategy;
+    }
+
+    /**
+     * Sets the consumer thread. Must be called before the queue is used.
+     *
+     * @param consumerThread the consumer thread.
+     * @throws NullPointerException when consumerThread null.
+     */
+    public void setConsumerThread(Thread consumerThread) {
+        this.consumerThread = checkNotNull(consumerThread, "consumerThread can't be null");
+    }
+
+    @Override
+    public void add(Object task, boolean priority) {
+        checkNotNull(task, "task can't be null");
+
+        if (priority) {
+            priorityQueue.add(task);
+        } else if (overflowCount.get() > 0 || !normalQueue.offer(task)) {
+            // the count is incremented before the task is added, so that
+            // the later tasks are not added to the array until it is taken
+            overflowCount.incrementAndGet();
+            overflowQueue.add(task);
+        }
+
+        if (consumerBlocked) {
+            unpark(consumerThread);
+        }
+    }
+
+    @Override
+    public Object take(boolean priorityOnly) throws InterruptedException {
+        long iteration = 0;
+        for (; ; ) {
+            Object task = priorityOnly ? priorityQueue.poll() : poll();
+            if (task != null) {
+                return task;
+            }
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+
+            if (idleStrategy != null) {
+                idleStrategy.idle(iteration++);
+                continue;
+            }
+
+            consumerBlocked = true;
+            // re-check after publishing the flag, so that
+            // a task added concurrently doesn't go unnoticed
+            if (priorityQueue.isEmpty() && (priorityOnly || !hasPendingNormalTasks())) {
+                park();
+            }
+            consumerBlocked = false;
+        }
+    }
+
+    @Override
+    public Object poll() {
+        Object task = priorityQueue.poll();
+        if (task != null) {
+            return task;
+        }
+
+        if (batchIndex == batchCount && !fillBatch()) {
+            return null;
+        }
+
+        task = batch[batchIndex];
+        batch[batchIndex++] = null;
+        return task;
+    }
+
+    private boolean fillBatch() {
+        batchIndex = 0;
+        batchCount = 0;
+        normalQueue.drain(batchFiller);
+        if (batchCount > 0 || overflowCount.get() == 0 || overflowQueue.peek() == null) {
+            return batchCount > 0;
+        }
+
+        // The overflow task was seen, hence all the tasks added to the
+        // array before it are visible too. Take them first.
+        normalQueue.drain(batchFiller);
+        if (batchCount == 0) {
+            batch[batchCount++] = overflowQueue.poll();
+            overflowCount.decrementAndGet();
+        }
+        return true;
+    }
+
+    private boolean addToBatch(Object task) {
+        batch[batchCount++] = task;
+        return batchCount < batch.length;
+    }
+
+    private boolean hasPendingNormalTasks() {
+        return batchIndex < batchCount || normalQueue.size() > 0 || overflowCount.get() > 0;
+    }
+
+    @Override
+    public int normalSize() {
+        return normalQueue.size() + overflowCount.get() + Math.max(batchCount - batchIndex, 0);
+    }
+
+    @Override
+    public int prioritySize() {
+        return priorityQueue.size();
+    }
+
+    @Override
+    public int size() {
+        return normalSize() + prioritySize();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
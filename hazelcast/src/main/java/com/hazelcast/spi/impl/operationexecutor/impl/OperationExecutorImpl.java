@@ -95,6 +95,16 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 public final class OperationExecutorImpl implements OperationExecutor, StaticMetricsProvider {
     private static final HazelcastProperty IDLE_STRATEGY
             = new HazelcastProperty("hazelcast.operation.partitionthread.idlestrategy", "block");
+    /**
+     * The queue of the partition threads: {@code mpsc} for the {@link OperationQueueImpl}
+     * backed by an {@link MPSCQueue}, or {@code array} for the {@link ArrayOperationQueue}.
+     */
+    private static final HazelcastProperty QUEUE_TYPE
+            = new HazelcastProperty("hazelcast.operation.partitionthread.queue", "mpsc");
+    private static final HazelcastProperty ARRAY_QUEUE_CAPACITY
+            = new HazelcastProperty("hazelcast.operation.partitionthread.queue.array.capacity", 1 << 14);
+    private static final HazelcastProperty ARRAY_QUEUE_BATCH_SIZE
+            = new HazelcastProperty("hazelcast.operation.partitionthread.queue.array.batch.size", 64);
     private static final int TERMINATION_TIMEOUT_SECONDS = 3;
     private final ThreadAffinity threadAffinity = newSystemThreadAffinity("hazelcast.operation.thread.affinity");
     private final ILogger logger;
@@ -176,19 +186,29 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         }
 
         IdleStrategy idleStrategy = getIdleStrategy(properties, IDLE_STRATEGY);
+        boolean arrayQueue = isArrayQueue(properties);
         PartitionOperationThread[] threads = new PartitionOperationThread[threadCount];
         for (int threadId = 0; threadId < threads.length; threadId++) {
             String threadName = createThreadPoolName(hzName, "partition-operation") + threadId;
-            // the normalQueue will be a blocking queue. We don't want to idle, because there are many operation threads.
-            MPSCQueue<Object> normalQueue = new MPSCQueue<>(idleStrategy);
+            PartitionOperationThread partitionThread;
+            if (arrayQueue) {
+                ArrayOperationQueue operationQueue = new ArrayOperationQueue(properties.getInteger(ARRAY_QUEUE_CAPACITY),
+                        properties.getInteger(ARRAY_QUEUE_BATCH_SIZE), idleStrategy);
+                partitionThread = new PartitionOperationThread(threadName, threadId,
+                        operationQueue, logger, nodeExtension, partitionOperationRunners, configClassLoader);
+                operationQueue.setConsumerThread(partitionThread);
+            } else {
+                // the normalQueue will be a blocking queue. We don't want to idle, because there are many operation threads.
+                MPSCQueue<Object> normalQueue = new MPSCQueue<>(idleStrategy);
 
-            OperationQueue operationQueue = new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<>());
+                OperationQueue operationQueue = new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<>());
 
-            PartitionOperationThread partitionThread = new PartitionOperationThread(threadName, threadId,
-                    operationQueue, logger, nodeExtension, partitionOperationRunners, configClassLoader);
+                partitionThread = new PartitionOperationThread(threadName, threadId,
+                        operationQueue, logger, nodeExtension, partitionOperationRunners, configClassLoader);
+                normalQueue.setConsumerThread(partitionThread);
+            }
             partitionThread.setThreadAffinity(threadAffinity);
             threads[threadId] = partitionThread;
-            normalQueue.setConsumerThread(partitionThread);
         }
 
         // we need to assign the PartitionOperationThreads to all OperationRunners they own
@@ -202,6 +222,17 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         return threads;
     }
 
+    private static boolean isArrayQueue(HazelcastProperties properties) {
+        String queueType = properties.getString(QUEUE_TYPE);
+        if ("array".equals(queueType)) {
+            return true;
+        } else if ("mpsc".equals(queueType)) {
+            return false;
+        } else {
+            throw new IllegalStateException("Unrecognized " + QUEUE_TYPE.getName() + " value=" + queueType);
+        }
+    }
+
     private PartitionOperationThread[] initTpcPartitionThreads(TpcServerBootstrap tpcServerBootstrap,
                                                                String hzName,
                                                                NodeExtension nodeExtension,
@@ -29,6 +29,7 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.impl.BackupBatcher;
 
 import java.util.concurrent.TimeUnit;
 
@@ -84,6 +85,8 @@ public abstract class OperationThread extends HazelcastManagedThread implements
     private final boolean priority;
     private final NodeExtension nodeExtension;
     private final ILogger logger;
+    // set before the thread is started, if the backups are combined
+    private BackupBatcher backupBatcher;
     private volatile boolean shutdown;
 
     public OperationThread(String name,
@@ -108,6 +111,14 @@ public abstract class OperationThread extends HazelcastManagedThread implements
 
     public abstract OperationRunner operationRunner(int partitionId);
 
+    public BackupBatcher getBackupBatcher() {
+        return backupBatcher;
+    }
+
+    public void setBackupBatcher(BackupBatcher backupBatcher) {
+        this.backupBatcher = backupBatcher;
+    }
+
     @Override
     public final void executeRun() {
         nodeExtension.onThreadStart(this);
@@ -132,6 +143,13 @@ public abstract class OperationThread extends HazelcastManagedThread implements
             }
 
             process(task);
+            if (backupBatcher != null && backupBatcher.hasPendingBackups()) {
+                backupBatcher.afterTask(queue.isEmpty());
+            }
+        }
+
+        if (backupBatcher != null) {
+            backupBatcher.flush();
         }
     }
 
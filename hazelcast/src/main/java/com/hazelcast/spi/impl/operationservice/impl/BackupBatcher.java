@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.spi.impl.operationservice.impl.operations.Backup;
+import com.hazelcast.spi.impl.operationservice.impl.operations.BackupBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.internal.cluster.Versions.V5_5;
+
+/**
+ * Combines the consecutive {@link Backup}s of a partition operation thread that
+ * are sent to the same target for the same partition into a single {@link BackupBatch}.
+ * <p>
+ * The backups are held back only while the partition thread has more tasks
+ * queued: the thread notifies the batcher after each task, and the pending
+ * backups are sent once the queue is drained, the batch is full, the batch
+ * size number of tasks are executed or the maximum delay elapsed since the
+ * first pending backup.
+ * <p>
+ * Only accessed by its partition operation thread.
+ *
+ * @see com.hazelcast.spi.properties.ClusterProperty#OPERATION_BACKUP_BATCH_SIZE
+ * @see com.hazelcast.spi.properties.ClusterProperty#OPERATION_BACKUP_BATCH_MAX_DELAY_MICROS
+ */
+public final class BackupBatcher {
+
+    private final OutboundOperationHandler outboundOperationHandler;
+    private final ClusterService clusterService;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final List<Backup> backups;
+    private Address target;
+    private int partitionId;
+    private int executedTaskCount;
+    private long firstBackupNanos;
+
+    BackupBatcher(OutboundOperationHandler outboundOperationHandler, ClusterService clusterService,
+                  int batchSize, long maxDelayNanos) {
+        this.outboundOperationHandler = outboundOperationHandler;
+        this.clusterService = clusterService;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelayNanos;
+        this.backups = new ArrayList<>(batchSize);
+    }
+
+    void add(Backup backup, Address target) {
+        if (!backups.isEmpty() && (backup.getPartitionId() != partitionId || !target.equals(this.target))) {
+            flush();
+        }
+
+        if (backups.isEmpty()) {
+            this.target = target;
+            this.partitionId = backup.getPartitionId();
+            this.firstBackupNanos = System.nanoTime();
+        }
+        backups.add(backup);
+        if (backups.size() == batchSize) {
+            flush();
+        }
+    }
+
+    public boolean hasPendingBackups() {
+        return !backups.isEmpty();
+    }
+
+    /**
+     * Called by the partition thread after it executed a task.
+     *
+     * @param queueEmpty {@code true} if the queue of the partition thread is empty
+     */
+    public void afterTask(boolean queueEmpty) {
+        if (backups.isEmpty()) {
+            return;
+        }
+        if (queueEmpty || ++executedTaskCount >= batchSize
+                || System.nanoTime() - firstBackupNanos >= maxDelayNanos) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends the pending backups.
+     */
+    public void flush() {
+        int size = backups.size();
+        if (size == 0) {
+            return;
+        }
+
+        if (size == 1 || !clusterService.getClusterVersion().isGreaterOrEqual(V5_5)) {
+            for (Backup backup : backups) {
+                outboundOperationHandler.send(backup, target);
+            }
+        } else {
+            BackupBatch batch = new BackupBatch(new ArrayList<>(backups));
+            batch.setPartitionId(partitionId);
+            outboundOperationHandler.send(batch, target);
+        }
+
+        backups.clear();
+        target = null;
+        executedTaskCount = 0;
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.hazelcast.spi.impl.operationservice.impl;
 
+import com.hazelcast.cluster.Address;
 import com.hazelcast.instance.impl.Node;
 import com.hazelcast.internal.cluster.impl.ClusterServiceImpl;
 import com.hazelcast.internal.partition.InternalPartition;
@@ -30,12 +31,16 @@ import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.internal.services.ServiceNamespace;
 import com.hazelcast.internal.services.ServiceNamespaceAware;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.operationexecutor.impl.PartitionOperationThread;
 import com.hazelcast.spi.impl.operationservice.TargetAware;
 import com.hazelcast.spi.impl.operationservice.impl.operations.Backup;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 import static com.hazelcast.internal.partition.InternalPartition.MAX_BACKUP_COUNT;
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.hasActiveInvocation;
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallId;
+import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_BACKUP_BATCH_MAX_DELAY_MICROS;
+import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_BACKUP_BATCH_SIZE;
 import static java.lang.Math.min;
 
 /**
@@ -225,7 +230,7 @@ public final class OperationBackupHandler {
                 boolean isSyncBackup = replicaIndex <= syncBackups;
 
                 Backup backup = newBackup(backupAwareOp, backupOpData, replicaVersions, replicaIndex, isSyncBackup);
-                outboundOperationHandler.send(backup, target.address());
+                send(backup, target.address());
 
                 if (isSyncBackup) {
                     sendSyncBackups++;
@@ -265,7 +270,7 @@ public final class OperationBackupHandler {
             boolean isSyncBackup = syncBackups == 1;
 
             Backup backup = newBackup(backupAwareOp, backupOp, replicaVersions, 1, isSyncBackup);
-            outboundOperationHandler.send(backup, target.address());
+            send(backup, target.address());
 
             if (isSyncBackup) {
                 return 1;
@@ -274,6 +279,37 @@ public final class OperationBackupHandler {
         return 0;
     }
 
+    /**
+     * Sends the backup, or hands it over to the {@link BackupBatcher} of the
+     * current thread if it is a partition thread combining the backups.
+     */
+    private void send(Backup backup, Address target) {
+        if (Thread.currentThread() instanceof PartitionOperationThread partitionThread) {
+            BackupBatcher backupBatcher = partitionThread.getBackupBatcher();
+            if (backupBatcher != null) {
+                backupBatcher.add(backup, target);
+                return;
+            }
+        }
+        outboundOperationHandler.send(backup, target);
+    }
+
+    /**
+     * Makes the given partition threads combine the backups they send,
+     * if enabled by {@link ClusterProperty#OPERATION_BACKUP_BATCH_SIZE}.
+     */
+    void initBackupBatchers(PartitionOperationThread[] partitionThreads) {
+        int batchSize = nodeEngine.getProperties().getInteger(OPERATION_BACKUP_BATCH_SIZE);
+        if (batchSize <= 1 || nodeEngine.getTpcServerBootstrap().isEnabled()) {
+            return;
+        }
+        long maxDelayNanos = nodeEngine.getProperties().getNanos(OPERATION_BACKUP_BATCH_MAX_DELAY_MICROS);
+        for (PartitionOperationThread partitionThread : partitionThreads) {
+            partitionThread.setBackupBatcher(new BackupBatcher(outboundOperationHandler,
+                    nodeEngine.getClusterService(), batchSize, maxDelayNanos));
+        }
+    }
+
     private Operation getBackupOperation(BackupAwareOperation backupAwareOp) {
         Operation backupOp = backupAwareOp.getBackupOperation();
         if (backupOp == null) {
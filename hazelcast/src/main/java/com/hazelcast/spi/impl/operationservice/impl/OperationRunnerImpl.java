@@ -33,6 +33,7 @@ import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.metrics.StaticMetricsProvider;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.partition.InternalPartition;
+import com.hazelcast.internal.partition.PartitionMutationTracker;
 import com.hazelcast.internal.partition.PartitionReplica;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.impl.SerializationServiceV1;
@@ -196,6 +197,10 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
         }
 
         try {
+            PartitionMutationTracker mutationTracker = getMutationTracker();
+            if (mutationTracker != null) {
+                mutationTracker.onTask(task);
+            }
             task.run();
         } finally {
             if (publishCurrentTask) {
@@ -259,6 +264,10 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
             }
 
             op.beforeRun();
+            PartitionMutationTracker mutationTracker = op.getPartitionId() < 0 ? null : getMutationTracker();
+            if (mutationTracker != null) {
+                mutationTracker.onOperation(op);
+            }
             call(op);
         } catch (Throwable e) {
             handleOperationError(op, e);
@@ -416,6 +425,24 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
         }
     }
 
+    /**
+     * Returns the tracker of the partition of this runner if the partition
+     * is being migrated incrementally, {@code null} otherwise.
+     */
+    private PartitionMutationTracker getMutationTracker() {
+        int partitionId = getPartitionId();
+        if (partitionId < 0) {
+            return null;
+        }
+        InternalPartition partition = internalPartition;
+        if (partition == null) {
+            // not cached here, since the first operation of
+            // the partition must trigger the owner assignment
+            partition = nodeEngine.getPartitionService().getPartition(partitionId, false);
+        }
+        return partition.getMutationTracker();
+    }
+
     private boolean isAllowedToRetryDuringMigration(Operation op) {
         return (op instanceof ReadonlyOperation && staleReadOnMigrationEnabled) || isMigrationOperation(op);
     }
@@ -500,12 +527,16 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
             logOperationDeserializationException(throwable, callId);
             throw ExceptionUtil.rethrow(throwable);
         } finally {
-            if (op != null) {
-                op.clearThreadContext();
-            }
+            // the slow operation detector and the diagnostics read the current
+            // task from other threads, so the packet is unpublished before its
+            // pooled payload is given back
             if (publishCurrentTask) {
                 currentTask = null;
             }
+            if (op != null) {
+                op.clearThreadContext();
+            }
+            packet.release();
         }
     }
 
@@ -185,12 +185,14 @@ public final class OperationServiceImpl implements StaticMetricsProvider, LiveOp
         this.inboundResponseHandlerSupplier = new InboundResponseHandlerSupplier(
                 configClassLoader, invocationRegistry, hzName, nodeEngine);
 
-        this.operationExecutor = new OperationExecutorImpl(
+        OperationExecutorImpl executor = new OperationExecutorImpl(
                 properties, node.loggingService, thisAddress, new OperationRunnerFactoryImpl(this),
                 nodeEngine, node.getNodeExtension(), hzName, configClassLoader, nodeEngine.getTpcServerBootstrap());
+        backupHandler.initBackupBatchers(executor.getPartitionThreads());
+        this.operationExecutor = executor;
 
         this.slowOperationDetector = new SlowOperationDetector(node.loggingService,
-                operationExecutor.getGenericOperationRunners(), operationExecutor.getPartitionOperationRunners(),
+                executor.getGenericOperationRunners(), executor.getPartitionOperationRunners(),
                 properties, hzName);
     }
 
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl.operations;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.AllowedDuringPassiveState;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.SpiDataSerializerHook;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.OperationAccessor;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.spi.impl.operationservice.OperationResponseHandlerFactory.createEmptyResponseHandler;
+
+/**
+ * Carries the {@link Backup}s of consecutive operations of the same partition
+ * sent to the same backup replica, and runs them in the order they were created.
+ * <p>
+ * Each backup is run like it was received on its own, so it is validated,
+ * applied and acknowledged independently of the other backups of the batch.
+ *
+ * @see com.hazelcast.spi.impl.operationservice.impl.BackupBatcher
+ */
+public final class BackupBatch extends Operation implements AllowedDuringPassiveState, IdentifiedDataSerializable {
+
+    private List<Backup> backups;
+    private transient boolean backupsInitialized;
+
+    public BackupBatch() {
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public BackupBatch(List<Backup> backups) {
+        this.backups = backups;
+    }
+
+    @Override
+    public void run() throws Exception {
+        ensureBackupsInitialized();
+        NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
+        for (Backup backup : backups) {
+            nodeEngine.getOperationService().run(backup);
+        }
+    }
+
+    private void ensureBackupsInitialized() {
+        if (backupsInitialized) {
+            return;
+        }
+        backupsInitialized = true;
+        for (Backup backup : backups) {
+            backup.setNodeEngine(getNodeEngine());
+            OperationAccessor.setCallerAddress(backup, getCallerAddress());
+            OperationAccessor.setConnection(backup, getConnection());
+            if (backup.getCallerUuid() == null) {
+                backup.setCallerUuid(getCallerUuid());
+            }
+            backup.setOperationResponseHandler(createEmptyResponseHandler());
+        }
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    public boolean validatesTarget() {
+        return false;
+    }
+
+    @Override
+    public void onExecutionFailure(Throwable e) {
+        ensureBackupsInitialized();
+        for (Backup backup : backups) {
+            try {
+                backup.onExecutionFailure(e);
+            } catch (Throwable t) {
+                getLogger().warning("While calling operation.onFailure(). op: " + backup, t);
+            }
+        }
+    }
+
+    @Override
+    public void logError(Throwable e) {
+        if (backups.isEmpty()) {
+            super.logError(e);
+        } else {
+            ensureBackupsInitialized();
+            backups.get(0).logError(e);
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SpiDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SpiDataSerializerHook.BACKUP_BATCH;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeInt(backups.size());
+        for (Backup backup : backups) {
+            out.writeObject(backup);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        backups = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            backups.add(in.readObject());
+        }
+    }
+
+    @Override
+    protected void toString(StringBuilder sb) {
+        super.toString(sb);
+        sb.append(", backupCount=").append(backups.size());
+    }
+}
@@ -151,6 +151,60 @@ public final class ClusterProperty {
     public static final HazelcastProperty SOCKET_BUFFER_DIRECT
             = new HazelcastProperty("hazelcast.socket.buffer.direct", false);
 
+    /**
+     * If the payloads of the operation packets received from other members
+     * should be read into pooled buffers ({@code true}) instead of a newly
+     * allocated byte array per packet ({@code false}). A pooled buffer is given
+     * back to its pool as soon as the operation is executed, so this reduces the
+     * garbage created by the member to member communication.
+     * <p>
+     * Only the payloads between {@link #PACKET_PAYLOAD_POOLING_MIN_SIZE}
+     * and {@link #PACKET_PAYLOAD_POOLED_BUFFER_SIZE} are pooled, and the
+     * pool is bounded by {@link #PACKET_PAYLOAD_POOL_MAX_SIZE_IN_MB}.
+     * <p>
+     * Default: {@code false}
+     */
+    public static final HazelcastProperty PACKET_PAYLOAD_POOLING_ENABLED
+            = new HazelcastProperty("hazelcast.packet.payload.pooling.enabled", false);
+
+    /**
+     * The size of the pooled packet payload buffers in bytes. Larger payloads
+     * are read into a newly allocated byte array.
+     * <p>
+     * Default: {@code 8192}
+     *
+     * @see #PACKET_PAYLOAD_POOLING_ENABLED
+     */
+    public static final HazelcastProperty PACKET_PAYLOAD_POOLED_BUFFER_SIZE
+            = new HazelcastProperty("hazelcast.packet.payload.pooled.buffer.size", 8192);
+
+    /**
+     * The size of the smallest pooled packet payload in bytes. Smaller
+     * payloads are read into a newly allocated byte array, since a queued
+     * packet keeps its pooled buffer, which would be mostly unused.
+     * <p>
+     * Default: {@code 1024}
+     *
+     * @see #PACKET_PAYLOAD_POOLING_ENABLED
+     * @since 5.5
+     */
+    public static final HazelcastProperty PACKET_PAYLOAD_POOLING_MIN_SIZE
+            = new HazelcastProperty("hazelcast.packet.payload.pooling.min.size", 1024);
+
+    /**
+     * The maximum total size of the pooled packet payload buffers in
+     * megabytes. The pool is shared by all connections of the member. When
+     * all buffers are in use, for example because many operations are queued,
+     * the payloads are read into newly allocated byte arrays.
+     * <p>
+     * Default: {@code 16}
+     *
+     * @see #PACKET_PAYLOAD_POOLING_ENABLED
+     * @since 5.5
+     */
+    public static final HazelcastProperty PACKET_PAYLOAD_POOL_MAX_SIZE_IN_MB
+            = new HazelcastProperty("hazelcast.packet.payload.pool.max.size.in.mb", 16);
+
     /**
      * Overrides receive buffer size for connections opened by clients.
      * <p>
@@ -363,6 +417,18 @@ public final class ClusterProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.io.write.through", true);
 
+    /**
+     * The minimum payload size in bytes of the packets that are written to the
+     * socket with a gathering write. The header of such a packet is written to
+     * the socket buffer and the payload is written directly from the packet,
+     * instead of being copied into the socket buffer first. This reduces the
+     * copying of large packets, e.g. the migration and the replication data.
+     * <p>
+     * It is disabled by default (-1).
+     */
+    public static final HazelcastProperty IO_GATHERING_WRITE_THRESHOLD
+            = new HazelcastProperty("hazelcast.io.gathering.write.threshold", -1);
+
     /**
      * Property needed for concurrency detection so that write through can be
      * done correctly.
@@ -532,6 +598,37 @@ public final class ClusterProperty {
     public static final HazelcastProperty PARTITION_CHUNKED_MAX_MIGRATING_DATA_IN_MB
             = new HazelcastProperty("hazelcast.partition.migration.chunks.max.migrating.data.in.mb", 250);
 
+    /**
+     * When enabled, the partition owner keeps accepting writes to a
+     * migrating partition while it sends the partition data to the
+     * migration destination, and records the namespaces mutated in the
+     * meantime. Once all data is sent, writes to the partition are paused
+     * and only the mutated namespaces are sent again. For the services
+     * which can tell the keys their operations mutate, such as IMap, only
+     * the entries of the mutated keys are sent, unless there are too many
+     * of them. This shortens the time the writes to a migrating partition
+     * wait, at the expense of sending the mutated data twice.
+     * <p>
+     * Default disabled.
+     *
+     * @see ClusterProperty#PARTITION_FRAGMENTED_MIGRATION_ENABLED
+     */
+    public static final HazelcastProperty PARTITION_INCREMENTAL_MIGRATION_ENABLED
+            = new HazelcastProperty("hazelcast.partition.migration.incremental.enabled", false);
+
+    /**
+     * Maximum rate in megabytes per second at which a member sends
+     * partition data for migrations. The limit is shared by all parallel
+     * migrations sent from the member. Since the limit is applied between
+     * the migration fragments, you may also want to lower
+     * {@link #PARTITION_CHUNKED_MAX_MIGRATING_DATA_IN_MB} to have a smoother
+     * migration traffic.
+     * <p>
+     * Default is 0, which means unlimited.
+     */
+    public static final HazelcastProperty PARTITION_MIGRATION_MAX_BANDWIDTH_MB_PER_SECOND
+            = new HazelcastProperty("hazelcast.partition.migration.max.bandwidth.mb.per.second", 0);
+
     /**
      * The time that a newly-appointed master node waits before forming a cluster.
      * Once a cluster is being started, a newly-appointed master node may receive
@@ -1005,6 +1102,21 @@ public final class ClusterProperty {
     public static final HazelcastProperty QUERY_PREDICATE_PARALLEL_EVALUATION
             = new HazelcastProperty("hazelcast.query.predicate.parallel.evaluation", false);
 
+    /**
+     * Evaluate query predicates on blocks of entries during full partition
+     * scans of {@code OBJECT} and {@code BINARY} maps.
+     * <p>
+     * When enabled, the values of the queried numeric attributes of a block
+     * of entries are copied to primitive arrays and equal, between,
+     * greater/less and in predicates (and their conjunctions) are evaluated
+     * over these arrays in tight loops instead of entry by entry. Other
+     * predicates and attributes are evaluated as usual.
+     * <p>
+     * The default is {@code false}.
+     */
+    public static final HazelcastProperty QUERY_PREDICATE_BATCH_EVALUATION
+            = new HazelcastProperty("hazelcast.query.predicate.batch.evaluation", false);
+
     /**
      * Run aggregation accumulation for multiple entries in parallel.
      * <p>
@@ -1017,6 +1129,24 @@ public final class ClusterProperty {
     public static final HazelcastProperty AGGREGATION_ACCUMULATION_PARALLEL_EVALUATION
             = new HazelcastProperty("hazelcast.aggregation.accumulation.parallel.evaluation", true);
 
+    /**
+     * Maximum number of entries in a chunk of work evaluated by a single
+     * thread when query predicates or aggregation accumulations are
+     * evaluated in parallel (see {@link #QUERY_PREDICATE_PARALLEL_EVALUATION}
+     * and {@link #AGGREGATION_ACCUMULATION_PARALLEL_EVALUATION}).
+     * <p>
+     * Partitions are split into chunks of this size and idle threads steal
+     * chunks from busy ones, so a single large partition doesn't delay the
+     * whole query. Smaller chunks balance the load better at the cost of a
+     * higher coordination overhead. The chunks are evaluated by as many
+     * threads as configured for the {@code hz:query} executor, or by as many
+     * as there are available processors if the executor is not configured.
+     * <p>
+     * The default is {@code 1024}.
+     */
+    public static final HazelcastProperty QUERY_SCAN_CHUNK_SIZE
+            = new HazelcastProperty("hazelcast.query.scan.chunk.size", 1024);
+
     /**
      * Enables use of the concurrent HD index introduced in 4.1 for the IMDG
      * predicate API (old query engine) and reverts to using the per-partition
@@ -1089,6 +1219,34 @@ public final class ClusterProperty {
     public static final HazelcastProperty QUERY_MAX_LOCAL_PARTITION_LIMIT_FOR_PRE_CHECK
             = new HazelcastProperty("hazelcast.query.max.local.partition.limit.for.precheck", 3);
 
+    /**
+     * Enables the member-side cache of map query results.
+     * <p>
+     * Each member caches the results of the queries and aggregations run on
+     * its owned partitions, keyed by the serialized query. A cached result is
+     * served only until any of the queried partitions is mutated, so the
+     * cache pays off for repeated queries against slowly changing maps.
+     * Results on partitions holding expirable entries are never cached. Not
+     * supported for the NATIVE in-memory format and the tiered store.
+     * <p>
+     * The default is {@code false}.
+     *
+     * @see #QUERY_RESULT_CACHE_MAX_SIZE_IN_MB
+     */
+    public static final HazelcastProperty QUERY_RESULT_CACHE_ENABLED
+            = new HazelcastProperty("hazelcast.query.result.cache.enabled", false);
+
+    /**
+     * Maximum total size of the query results cached per map on a member, in
+     * megabytes. Once exceeded, the least recently used results are evicted.
+     * <p>
+     * The default is {@code 16}.
+     *
+     * @see #QUERY_RESULT_CACHE_ENABLED
+     */
+    public static final HazelcastProperty QUERY_RESULT_CACHE_MAX_SIZE_IN_MB
+            = new HazelcastProperty("hazelcast.query.result.cache.max.size.in.mb", 16);
+
     /**
      * Type of Query Optimizer.
      * Valid Values:
@@ -1166,6 +1324,20 @@ public final class ClusterProperty {
     public static final HazelcastProperty INDEX_COPY_BEHAVIOR
             = new HazelcastProperty("hazelcast.index.copy.behavior", IndexCopyBehavior.COPY_ON_READ.toString());
 
+    /**
+     * Store the entries of on-heap {@code SORTED} indexes in a concurrent
+     * B+tree instead of a skip list of per-value maps.
+     * <p>
+     * The B+tree keeps the entries in arrays within its leaves, so it costs
+     * considerably less heap per indexed entry and range scans walk mostly
+     * contiguous memory. Index reads never block, index updates of a single
+     * index are serialized.
+     * <p>
+     * The default is {@code false}.
+     */
+    public static final HazelcastProperty INDEX_SORTED_BPLUS_TREE_ENABLED
+            = new HazelcastProperty("hazelcast.index.sorted.bplustree.enabled", false);
+
     /**
      * The number of threads that the client engine has available for processing
      * requests that are related to the query engine.
@@ -1244,6 +1416,55 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_LOAD_CHUNK_SIZE
             = new HazelcastProperty("hazelcast.map.load.chunk.size", 1000);
 
+    /**
+     * The maximum number of key shards of a {@link com.hazelcast.map.ShardedMapLoader}
+     * which are loaded in parallel when loading the keys of a map. The
+     * shards are loaded on the {@link com.hazelcast.spi.impl.executionservice.ExecutionService#MAP_LOAD_ALL_KEYS_EXECUTOR}
+     * executor, so its pool size also limits the parallelism.
+     * <p>
+     * Default: {@code 4}
+     */
+    public static final HazelcastProperty MAP_LOAD_KEY_SHARD_PARALLELISM
+            = new HazelcastProperty("hazelcast.map.load.key.shard.parallelism", 4);
+
+    /**
+     * The maximum number of keys streamed from a {@link com.hazelcast.map.ShardedMapLoader}
+     * for which a member loads the values at the same time. When the limit
+     * is reached, the member rejects further key batches and the key
+     * loading member retries them later, so that slow value loading
+     * pushes back on the key loading instead of queueing up keys.
+     * <p>
+     * Default: {@code 100000}
+     */
+    public static final HazelcastProperty MAP_LOAD_PENDING_KEY_LIMIT_PER_NODE
+            = new HazelcastProperty("hazelcast.map.load.pending.key.limit.per.node", 100000);
+
+    /**
+     * Enables coalescing of the read-through loads of maps with a
+     * {@link com.hazelcast.map.MapLoader}. Concurrent loads of the same key
+     * share a single load, and loads of different keys arriving within
+     * {@link #MAP_LOAD_COALESCING_WINDOW_MILLIS} are loaded with a single
+     * {@link com.hazelcast.map.MapLoader#loadAll} call of at most
+     * {@link #MAP_LOAD_CHUNK_SIZE} keys. Only the loads of the operations
+     * offloaded from the partition threads are coalesced, see
+     * {@link com.hazelcast.config.MapStoreConfig#setOffload(boolean)}.
+     * <p>
+     * Default: {@code false}
+     */
+    public static final HazelcastProperty MAP_LOAD_COALESCING_ENABLED
+            = new HazelcastProperty("hazelcast.map.load.coalescing.enabled", false);
+
+    /**
+     * The time window in which the read-through loads of different keys
+     * are grouped into a single {@link com.hazelcast.map.MapLoader#loadAll}
+     * call when {@link #MAP_LOAD_COALESCING_ENABLED} is set. The window
+     * adds to the latency of the first load of a batch.
+     * <p>
+     * Default: {@code 1} millisecond
+     */
+    public static final HazelcastProperty MAP_LOAD_COALESCING_WINDOW_MILLIS
+            = new HazelcastProperty("hazelcast.map.load.coalescing.window.millis", 1, MILLISECONDS);
+
     /**
      * Scheduler delay for map tasks those are executed on backup members.
      */
@@ -1314,6 +1535,67 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY
             = new HazelcastProperty("hazelcast.map.write.behind.queue.capacity", 50000);
 
+    /**
+     * Number of flushers draining the write-behind queues of a map on a
+     * member in parallel. Partitions are sharded across the flushers, so the
+     * store operations on a key are always persisted in order by the same
+     * flusher.
+     * <p>
+     * When set to a value greater than {@code 1}, the flushers run on the
+     * {@value com.hazelcast.spi.impl.executionservice.ExecutionService#MAP_WRITE_BEHIND_EXECUTOR}
+     * executor, whose pool size can be configured with an
+     * {@link com.hazelcast.config.ExecutorConfig} of the same name. The
+     * flusher count is capped at the partition count.
+     * <p>
+     * Default: 1, write-behind queues are drained serially
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_FLUSHER_COUNT
+            = new HazelcastProperty("hazelcast.map.write.behind.flusher.count", 1);
+
+    /**
+     * Target latency of a single {@link com.hazelcast.map.MapStore#storeAll}
+     * or {@link com.hazelcast.map.MapStore#deleteAll} call made by write-behind.
+     * <p>
+     * When set to a positive value, the write batch size of a write-coalescing
+     * map store is adapted to the measured map store latency: it starts from
+     * the configured {@link com.hazelcast.config.MapStoreConfig#getWriteBatchSize()}
+     * and is resized after each batch towards the number of entries which can
+     * be stored within the target latency, up to 16 times the configured size.
+     * It has no effect if the configured write batch size is {@code 1}.
+     * <p>
+     * Default: 0, the configured write batch size is used as is
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_TARGET_BATCH_LATENCY_MILLIS
+            = new HazelcastProperty("hazelcast.map.write.behind.target.batch.latency.millis", 0, MILLISECONDS);
+
+    /**
+     * Maximum native memory used by the off-heap record storage of a map on a
+     * member, in megabytes. Once exceeded, entries are evicted according to
+     * the eviction policy of the map, regardless of its max size policy. Has
+     * no effect on maps without eviction.
+     * <p>
+     * The default is {@code 0}, which means no limit.
+     *
+     * @see com.hazelcast.config.MapConfig#setOffHeapStorageEnabled
+     * @since 5.5
+     */
+    public static final HazelcastProperty MAP_OFF_HEAP_STORAGE_MAX_SIZE_IN_MB
+            = new HazelcastProperty("hazelcast.map.offheap.storage.max.size.in.mb", 0);
+
+    /**
+     * Keeps the values of Near Caches with
+     * {@link com.hazelcast.config.InMemoryFormat#BINARY} in-memory format in
+     * native memory outside the Java heap, only keys and record metadata stay
+     * on-heap. Applies to both member and client Near Caches, and only when
+     * {@code sun.misc.Unsafe} is available.
+     * <p>
+     * Default: false
+     *
+     * @since 5.5
+     */
+    public static final HazelcastProperty NEAR_CACHE_OFF_HEAP_STORAGE_ENABLED
+            = new HazelcastProperty("hazelcast.nearcache.offheap.storage.enabled", false);
+
     /*
      * INVOCATION / OPERATION SYSTEM PROPERTIES
      */
@@ -1436,6 +1718,40 @@ public final class ClusterProperty {
     public static final HazelcastProperty BACKPRESSURE_MAX_CONCURRENT_INVOCATIONS_PER_PARTITION
             = new HazelcastProperty("hazelcast.backpressure.max.concurrent.invocations.per.partition", 100);
 
+    /**
+     * The maximum number of backups of the same partition combined into a single
+     * backup operation sent to a backup replica.
+     * <p>
+     * While the partition operation thread has more operations queued, the backups
+     * of its consecutive operations of the same partition are combined into a single
+     * operation, which reduces the number of backup packets sent and scheduled under
+     * high write throughput. The combined backups are sent when the queue of the
+     * partition thread is drained, when the given number of backups is reached,
+     * after the same number of tasks is executed or once the first combined backup
+     * waits for {@link #OPERATION_BACKUP_BATCH_MAX_DELAY_MICROS}, whichever comes
+     * first.
+     * <p>
+     * A value of 1 disables combining the backups.
+     * <p>
+     * Default: 1
+     */
+    public static final HazelcastProperty OPERATION_BACKUP_BATCH_SIZE
+            = new HazelcastProperty("hazelcast.operation.backup.batch.size", 1);
+
+    /**
+     * The maximum time in microseconds a backup is held back to be combined with
+     * the backups of the following operations, see {@link #OPERATION_BACKUP_BATCH_SIZE}.
+     * The pending backups are sent after the first task which completes once this
+     * time elapsed since the first pending backup, which bounds the latency added
+     * to the backups when the partition thread stays busy.
+     * <p>
+     * Default: 100
+     *
+     * @since 5.5
+     */
+    public static final HazelcastProperty OPERATION_BACKUP_BATCH_MAX_DELAY_MICROS
+            = new HazelcastProperty("hazelcast.operation.backup.batch.max.delay.micros", 100, MICROSECONDS);
+
     /**
      * Hazelcast allows read operations to be performed while a partition is
      * being migrated. This can lead to stale reads for some scenarios. You can
@@ -1871,6 +2187,79 @@ public final class ClusterProperty {
     public static final HazelcastProperty PROCESSOR_CUSTOM_LIB_DIR
             = new HazelcastProperty("hazelcast.jet.custom.lib.dir", "custom-lib");
 
+    /**
+     * The directory to which the batch sorting and grouping processors spill
+     * their data when they reach the maximum number of accumulated records,
+     * instead of failing the job. The sorting processor writes sorted runs
+     * and merges them back, the grouping processor writes the accumulators
+     * partitioned by the key hash and combines them back one partition at a
+     * time.
+     * <p>
+     * The spilling is triggered by the per-processor limit on the number of
+     * accumulated records, not by the size of the memory they use. The
+     * sorting and grouping processors aren't cooperative when the spilling
+     * is enabled, since the disk I/O blocks. The hash join doesn't spill, its
+     * build side must still fit into the memory.
+     * <p>
+     * The directory must exist and be writable, the files are removed when
+     * the processor completes. By default the spilling is disabled.
+     *
+     * @see com.hazelcast.jet.config.JobConfig#setMaxProcessorAccumulatedRecords
+     * @since 5.5
+     */
+    public static final HazelcastProperty JET_SPILL_DIRECTORY
+            = new HazelcastProperty("hazelcast.jet.spill.directory");
+
+    /**
+     * The directory in which the keyed state of the stateful mapping
+     * processors is stored. If set, only the keys are kept on heap and their
+     * state is kept in a log file in this directory, with a small write buffer
+     * on heap. This allows a state larger than the heap, at the cost of the
+     * serialization of the state on access. The stateful mapping processors
+     * aren't cooperative when the state is stored on disk, since the disk
+     * I/O blocks.
+     * <p>
+     * The directory must exist and be writable, the files are removed when
+     * the processor completes. By default the state is kept on heap.
+     *
+     * @see #JET_STATE_BACKEND_WRITE_BUFFER_SIZE
+     * @since 5.5
+     */
+    public static final HazelcastProperty JET_STATE_BACKEND_DIRECTORY
+            = new HazelcastProperty("hazelcast.jet.state.backend.directory");
+
+    /**
+     * The number of the modified states a stateful mapping processor buffers
+     * on heap before it appends them to its log file. Used only if {@link
+     * #JET_STATE_BACKEND_DIRECTORY} is set. A larger buffer means fewer
+     * writes to disk, but more state kept on heap.
+     *
+     * @since 5.5
+     */
+    public static final HazelcastProperty JET_STATE_BACKEND_WRITE_BUFFER_SIZE
+            = new HazelcastProperty("hazelcast.jet.state.backend.write.buffer.size", 1024);
+
+    /**
+     * Enables the adaptive scheduling of the cooperative tasklets. The
+     * cooperative worker threads measure the time each tasklet spends in its
+     * calls. A tasklet that used more than its share of the thread is skipped
+     * until the other busy tasklets on the thread catch up, so that a hot
+     * tasklet doesn't increase the latency of the other jobs. The share of a
+     * job is proportional to its weight, see {@link
+     * com.hazelcast.jet.config.JobConfigArguments#KEY_COOPERATIVE_WEIGHT}.
+     * The threads also periodically move tasklets from the most utilized
+     * thread to the least utilized one.
+     * <p>
+     * If disabled, the tasklets are called round-robin and stay on the thread
+     * they were assigned to when the job started, and the tasklet calls are
+     * not timed, so the {@code busyTime} and {@code utilization} metrics of
+     * the cooperative threads stay at zero. It is disabled by default.
+     *
+     * @since 5.5
+     */
+    public static final HazelcastProperty JET_COOPERATIVE_ADAPTIVE_SCHEDULING_ENABLED
+            = new HazelcastProperty("hazelcast.jet.cooperative.adaptive.scheduling.enabled", false);
+
     /**
      * Controls whether cluster emojis can be used in log messages. This is just a hint for components calling the logging.
      *
@@ -1907,6 +2296,15 @@ public final class ClusterProperty {
     public static final HazelcastProperty SQL_TSTORE_ENABLED = new HazelcastProperty(
             "hazelcast.sql.tstore.enabled", false);
 
+    /**
+     * Enable experimental evaluation of SQL filters and projections in batches
+     * of rows. The expressions of a primitive numeric or boolean type are then
+     * evaluated to column vectors, without boxing the intermediate results.
+     * @since 5.5
+     */
+    @Beta
+    public static final HazelcastProperty SQL_BATCH_EXECUTION_ENABLED = new HazelcastProperty(
+            "hazelcast.sql.batch.execution.enabled", false);
 
     /**
      * When {@code true}, enables monitoring of the runtime environment to detect the intent of shutdown
@@ -18,6 +18,7 @@ package com.hazelcast.client.map.impl.query;
 
 import com.hazelcast.client.config.ClientConfig;
 import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.IndexConfig;
 import com.hazelcast.config.IndexType;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
@@ -37,6 +38,7 @@ import java.util.Collection;
 
 import static com.hazelcast.query.Predicates.equal;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -72,6 +74,18 @@ public class ClientQueryAdvancedTest extends HazelcastTestSupport {
         assertThat(emptyFieldValues).containsExactlyInAnyOrder(valueWithNull);
     }
 
+    @Test
+    public void addIndex_whenIncludedAttributes_thenRejected() {
+        hazelcastFactory.newHazelcastInstance(getConfig());
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient(getClientConfig());
+        IMap<Integer, Value> map = client.getMap("default");
+
+        IndexConfig indexConfig = new IndexConfig(IndexType.SORTED, "type").addIncludedAttribute("name");
+
+        assertThatThrownBy(() -> map.addIndex(indexConfig))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
     protected ClientConfig getClientConfig() {
         return new ClientConfig();
     }
@@ -58,4 +58,14 @@ public class IndexConfigReadOnlyTest {
     public void addColumn2() {
         getConfig().addAttribute("column");
     }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void setIncludedColumns() {
+        getConfig().setIncludedAttributes(Collections.singletonList("column"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void addIncludedColumn() {
+        getConfig().addIncludedAttribute("column");
+    }
 }
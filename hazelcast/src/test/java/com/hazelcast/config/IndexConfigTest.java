@@ -67,6 +67,20 @@ public class IndexConfigTest {
 
         checkIndexQuality(new IndexConfig().setName("name"), new IndexConfig().setName("name"), true);
         checkIndexQuality(new IndexConfig().setName("name"), new IndexConfig().setName("name2"), false);
+
+        checkIndexQuality(new IndexConfig().addIncludedAttribute("a"), new IndexConfig().addIncludedAttribute("a"), true);
+        checkIndexQuality(new IndexConfig().addIncludedAttribute("a"), new IndexConfig().addIncludedAttribute("b"), false);
+        checkIndexQuality(new IndexConfig().addIncludedAttribute("a"), new IndexConfig(), false);
+    }
+
+    @Test
+    public void testIncludedAttributesCopied() {
+        IndexConfig config = new IndexConfig(IndexType.HASH, "col1").addIncludedAttribute("col2");
+
+        IndexConfig copy = new IndexConfig(config);
+
+        assertEquals(config, copy);
+        assertEquals(Collections.singletonList("col2"), copy.getIncludedAttributes());
     }
 
     private void checkIndexQuality(IndexConfig config1, IndexConfig config2, boolean expected) {
@@ -125,4 +139,19 @@ public class IndexConfigTest {
         new IndexConfig().addAttribute("");
     }
 
+    @Test(expected = NullPointerException.class)
+    public void testIncludedAttributesNull() {
+        new IndexConfig().setIncludedAttributes(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testIncludedAttributeNullAdd() {
+        new IndexConfig().addIncludedAttribute(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncludedAttributeEmptyAdd() {
+        new IndexConfig().addIncludedAttribute("");
+    }
+
 }
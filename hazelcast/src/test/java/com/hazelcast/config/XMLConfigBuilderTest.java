@@ -2722,6 +2722,9 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "               <attributes>\n"
                 + "                   <attribute>age</attribute>\n"
                 + "               </attributes>\n"
+                + "               <included-attributes>\n"
+                + "                   <attribute>name</attribute>\n"
+                + "               </included-attributes>\n"
                 + "           </index>\n"
                 + "           <index type=\"SORTED\">\n"
                 + "               <attributes>\n"
@@ -2745,7 +2748,9 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
         assertFalse(indexConfigs.isEmpty());
         assertIndexEqual("name", false, indexConfigs.get(0));
         assertIndexEqual("age", true, indexConfigs.get(1));
+        assertEquals(List.of("name"), indexConfigs.get(1).getIncludedAttributes());
         assertIndexEqual("age", true, indexConfigs.get(2));
+        assertTrue(indexConfigs.get(2).getIncludedAttributes().isEmpty());
         BTreeIndexConfig bTreeIndexConfig = indexConfigs.get(2).getBTreeIndexConfig();
         assertEquals(Capacity.of(1337, MemoryUnit.BYTES), bTreeIndexConfig.getPageSize());
         assertEquals(Capacity.of(1138, MemoryUnit.BYTES), bTreeIndexConfig.getMemoryTierConfig().getCapacity());
@@ -2723,6 +2723,8 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "            - \"name\"\n"
                 + "        - attributes:\n"
                 + "          - \"age\"\n"
+                + "          included-attributes:\n"
+                + "          - \"name\"\n"
                 + "        - type: SORTED\n"
                 + "          attributes:\n"
                 + "            - \"age\"\n"
@@ -2743,7 +2745,9 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
         assertFalse(indexConfigs.isEmpty());
         assertIndexEqual("name", false, indexConfigs.get(0));
         assertIndexEqual("age", true, indexConfigs.get(1));
+        assertEquals(List.of("name"), indexConfigs.get(1).getIncludedAttributes());
         assertIndexEqual("age", true, indexConfigs.get(2));
+        assertTrue(indexConfigs.get(2).getIncludedAttributes().isEmpty());
         BTreeIndexConfig bTreeIndexConfig = indexConfigs.get(2).getBTreeIndexConfig();
         assertEquals(Capacity.of(1337, MemoryUnit.BYTES), bTreeIndexConfig.getPageSize());
         assertEquals(Capacity.of(1138, MemoryUnit.BYTES), bTreeIndexConfig.getMemoryTierConfig().getCapacity());
@@ -231,6 +231,23 @@ public abstract class AbstractDynamicConfigGeneratorTest extends HazelcastTestSu
         assertEquals(expectedConfig, actualConfig);
     }
 
+    @Test
+    public void testMapWithIncludedIndexAttributes() {
+        MapConfig expectedConfig = newMapConfig()
+                .setName("testMapWithIncludedIndexAttributes");
+        IndexConfig indexConfig = new IndexConfig(IndexType.HASH, "age")
+                .addIncludedAttribute("name")
+                .addIncludedAttribute("city");
+        expectedConfig.addIndexConfig(indexConfig);
+
+        Config config = new Config()
+                .addMapConfig(expectedConfig);
+
+        Config decConfig = getNewConfigViaGenerator(config);
+        MapConfig actualConfig = decConfig.getMapConfig("testMapWithIncludedIndexAttributes");
+        assertEquals(expectedConfig, actualConfig);
+    }
+
     @Test
     public void testMapWithBTreeConfig() {
         MapConfig expectedConfig = newMapConfig()
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FrequencySketchTest {
+
+    @Test
+    public void testFrequencyOfUnknownKey() {
+        FrequencySketch sketch = new FrequencySketch(100);
+
+        assertEquals(0, sketch.frequency("key"));
+    }
+
+    @Test
+    public void testIncrement() {
+        FrequencySketch sketch = new FrequencySketch(100);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("key");
+        }
+
+        assertEquals(5, sketch.frequency("key"));
+    }
+
+    @Test
+    public void testFrequencyIsBounded() {
+        FrequencySketch sketch = new FrequencySketch(100);
+        for (int i = 0; i < 2 * FrequencySketch.MAX_FREQUENCY; i++) {
+            sketch.increment("key");
+        }
+
+        assertEquals(FrequencySketch.MAX_FREQUENCY, sketch.frequency("key"));
+    }
+
+    @Test
+    public void testFrequenciesHalvedAfterSampleWindow() {
+        int maximumSize = 10;
+        int frequency = 8;
+        FrequencySketch sketch = new FrequencySketch(maximumSize);
+        for (int i = 0; i < frequency; i++) {
+            sketch.increment(1);
+        }
+        assertTrue(sketch.frequency(1) >= frequency);
+
+        // fill up the sample window of ten times the maximum size with other keys
+        for (int i = 0; i < 10 * maximumSize - frequency; i++) {
+            sketch.increment(1000 + i);
+        }
+
+        assertTrue(sketch.frequency(1) < frequency);
+    }
+}
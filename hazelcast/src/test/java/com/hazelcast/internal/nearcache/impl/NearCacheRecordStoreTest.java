@@ -34,7 +34,12 @@ import org.junit.runners.Parameterized.Parameter;
 import org.junit.runners.Parameterized.Parameters;
 import org.junit.runners.Parameterized.UseParametersRunnerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertTrue;
@@ -145,6 +150,89 @@ public class NearCacheRecordStoreTest extends NearCacheRecordStoreTestSupport {
         doEvictionWithEntryCountMaxSizePolicy(inMemoryFormat, EvictionPolicy.RANDOM);
     }
 
+    @Test
+    public void evictionTriggeredAndHandledSuccessfullyWithEntryCountMaxSizePolicyAndTinyLFUEvictionPolicy() {
+        doEvictionWithEntryCountMaxSizePolicy(inMemoryFormat, EvictionPolicy.TINY_LFU);
+    }
+
+    @Test
+    public void frequentlyReadRecordsSurviveScanWithTinyLFUEvictionPolicy() {
+        int maxSize = DEFAULT_RECORD_COUNT;
+
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                .setSize(maxSize)
+                .setEvictionPolicy(EvictionPolicy.TINY_LFU);
+
+        NearCacheConfig nearCacheConfig = createNearCacheConfig(DEFAULT_NEAR_CACHE_NAME, inMemoryFormat)
+                .setEvictionConfig(evictionConfig);
+
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(nearCacheConfig, inMemoryFormat);
+
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < maxSize; i++) {
+                readThrough(nearCacheRecordStore, i);
+            }
+        }
+        for (int i = maxSize; i < 3 * maxSize; i++) {
+            readThrough(nearCacheRecordStore, i);
+            assertTrue(maxSize >= nearCacheRecordStore.size());
+        }
+
+        int retained = 0;
+        for (int i = 0; i < maxSize; i++) {
+            if (nearCacheRecordStore.get(i) != null) {
+                retained++;
+            }
+        }
+        assertTrue("Only " + retained + " frequently read records were retained", retained >= maxSize * 9 / 10);
+        assertTrue(nearCacheRecordStore.getNearCacheStats().getAdmissionRejections() >= maxSize);
+    }
+
+    @Test
+    public void concurrentAdmissionsNeverExceedMaxSizeWithTinyLFUEvictionPolicy() throws Exception {
+        int maxSize = DEFAULT_RECORD_COUNT;
+        int threadCount = 4;
+
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                .setSize(maxSize)
+                .setEvictionPolicy(EvictionPolicy.TINY_LFU);
+
+        NearCacheConfig nearCacheConfig = createNearCacheConfig(DEFAULT_NEAR_CACHE_NAME, inMemoryFormat)
+                .setEvictionConfig(evictionConfig);
+
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(nearCacheConfig, inMemoryFormat);
+
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicInteger maxObservedSize = new AtomicInteger();
+        Future<?> sizeChecker = spawn(() -> {
+            while (!stop.get()) {
+                maxObservedSize.accumulateAndGet(nearCacheRecordStore.size(), Math::max);
+            }
+        });
+        List<Future<?>> readers = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            int firstKey = t * 2 * maxSize;
+            readers.add(spawn(() -> {
+                // each key is read repeatedly, so that it's admitted over the previous ones
+                for (int i = firstKey; i < firstKey + 2 * maxSize; i++) {
+                    for (int round = 0; round < 3; round++) {
+                        readThrough(nearCacheRecordStore, i);
+                    }
+                }
+            }));
+        }
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+        stop.set(true);
+        sizeChecker.get();
+
+        maxObservedSize.accumulateAndGet(nearCacheRecordStore.size(), Math::max);
+        assertTrue("Size exceeded the maximum: " + maxObservedSize.get(), maxObservedSize.get() <= maxSize);
+    }
+
     @Test
     public void evictionTriggeredAndHandledSuccessfullyWithEntryCountMaxSizePolicyAndDefaultEvictionPolicy() {
         doEvictionWithEntryCountMaxSizePolicy(inMemoryFormat, null);
@@ -169,4 +257,11 @@ public class NearCacheRecordStoreTest extends NearCacheRecordStoreTestSupport {
             assertTrue(maxSize >= nearCacheRecordStore.size());
         }
     }
+
+    private static void readThrough(NearCacheRecordStore<Integer, String> nearCacheRecordStore, int key) {
+        if (nearCacheRecordStore.get(key) == null) {
+            nearCacheRecordStore.doEviction(false);
+            nearCacheRecordStore.put(key, null, "Record-" + key, null);
+        }
+    }
 }
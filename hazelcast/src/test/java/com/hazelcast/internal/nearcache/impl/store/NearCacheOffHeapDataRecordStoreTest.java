@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryAllocator;
+import com.hazelcast.internal.nearcache.impl.DefaultNearCache;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheOffHeapDataRecord;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.proxy.NearCachedMapProxyImpl;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.internal.nearcache.NearCache.CACHED_AS_NULL;
+import static com.hazelcast.internal.nearcache.NearCache.UpdateSemantic.WRITE_UPDATE;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.TIME_NOT_SET;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NearCacheOffHeapDataRecordStoreTest extends HazelcastTestSupport {
+
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    private NearCacheOffHeapDataRecordStore<Integer, String> store;
+
+    @After
+    public void tearDown() {
+        if (store != null) {
+            store.destroy();
+            assertEquals(0, store.getUsedOffHeapMemory());
+        }
+    }
+
+    @Test
+    public void testPutAndGet() {
+        store = createStore(new NearCacheConfig().setInMemoryFormat(InMemoryFormat.BINARY));
+
+        store.put(1, null, "value-1", null);
+
+        assertEquals("value-1", store.get(1));
+        assertTrue(store.getUsedOffHeapMemory() > 0);
+        assertOffHeapMemoryMatchesRecords();
+        assertEquals(store.getUsedOffHeapMemory(), store.getRecord(1).getOffHeapCost());
+    }
+
+    @Test
+    public void testInvalidateFreesOffHeapMemory() {
+        store = createStore(new NearCacheConfig().setInMemoryFormat(InMemoryFormat.BINARY));
+        store.put(1, null, "value-1", null);
+        store.put(2, null, "value-2", null);
+
+        store.invalidate(1);
+
+        assertNull(store.get(1));
+        assertEquals("value-2", store.get(2));
+        assertOffHeapMemoryMatchesRecords();
+        assertEquals(1, store.getNearCacheStats().getOwnedEntryCount());
+    }
+
+    @Test
+    public void testClearFreesOffHeapMemory() {
+        store = createStore(new NearCacheConfig().setInMemoryFormat(InMemoryFormat.BINARY));
+        for (int i = 0; i < 100; i++) {
+            store.put(i, null, "value-" + i, null);
+        }
+
+        store.clear();
+
+        assertEquals(0, store.size());
+        assertEquals(0, store.getUsedOffHeapMemory());
+        assertEquals(100, store.getNearCacheStats().getInvalidations());
+        assertEquals(0, store.getNearCacheStats().getOwnedEntryMemoryCost());
+    }
+
+    @Test
+    public void testEvictionFreesOffHeapMemory() {
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                .setSize(10)
+                .setEvictionPolicy(EvictionPolicy.LRU);
+        store = createStore(new NearCacheConfig()
+                .setInMemoryFormat(InMemoryFormat.BINARY)
+                .setEvictionConfig(evictionConfig));
+
+        for (int i = 0; i < 100; i++) {
+            store.doEviction(false);
+            store.put(i, null, "value-" + i, null);
+        }
+
+        assertTrue(store.size() <= 10);
+        assertEquals(100 - store.size(), store.getNearCacheStats().getEvictions());
+        assertOffHeapMemoryMatchesRecords();
+    }
+
+    @Test
+    public void testWriteUpdateReplacesOffHeapValue() {
+        store = createStore(new NearCacheConfig().setInMemoryFormat(InMemoryFormat.BINARY));
+        Data keyData = serializationService.toData(1);
+        store.put(1, keyData, "value", null);
+
+        long reservationId = store.tryReserveForUpdate(1, keyData, WRITE_UPDATE);
+        assertNotEquals(NOT_RESERVED, reservationId);
+        store.tryPublishReserved(1, "updated-value", reservationId, false);
+
+        assertEquals("updated-value", store.get(1));
+        assertOffHeapMemoryMatchesRecords();
+    }
+
+    @Test
+    public void testConcurrentReadsAndUpdates() throws Exception {
+        UnsafeMemoryAllocator malloc = new UnsafeMemoryAllocator();
+        NearCacheOffHeapDataRecord record = new NearCacheOffHeapDataRecord(malloc,
+                serializationService.toData("value-0"), 0, TIME_NOT_SET);
+        AtomicBoolean updating = new AtomicBoolean(true);
+
+        Future<?> reader = spawn(() -> {
+            while (updating.get()) {
+                Data value = record.getValue();
+                if (value != null) {
+                    String string = serializationService.toObject(value);
+                    assertTrue(string, string.startsWith("value-"));
+                }
+            }
+        });
+        for (int i = 1; i < 100_000; i++) {
+            record.setValue(i % 10 == 0 ? null : serializationService.toData("value-" + i));
+            if (i % 1000 == 0) {
+                record.free();
+            }
+        }
+        updating.set(false);
+        reader.get();
+
+        record.free();
+        assertNull(record.getValue());
+        assertEquals(0, malloc.getUsedMemory());
+    }
+
+    @Test
+    public void testCachedAsNull() {
+        store = createStore(new NearCacheConfig().setInMemoryFormat(InMemoryFormat.BINARY));
+
+        store.put(1, null, null, null);
+
+        assertThat(store.get(1)).isSameAs(CACHED_AS_NULL);
+        assertEquals(0, store.getUsedOffHeapMemory());
+    }
+
+    @Test
+    public void testMapNearCacheUsesOffHeapStore() {
+        String mapName = randomMapName();
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.NEAR_CACHE_OFF_HEAP_STORAGE_ENABLED.getName(), "true");
+        config.getMapConfig(mapName)
+                .setNearCacheConfig(new NearCacheConfig().setInMemoryFormat(InMemoryFormat.BINARY));
+        IMap<Integer, String> map = createHazelcastInstance(config).getMap(mapName);
+
+        map.put(1, "value-1");
+        map.get(1);
+        assertEquals("value-1", map.get(1));
+
+        DefaultNearCache nearCache = ((NearCachedMapProxyImpl<?, ?>) map).getNearCache().unwrap(DefaultNearCache.class);
+        assertThat(nearCache.getNearCacheRecordStore()).isInstanceOf(NearCacheOffHeapDataRecordStore.class);
+        assertEquals(1, map.getLocalMapStats().getNearCacheStats().getHits());
+
+        map.put(1, "value-2");
+        assertTrueEventually(() -> assertEquals(0, nearCache.size()));
+        assertEquals(0, ((NearCacheOffHeapDataRecordStore) nearCache.getNearCacheRecordStore()).getUsedOffHeapMemory());
+    }
+
+    private NearCacheOffHeapDataRecordStore<Integer, String> createStore(NearCacheConfig nearCacheConfig) {
+        NearCacheOffHeapDataRecordStore<Integer, String> recordStore = new NearCacheOffHeapDataRecordStore<>("name",
+                nearCacheConfig, serializationService, getClass().getClassLoader());
+        recordStore.initialize();
+        return recordStore;
+    }
+
+    private void assertOffHeapMemoryMatchesRecords() {
+        long expected = 0;
+        for (NearCacheOffHeapDataRecord record : store.records.values()) {
+            expected += record.getOffHeapCost();
+        }
+        assertEquals(expected, store.getUsedOffHeapMemory());
+    }
+}
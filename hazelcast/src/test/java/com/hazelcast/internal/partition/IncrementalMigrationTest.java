@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class IncrementalMigrationTest extends HazelcastTestSupport {
+
+    private static final int KEY_COUNT = 1000;
+
+    @Test
+    public void testMigration_withConcurrentWrites() throws Exception {
+        testMigration_withConcurrentWrites(false);
+    }
+
+    @Test
+    public void testMigration_withConcurrentWrites_andIndex() throws Exception {
+        testMigration_withConcurrentWrites(true);
+    }
+
+    private void testMigration_withConcurrentWrites(boolean indexed) throws Exception {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.PARTITION_INCREMENTAL_MIGRATION_ENABLED.getName(), "true");
+        HazelcastInstance hz = factory.newHazelcastInstance(config);
+        IMap<Integer, Integer> map = hz.getMap(randomMapName());
+        if (indexed) {
+            map.addIndex(IndexType.SORTED, "this");
+        }
+        Map<Integer, Integer> expected = new ConcurrentHashMap<>();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            map.put(i, i);
+            expected.put(i, i);
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+        Future<Integer> writer = spawn(() -> {
+            Random random = new Random();
+            int writes = 0;
+            while (!stop.get()) {
+                int key = random.nextInt(KEY_COUNT);
+                if (random.nextInt(10) == 0) {
+                    map.remove(key);
+                    expected.remove(key);
+                } else {
+                    map.put(key, writes);
+                    expected.put(key, writes);
+                }
+                writes++;
+            }
+            return writes;
+        });
+
+        HazelcastInstance hz2 = factory.newHazelcastInstance(config);
+        HazelcastInstance hz3 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(hz, hz2, hz3);
+        stop.set(true);
+        assertTrue(writer.get() > 0);
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        if (indexed) {
+            assertEquals(expected.keySet(), map.keySet(Predicates.greaterEqual("this", 0)));
+        }
+    }
+
+    @Test
+    public void testMigration_withBandwidthLimit() {
+        int valueSize = 10 * 1024;
+        int entryCount = 200;
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.PARTITION_MIGRATION_MAX_BANDWIDTH_MB_PER_SECOND.getName(), "1");
+        HazelcastInstance hz = factory.newHazelcastInstance(config);
+        IMap<Integer, byte[]> map = hz.getMap(randomMapName());
+        for (int i = 0; i < entryCount; i++) {
+            map.put(i, new byte[valueSize]);
+        }
+
+        long start = System.nanoTime();
+        HazelcastInstance hz2 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(hz, hz2);
+        long elapsedNanos = System.nanoTime() - start;
+
+        // about 2 MB of owner and backup replicas are sent at 1 MB per second
+        assertTrue("Migrations took " + NANOSECONDS.toMillis(elapsedNanos) + " ms",
+                elapsedNanos >= SECONDS.toNanos(1));
+        assertEquals(entryCount, hz2.getMap(map.getName()).size());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.services.DistributedObjectNamespace;
+import com.hazelcast.internal.services.ServiceNamespace;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Set;
+
+import static com.hazelcast.internal.partition.PartitionMutationTracker.MAX_MUTATED_KEYS_PER_NAMESPACE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PartitionMutationTrackerTest {
+
+    private static final SerializationService SERIALIZATION_SERVICE = new DefaultSerializationServiceBuilder().build();
+    private static final ServiceNamespace NAMESPACE = new DistributedObjectNamespace("service", "object");
+
+    private final PartitionMutationTracker tracker = new PartitionMutationTracker(mock(NodeEngine.class));
+
+    @Test
+    public void when_keysMutated_then_keysRecorded() {
+        tracker.onKeyMutated(NAMESPACE, key(1));
+        tracker.onKeyMutated(NAMESPACE, key(2));
+        tracker.onKeyMutated(NAMESPACE, key(1));
+
+        assertTrue(tracker.hasMutations());
+        assertEquals(Set.of(NAMESPACE), tracker.getMutatedNamespaces());
+        assertEquals(Set.of(key(1), key(2)), tracker.getMutatedKeys(NAMESPACE));
+    }
+
+    @Test
+    public void when_namespaceMutated_then_keysNotRecorded() {
+        tracker.onKeyMutated(NAMESPACE, key(1));
+        tracker.onNamespaceMutated(NAMESPACE);
+        tracker.onKeyMutated(NAMESPACE, key(2));
+
+        assertEquals(Set.of(NAMESPACE), tracker.getMutatedNamespaces());
+        assertNull(tracker.getMutatedKeys(NAMESPACE));
+    }
+
+    @Test
+    public void when_tooManyKeysMutated_then_keysNotRecorded() {
+        for (int i = 0; i <= MAX_MUTATED_KEYS_PER_NAMESPACE; i++) {
+            tracker.onKeyMutated(NAMESPACE, key(i));
+        }
+
+        assertEquals(Set.of(NAMESPACE), tracker.getMutatedNamespaces());
+        assertNull(tracker.getMutatedKeys(NAMESPACE));
+    }
+
+    @Test
+    public void when_allMutated_then_keysNotRecorded() {
+        tracker.onTask(() -> { });
+        tracker.onKeyMutated(NAMESPACE, key(1));
+
+        assertTrue(tracker.isAllMutated());
+        assertFalse(tracker.getMutatedNamespaces().contains(NAMESPACE));
+    }
+
+    private static Data key(int i) {
+        return SERIALIZATION_SERVICE.toData(i);
+    }
+}
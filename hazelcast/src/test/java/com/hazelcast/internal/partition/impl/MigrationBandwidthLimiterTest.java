@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MigrationBandwidthLimiterTest {
+
+    private static final long BYTES_PER_SECOND = 1000;
+
+    private final MigrationBandwidthLimiter limiter = new MigrationBandwidthLimiter(BYTES_PER_SECOND);
+
+    @Test
+    public void testDelay_isTimeToSendData() {
+        assertEquals(MILLISECONDS.toNanos(500), limiter.acquire(500, 0));
+    }
+
+    @Test
+    public void testDelays_accumulate_whenSentFasterThanLimit() {
+        limiter.acquire(1000, 0);
+
+        assertEquals(SECONDS.toNanos(2), limiter.acquire(1000, 0));
+        assertEquals(SECONDS.toNanos(2), limiter.acquire(1000, SECONDS.toNanos(1)));
+    }
+
+    @Test
+    public void testIdleTime_isNotAccumulated() {
+        limiter.acquire(1000, 0);
+
+        assertEquals(SECONDS.toNanos(1), limiter.acquire(1000, SECONDS.toNanos(10)));
+    }
+
+    @Test
+    public void testZeroBytes_noDelay() {
+        assertEquals(0, limiter.acquire(0, 0));
+    }
+
+    @Test
+    public void testNonPositiveLimit_notAllowed() {
+        assertThatThrownBy(() -> new MigrationBandwidthLimiter(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MigrationCostEstimatorTest {
+
+    private final MigrationCostEstimator estimator = new MigrationCostEstimator(4);
+
+    @Test
+    public void testCosts_areEqual_whenNoMigrationObserved() {
+        estimator.estimateCosts();
+
+        for (int partitionId = 0; partitionId < 4; partitionId++) {
+            assertEquals(1, estimator.getEstimatedCost(partitionId));
+        }
+    }
+
+    @Test
+    public void testCost_isObservedMigrationTime() {
+        estimator.recordMigrationTime(0, 100);
+        estimator.recordMigrationTime(1, 300);
+        estimator.estimateCosts();
+
+        assertEquals(100, estimator.getEstimatedCost(0));
+        assertEquals(300, estimator.getEstimatedCost(1));
+    }
+
+    @Test
+    public void testCost_isAverage_whenPartitionNotMigratedYet() {
+        estimator.recordMigrationTime(0, 100);
+        estimator.recordMigrationTime(1, 300);
+        estimator.estimateCosts();
+
+        assertEquals(200, estimator.getEstimatedCost(2));
+        assertEquals(200, estimator.getEstimatedCost(3));
+    }
+
+    @Test
+    public void testCosts_doNotChange_untilNextRound() {
+        estimator.estimateCosts();
+        estimator.recordMigrationTime(0, 100);
+
+        assertEquals(1, estimator.getEstimatedCost(0));
+
+        estimator.estimateCosts();
+        assertEquals(100, estimator.getEstimatedCost(0));
+    }
+
+    @Test
+    public void testEstimatedRemainingMigrationTime() {
+        MigrationStats stats = new MigrationStats();
+        stats.markNewRepartition(3, 400);
+        assertEquals(-1, stats.getEstimatedRemainingMigrationTime());
+
+        stats.incrementCompletedMigrations(100);
+        assertTrue(stats.getEstimatedRemainingMigrationTime() >= 0);
+
+        stats.incrementCompletedMigrations(100);
+        stats.incrementCompletedMigrations(200);
+        assertEquals(0, stats.getEstimatedRemainingMigrationTime());
+    }
+}
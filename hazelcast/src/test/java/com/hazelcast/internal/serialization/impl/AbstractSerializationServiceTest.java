@@ -27,6 +27,7 @@ import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.nio.serialization.StreamSerializer;
 import com.hazelcast.nio.serialization.TypedDataSerializable;
+import com.hazelcast.partition.PartitioningStrategy;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -42,9 +43,11 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.Serializable;
+import java.nio.ByteOrder;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -248,6 +251,41 @@ public class AbstractSerializationServiceTest {
         assertEquals(typedBaseObject, deserializedObject);
     }
 
+    @Test
+    public void testToData_longAndInt_sameAsSerializerOutput() {
+        for (Object value : new Object[]{0L, -1L, Long.MAX_VALUE, 42, Integer.MIN_VALUE}) {
+            Data data = abstractSerializationService.toData(value);
+
+            assertEquals(new HeapData(abstractSerializationService.toBytes(value)), data);
+            assertEquals(value, abstractSerializationService.toObject(data));
+        }
+    }
+
+    @Test
+    public void testToData_longAndInt_littleEndian() {
+        AbstractSerializationService ss = new DefaultSerializationServiceBuilder()
+                .setByteOrder(ByteOrder.LITTLE_ENDIAN)
+                .build();
+
+        for (Object value : new Object[]{123456789L, 123456}) {
+            Data data = ss.toData(value);
+
+            assertEquals(new HeapData(ss.toBytes(value)), data);
+            assertEquals(value, ss.toObject(data));
+        }
+    }
+
+    @Test
+    public void testToData_longAndInt_withPartitioningStrategy() {
+        PartitioningStrategy strategy = key -> "partitionKey";
+
+        Data data = abstractSerializationService.toData(1L, strategy);
+
+        assertTrue(data.hasPartitionHash());
+        assertEquals(abstractSerializationService.toData("partitionKey").getPartitionHash(), data.getPartitionHash());
+        assertEquals(1L, (long) abstractSerializationService.toObject(data));
+    }
+
     public static class TypedBaseClass implements DataSerializable, TypedDataSerializable {
         private final BaseClass innerObj;
 
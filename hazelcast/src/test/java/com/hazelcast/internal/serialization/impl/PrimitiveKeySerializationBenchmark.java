@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.bufferpool.BufferPool;
+import com.hazelcast.internal.usercodedeployment.impl.ClassLocator;
+
+import java.io.IOException;
+
+/**
+ * Compares the inlined {@code Long} and {@code Integer} encoding of
+ * {@link AbstractSerializationService#toData(Object)} and
+ * {@link AbstractSerializationService#toObject(Object)} with the generic
+ * path through the pooled buffers and the constant serializers. The
+ * generic path is measured on the same service: {@code toData} through
+ * {@link AbstractSerializationService#toBytes(Object)}, {@code toObject}
+ * through the pooled input buffer and the serializer of the type ID.
+ * <p>
+ * This is no JUnit test.
+ */
+public final class PrimitiveKeySerializationBenchmark {
+
+    private static final int OPERATION_COUNT = 20_000_000;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int ITERATIONS = 5;
+
+    private static long sink;
+
+    private PrimitiveKeySerializationBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        AbstractSerializationService ss = (AbstractSerializationService) new DefaultSerializationServiceBuilder().build();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runAll(ss, false);
+        }
+        for (int i = 0; i < ITERATIONS; i++) {
+            runAll(ss, true);
+        }
+        System.out.println(sink);
+    }
+
+    private static void runAll(AbstractSerializationService ss, boolean print) throws IOException {
+        long inlinedLong = toDataLong(ss, true);
+        long genericLong = toDataLong(ss, false);
+        long inlinedInt = toDataInt(ss, true);
+        long genericInt = toDataInt(ss, false);
+        long inlinedRead = toObjectLong(ss, true);
+        long genericRead = toObjectLong(ss, false);
+        if (print) {
+            System.out.printf("toData(Long): inlined %d ns/op, generic %d ns/op%n",
+                    inlinedLong / OPERATION_COUNT, genericLong / OPERATION_COUNT);
+            System.out.printf("toData(Integer): inlined %d ns/op, generic %d ns/op%n",
+                    inlinedInt / OPERATION_COUNT, genericInt / OPERATION_COUNT);
+            System.out.printf("toObject(Long): inlined %d ns/op, generic %d ns/op%n",
+                    inlinedRead / OPERATION_COUNT, genericRead / OPERATION_COUNT);
+        }
+    }
+
+    private static long toDataLong(AbstractSerializationService ss, boolean inlined) {
+        long start = System.nanoTime();
+        long sum = 0;
+        for (long i = 0; i < OPERATION_COUNT; i++) {
+            Data data = inlined ? ss.toData(i) : new HeapData(ss.toBytes(i));
+            sum += data.getPartitionHash();
+        }
+        sink += sum;
+        return System.nanoTime() - start;
+    }
+
+    private static long toDataInt(AbstractSerializationService ss, boolean inlined) {
+        long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            Data data = inlined ? ss.toData(i) : new HeapData(ss.toBytes(i));
+            sum += data.getPartitionHash();
+        }
+        sink += sum;
+        return System.nanoTime() - start;
+    }
+
+    private static long toObjectLong(AbstractSerializationService ss, boolean inlined) throws IOException {
+        Data[] keys = new Data[1024];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ss.toData((long) i);
+        }
+        long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            Data key = keys[i & (keys.length - 1)];
+            Long value = inlined ? ss.toObject(key) : (Long) genericToObject(ss, key);
+            sum += value;
+        }
+        sink += sum;
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * The path of {@link AbstractSerializationService#toObject(Object)} for
+     * the types which aren't inlined.
+     */
+    private static Object genericToObject(AbstractSerializationService ss, Data data) throws IOException {
+        SerializerAdapter serializer = ss.serializerFor(data.getType());
+        BufferPool pool = ss.bufferPoolThreadLocal.get();
+        BufferObjectDataInput in = pool.takeInputBuffer(data);
+        try {
+            ClassLocator.onStartDeserialization();
+            return serializer.read(in);
+        } finally {
+            ClassLocator.onFinishDeserialization();
+            pool.returnInputBuffer(in);
+        }
+    }
+}
@@ -38,6 +38,8 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -90,6 +92,64 @@ public class PacketEncoderTest extends HazelcastTestSupport {
         assertEquals(DIRTY, result);
     }
 
+    @Test
+    public void whenGatheringWrite_thenPayloadIsPendingBuffer() {
+        Packet packet = new Packet(serializationService.toBytes(new byte[2000]));
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        dst.flip();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(packet);
+
+        encoder = new PacketEncoder(1000);
+        encoder.setGatheringWriteEnabled(true);
+        encoder.dst(dst);
+        encoder.src(src);
+
+        // the payload is written in chunks of the size of dst, after the header
+        ByteBuffer written = ByteBuffer.allocate(10000);
+        HandlerStatus result;
+        do {
+            result = encoder.onWrite();
+            written.put(dst);
+            ByteBuffer pending = encoder.pendingBuffer();
+            if (pending != null) {
+                assertTrue(pending.remaining() <= dst.capacity());
+                written.put(pending);
+            }
+        } while (result == DIRTY);
+
+        assertEquals(CLEAN, result);
+        assertNull(encoder.pendingBuffer());
+
+        written.flip();
+        Packet resultPacket = new PacketIOHelper().readFrom(written);
+        assertEquals(packet, resultPacket);
+        assertEquals(0, written.remaining());
+    }
+
+    @Test
+    public void whenGatheringWriteNotEnabled_thenPayloadCopied() {
+        Packet packet = new Packet(serializationService.toBytes("foobar"));
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        dst.flip();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(packet);
+
+        encoder = new PacketEncoder(0);
+        encoder.setGatheringWriteEnabled(false);
+        encoder.dst(dst);
+        encoder.src(src);
+
+        HandlerStatus result = encoder.onWrite();
+
+        assertEquals(CLEAN, result);
+        assertNull(encoder.pendingBuffer());
+        Packet resultPacket = new PacketIOHelper().readFrom(dst);
+        assertEquals(packet, resultPacket);
+    }
+
     static class PacketSupplier implements Supplier<Packet> {
         Queue<Packet> queue = new LinkedBlockingQueue<>();
 
@@ -120,7 +120,7 @@ public final class TestContextSupport {
                         c.logger(), c.vertexName(), 1, 1,
                         c.isLightJob(), c.partitionAssignment(), c.localParallelism(), 1, c.memberCount(),
                         new ConcurrentHashMap<>(), (InternalSerializationService) nodeEngine.getSerializationService(),
-                        null, context.classLoader());
+                        null, context.classLoader(), null);
             }
             delegate.init(context);
         }
@@ -142,7 +142,7 @@ public final class TestContextSupport {
                         c.logger(), c.vertexName(), c.localProcessorIndex(), c.globalProcessorIndex(),
                         c.isLightJob(), c.partitionAssignment(), c.localParallelism(), c.memberIndex(), c.memberCount(),
                         new ConcurrentHashMap<>(), (InternalSerializationService) nodeEngine.getSerializationService(),
-                        null, context.classLoader());
+                        null, context.classLoader(), null);
             }
             return context;
         }
@@ -55,6 +55,7 @@ import java.util.stream.IntStream;
 import static com.hazelcast.function.Functions.entryKey;
 import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.config.JobConfigArguments.KEY_FULL_SNAPSHOT_INTERVAL;
 import static com.hazelcast.jet.config.ProcessingGuarantee.EXACTLY_ONCE;
 import static com.hazelcast.jet.core.BroadcastKey.broadcastKey;
 import static com.hazelcast.jet.core.Edge.between;
@@ -95,16 +96,21 @@ public class JobRestartWithSnapshotTest extends JetTestSupport {
 
     @Test
     public void when_nodeDown_then_jobRestartsFromSnapshot_singleStage() throws Exception {
-        when_nodeDown_then_jobRestartsFromSnapshot(false);
+        when_nodeDown_then_jobRestartsFromSnapshot(false, 1);
     }
 
     @Test
     public void when_nodeDown_then_jobRestartsFromSnapshot_twoStage() throws Exception {
-        when_nodeDown_then_jobRestartsFromSnapshot(true);
+        when_nodeDown_then_jobRestartsFromSnapshot(true, 1);
+    }
+
+    @Test
+    public void when_nodeDown_then_jobRestartsFromIncrementalSnapshot_singleStage() throws Exception {
+        when_nodeDown_then_jobRestartsFromSnapshot(false, 3);
     }
 
     @SuppressWarnings("unchecked")
-    private void when_nodeDown_then_jobRestartsFromSnapshot(boolean twoStage) throws Exception {
+    private void when_nodeDown_then_jobRestartsFromSnapshot(boolean twoStage, int fullSnapshotInterval) throws Exception {
         /*
         Design of this test:
 
@@ -195,6 +201,9 @@ public class JobRestartWithSnapshotTest extends JetTestSupport {
         JobConfig config = new JobConfig();
         config.setProcessingGuarantee(EXACTLY_ONCE);
         config.setSnapshotIntervalMillis(1200);
+        if (fullSnapshotInterval > 1) {
+            config.setArgument(KEY_FULL_SNAPSHOT_INTERVAL, fullSnapshotInterval);
+        }
         Job job = instance1.getJet().newJob(dag, config);
 
         JobRepository jobRepository = new JobRepository(instance1);
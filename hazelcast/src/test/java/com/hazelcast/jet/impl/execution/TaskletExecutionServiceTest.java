@@ -40,12 +40,15 @@ import org.junit.runner.RunWith;
 import javax.annotation.Nonnull;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Stream;
 
@@ -55,10 +58,12 @@ import static com.hazelcast.jet.impl.util.ExceptionUtil.peel;
 import static com.hazelcast.jet.impl.util.ProgressState.DONE;
 import static com.hazelcast.jet.impl.util.ProgressState.MADE_PROGRESS;
 import static com.hazelcast.jet.impl.util.ProgressState.NO_PROGRESS;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_COOPERATIVE_ADAPTIVE_SCHEDULING_ENABLED;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -85,6 +90,10 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
     @Before
     public void before() {
         executor = Executors.newCachedThreadPool();
+        tes = newTaskletExecutionService(THREAD_COUNT, new Properties());
+    }
+
+    private TaskletExecutionService newTaskletExecutionService(int threadCount, Properties properties) {
         NodeEngineImpl neMock = mock(NodeEngineImpl.class);
 
         HazelcastInstance hzMock = mock(HazelcastInstance.class);
@@ -104,8 +113,7 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
         MetricsRegistryImpl metricsRegistry = new MetricsRegistryImpl(mock(ILogger.class), ProbeLevel.INFO);
         when(neMock.getMetricsRegistry()).thenReturn(metricsRegistry);
 
-        HazelcastProperties properties = new HazelcastProperties(new Properties());
-        tes = new TaskletExecutionService(neMock, THREAD_COUNT, properties);
+        return new TaskletExecutionService(neMock, threadCount, new HazelcastProperties(properties));
     }
 
     @After
@@ -383,6 +391,70 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
         });
     }
 
+    @Test
+    public void when_adaptiveScheduling_then_hotTaskletSkipped() {
+        // Given
+        tes.shutdown();
+        tes = newTaskletExecutionService(1, adaptiveSchedulingProperties());
+        SpinningTasklet hot = new SpinningTasklet(MILLISECONDS.toNanos(5), MADE_PROGRESS);
+        SpinningTasklet light = new SpinningTasklet(0, MADE_PROGRESS);
+
+        // When
+        CompletableFuture<Void> f = tes.beginExecute(asList(hot, light), cancellationFuture, classLoader);
+        sleepMillis(500);
+        cancellationFuture.cancel(true);
+
+        // Then
+        assertThrows(CancellationException.class, f::get);
+        assertThat(light.callCount.get()).isGreaterThan(10 * hot.callCount.get());
+    }
+
+    @Test
+    public void when_adaptiveSchedulingAndHigherWeight_then_moreTimeGiven() {
+        // Given
+        tes.shutdown();
+        tes = newTaskletExecutionService(1, adaptiveSchedulingProperties());
+        SpinningTasklet heavy = new SpinningTasklet(MILLISECONDS.toNanos(2), MADE_PROGRESS);
+        SpinningTasklet light = new SpinningTasklet(MILLISECONDS.toNanos(2), MADE_PROGRESS);
+
+        // When
+        CompletableFuture<Void> f1 = tes.beginExecute(singletonList(heavy), cancellationFuture, classLoader, 4);
+        CompletableFuture<Void> f2 = tes.beginExecute(singletonList(light), cancellationFuture, classLoader, 1);
+        sleepMillis(1000);
+        cancellationFuture.cancel(true);
+
+        // Then
+        assertThrows(CancellationException.class, f1::get);
+        assertThrows(CancellationException.class, f2::get);
+        assertThat(heavy.callCount.get()).isGreaterThan(2 * light.callCount.get());
+    }
+
+    @Test
+    public void when_adaptiveScheduling_then_taskletMovedToIdleThread() {
+        // Given
+        tes.shutdown();
+        tes = newTaskletExecutionService(2, adaptiveSchedulingProperties());
+        // the tasklets are assigned round-robin, so both hot tasklets go to the first thread
+        SpinningTasklet hot1 = new SpinningTasklet(MILLISECONDS.toNanos(1), MADE_PROGRESS);
+        SpinningTasklet idle1 = new SpinningTasklet(0, NO_PROGRESS);
+        SpinningTasklet hot2 = new SpinningTasklet(MILLISECONDS.toNanos(1), MADE_PROGRESS);
+        SpinningTasklet idle2 = new SpinningTasklet(0, NO_PROGRESS);
+
+        // When
+        CompletableFuture<Void> f = tes.beginExecute(asList(hot1, idle1, hot2, idle2), cancellationFuture, classLoader);
+
+        // Then
+        assertTrueEventually(() -> assertThat(hot1.threads.size() + hot2.threads.size()).isEqualTo(3));
+        cancellationFuture.cancel(true);
+        assertThrows(CancellationException.class, f::get);
+    }
+
+    private static Properties adaptiveSchedulingProperties() {
+        Properties properties = new Properties();
+        properties.setProperty(JET_COOPERATIVE_ADAPTIVE_SCHEDULING_ENABLED.getName(), "true");
+        return properties;
+    }
+
     private void executeAndJoin(List<MockTasklet> tasklets) {
         CompletableFuture<Void> f = tes.beginExecute(tasklets, cancellationFuture, classLoader);
         f.join();
@@ -491,6 +563,31 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
         }
     }
 
+    private static class SpinningTasklet implements Tasklet {
+
+        private final long spinNanos;
+        private final ProgressState progressState;
+        private final AtomicLong callCount = new AtomicLong();
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        SpinningTasklet(long spinNanos, ProgressState progressState) {
+            this.spinNanos = spinNanos;
+            this.progressState = progressState;
+        }
+
+        @Nonnull
+        @Override
+        public ProgressState call() {
+            threads.add(Thread.currentThread());
+            long end = System.nanoTime() + spinNanos;
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+            callCount.incrementAndGet();
+            return progressState;
+        }
+    }
+
     private static class TaskletAssertingThreadLocal implements Tasklet {
 
         private static final ThreadLocal<Integer> threadLocal = ThreadLocal.withInitial(() -> 0);
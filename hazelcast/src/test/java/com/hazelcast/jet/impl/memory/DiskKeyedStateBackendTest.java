@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.core.JetTestSupport;
+import com.hazelcast.jet.impl.processor.TransformStatefulP;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Properties;
+
+import static com.hazelcast.jet.Util.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class DiskKeyedStateBackendTest extends JetTestSupport {
+
+    private static final int WRITE_BUFFER_SIZE = 2;
+
+    private File directory;
+    private DiskKeyedStateBackend<String, List<Integer>> backend;
+
+    @Before
+    public void before() throws Exception {
+        directory = createTempDirectory();
+        backend = new DiskKeyedStateBackend<>(directory.toPath(),
+                new DefaultSerializationServiceBuilder().build(), WRITE_BUFFER_SIZE);
+    }
+
+    @After
+    public void after() {
+        backend.close();
+    }
+
+    @Test
+    public void when_stateModifiedAndFlushed_then_modificationsRetained() {
+        for (int i = 0; i < 10; i++) {
+            for (String key : List.of("a", "b", "c")) {
+                backend.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        assertThat(backend.size()).isEqualTo(3);
+        assertThat(backend.computeIfAbsent("a", k -> new ArrayList<>())).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(backend.computeIfAbsent("b", k -> new ArrayList<>())).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    public void when_iterating_then_leastRecentlyAccessedFirst() {
+        for (String key : List.of("a", "b", "c", "d", "b", "a")) {
+            backend.computeIfAbsent(key, k -> new ArrayList<>()).add(1);
+        }
+
+        List<Entry<String, List<Integer>>> entries = new ArrayList<>();
+        backend.iterator().forEachRemaining(entries::add);
+        assertThat(entries).containsExactly(
+                entry("c", List.of(1)), entry("d", List.of(1)), entry("b", List.of(1, 1)), entry("a", List.of(1, 1)));
+    }
+
+    @Test
+    public void when_put_then_previousStateReturned() {
+        assertThat(backend.put("a", List.of(1))).isNull();
+        backend.computeIfAbsent("b", k -> new ArrayList<>());
+        backend.computeIfAbsent("c", k -> new ArrayList<>());
+
+        assertThat(backend.put("a", List.of(2))).containsExactly(1);
+        assertThat(backend.computeIfAbsent("a", k -> new ArrayList<>())).containsExactly(2);
+    }
+
+    @Test
+    public void when_removedUsingIterator_then_stateRemoved() {
+        for (String key : List.of("a", "b", "c", "d")) {
+            backend.put(key, List.of(1));
+        }
+
+        Iterator<Entry<String, List<Integer>>> iterator = backend.iterator();
+        iterator.next();
+        iterator.remove();
+        iterator.next();
+        iterator.remove();
+
+        assertThat(backend.size()).isEqualTo(2);
+        assertThat(backend.computeIfAbsent("a", k -> new ArrayList<>())).isEmpty();
+        assertThat(backend.computeIfAbsent("c", k -> new ArrayList<>())).containsExactly(1);
+    }
+
+    @Test
+    public void when_stateOverwrittenManyTimes_then_fileCompacted() {
+        List<Integer> state = new ArrayList<>();
+        for (int i = 0; i < 256; i++) {
+            state.add(i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            state.set(0, i);
+            backend.put("key" + i % 10, new ArrayList<>(state));
+        }
+
+        // more than 10 MB were written, but only the last state of the 10 keys is live
+        assertThat(directory.listFiles()).hasSize(1);
+        assertThat(directory.listFiles()[0].length()).isLessThan(3 << 20);
+        assertThat(backend.computeIfAbsent("key9", k -> new ArrayList<>()).get(0)).isEqualTo(9_999);
+    }
+
+    @Test
+    public void when_closed_then_fileDeleted() {
+        backend.put("a", List.of(1));
+        backend.put("b", List.of(1));
+        backend.put("c", List.of(1));
+        assertThat(directory.listFiles()).hasSize(1);
+
+        backend.close();
+
+        assertThat(directory.listFiles()).isEmpty();
+    }
+
+    @Test
+    public void when_stateBackendDirectorySet_then_transformStatefulNotCooperative() {
+        Properties properties = new Properties();
+        TransformStatefulP<Object, Object, Object, Object> onHeap = newTransformStatefulP();
+        onHeap.initDiskUsage(new HazelcastProperties(properties));
+        assertThat(onHeap.isCooperative()).isTrue();
+
+        properties.setProperty(ClusterProperty.JET_STATE_BACKEND_DIRECTORY.getName(), directory.getPath());
+        TransformStatefulP<Object, Object, Object, Object> onDisk = newTransformStatefulP();
+        onDisk.initDiskUsage(new HazelcastProperties(properties));
+        assertThat(onDisk.isCooperative()).isFalse();
+        assertThat(onDisk.closeIsCooperative()).isFalse();
+    }
+
+    private static TransformStatefulP<Object, Object, Object, Object> newTransformStatefulP() {
+        return new TransformStatefulP<>(0, x -> x, x -> 0L, Object::new, (s, k, x) -> Traversers.empty(), null);
+    }
+}
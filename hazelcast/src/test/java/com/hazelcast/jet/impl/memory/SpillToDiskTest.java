@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.jet.SimpleTestInClusterSupport;
+import com.hazelcast.jet.Util;
+import com.hazelcast.jet.accumulator.LongAccumulator;
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.impl.processor.AggregateP;
+import com.hazelcast.jet.impl.processor.GroupP;
+import com.hazelcast.jet.impl.processor.SortP;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.test.TestSources;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.function.Functions.wholeItem;
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.pipeline.test.AssertionSinks.assertAnyOrder;
+import static com.hazelcast.jet.pipeline.test.AssertionSinks.assertOrdered;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class SpillToDiskTest extends SimpleTestInClusterSupport {
+
+    private static final int MAX_PROCESSOR_ACCUMULATED_RECORDS = 10;
+    private static final int ITEM_COUNT = 1000;
+
+    private static File spillDirectory;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        spillDirectory = createTempDirectory();
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.JET_SPILL_DIRECTORY.getName(), spillDirectory.getAbsolutePath());
+        config.getJetConfig()
+                .setCooperativeThreadCount(1)
+                .setMaxProcessorAccumulatedRecords(MAX_PROCESSOR_ACCUMULATED_RECORDS);
+
+        initialize(1, config);
+    }
+
+    @Test
+    public void when_sortingMoreThanLimit_then_sortedRunsMerged() {
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(shuffledList()))
+                .sort()
+                .writeTo(assertOrdered(list()));
+
+        instance().getJet().newJob(pipeline).join();
+
+        assertSpillFilesDeleted();
+    }
+
+    @Test
+    public void when_sortingMoreRunsThanMergeFanIn_then_runsMergedInPasses() {
+        // 200 runs, more than fit in a single merge
+        int itemCount = MAX_PROCESSOR_ACCUMULATED_RECORDS * 200 + 1;
+        List<Integer> shuffled = IntStream.range(0, itemCount).map(i -> i * 7 % itemCount).boxed().collect(toList());
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(shuffled))
+                .sort()
+                .writeTo(assertOrdered(IntStream.range(0, itemCount).boxed().collect(toList())));
+
+        instance().getJet().newJob(pipeline).join();
+
+        assertSpillFilesDeleted();
+    }
+
+    @Test
+    public void when_groupingMoreThanLimit_then_spilledPartitionsCombined() {
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(shuffledList()))
+                .map(i -> i % 100)
+                .groupingKey(wholeItem())
+                .aggregate(counting())
+                .writeTo(assertAnyOrder(IntStream.range(0, 100).mapToObj(i -> entry(i, 10L)).collect(toList())));
+
+        instance().getJet().newJob(pipeline).join();
+
+        assertSpillFilesDeleted();
+    }
+
+    @Test
+    public void when_groupingMoreThanLimitInPartition_then_fails() {
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(shuffledList()))
+                .groupingKey(wholeItem())
+                .aggregate(counting())
+                .writeTo(assertAnyOrder(cardinalities()));
+
+        assertThat(instance().getJet().newJob(pipeline).getFuture())
+                .failsWithin(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS)
+                .withThrowableThat()
+                .withMessageContaining("Exception thrown to prevent an OutOfMemoryError on this Hazelcast instance");
+
+        instance().getJet().newJob(pipeline, new JobConfig().setMaxProcessorAccumulatedRecords(ITEM_COUNT)).join();
+        assertSpillFilesDeleted();
+    }
+
+    @Test
+    public void when_spillingEnabled_then_spillingProcessorsNotCooperative() {
+        HazelcastProperties properties = getNodeEngineImpl(instance()).getProperties();
+        SortP<Integer> sortP = new SortP<>(null);
+        GroupP<Integer, LongAccumulator, Long, Entry<Integer, Long>> groupP =
+                new GroupP<>(wholeItem(), counting(), Util::entry);
+        AggregateP<LongAccumulator, Long> aggregateP = new AggregateP<>(counting());
+
+        sortP.initDiskUsage(properties);
+        groupP.initDiskUsage(properties);
+        aggregateP.initDiskUsage(properties);
+
+        assertThat(sortP.isCooperative()).isFalse();
+        assertThat(sortP.closeIsCooperative()).isFalse();
+        assertThat(groupP.isCooperative()).isFalse();
+        assertThat(groupP.closeIsCooperative()).isFalse();
+        assertThat(aggregateP.isCooperative()).isTrue();
+    }
+
+    private static void assertSpillFilesDeleted() {
+        assertTrueEventually(() -> assertThat(spillDirectory.list()).isEmpty());
+    }
+
+    private static List<Integer> list() {
+        return IntStream.range(0, ITEM_COUNT).boxed().collect(toList());
+    }
+
+    private static List<Integer> shuffledList() {
+        // a permutation of 0..ITEM_COUNT-1, because 7 and ITEM_COUNT are coprime
+        return IntStream.range(0, ITEM_COUNT).map(i -> i * 7 % ITEM_COUNT).boxed().collect(toList());
+    }
+
+    private static List<Entry<Integer, Long>> cardinalities() {
+        return IntStream.range(0, ITEM_COUNT).mapToObj(i -> entry(i, 1L)).collect(toList());
+    }
+}
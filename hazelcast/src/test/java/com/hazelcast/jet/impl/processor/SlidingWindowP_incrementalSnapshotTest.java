@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.function.ToLongFunctionEx;
+import com.hazelcast.jet.accumulator.LongAccumulator;
+import com.hazelcast.jet.core.BroadcastKey;
+import com.hazelcast.jet.core.SlidingWindowPolicy;
+import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.jet.core.test.TestInbox;
+import com.hazelcast.jet.core.test.TestOutbox;
+import com.hazelcast.jet.datamodel.KeyedWindowResult;
+import com.hazelcast.jet.impl.execution.IncrementalSnapshotValue;
+import com.hazelcast.jet.impl.execution.SnapshotContext;
+import com.hazelcast.jet.impl.processor.SlidingWindowP.SnapshotKey;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static com.hazelcast.function.Functions.entryKey;
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.impl.processor.TransformStatefulP_incrementalSnapshotTest.procCtx;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SlidingWindowP_incrementalSnapshotTest {
+
+    private final SnapshotContext snapshotContext = mock(SnapshotContext.class);
+    private final TestOutbox outbox = new TestOutbox(new int[]{128}, 128);
+    private final List<Entry<Object, Object>> savedEntries = new ArrayList<>();
+
+    private SlidingWindowP<String, LongAccumulator, Long, KeyedWindowResult<String, Long>> p;
+
+    @Before
+    public void before() throws Exception {
+        p = createProcessor(outbox);
+    }
+
+    @Test
+    public void when_incrementalSnapshot_then_onlyChangedKeysOfFramesSaved() {
+        process(entry("a", 1L), entry("b", 1L), entry("a", 2L));
+        Map<Object, IncrementalSnapshotValue> full = saveToSnapshot(0, false);
+        process(entry("b", 2L));
+
+        Map<Object, IncrementalSnapshotValue> incremental = saveToSnapshot(1, true);
+
+        assertEquals(new HashSet<>(asList(new SnapshotKey(1, "a"), new SnapshotKey(1, "b"), new SnapshotKey(2, "a"),
+                "nextWinToEmit")), full.keySet());
+        assertEquals(new HashSet<>(asList(new SnapshotKey(2, "b"), "nextWinToEmit")), incremental.keySet());
+        assertEquals(1, incremental.get(new SnapshotKey(2, "b")).snapshotId());
+        assertEquals(1L, ((LongAccumulator) incremental.get(new SnapshotKey(2, "b")).value()).get());
+    }
+
+    @Test
+    public void when_frameEvicted_then_notSavedAgain() {
+        process(entry("a", 1L), entry("a", 2L));
+        saveToSnapshot(0, false);
+        process(entry("a", 1L));
+        p.tryProcessWatermark(new Watermark(2));
+
+        Map<Object, IncrementalSnapshotValue> incremental = saveToSnapshot(1, true);
+
+        assertEquals(singletonList("nextWinToEmit"), new ArrayList<>(incremental.keySet()));
+        assertEquals(3L, incremental.get("nextWinToEmit").value());
+    }
+
+    @Test
+    public void when_restoredFromIncrementalSnapshots_then_sameResultsAsWithoutRestore() throws Exception {
+        process(entry("a", 1L), entry("b", 1L), entry("a", 2L), entry("a", 3L));
+        saveToSnapshot(0, false);
+        List<Entry<Object, Object>> snapshots = new ArrayList<>(savedEntries);
+        process(entry("b", 2L), entry("b", 3L));
+        saveToSnapshot(1, true);
+        snapshots.addAll(savedEntries);
+        p.tryProcessWatermark(new Watermark(2));
+        process(entry("a", 3L), entry("c", 4L));
+        saveToSnapshot(2, true);
+        snapshots.addAll(savedEntries);
+        // the entries of different snapshots arrive in any order
+        Collections.reverse(snapshots);
+
+        TestOutbox outbox2 = new TestOutbox(new int[]{128}, 128);
+        SlidingWindowP<String, LongAccumulator, Long, KeyedWindowResult<String, Long>> p2 = createProcessor(outbox2);
+        TestInbox inbox = new TestInbox();
+        inbox.addAll(snapshots);
+        p2.restoreFromSnapshot(inbox);
+        assertTrue(p2.finishSnapshotRestore());
+
+        outbox.drainQueueAndReset(0, new ArrayList<>(), false);
+        assertTrue(p.complete());
+        assertTrue(p2.complete());
+        List<Object> expected = new ArrayList<>();
+        outbox.drainQueueAndReset(0, expected, false);
+        List<Object> actual = new ArrayList<>();
+        outbox2.drainQueueAndReset(0, actual, false);
+        assertFalse(expected.isEmpty());
+        assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+        assertEquals(expected.size(), actual.size());
+    }
+
+    private SlidingWindowP<String, LongAccumulator, Long, KeyedWindowResult<String, Long>> createProcessor(
+            TestOutbox outbox
+    ) throws Exception {
+        SlidingWindowP<String, LongAccumulator, Long, KeyedWindowResult<String, Long>> processor = new SlidingWindowP<>(
+                singletonList(entryKey()),
+                singletonList((ToLongFunctionEx<Entry<?, Long>>) Entry::getValue),
+                SlidingWindowPolicy.slidingWinPolicy(2, 1),
+                0L,
+                counting(),
+                KeyedWindowResult::new,
+                true,
+                (byte) 0);
+        processor.init(outbox, procCtx(snapshotContext));
+        return processor;
+    }
+
+    @SafeVarargs
+    private void process(Entry<String, Long>... items) {
+        TestInbox inbox = new TestInbox();
+        inbox.addAll(asList(items));
+        p.process(0, inbox);
+        assertTrue(inbox.isEmpty());
+    }
+
+    /**
+     * Saves the processor state and returns the saved values by key,
+     * {@code nextWinToEmit} under the "nextWinToEmit" key.
+     */
+    private Map<Object, IncrementalSnapshotValue> saveToSnapshot(long snapshotId, boolean isIncremental) {
+        when(snapshotContext.currentSnapshotId()).thenReturn(snapshotId);
+        when(snapshotContext.isIncremental()).thenReturn(isIncremental);
+        assertTrue(p.saveToSnapshot());
+        savedEntries.clear();
+        outbox.drainSnapshotQueueAndReset(savedEntries, false);
+        Map<Object, IncrementalSnapshotValue> saved = new HashMap<>();
+        for (Entry<Object, Object> e : savedEntries) {
+            Object key = e.getKey() instanceof BroadcastKey ? "nextWinToEmit" : e.getKey();
+            saved.put(key, (IncrementalSnapshotValue) e.getValue());
+        }
+        return saved;
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.core.BroadcastKey;
+import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.jet.core.test.TestInbox;
+import com.hazelcast.jet.core.test.TestOutbox;
+import com.hazelcast.jet.datamodel.TimestampedItem;
+import com.hazelcast.jet.impl.execution.IncrementalSnapshotValue;
+import com.hazelcast.jet.impl.execution.SnapshotContext;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.config.JobConfigArguments.KEY_FULL_SNAPSHOT_INTERVAL;
+import static com.hazelcast.jet.config.ProcessingGuarantee.EXACTLY_ONCE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TransformStatefulP_incrementalSnapshotTest {
+
+    private static final long TTL = 10;
+
+    private final SnapshotContext snapshotContext = mock(SnapshotContext.class);
+    private final TestOutbox outbox = new TestOutbox(new int[]{128}, 128);
+    private final List<Entry<Object, Object>> savedEntries = new ArrayList<>();
+
+    private TransformStatefulP<Entry<String, Long>, String, long[], Entry<String, Long>> p;
+
+    @Before
+    public void before() throws Exception {
+        p = createProcessor(outbox);
+    }
+
+    @Test
+    public void when_fullSnapshot_then_allKeysSaved() {
+        process(entry("a", 1L), entry("b", 1L));
+
+        Map<Object, IncrementalSnapshotValue> saved = saveToSnapshot(0, false);
+
+        assertEquals(asList("a", "b", "wm"), sortedKeys(saved));
+        assertState(saved.get("a"), 0, 1);
+        assertState(saved.get("b"), 0, 1);
+        assertEquals(0, saved.get("wm").snapshotId());
+    }
+
+    @Test
+    public void when_incrementalSnapshot_then_onlyChangedKeysSaved() {
+        process(entry("a", 1L), entry("b", 1L));
+        saveToSnapshot(0, false);
+        process(entry("a", 2L));
+
+        Map<Object, IncrementalSnapshotValue> saved = saveToSnapshot(1, true);
+
+        assertEquals(asList("a", "wm"), sortedKeys(saved));
+        assertState(saved.get("a"), 1, 2);
+    }
+
+    @Test
+    public void when_keyEvicted_then_incrementalSnapshotRemovesIt() {
+        process(entry("a", 1L), entry("b", 1L));
+        saveToSnapshot(0, false);
+        process(entry("a", 20L));
+        p.tryProcessWatermark(new Watermark(20));
+
+        Map<Object, IncrementalSnapshotValue> saved = saveToSnapshot(1, true);
+
+        assertEquals(asList("a", "b", "wm"), sortedKeys(saved));
+        assertState(saved.get("a"), 1, 2);
+        assertEquals(1, saved.get("b").snapshotId());
+        assertNull(saved.get("b").value());
+        assertEquals(20L, saved.get("wm").value());
+    }
+
+    @Test
+    public void when_exportOnlySnapshot_then_changesRetained() {
+        process(entry("a", 1L), entry("b", 1L));
+        saveToSnapshot(0, false);
+        process(entry("a", 2L));
+        when(snapshotContext.isExportOnly()).thenReturn(true);
+        saveToSnapshot(1, false);
+        when(snapshotContext.isExportOnly()).thenReturn(false);
+
+        Map<Object, IncrementalSnapshotValue> saved = saveToSnapshot(2, true);
+
+        assertEquals(asList("a", "wm"), sortedKeys(saved));
+        assertState(saved.get("a"), 2, 2);
+    }
+
+    @Test
+    public void when_restoredFromIncrementalSnapshots_then_latestValuesWin() throws Exception {
+        process(entry("a", 1L), entry("b", 1L), entry("c", 1L));
+        saveToSnapshot(0, false);
+        List<Entry<Object, Object>> snapshots = new ArrayList<>(savedEntries);
+        process(entry("a", 20L), entry("c", 20L));
+        p.tryProcessWatermark(new Watermark(20));
+        saveToSnapshot(1, true);
+        snapshots.addAll(savedEntries);
+        process(entry("a", 21L));
+        saveToSnapshot(2, true);
+        snapshots.addAll(savedEntries);
+        // the entries of different snapshots arrive in any order
+        Collections.reverse(snapshots);
+
+        TestOutbox outbox2 = new TestOutbox(new int[]{128}, 128);
+        TransformStatefulP<Entry<String, Long>, String, long[], Entry<String, Long>> p2 = createProcessor(outbox2);
+        TestInbox inbox = new TestInbox();
+        inbox.addAll(snapshots);
+        p2.restoreFromSnapshot(inbox);
+        assertTrue(p2.finishSnapshotRestore());
+
+        inbox.addAll(asList(entry("a", 22L), entry("b", 22L), entry("c", 22L), entry("d", 5L)));
+        p2.process(0, inbox);
+        List<Object> output = new ArrayList<>();
+        outbox2.drainQueueAndReset(0, output, false);
+        // "b" was evicted, "d" is late for the restored watermark
+        assertEquals(asList(entry("a", 4L), entry("b", 1L), entry("c", 3L)), output);
+    }
+
+    private TransformStatefulP<Entry<String, Long>, String, long[], Entry<String, Long>> createProcessor(
+            TestOutbox outbox
+    ) throws Exception {
+        TransformStatefulP<Entry<String, Long>, String, long[], Entry<String, Long>> processor = new TransformStatefulP<>(
+                TTL,
+                Entry::getKey,
+                Entry::getValue,
+                () -> new long[1],
+                (state, key, item) -> {
+                    state[0]++;
+                    return Traversers.singleton(entry(key, state[0]));
+                },
+                null);
+        processor.init(outbox, procCtx(snapshotContext));
+        return processor;
+    }
+
+    /**
+     * Returns a processor context of a job which takes incremental snapshots.
+     */
+    static ProcCtx procCtx(SnapshotContext snapshotContext) {
+        JobConfig jobConfig = new JobConfig()
+                .setProcessingGuarantee(EXACTLY_ONCE)
+                .setMaxProcessorAccumulatedRecords(1000)
+                .setArgument(KEY_FULL_SNAPSHOT_INTERVAL, 3);
+        return new ProcCtx(null, 0, 0, jobConfig, Logger.getLogger(TransformStatefulP_incrementalSnapshotTest.class),
+                "vertex", 0, 0, false, emptyMap(), 1, 0, 1, new ConcurrentHashMap<>(), null, null, null,
+                snapshotContext);
+    }
+
+    @SafeVarargs
+    private void process(Entry<String, Long>... items) {
+        TestInbox inbox = new TestInbox();
+        inbox.addAll(asList(items));
+        p.process(0, inbox);
+        assertTrue(inbox.isEmpty());
+        outbox.drainQueueAndReset(0, new ArrayList<>(), false);
+    }
+
+    /**
+     * Saves the processor state and returns the saved values by key, the
+     * watermark under the "wm" key.
+     */
+    private Map<Object, IncrementalSnapshotValue> saveToSnapshot(long snapshotId, boolean isIncremental) {
+        when(snapshotContext.currentSnapshotId()).thenReturn(snapshotId);
+        when(snapshotContext.isIncremental()).thenReturn(isIncremental);
+        assertTrue(p.saveToSnapshot());
+        savedEntries.clear();
+        outbox.drainSnapshotQueueAndReset(savedEntries, false);
+        outbox.drainQueueAndReset(0, new ArrayList<>(), false);
+        Map<Object, IncrementalSnapshotValue> saved = new HashMap<>();
+        for (Entry<Object, Object> e : savedEntries) {
+            Object key = e.getKey() instanceof BroadcastKey ? "wm" : e.getKey();
+            saved.put(key, (IncrementalSnapshotValue) e.getValue());
+        }
+        return saved;
+    }
+
+    private static List<Object> sortedKeys(Map<Object, IncrementalSnapshotValue> saved) {
+        List<Object> keys = new ArrayList<>(saved.keySet());
+        keys.sort(null);
+        return keys;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void assertState(IncrementalSnapshotValue saved, long expectedSnapshotId, long expectedCount) {
+        assertEquals(expectedSnapshotId, saved.snapshotId());
+        assertEquals(expectedCount, ((TimestampedItem<long[]>) saved.value()).item()[0]);
+    }
+}
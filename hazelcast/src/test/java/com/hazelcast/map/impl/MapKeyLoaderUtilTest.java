@@ -32,6 +32,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static com.hazelcast.map.impl.MapKeyLoader.Role;
 import static com.hazelcast.map.impl.MapKeyLoader.Role.NONE;
@@ -39,6 +41,7 @@ import static com.hazelcast.map.impl.MapKeyLoader.Role.RECEIVER;
 import static com.hazelcast.map.impl.MapKeyLoader.Role.SENDER;
 import static com.hazelcast.map.impl.MapKeyLoader.Role.SENDER_BACKUP;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -159,6 +162,29 @@ public class MapKeyLoaderUtilTest extends HazelcastTestSupport {
 
     }
 
+    @Test
+    public void test_limit_sharesBudgetBetweenIterators() {
+        AtomicInteger budget = new AtomicInteger(15);
+        Iterator<Integer> first = MapKeyLoaderUtil.limit(IntStream.range(0, 10).iterator(), budget);
+        Iterator<Integer> second = MapKeyLoaderUtil.limit(IntStream.range(0, 10).iterator(), budget);
+
+        int count = 0;
+        while (first.hasNext() || second.hasNext()) {
+            if (first.hasNext()) {
+                first.next();
+                count++;
+            }
+            if (second.hasNext()) {
+                second.next();
+                count++;
+            }
+        }
+
+        assertEquals(15, count);
+        assertEquals(0, budget.get());
+        assertFalse(first.hasNext());
+    }
+
     private static Iterator<Map.Entry<Integer, Data>> newIterator(int entryCount) {
         Map<Integer, Data> store = new HashMap<>();
         for (int i = 0; i < entryCount; i++) {
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapLoader;
+import com.hazelcast.map.impl.MapStoreWrapper;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapLoadCoalescerTest extends HazelcastTestSupport {
+
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void testConcurrentLoadsOfSameKey_shareSingleLoad() throws Exception {
+        BlockingLoader loader = new BlockingLoader();
+        MapLoadCoalescer coalescer = new MapLoadCoalescer(new MapStoreWrapper(null, "map", loader, null),
+                TimeUnit.MILLISECONDS.toNanos(1), 100);
+
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(spawn(() -> coalescer.load(serializationService.toData(1), 1)));
+        }
+        assertTrueEventually(() -> assertEquals(4, coalescer.getCoalescedLoadCount()));
+        loader.release.countDown();
+
+        for (Future<Object> future : futures) {
+            assertEquals(1, future.get());
+        }
+        assertEquals(1, loader.loadAllInvocations.get());
+        assertEquals(1, loader.loadedKeyCount.get());
+    }
+
+    @Test
+    public void testLoadsOfDifferentKeys_areBatched() throws Exception {
+        BlockingLoader loader = new BlockingLoader();
+        loader.release.countDown();
+        int keyCount = 10;
+        MapLoadCoalescer coalescer = new MapLoadCoalescer(new MapStoreWrapper(null, "map", loader, null),
+                SECONDS.toNanos(30), keyCount);
+
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < keyCount; i++) {
+            int key = i;
+            futures.add(spawn(() -> coalescer.load(serializationService.toData(key), key)));
+        }
+
+        for (int i = 0; i < keyCount; i++) {
+            assertEquals(i, futures.get(i).get());
+        }
+        assertEquals(1, loader.loadAllInvocations.get());
+        assertEquals(1, coalescer.getBatchLoadCount());
+        assertEquals(keyCount, loader.loadedKeyCount.get());
+    }
+
+    @Test
+    public void testLoadFailure_isThrownToAllWaiters() {
+        MapLoader<Integer, Integer> loader = new BlockingLoader() {
+            @Override
+            public Map<Integer, Integer> loadAll(Collection<Integer> keys) {
+                throw new IllegalStateException("expected");
+            }
+        };
+        MapLoadCoalescer coalescer = new MapLoadCoalescer(new MapStoreWrapper(null, "map", loader, null),
+                TimeUnit.MILLISECONDS.toNanos(1), 100);
+
+        assertThatThrownBy(() -> coalescer.load(serializationService.toData(1), 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("expected");
+    }
+
+    @Test
+    public void testMapGet_withCoalescedLoads() {
+        String mapName = randomMapName();
+        BlockingLoader loader = new BlockingLoader();
+        loader.release.countDown();
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.MAP_LOAD_COALESCING_ENABLED.getName(), "true");
+        config.getMapConfig(mapName).getMapStoreConfig().setEnabled(true).setImplementation(loader);
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(mapName);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, (int) map.get(i));
+        }
+        assertEquals(10, loader.loadedKeyCount.get());
+    }
+
+    private static class BlockingLoader implements MapLoader<Integer, Integer> {
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger loadAllInvocations = new AtomicInteger();
+        final AtomicInteger loadedKeyCount = new AtomicInteger();
+
+        @Override
+        public Integer load(Integer key) {
+            loadedKeyCount.incrementAndGet();
+            return key;
+        }
+
+        @Override
+        public Map<Integer, Integer> loadAll(Collection<Integer> keys) {
+            loadAllInvocations.incrementAndGet();
+            assertOpenEventually(release);
+            Map<Integer, Integer> result = new HashMap<>();
+            for (Integer key : keys) {
+                result.put(key, key);
+            }
+            loadedKeyCount.addAndGet(keys.size());
+            return result;
+        }
+
+        @Override
+        public Iterable<Integer> loadAllKeys() {
+            return null;
+        }
+    }
+}
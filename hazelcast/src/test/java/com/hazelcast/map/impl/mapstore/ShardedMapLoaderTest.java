@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.LocalMapStats;
+import com.hazelcast.map.ShardedMapLoader;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.config.MapStoreConfig.InitialLoadMode.EAGER;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ShardedMapLoaderTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 10000;
+    private static final int SHARD_COUNT = 8;
+    private static final int NODE_COUNT = 2;
+
+    @Test
+    public void testLoadsAllShards() {
+        ShardedLoader loader = new ShardedLoader(ENTRY_COUNT, SHARD_COUNT);
+        HazelcastInstance[] instances = createInstances(newConfig(loader, 100000));
+        IMap<Integer, Integer> map = instances[0].getMap("default");
+
+        assertSizeEventually(ENTRY_COUNT, map);
+        assertEquals(0, loader.loadAllKeysInvocations.get());
+        assertEquals(ENTRY_COUNT, loader.loadedValueCount.get());
+        for (int shardId = 0; shardId < SHARD_COUNT; shardId++) {
+            assertEquals(1, loader.shardInvocations.get(shardId).get());
+        }
+    }
+
+    @Test
+    public void testLoadsAll_whenPendingKeyLimitIsSmallerThanBatch() {
+        ShardedLoader loader = new ShardedLoader(ENTRY_COUNT, SHARD_COUNT);
+        HazelcastInstance[] instances = createInstances(newConfig(loader, 10));
+        IMap<Integer, Integer> map = instances[0].getMap("default");
+
+        assertSizeEventually(ENTRY_COUNT, map);
+        assertEquals(ENTRY_COUNT, loader.loadedValueCount.get());
+    }
+
+    @Test
+    public void testLoadingProgressStats() {
+        ShardedLoader loader = new ShardedLoader(ENTRY_COUNT, SHARD_COUNT);
+        HazelcastInstance[] instances = createInstances(newConfig(loader, 100000));
+        IMap<Integer, Integer> map = instances[0].getMap("default");
+        assertSizeEventually(ENTRY_COUNT, map);
+
+        assertTrueEventually(() -> {
+            long loadedKeyCount = 0;
+            long loadedKeyShardCount = 0;
+            long loadedEntryCount = 0;
+            for (HazelcastInstance instance : instances) {
+                LocalMapStats stats = instance.getMap("default").getLocalMapStats();
+                loadedKeyCount += stats.getLoadedKeyCount();
+                loadedKeyShardCount += stats.getLoadedKeyShardCount();
+                loadedEntryCount += stats.getLoadedEntryCount();
+            }
+            assertEquals(ENTRY_COUNT, loadedKeyCount);
+            assertEquals(SHARD_COUNT, loadedKeyShardCount);
+            assertEquals(ENTRY_COUNT, loadedEntryCount);
+        });
+    }
+
+    private HazelcastInstance[] createInstances(Config config) {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(NODE_COUNT);
+        HazelcastInstance[] instances = factory.newInstances(config);
+        assertClusterSizeEventually(NODE_COUNT, instances);
+        return instances;
+    }
+
+    private Config newConfig(ShardedLoader loader, int pendingKeyLimit) {
+        Config config = smallInstanceConfig();
+        config.setProperty(ClusterProperty.MAP_LOAD_CHUNK_SIZE.getName(), "100");
+        config.setProperty(ClusterProperty.MAP_LOAD_PENDING_KEY_LIMIT_PER_NODE.getName(), Integer.toString(pendingKeyLimit));
+        MapStoreConfig mapStoreConfig = new MapStoreConfig().setImplementation(loader).setInitialLoadMode(EAGER);
+        config.getMapConfig("default").setMapStoreConfig(mapStoreConfig);
+        return config;
+    }
+
+    private static class ShardedLoader implements ShardedMapLoader<Integer, Integer> {
+
+        final AtomicInteger loadAllKeysInvocations = new AtomicInteger();
+        final AtomicInteger loadedValueCount = new AtomicInteger();
+        final Map<Integer, AtomicInteger> shardInvocations = new ConcurrentHashMap<>();
+
+        private final int size;
+        private final int shardCount;
+
+        ShardedLoader(int size, int shardCount) {
+            this.size = size;
+            this.shardCount = shardCount;
+        }
+
+        @Override
+        public int getKeyShardCount() {
+            return shardCount;
+        }
+
+        @Override
+        public Iterable<Integer> loadKeyShard(int shardId) {
+            shardInvocations.computeIfAbsent(shardId, id -> new AtomicInteger()).incrementAndGet();
+            List<Integer> keys = new ArrayList<>();
+            for (int key = shardId; key < size; key += shardCount) {
+                keys.add(key);
+            }
+            return keys;
+        }
+
+        @Override
+        public Integer load(Integer key) {
+            return key;
+        }
+
+        @Override
+        public Map<Integer, Integer> loadAll(Collection<Integer> keys) {
+            Map<Integer, Integer> result = new HashMap<>();
+            for (Integer key : keys) {
+                result.put(key, key);
+            }
+            loadedValueCount.addAndGet(result.size());
+            return result;
+        }
+
+        @Override
+        public Iterable<Integer> loadAllKeys() {
+            loadAllKeysInvocations.incrementAndGet();
+            List<Integer> keys = new ArrayList<>();
+            for (int key = 0; key < size; key++) {
+                keys.add(key);
+            }
+            return keys;
+        }
+    }
+}
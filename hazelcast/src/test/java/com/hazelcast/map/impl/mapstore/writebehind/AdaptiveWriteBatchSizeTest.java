@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AdaptiveWriteBatchSizeTest {
+
+    private static final long TARGET_LATENCY_NANOS = MILLISECONDS.toNanos(100);
+
+    @Test
+    public void testInitialBatchSize() {
+        AdaptiveWriteBatchSize batchSize = new AdaptiveWriteBatchSize(50, TARGET_LATENCY_NANOS);
+
+        assertEquals(50, batchSize.get());
+    }
+
+    @Test
+    public void testBatchSizeConvergesToTargetLatency() {
+        AdaptiveWriteBatchSize batchSize = new AdaptiveWriteBatchSize(50, TARGET_LATENCY_NANOS);
+
+        // one millisecond per entry, 100 entries fit into the target latency
+        for (int i = 0; i < 20; i++) {
+            batchSize.onBatchStored(batchSize.get(), MILLISECONDS.toNanos(batchSize.get()));
+        }
+
+        assertEquals(100, batchSize.get());
+    }
+
+    @Test
+    public void testBatchSizeShrinksWhenStoreIsSlow() {
+        AdaptiveWriteBatchSize batchSize = new AdaptiveWriteBatchSize(50, TARGET_LATENCY_NANOS);
+
+        // a second per entry
+        for (int i = 0; i < 20; i++) {
+            batchSize.onBatchStored(batchSize.get(), MILLISECONDS.toNanos(1000L * batchSize.get()));
+        }
+
+        assertEquals(1, batchSize.get());
+    }
+
+    @Test
+    public void testBatchSizeIsBounded() {
+        AdaptiveWriteBatchSize batchSize = new AdaptiveWriteBatchSize(50, TARGET_LATENCY_NANOS);
+
+        for (int i = 0; i < 20; i++) {
+            batchSize.onBatchStored(batchSize.get(), 1);
+        }
+
+        assertEquals(50 * AdaptiveWriteBatchSize.MAX_BATCH_SIZE_MULTIPLIER, batchSize.get());
+    }
+
+    @Test
+    public void testEmptyBatchIsIgnored() {
+        AdaptiveWriteBatchSize batchSize = new AdaptiveWriteBatchSize(50, TARGET_LATENCY_NANOS);
+
+        batchSize.onBatchStored(0, MILLISECONDS.toNanos(1000));
+
+        assertEquals(50, batchSize.get());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.LocalMapStats;
+import com.hazelcast.map.MapStore;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class WriteBehindParallelFlushTest extends HazelcastTestSupport {
+
+    @Test
+    public void testParallelFlushStoresAllEntries() {
+        MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<>();
+        IMap<Integer, Integer> map = createMap(mapStore, 10, 0);
+
+        int numberOfItems = 1000;
+        for (int i = 0; i < numberOfItems; i++) {
+            map.put(i, i);
+        }
+
+        assertTrueEventually(() -> {
+            assertEquals(numberOfItems, mapStore.size());
+            LocalMapStats stats = map.getLocalMapStats();
+            assertEquals(0, stats.getDirtyEntryCount());
+            assertEquals(numberOfItems, stats.getWriteBehindStoredEntryCount());
+        });
+        assertEquals(10, map.getLocalMapStats().getWriteBehindBatchSize());
+    }
+
+    @Test
+    public void testParallelFlushStoresLastValueOfEachKey() {
+        MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<>();
+        IMap<Integer, Integer> map = createMap(mapStore, 10, 0);
+
+        int numberOfItems = 100;
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < numberOfItems; i++) {
+                map.put(i, round);
+            }
+        }
+        map.remove(0);
+
+        assertTrueEventually(() -> {
+            assertEquals(numberOfItems - 1, mapStore.size());
+            for (int i = 1; i < numberOfItems; i++) {
+                assertEquals(4, (int) mapStore.store.get(i));
+            }
+        });
+    }
+
+    @Test
+    public void testWriteBatchSizeAdaptsToMapStoreLatency() {
+        MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<Integer, Integer>() {
+            @Override
+            public void storeAll(Map<Integer, Integer> map) {
+                // one millisecond per entry
+                sleepMillis(map.size());
+                super.storeAll(map);
+            }
+        };
+        int writeBatchSize = 100;
+        IMap<Integer, Integer> map = createMap(mapStore, writeBatchSize, 10);
+
+        int numberOfItems = 2000;
+        for (int i = 0; i < numberOfItems; i++) {
+            map.put(i, i);
+        }
+
+        assertTrueEventually(() -> assertEquals(numberOfItems, mapStore.size()));
+        int batchSize = map.getLocalMapStats().getWriteBehindBatchSize();
+        assertTrue("batchSize=" + batchSize, batchSize < writeBatchSize);
+        assertTrue(map.getLocalMapStats().getTotalWriteBehindStoreLatency() >= numberOfItems / 2);
+    }
+
+    private IMap<Integer, Integer> createMap(MapStore<Integer, Integer> mapStore, int writeBatchSize,
+                                             long targetBatchLatencyMillis) {
+        String mapName = randomMapName();
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.MAP_WRITE_BEHIND_FLUSHER_COUNT.getName(), "4")
+                .setProperty(ClusterProperty.MAP_WRITE_BEHIND_TARGET_BATCH_LATENCY_MILLIS.getName(),
+                        String.valueOf(targetBatchLatencyMillis));
+        config.getMapConfig(mapName)
+                .setMapStoreConfig(new MapStoreConfig()
+                        .setImplementation(mapStore)
+                        .setWriteDelaySeconds(1)
+                        .setWriteBatchSize(writeBatchSize));
+        return createHazelcastInstance(config).getMap(mapName);
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.LocalMapStats;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.internal.util.SetUtil.allPartitionIds;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class QueryResultCacheTest extends HazelcastTestSupport {
+
+    private static final int PARTITION_COUNT = 4;
+
+    private final SerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void testGetAfterPut() {
+        QueryResultCache cache = new QueryResultCache(PARTITION_COUNT, Long.MAX_VALUE);
+        PartitionIdSet partitions = allPartitionIds(PARTITION_COUNT);
+        Data query = ss.toData("query");
+        Data result = ss.toData("result");
+
+        long stamp = cache.stamp(partitions);
+        assertNull(cache.get(query, partitions, stamp));
+        cache.put(query, partitions, stamp, result);
+
+        assertSame(result, cache.get(query, partitions, cache.stamp(partitions)));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testMutationInvalidates() {
+        QueryResultCache cache = new QueryResultCache(PARTITION_COUNT, Long.MAX_VALUE);
+        PartitionIdSet partitions = allPartitionIds(PARTITION_COUNT);
+        Data query = ss.toData("query");
+
+        cache.put(query, partitions, cache.stamp(partitions), ss.toData("result"));
+        cache.onMutation(2);
+
+        assertNull(cache.get(query, partitions, cache.stamp(partitions)));
+        assertEquals(0, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void testMutationOfOtherPartitionDoesNotInvalidate() {
+        QueryResultCache cache = new QueryResultCache(PARTITION_COUNT, Long.MAX_VALUE);
+        PartitionIdSet partitions = new PartitionIdSet(PARTITION_COUNT);
+        partitions.add(0);
+        partitions.add(1);
+        Data query = ss.toData("query");
+        Data result = ss.toData("result");
+
+        cache.put(query, partitions, cache.stamp(partitions), result);
+        cache.onMutation(3);
+
+        assertSame(result, cache.get(query, partitions, cache.stamp(partitions)));
+    }
+
+    @Test
+    public void testDifferentPartitionsMiss() {
+        QueryResultCache cache = new QueryResultCache(PARTITION_COUNT, Long.MAX_VALUE);
+        PartitionIdSet partitions = allPartitionIds(PARTITION_COUNT);
+        PartitionIdSet otherPartitions = new PartitionIdSet(PARTITION_COUNT);
+        otherPartitions.add(0);
+        Data query = ss.toData("query");
+
+        cache.put(query, partitions, cache.stamp(partitions), ss.toData("result"));
+
+        assertNull(cache.get(query, otherPartitions, cache.stamp(otherPartitions)));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        Data query1 = ss.toData("query1");
+        Data query2 = ss.toData("query2");
+        Data query3 = ss.toData("query3");
+        Data result = ss.toData("result");
+        long cost = query1.getHeapCost() + result.getHeapCost();
+        QueryResultCache cache = new QueryResultCache(PARTITION_COUNT, 2 * cost);
+        PartitionIdSet partitions = allPartitionIds(PARTITION_COUNT);
+        long stamp = cache.stamp(partitions);
+
+        cache.put(query1, partitions, stamp, result);
+        cache.put(query2, partitions, stamp, result);
+        // touch the first query, so the second one is the least recently used
+        assertSame(result, cache.get(query1, partitions, stamp));
+        cache.put(query3, partitions, stamp, result);
+
+        assertSame(result, cache.get(query1, partitions, stamp));
+        assertNull(cache.get(query2, partitions, stamp));
+        assertSame(result, cache.get(query3, partitions, stamp));
+        assertTrue(cache.getSizeInBytes() <= 2 * cost);
+    }
+
+    @Test
+    public void testTooLargeResultNotCached() {
+        Data query = ss.toData("query");
+        Data result = ss.toData("result");
+        QueryResultCache cache = new QueryResultCache(PARTITION_COUNT, result.getHeapCost());
+        PartitionIdSet partitions = allPartitionIds(PARTITION_COUNT);
+
+        cache.put(query, partitions, cache.stamp(partitions), result);
+
+        assertNull(cache.get(query, partitions, cache.stamp(partitions)));
+        assertEquals(0, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void testMapQueries() {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.QUERY_RESULT_CACHE_ENABLED.getName(), "true");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        for (int i = 0; i < 100; ++i) {
+            map.put(i, i);
+        }
+
+        assertEquals(10, map.values(Predicates.lessThan("this", 10)).size());
+        assertEquals(10, map.values(Predicates.lessThan("this", 10)).size());
+        assertEquals(100L, (long) map.aggregate(Aggregators.count()));
+        assertEquals(100L, (long) map.aggregate(Aggregators.count()));
+
+        LocalMapStats stats = map.getLocalMapStats();
+        assertEquals(2, stats.getQueryResultCacheHits());
+        assertEquals(2, stats.getQueryResultCacheMisses());
+
+        map.put(5, 1000);
+        map.remove(6);
+
+        assertEquals(8, map.values(Predicates.lessThan("this", 10)).size());
+        assertEquals(99L, (long) map.aggregate(Aggregators.count()));
+        assertEquals(4, map.getLocalMapStats().getQueryResultCacheMisses());
+    }
+
+    @Test
+    public void testConcurrentRemovalsNeverServedStale() throws Exception {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.PARTITION_COUNT.getName(), "1")
+                .setProperty(ClusterProperty.QUERY_RESULT_CACHE_ENABLED.getName(), "true");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        AtomicInteger lastRemoved = new AtomicInteger();
+        AtomicBoolean done = new AtomicBoolean();
+
+        Future<?> writer = spawn(() -> {
+            try {
+                for (int i = 1; i <= 2_000; i++) {
+                    map.set(i, i);
+                    // alternate the paths which notify the observers before the storage change
+                    if (i % 2 == 0) {
+                        map.delete(i);
+                    } else {
+                        map.evict(i);
+                    }
+                    lastRemoved.set(i);
+                }
+            } finally {
+                done.set(true);
+            }
+        });
+        Future<?> reader = spawn(() -> {
+            while (!done.get()) {
+                int removed = lastRemoved.get();
+                for (int key : map.keySet(Predicates.alwaysTrue())) {
+                    assertTrue("key " + key + " served after its removal, last removed " + removed, key > removed);
+                }
+            }
+        });
+
+        writer.get();
+        reader.get();
+        assertTrue(map.getLocalMapStats().getQueryResultCacheMisses() > 0);
+    }
+
+    @Test
+    public void testExpirableEntriesNotCached() {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.QUERY_RESULT_CACHE_ENABLED.getName(), "true");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        map.put(1, 1, 1, TimeUnit.HOURS);
+
+        assertEquals(1, map.values(Predicates.alwaysTrue()).size());
+        assertEquals(1, map.values(Predicates.alwaysTrue()).size());
+
+        assertEquals(0, map.getLocalMapStats().getQueryResultCacheHits());
+    }
+}
@@ -18,8 +18,6 @@ package com.hazelcast.map.impl.query;
 
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.util.IterationType;
-import com.hazelcast.internal.util.executor.NamedThreadPoolExecutor;
-import com.hazelcast.internal.util.executor.PoolExecutorThreadFactory;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.Predicates;
 import com.hazelcast.query.QueryException;
@@ -29,93 +27,103 @@ import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
 import com.hazelcast.test.starter.ReflectionUtils;
 import org.junit.After;
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.rules.ExpectedException;
-import org.junit.rules.TestName;
 import org.junit.runner.RunWith;
 
-import java.util.List;
-import java.util.UUID;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
-import static java.lang.Thread.currentThread;
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
-public class ParallelPartitionScanExecutorTest {
+public class WorkStealingPartitionScanExecutorTest {
 
-    @Rule
-    public TestName testName = new TestName();
+    private static final int CHUNKS_PER_PARTITION = 4;
 
     @Rule
     public ExpectedException expected = ExpectedException.none();
 
-    private NamedThreadPoolExecutor threadPoolExecutor;
+    private WorkStealingScanner scanner;
+    private PartitionScanRunner runner;
+
+    @Before
+    public void setUp() throws Exception {
+        scanner = new WorkStealingScanner("hz", 2, Thread.currentThread().getContextClassLoader());
+
+        IPartitionService partitionService = mock(IPartitionService.class);
+        when(partitionService.getPartitionCount()).thenReturn(271);
+        runner = mock(PartitionScanRunner.class);
+        ReflectionUtils.setFieldValueReflectively(runner, "partitionService", partitionService);
+        doAnswer(invocation -> {
+            int partitionId = invocation.getArgument(1);
+            Consumer<PartitionScanChunk> chunkConsumer = invocation.getArgument(3);
+            for (int i = 0; i < CHUNKS_PER_PARTITION; i++) {
+                chunkConsumer.accept(new PartitionScanChunk(partitionId, 1));
+            }
+            return null;
+        }).when(runner).forEachChunk(anyString(), anyInt(), anyInt(), any());
+    }
 
     @After
     public void tearDown() {
-        threadPoolExecutor.shutdownNow();
+        scanner.shutdown();
     }
 
-    private ParallelPartitionScanExecutor executor(PartitionScanRunner runner) {
-        PoolExecutorThreadFactory threadFactory = new PoolExecutorThreadFactory(testName.getMethodName()
-                + "-" + UUID.randomUUID(), currentThread().getContextClassLoader());
-        threadPoolExecutor = new NamedThreadPoolExecutor(testName.getMethodName()
-                + "-" + UUID.randomUUID(), 1, 1, 100, TimeUnit.SECONDS,
-                new LinkedBlockingQueue<>(100), threadFactory);
-        return new ParallelPartitionScanExecutor(runner, threadPoolExecutor, 60000);
+    private WorkStealingPartitionScanExecutor executor() {
+        return new WorkStealingPartitionScanExecutor(runner, scanner, 1, 60000);
     }
 
     @Test
-    public void execute_success() throws Exception {
-        IPartitionService partitionService = mock(IPartitionService.class);
-        when(partitionService.getPartitionCount()).thenReturn(271);
-        PartitionScanRunner runner = mock(PartitionScanRunner.class);
-        ReflectionUtils.setFieldValueReflectively(runner, "partitionService", partitionService);
-        ParallelPartitionScanExecutor executor = executor(runner);
+    public void execute_success() {
         Predicate predicate = Predicates.equal("attribute", 1);
         QueryResult queryResult = new QueryResult(IterationType.ENTRY, null, null, Long.MAX_VALUE, false);
 
-        executor.execute("Map", predicate, asList(1, 2, 3), queryResult);
-        List<QueryResultRow> result = queryResult.getRows();
-        assertEquals(0, result.size());
+        executor().execute("Map", predicate, asList(1, 2, 3), queryResult);
+
+        assertEquals(0, queryResult.getRows().size());
+        assertEquals(3, queryResult.getPartitionIds().size());
+        assertTrue(queryResult.getPartitionIds().contains(1));
+        assertTrue(queryResult.getPartitionIds().contains(2));
+        assertTrue(queryResult.getPartitionIds().contains(3));
+        assertEquals(3 * CHUNKS_PER_PARTITION, scanner.getChunkCount());
     }
 
     @Test
     public void execute_fail() {
-        PartitionScanRunner runner = mock(PartitionScanRunner.class);
-        ParallelPartitionScanExecutor executor = executor(runner);
         Predicate predicate = Predicates.equal("attribute", 1);
         QueryResult queryResult = new QueryResult(IterationType.ENTRY, null, null, Long.MAX_VALUE, false);
 
-        doThrow(new QueryException()).when(runner).run(anyString(), eq(predicate), anyInt(), isA(QueryResult.class));
+        doThrow(new QueryException()).when(runner)
+                .run(anyString(), eq(predicate), any(PartitionScanChunk.class), isA(QueryResult.class));
 
         expected.expect(QueryException.class);
-        executor.execute("Map", predicate, asList(1, 2, 3), queryResult);
+        executor().execute("Map", predicate, asList(1, 2, 3), queryResult);
     }
 
     @Test
     public void execute_fail_retryable() {
-        PartitionScanRunner runner = mock(PartitionScanRunner.class);
-        ParallelPartitionScanExecutor executor = executor(runner);
         Predicate predicate = Predicates.equal("attribute", 1);
         QueryResult queryResult = new QueryResult(IterationType.ENTRY, null, null, Long.MAX_VALUE, false);
 
-        doThrow(new RetryableHazelcastException()).when(runner).run(anyString(), eq(predicate), anyInt(), isA(QueryResult.class));
+        doThrow(new RetryableHazelcastException()).when(runner)
+                .run(anyString(), eq(predicate), any(PartitionScanChunk.class), isA(QueryResult.class));
 
         expected.expect(RetryableHazelcastException.class);
-        executor.execute("Map", predicate, asList(1, 2, 3), queryResult);
+        executor().execute("Map", predicate, asList(1, 2, 3), queryResult);
     }
 }
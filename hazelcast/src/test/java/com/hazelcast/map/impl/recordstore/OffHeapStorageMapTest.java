@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.InvalidConfigurationException;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_OFF_HEAP_STORAGE_MAX_SIZE_IN_MB;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapStorageMapTest extends HazelcastTestSupport {
+
+    private static final String MAP_NAME = "offHeapMap";
+    private static final String EVICTABLE_MAP_NAME = "evictableOffHeapMap";
+    private static final String NATIVE_LIMITED_MAP_NAME = "nativeLimitedOffHeapMap";
+    private static final String ON_HEAP_MAP_NAME = "onHeapMap";
+    private static final String OBJECT_MAP_NAME = "objectOffHeapMap";
+    private static final int VALUE_SIZE = 16 * 1024;
+
+    private HazelcastInstance instance;
+
+    @Before
+    public void setUp() {
+        Config config = smallInstanceConfig();
+        config.setProperty(MAP_OFF_HEAP_STORAGE_MAX_SIZE_IN_MB.getName(), "1");
+        config.getMapConfig(NATIVE_LIMITED_MAP_NAME).setOffHeapStorageEnabled(true)
+                .getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU);
+        config.getMapConfig(MAP_NAME).setInMemoryFormat(InMemoryFormat.BINARY)
+                .setOffHeapStorageEnabled(true);
+        config.getMapConfig(OBJECT_MAP_NAME).setInMemoryFormat(InMemoryFormat.OBJECT)
+                .setOffHeapStorageEnabled(true);
+        config.getMapConfig(EVICTABLE_MAP_NAME).setOffHeapStorageEnabled(true)
+                .getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaxSizePolicy(MaxSizePolicy.PER_PARTITION)
+                .setSize(10);
+        instance = createHazelcastInstance(config);
+    }
+
+    @Test
+    public void putGetRemove() {
+        IMap<Integer, String> map = instance.getMap(MAP_NAME);
+
+        map.put(1, "value");
+        assertEquals("value", map.get(1));
+        assertEquals("value", map.put(1, "newValue"));
+        assertEquals("newValue", map.remove(1));
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void recordStore_usesOffHeapStorage() {
+        IMap<Integer, String> map = instance.getMap(MAP_NAME);
+        map.put(1, "value");
+
+        MapServiceContext mapServiceContext = getNodeEngineImpl(instance)
+                .<MapService>getService(MapService.SERVICE_NAME).getMapServiceContext();
+        int partitionId = instance.getPartitionService().getPartition(1).getPartitionId();
+        RecordStore recordStore = mapServiceContext.getRecordStore(partitionId, MAP_NAME);
+
+        assertTrue(recordStore.getStorage() instanceof OffHeapStorage);
+        assertTrue(((OffHeapStorage) recordStore.getStorage()).getUsedOffHeapMemory() > 0);
+    }
+
+    @Test
+    public void recordStore_usesOnHeapStorage_whenNotEnabledForMap() {
+        IMap<Integer, String> map = instance.getMap(ON_HEAP_MAP_NAME);
+        map.put(1, "value");
+
+        MapServiceContext mapServiceContext = getNodeEngineImpl(instance)
+                .<MapService>getService(MapService.SERVICE_NAME).getMapServiceContext();
+        int partitionId = instance.getPartitionService().getPartition(1).getPartitionId();
+        RecordStore recordStore = mapServiceContext.getRecordStore(partitionId, ON_HEAP_MAP_NAME);
+
+        assertFalse(recordStore.getStorage() instanceof OffHeapStorage);
+    }
+
+    @Test
+    public void objectInMemoryFormat_isRejected() {
+        assertThrows(InvalidConfigurationException.class, () -> instance.getMap(OBJECT_MAP_NAME));
+    }
+
+    @Test
+    public void query() {
+        IMap<Integer, Integer> map = instance.getMap(MAP_NAME);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+
+        assertEquals(100, map.values(Predicates.lessThan("this", 100)).size());
+    }
+
+    @Test
+    public void eviction() {
+        IMap<Integer, Integer> map = instance.getMap(EVICTABLE_MAP_NAME);
+        int partitionCount = instance.getPartitionService().getPartitions().size();
+        for (int i = 0; i < 100 * partitionCount; i++) {
+            map.put(i, i);
+        }
+
+        assertTrue(map.size() <= 10 * partitionCount);
+    }
+
+    @Test
+    public void ownedEntryMemoryCost_includesOffHeapMemory() {
+        IMap<Integer, byte[]> map = instance.getMap(MAP_NAME);
+        for (int i = 0; i < 10; i++) {
+            map.put(i, new byte[VALUE_SIZE]);
+        }
+
+        assertTrue(map.getLocalMapStats().getOwnedEntryMemoryCost() > usedOffHeapMemory(MAP_NAME));
+        assertTrue(usedOffHeapMemory(MAP_NAME) > 10L * VALUE_SIZE);
+    }
+
+    @Test
+    public void eviction_whenOffHeapLimitExceeded() {
+        IMap<Integer, byte[]> map = instance.getMap(NATIVE_LIMITED_MAP_NAME);
+        int count = 200;
+        for (int i = 0; i < count; i++) {
+            map.put(i, new byte[VALUE_SIZE]);
+        }
+
+        assertTrue(map.size() < count);
+        assertTrue(usedOffHeapMemory(NATIVE_LIMITED_MAP_NAME) <= MEGABYTES.toBytes(1) + 2L * VALUE_SIZE);
+    }
+
+    @Test
+    public void expiry() {
+        IMap<Integer, Integer> map = instance.getMap(MAP_NAME);
+        map.put(1, 1, 1, SECONDS);
+
+        assertTrueEventually(() -> assertNull(map.get(1)));
+    }
+
+    private long usedOffHeapMemory(String mapName) {
+        MapServiceContext mapServiceContext = getNodeEngineImpl(instance)
+                .<MapService>getService(MapService.SERVICE_NAME).getMapServiceContext();
+        long usedOffHeapMemory = 0L;
+        for (int partitionId = 0; partitionId < instance.getPartitionService().getPartitions().size(); partitionId++) {
+            RecordStore recordStore = mapServiceContext.getExistingRecordStore(partitionId, mapName);
+            if (recordStore != null) {
+                usedOffHeapMemory += ((OffHeapStorage) recordStore.getStorage()).getUsedOffHeapMemory();
+            }
+        }
+        return usedOffHeapMemory;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.record.OffHeapDataRecord;
+import com.hazelcast.map.impl.record.OffHeapDataRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.test.HazelcastTestSupport.spawn;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapStorageTest {
+
+    private SerializationService ss;
+    private OffHeapDataRecordFactory recordFactory;
+    private OffHeapStorage<Record> storage;
+
+    @Before
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        recordFactory = new OffHeapDataRecordFactory(ss);
+        ExpirySystem expirySystem = mock(ExpirySystem.class);
+        when(expirySystem.getExpiryMetadata(any())).thenReturn(ExpiryMetadata.NULL);
+        storage = new OffHeapStorage<>(expirySystem, ss);
+    }
+
+    @After
+    public void tearDown() {
+        storage.destroy(false);
+    }
+
+    @Test
+    public void put_movesValueOffHeap() {
+        Data key = ss.toData(1);
+        OffHeapDataRecord record = newRecord(key, "value");
+
+        storage.put(key, record);
+
+        assertTrue(record.isOffHeap());
+        assertEquals(record.getOffHeapCost(), storage.getUsedOffHeapMemory());
+        assertEquals("value", ss.toObject(storage.get(key).getValue()));
+    }
+
+    @Test
+    public void updateRecordValue_releasesPreviousBlock() {
+        Data key = ss.toData(1);
+        OffHeapDataRecord record = newRecord(key, "value");
+        storage.put(key, record);
+
+        storage.updateRecordValue(key, record, "a much longer value than before");
+
+        assertTrue(record.isOffHeap());
+        assertEquals(record.getOffHeapCost(), storage.getUsedOffHeapMemory());
+        assertEquals("a much longer value than before", ss.toObject(record.getValue()));
+    }
+
+    @Test
+    public void updateRecordValue_keepsValueOnHeap_whenRecordNotStored() {
+        Data key = ss.toData(1);
+        OffHeapDataRecord record = newRecord(key, "value");
+
+        storage.updateRecordValue(key, record, "newValue");
+
+        assertFalse(record.isOffHeap());
+        assertEquals(0, storage.getUsedOffHeapMemory());
+        assertEquals("newValue", ss.toObject(record.getValue()));
+    }
+
+    @Test
+    public void put_releasesReplacedRecord() {
+        Data key = ss.toData(1);
+        OffHeapDataRecord oldRecord = newRecord(key, "oldValue");
+        OffHeapDataRecord newRecord = newRecord(key, "newValue");
+
+        storage.put(key, oldRecord);
+        storage.put(key, newRecord);
+
+        assertFalse(oldRecord.isOffHeap());
+        assertEquals("oldValue", ss.toObject(oldRecord.getValue()));
+        assertEquals(newRecord.getOffHeapCost(), storage.getUsedOffHeapMemory());
+    }
+
+    @Test
+    public void removeRecord_releasesBlock_andRetainsValue() {
+        Data key = ss.toData(1);
+        OffHeapDataRecord record = newRecord(key, "value");
+        storage.put(key, record);
+
+        storage.removeRecord(key, record);
+
+        assertNull(storage.get(key));
+        assertEquals(0, storage.getUsedOffHeapMemory());
+        assertEquals("value", ss.toObject(record.getValue()));
+    }
+
+    @Test
+    public void clear_releasesAllBlocks() {
+        for (int i = 0; i < 100; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, newRecord(key, "value-" + i));
+        }
+
+        storage.clear(false);
+
+        assertTrue(storage.isEmpty());
+        assertEquals(0, storage.getUsedOffHeapMemory());
+    }
+
+    @Test
+    public void getValue_fromOtherThread_whileValueUpdated() throws Exception {
+        Data key = ss.toData(1);
+        OffHeapDataRecord record = newRecord(key, "value-0");
+        storage.put(key, record);
+        AtomicBoolean updating = new AtomicBoolean(true);
+
+        // a query reads the record outside of the partition thread, the
+        // block it reads must not be freed under it
+        Future<?> reader = spawn(() -> {
+            while (updating.get()) {
+                String value = ss.toObject(record.getValue());
+                assertTrue(value, value.startsWith("value-"));
+            }
+        });
+        for (int i = 1; i < 100_000; i++) {
+            storage.updateRecordValue(key, record, "value-" + i);
+        }
+        updating.set(false);
+        reader.get();
+
+        storage.removeRecord(key, record);
+        assertEquals(0, storage.getUsedOffHeapMemory());
+        assertEquals("value-99999", ss.toObject(record.getValue()));
+    }
+
+    @Test
+    public void getRandomSamples_readsOffHeapValues() {
+        for (int i = 0; i < 100; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, newRecord(key, i));
+        }
+
+        int sampleCount = 0;
+        for (Object sample : storage.getRandomSamples(15)) {
+            EntryView entryView = (EntryView) sample;
+            assertEquals(entryView.getKey(), entryView.getValue());
+            sampleCount++;
+        }
+        assertEquals(15, sampleCount);
+    }
+
+    private OffHeapDataRecord newRecord(Data key, Object value) {
+        return (OffHeapDataRecord) recordFactory.newRecord(key, value);
+    }
+}
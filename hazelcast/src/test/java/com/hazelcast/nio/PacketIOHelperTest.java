@@ -18,6 +18,7 @@ package com.hazelcast.nio;
 
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.nio.PacketIOHelper;
+import com.hazelcast.internal.nio.PacketPayloadPool;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.SerializationServiceBuilder;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
@@ -45,7 +46,10 @@ import static com.hazelcast.internal.serialization.impl.SerializationConcurrency
 import static com.hazelcast.internal.serialization.impl.SerializationConcurrencyTest.PortablePerson;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static com.hazelcast.internal.nio.Packet.FLAG_OP_RESPONSE;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -192,4 +196,106 @@ public class PacketIOHelperTest extends HazelcastTestSupport {
         assertEquals(originalPacket.getFlags(), clonedPacket.getFlags());
         assertArrayEquals(originalPacket.toByteArray(), clonedPacket.toByteArray());
     }
+
+    @Test
+    public void pooledPayload_whenOperation() {
+        InternalSerializationService ss = createSerializationServiceBuilder().build();
+        Packet originalPacket = new Packet(ss.toBytes(person), 1).setPacketType(Packet.Type.OPERATION);
+
+        Packet clonedPacket = writeAndReadInChunks(originalPacket, new PacketIOHelper(new PacketPayloadPool(1024, 0, 1)));
+
+        assertNotNull(clonedPacket);
+        assertEquals(originalPacket.totalSize(), clonedPacket.totalSize());
+        assertEquals(1024, clonedPacket.toByteArray().length);
+        assertEquals(originalPacket.getPartitionId(), clonedPacket.getPartitionId());
+        assertEquals(originalPacket.getFlags(), clonedPacket.getFlags());
+        assertEquals(person, ss.toObject(clonedPacket));
+
+        clonedPacket.release();
+        assertEquals(0, clonedPacket.totalSize());
+    }
+
+    @Test
+    public void pooledPayload_whenOperationResponse_thenNotPooled() {
+        Packet originalPacket = new Packet("foobarbaz".getBytes())
+                .setPacketType(Packet.Type.OPERATION)
+                .raiseFlags(FLAG_OP_RESPONSE);
+
+        Packet clonedPacket = writeAndReadInChunks(originalPacket, new PacketIOHelper(new PacketPayloadPool(1024, 0, 1)));
+
+        assertNotNull(clonedPacket);
+        assertPacketEquals(originalPacket, clonedPacket);
+    }
+
+    @Test
+    public void pooledPayload_whenLargerThanPooledBuffer_thenNotPooled() {
+        byte[] payload = new byte[2048];
+        new Random().nextBytes(payload);
+        Packet originalPacket = new Packet(payload).setPacketType(Packet.Type.OPERATION);
+
+        Packet clonedPacket = writeAndReadInChunks(originalPacket, new PacketIOHelper(new PacketPayloadPool(1024, 0, 1)));
+
+        assertNotNull(clonedPacket);
+        assertPacketEquals(originalPacket, clonedPacket);
+    }
+
+    @Test
+    public void pooledPayload_whenSmallerThanMinSize_thenNotPooled() {
+        PacketPayloadPool pool = new PacketPayloadPool(1024, 512, 1);
+        Packet originalPacket = new Packet(randomPayload(100)).setPacketType(Packet.Type.OPERATION);
+
+        Packet clonedPacket = writeAndReadInChunks(originalPacket, new PacketIOHelper(pool));
+
+        assertNotNull(clonedPacket);
+        assertPacketEquals(originalPacket, clonedPacket);
+        assertEquals(0, pool.getBufferCount());
+    }
+
+    @Test
+    public void pooledPayload_whenPoolExhausted_thenNotPooled() {
+        PacketPayloadPool pool = new PacketPayloadPool(1024, 0, 1);
+        PacketIOHelper reader = new PacketIOHelper(pool);
+        Packet originalPacket = new Packet(randomPayload(600)).setPacketType(Packet.Type.OPERATION);
+
+        Packet pooledPacket = writeAndReadInChunks(originalPacket, reader);
+        Packet notPooledPacket = writeAndReadInChunks(originalPacket, reader);
+
+        assertEquals(1024, pooledPacket.toByteArray().length);
+        assertPacketEquals(originalPacket, notPooledPacket);
+        assertEquals(1, pool.getBufferCount());
+    }
+
+    @Test
+    public void pooledPayload_whenReleased_thenBufferReused() {
+        PacketPayloadPool pool = new PacketPayloadPool(1024, 0, 1);
+        PacketIOHelper reader = new PacketIOHelper(pool);
+        Packet originalPacket = new Packet(randomPayload(600)).setPacketType(Packet.Type.OPERATION);
+
+        Packet firstPacket = writeAndReadInChunks(originalPacket, reader);
+        byte[] buffer = firstPacket.toByteArray();
+        firstPacket.release();
+        Packet secondPacket = writeAndReadInChunks(originalPacket, reader);
+
+        assertSame(buffer, secondPacket.toByteArray());
+        assertEquals(1, pool.getBufferCount());
+    }
+
+    private static byte[] randomPayload(int size) {
+        byte[] payload = new byte[size];
+        new Random().nextBytes(payload);
+        return payload;
+    }
+
+    private Packet writeAndReadInChunks(Packet packet, PacketIOHelper reader) {
+        ByteBuffer bb = ByteBuffer.allocate(packet.getFrameLength());
+        assertTrue(packetWriter.writeTo(packet, bb));
+        bb.flip();
+
+        // the payload is read in two parts
+        ByteBuffer firstPart = bb.duplicate();
+        firstPart.limit(bb.limit() / 2);
+        assertNull(reader.readFrom(firstPart));
+        bb.position(firstPart.position());
+        return reader.readFrom(bb);
+    }
 }
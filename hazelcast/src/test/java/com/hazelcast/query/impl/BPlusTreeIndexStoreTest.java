@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BPlusTreeIndexStoreTest extends OrderedIndexStoreTest {
+
+    private static final int LARGE_SIZE = 100_000;
+
+    @Override
+    BaseSingleValueIndexStore createStore() {
+        return new BPlusTreeIndexStore(IndexCopyBehavior.COPY_ON_WRITE);
+    }
+
+    @Test
+    public void largeInsertScanRemove() {
+        BPlusTreeIndexStore store = new BPlusTreeIndexStore(IndexCopyBehavior.NEVER);
+        // descending keys to split the leaves on both ends
+        for (int i = LARGE_SIZE - 1; i >= 0; --i) {
+            assertNull(store.insertInternal(i / 10, new DummyEntry(i, i / 10)));
+        }
+
+        Set<QueryableEntry> records = store.getRecords(42);
+        assertEquals(10, records.size());
+        assertEquals(1000, store.getRecords(100, true, 200, false).size());
+
+        Iterator<IndexKeyEntries> ascending = store.getSqlRecordIteratorBatch(false);
+        for (int value = 0; value < LARGE_SIZE / 10; ++value) {
+            assertTrue(ascending.hasNext());
+            IndexKeyEntries entries = ascending.next();
+            assertEquals(value, entries.getIndexKey());
+            for (int i = 0; i < 10; ++i) {
+                // the keys of a value are ordered by their serialized form
+                assertEquals(value, (int) entries.getEntries().next().getKey() / 10);
+            }
+            assertFalse(entries.getEntries().hasNext());
+        }
+        assertFalse(ascending.hasNext());
+
+        for (int i = 0; i < LARGE_SIZE; i += 2) {
+            assertEquals(i, ((QueryableEntry) store.removeInternal(i / 10, buildCursor(i))).getKey());
+        }
+        assertNull(store.removeInternal(0, buildCursor(0)));
+        assertEquals(5, store.getRecords(42).size());
+
+        Iterator<QueryableEntry> descending = store.getSqlRecordIterator(Comparison.LESS, 100, true);
+        int previousValue = Integer.MAX_VALUE;
+        for (int i = 0; i < 500; ++i) {
+            int key = (int) descending.next().getKey();
+            assertEquals(1, key % 2);
+            assertTrue(key / 10 <= previousValue);
+            previousValue = key / 10;
+        }
+        assertFalse(descending.hasNext());
+
+        for (int i = 1; i < LARGE_SIZE; i += 2) {
+            assertEquals(i, ((QueryableEntry) store.removeInternal(i / 10, buildCursor(i))).getKey());
+        }
+        assertFalse(store.getSqlRecordIterator(false).hasNext());
+    }
+
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.impl.OrderedIndexStoreTest.DummyEntry;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.query.impl.OrderedIndexStore.DATA_COMPARATOR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Mixes concurrent inserts and removals with concurrent range scans and
+ * checks that every scan is consistent: ordered, within its range, free of
+ * duplicates and missing none of the entries which are present for the
+ * whole test.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class BPlusTreeStressTest {
+
+    private static final int KEY_COUNT = 20_000;
+    // several keys share a value, so the groups of a value span the leaves
+    private static final int KEYS_PER_VALUE = 8;
+    private static final int VALUE_COUNT = KEY_COUNT / KEYS_PER_VALUE;
+    private static final int WRITER_COUNT = 4;
+    private static final int READER_COUNT = 4;
+    private static final int OPERATIONS_PER_WRITER = 100_000;
+
+    private final BPlusTree tree = new BPlusTree();
+    private final AtomicBoolean writing = new AtomicBoolean(true);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    @Test
+    public void concurrentInsertsRemovesAndScans() throws Exception {
+        // the stable keys are inserted up front and never removed, every
+        // scan must return all of them within its range
+        for (int key = 0; key < KEY_COUNT; key++) {
+            if (isStable(key)) {
+                assertNull(tree.put(valueOf(key), new DummyEntry(key, valueOf(key))));
+            }
+        }
+
+        BitSet[] present = new BitSet[WRITER_COUNT];
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < WRITER_COUNT; i++) {
+            int writer = i;
+            present[writer] = new BitSet(KEY_COUNT);
+            threads.add(new Thread(() -> run(() -> write(writer, present[writer]))));
+        }
+        for (int i = 0; i < READER_COUNT; i++) {
+            threads.add(new Thread(() -> run(this::read)));
+        }
+
+        threads.forEach(Thread::start);
+        for (int i = 0; i < WRITER_COUNT; i++) {
+            threads.get(i).join();
+        }
+        writing.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+
+        // once quiescent, the tree must hold exactly the stable keys and the
+        // keys left present by the writers
+        Set<Integer> expected = new HashSet<>();
+        for (int key = 0; key < KEY_COUNT; key++) {
+            if (isStable(key) || present[ownerOf(key)].get(key)) {
+                expected.add(key);
+            }
+        }
+        assertEquals(expected, scan(null, true, null, true, false));
+        assertEquals(expected, scan(null, true, null, true, true));
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+            writing.set(false);
+        }
+    }
+
+    private void write(int writer, BitSet present) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < OPERATIONS_PER_WRITER && failure.get() == null; i++) {
+            // every writer owns a disjoint set of the non-stable keys, so it
+            // knows exactly which of them are present
+            int key = random.nextInt(KEY_COUNT);
+            if (isStable(key) || ownerOf(key) != writer) {
+                continue;
+            }
+            DummyEntry entry = new DummyEntry(key, valueOf(key));
+            if (present.get(key)) {
+                QueryableEntry removed = tree.remove(valueOf(key), entry.getKeyData());
+                assertEquals(key, removed.getKey());
+                present.clear(key);
+            } else {
+                assertNull(tree.put(valueOf(key), entry));
+                present.set(key);
+            }
+        }
+    }
+
+    private void read() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (writing.get()) {
+            int from = random.nextInt(VALUE_COUNT);
+            int to = from + random.nextInt(VALUE_COUNT / 10);
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+
+            Set<Integer> keys;
+            if (random.nextBoolean()) {
+                keys = scan(from, fromInclusive, to, toInclusive, random.nextBoolean());
+            } else {
+                keys = copy(from, fromInclusive, to, toInclusive);
+            }
+
+            for (int value = from; value <= to; value++) {
+                if (value == from && !fromInclusive || value == to && !toInclusive) {
+                    continue;
+                }
+                for (int key = value * KEYS_PER_VALUE; key < Math.min((value + 1) * KEYS_PER_VALUE, KEY_COUNT); key++) {
+                    if (isStable(key)) {
+                        assertTrue("Stable key " + key + " missing in the scan of [" + from + ", " + to + "]",
+                                keys.contains(key));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Scans the range with an iterator, checking the order of the entries,
+     * and returns their keys.
+     */
+    private Set<Integer> scan(Integer from, boolean fromInclusive, Integer to, boolean toInclusive, boolean descending) {
+        Set<Integer> keys = new HashSet<>();
+        Iterator<IndexKeyEntries> groups = tree.iterator(from, fromInclusive, to, toInclusive, descending, null);
+        Integer previousValue = null;
+        Data previousKey = null;
+        while (groups.hasNext()) {
+            IndexKeyEntries group = groups.next();
+            int value = (Integer) group.getIndexKey();
+            if (previousValue != null) {
+                assertTrue("Values out of order: " + previousValue + ", " + value,
+                        descending ? value < previousValue : value > previousValue);
+            }
+            assertInRange(value, from, fromInclusive, to, toInclusive);
+            previousValue = value;
+            previousKey = null;
+
+            Iterator<QueryableEntry> entries = group.getEntries();
+            assertTrue("Empty group of value " + value, entries.hasNext());
+            while (entries.hasNext()) {
+                QueryableEntry entry = entries.next();
+                int key = (Integer) entry.getKey();
+                assertEquals(value, valueOf(key));
+                if (previousKey != null) {
+                    int order = DATA_COMPARATOR.compare(previousKey, entry.getKeyData());
+                    assertTrue("Keys out of order within value " + value, descending ? order > 0 : order < 0);
+                }
+                previousKey = entry.getKeyData();
+                assertTrue("Duplicate key " + key, keys.add(key));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Copies the range like a query does and returns the copied keys.
+     */
+    private Set<Integer> copy(int from, boolean fromInclusive, int to, boolean toInclusive) {
+        Map<Data, QueryableEntry> result = new HashMap<>();
+        tree.copyEntries(from, fromInclusive, to, toInclusive, result);
+        Set<Integer> keys = new HashSet<>();
+        for (Map.Entry<Data, QueryableEntry> copied : result.entrySet()) {
+            int key = (Integer) copied.getValue().getKey();
+            assertEquals(copied.getKey(), copied.getValue().getKeyData());
+            assertInRange(valueOf(key), from, fromInclusive, to, toInclusive);
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    private static void assertInRange(int value, Integer from, boolean fromInclusive, Integer to, boolean toInclusive) {
+        if (from != null) {
+            assertFalse("Value " + value + " below " + from, fromInclusive ? value < from : value <= from);
+        }
+        if (to != null) {
+            assertFalse("Value " + value + " above " + to, toInclusive ? value > to : value >= to);
+        }
+    }
+
+    private static boolean isStable(int key) {
+        return key % 3 == 0;
+    }
+
+    private static int ownerOf(int key) {
+        return key % WRITER_COUNT;
+    }
+
+    private static int valueOf(int key) {
+        return key / KEYS_PER_VALUE;
+    }
+}
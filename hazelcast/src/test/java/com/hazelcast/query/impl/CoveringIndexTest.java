@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class CoveringIndexTest extends HazelcastTestSupport {
+
+    private static final AtomicInteger DESERIALIZATIONS = new AtomicInteger();
+
+    private IMap<Integer, Person> map;
+
+    @Before
+    public void before() {
+        String mapName = randomMapName();
+        Config config = smallInstanceConfig();
+        config.getMapConfig(mapName)
+                .setInMemoryFormat(InMemoryFormat.BINARY)
+                .addIndexConfig(new IndexConfig(IndexType.HASH, "age").addIncludedAttribute("this.name"));
+        map = createHazelcastInstance(config).getMap(mapName);
+
+        for (int i = 0; i < 100; ++i) {
+            map.put(i, new Person(i % 10, "name" + i, "city" + i));
+        }
+    }
+
+    @Test
+    public void testProjectionOfCoveredAttributesDoesNotDeserializeValues() {
+        DESERIALIZATIONS.set(0);
+
+        Collection<Object[]> result = map.project(Projections.multiAttribute("age", "name"), Predicates.equal("age", 3));
+
+        assertThat(result).extracting(row -> row[1])
+                .containsExactlyInAnyOrder("name3", "name13", "name23", "name33", "name43",
+                        "name53", "name63", "name73", "name83", "name93");
+        assertThat(result).allMatch(row -> row[0].equals(3));
+        assertEquals(0, DESERIALIZATIONS.get());
+    }
+
+    @Test
+    public void testProjectionOfCoveredAttributesAfterUpdate() {
+        map.put(3, new Person(3, "updated", "city3"));
+        map.remove(13);
+
+        Collection<String> result = map.project(Projections.singleAttribute("name"), Predicates.equal("age", 3));
+
+        assertThat(result).contains("updated").doesNotContain("name3", "name13").hasSize(9);
+    }
+
+    @Test
+    public void testProjectionOfNotCoveredAttribute() {
+        Collection<String> result = map.project(Projections.singleAttribute("city"), Predicates.equal("age", 5));
+
+        assertThat(result).hasSize(10).contains("city5", "city95");
+    }
+
+    @Test
+    public void testValuesOfCoveringIndex() {
+        Collection<Person> result = map.values(Predicates.equal("age", 7));
+
+        assertThat(result).extracting(Person::getName).hasSize(10).contains("name7", "name97");
+    }
+
+    public static class Person implements DataSerializable {
+
+        private int age;
+        private String name;
+        private String city;
+
+        public Person() {
+        }
+
+        Person(int age, String name, String city) {
+            this.age = age;
+            this.name = name;
+            this.city = city;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeInt(age);
+            out.writeString(name);
+            out.writeString(city);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            DESERIALIZATIONS.incrementAndGet();
+            age = in.readInt();
+            name = in.readString();
+            city = in.readString();
+        }
+    }
+}
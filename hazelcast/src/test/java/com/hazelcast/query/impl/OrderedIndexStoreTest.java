@@ -32,11 +32,15 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 
 public class OrderedIndexStoreTest {
-    OrderedIndexStore store = new OrderedIndexStore(IndexCopyBehavior.COPY_ON_WRITE);
+    BaseSingleValueIndexStore store = createStore();
     int size = 9;
 
     Function<Integer, Integer> keyToIndex = (Integer i) -> i % 3;
 
+    BaseSingleValueIndexStore createStore() {
+        return new OrderedIndexStore(IndexCopyBehavior.COPY_ON_WRITE);
+    }
+
     @Before
     public void setup() {
         range(0, size).forEach(i -> store.insertInternal(keyToIndex.apply(i), new DummyEntry(i, keyToIndex.apply(i))));
@@ -161,7 +165,7 @@ public class OrderedIndexStoreTest {
         performCursorTest(expectedOrder, cursor -> store.getSqlRecordIteratorBatch(Comparison.LESS_OR_EQUAL, 0, true, cursor));
     }
 
-    private Data buildCursor(int key) {
+    Data buildCursor(int key) {
         return new HeapData(ByteBuffer.allocate(8).putInt(key).array());
     }
 
@@ -188,7 +192,7 @@ public class OrderedIndexStoreTest {
         assertFalse(expectedKeyOrder.hasNext());
     }
 
-    private static class DummyEntry extends QueryEntry {
+    static class DummyEntry extends QueryEntry {
         Integer key;
         int value;
         Data keyData;
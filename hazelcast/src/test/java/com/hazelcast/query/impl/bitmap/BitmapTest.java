@@ -34,14 +34,19 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 
 import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
 import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterEqual;
+import static com.hazelcast.query.Predicates.greaterThan;
 import static com.hazelcast.query.Predicates.in;
+import static com.hazelcast.query.Predicates.lessEqual;
 import static com.hazelcast.query.Predicates.not;
 import static com.hazelcast.query.Predicates.notEqual;
 import static com.hazelcast.query.Predicates.or;
 import static com.hazelcast.query.impl.TypeConverters.INTEGER_CONVERTER;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -52,7 +57,7 @@ public class BitmapTest {
     private static final Predicate[] actualQueries;
 
     static {
-        actualQueries = new Predicate[10];
+        actualQueries = new Predicate[15];
         actualQueries[0] = notEqual("a", "0");
         actualQueries[1] = equal("a", 1L);
         actualQueries[2] = equal("a", 2);
@@ -69,12 +74,19 @@ public class BitmapTest {
         // single-predicate and/or
         actualQueries[8] = or(equal("a", 1.0D));
         actualQueries[9] = and(equal("a", 1.0F));
+
+        // ranges
+        actualQueries[10] = between("a", 2, 4L);
+        actualQueries[11] = greaterThan("a", 8);
+        actualQueries[12] = lessEqual("a", 1L);
+        actualQueries[13] = not(greaterEqual("a", 3.0D));
+        actualQueries[14] = between("a", 5, 3);
     }
 
     private final ExpectedQuery[] expectedQueries;
 
     {
-        expectedQueries = new ExpectedQuery[10];
+        expectedQueries = new ExpectedQuery[15];
         expectedQueries[0] = new ExpectedQuery(value -> !bit(0, value));
         expectedQueries[1] = new ExpectedQuery(value -> bit(1, value));
         expectedQueries[2] = new ExpectedQuery(value -> bit(2, value));
@@ -87,6 +99,11 @@ public class BitmapTest {
                 value -> !(!bit(0, value) && (bit(1, value) || bit(2, value)) && !(bit(3, value) || bit(4, value))));
         expectedQueries[8] = new ExpectedQuery(value -> bit(1, value));
         expectedQueries[9] = new ExpectedQuery(value -> bit(1, value));
+        expectedQueries[10] = new ExpectedQuery(value -> bit(2, value) || bit(3, value) || bit(4, value));
+        expectedQueries[11] = new ExpectedQuery(value -> value >>> 9 != 0);
+        expectedQueries[12] = new ExpectedQuery(value -> bit(0, value) || bit(1, value));
+        expectedQueries[13] = new ExpectedQuery(value -> value >>> 3 == 0);
+        expectedQueries[14] = new ExpectedQuery(value -> false);
     }
 
     private final Bitmap<String> bitmap = new Bitmap<>();
@@ -145,6 +162,21 @@ public class BitmapTest {
         clear();
     }
 
+    @Test
+    public void testMemoryCost() {
+        GlobalIndexOperationStats stats = new GlobalIndexOperationStats();
+        for (long i = 0; i < COUNT; ++i) {
+            bitmap.insert(values(i), i, Long.toString(i), stats);
+        }
+        assertTrue(stats.getMemoryCostDelta() > 0);
+
+        for (long i = 0; i < COUNT; ++i) {
+            bitmap.remove(values(i), i, stats);
+        }
+        assertEquals(0, stats.getMemoryCostDelta());
+        assertEquals(0, stats.getEntryCountDelta());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testUnexpectedPredicate() {
         bitmap.evaluate(Predicates.like("a", "b"), INTEGER_CONVERTER);
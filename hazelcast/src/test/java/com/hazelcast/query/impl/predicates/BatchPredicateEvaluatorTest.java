@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.predicates.BatchPredicateEvaluator.EntryBatch;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.query.impl.predicates.PredicateTestUtils.entry;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class BatchPredicateEvaluatorTest {
+
+    private static final Object[] INTEGRAL_VALUES = {0, 1, 2, 3, 7, 7L, 7.0, 7.5, 9, (short) 3, Integer.MAX_VALUE};
+    // only equality can be evaluated for values not comparable with the operands
+    private static final Object[] MIXED_VALUES = {0, 7, 7L, "7", 7.5, null};
+    private static final Object[] FLOATING_POINT_VALUES = {0.0, -0.0, 1.5, Double.NaN, 2.5f, 3.0, 3L, -1.0, 7.0};
+
+    @Test
+    public void unsupportedPredicates() {
+        assertNull(BatchPredicateEvaluator.of(Predicates.like("this", "a%")));
+        assertNull(BatchPredicateEvaluator.of(Predicates.notEqual("this", 1)));
+        assertNull(BatchPredicateEvaluator.of(Predicates.or(Predicates.equal("this", 1), Predicates.equal("this", 2))));
+        assertNull(BatchPredicateEvaluator.of(Predicates.and(Predicates.equal("this", 1), Predicates.like("this", "a%"))));
+    }
+
+    @Test
+    public void equal() {
+        assertSameAsApply(Predicates.equal("this", 7), INTEGRAL_VALUES);
+        assertSameAsApply(Predicates.equal("this", 7L), INTEGRAL_VALUES);
+        assertSameAsApply(Predicates.equal("this", 0.0), FLOATING_POINT_VALUES);
+        assertSameAsApply(Predicates.equal("this", Double.NaN), FLOATING_POINT_VALUES);
+        assertSameAsApply(Predicates.equal("this", 7), MIXED_VALUES);
+    }
+
+    @Test
+    public void greaterLess() {
+        assertSameAsApply(Predicates.greaterThan("this", 2), INTEGRAL_VALUES);
+        assertSameAsApply(Predicates.greaterEqual("this", 7), INTEGRAL_VALUES);
+        assertSameAsApply(Predicates.lessThan("this", 7.5), INTEGRAL_VALUES);
+        assertSameAsApply(Predicates.lessEqual("this", 3L), INTEGRAL_VALUES);
+        assertSameAsApply(Predicates.greaterThan("this", -0.0), FLOATING_POINT_VALUES);
+        assertSameAsApply(Predicates.lessEqual("this", 3.0), FLOATING_POINT_VALUES);
+    }
+
+    @Test
+    public void between() {
+        assertSameAsApply(Predicates.between("this", 1, 7), INTEGRAL_VALUES);
+        assertSameAsApply(Predicates.between("this", 1L, 2.5), INTEGRAL_VALUES);
+        assertSameAsApply(Predicates.between("this", -0.0, 3.0), FLOATING_POINT_VALUES);
+    }
+
+    @Test
+    public void in() {
+        assertSameAsApply(Predicates.in("this", 1, 7, 9), INTEGRAL_VALUES);
+        assertSameAsApply(Predicates.in("this", 3L, 7.5, null), INTEGRAL_VALUES);
+        assertSameAsApply(Predicates.in("this", 0.0, Double.NaN, 2.5f), FLOATING_POINT_VALUES);
+        assertSameAsApply(Predicates.in("this", 7, 7.5), MIXED_VALUES);
+    }
+
+    @Test
+    public void and() {
+        assertSameAsApply(Predicates.and(Predicates.greaterThan("this", 1), Predicates.lessThan("this", 9)),
+                INTEGRAL_VALUES);
+        assertSameAsApply(Predicates.and(Predicates.between("this", -1.0, 3.0), Predicates.in("this", 0.0, 1.5)),
+                FLOATING_POINT_VALUES);
+    }
+
+    private static void assertSameAsApply(Predicate predicate, Object[] values) {
+        QueryableEntry[] entries = new QueryableEntry[values.length];
+        boolean[] expected = new boolean[values.length];
+        for (int i = 0; i < values.length; i++) {
+            entries[i] = (QueryableEntry) entry(values[i]);
+            expected[i] = predicate.apply(entries[i]);
+        }
+
+        BatchPredicateEvaluator evaluator = BatchPredicateEvaluator.of(predicate);
+        assertNotNull(evaluator);
+        boolean[] actual = new boolean[values.length];
+        evaluator.evaluate(new EntryBatch() {
+            @Override
+            public int size() {
+                return entries.length;
+            }
+
+            @Override
+            public QueryableEntry entry(int index) {
+                return entries[index];
+            }
+        }, actual);
+        assertArrayEquals(expected, actual);
+    }
+}
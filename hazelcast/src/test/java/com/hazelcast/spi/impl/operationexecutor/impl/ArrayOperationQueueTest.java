@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.util.concurrent.BusySpinIdleStrategy;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ArrayOperationQueueTest extends HazelcastTestSupport {
+
+    @Test(expected = NullPointerException.class)
+    public void add_whenNull() {
+        newQueue(4, 2).add(null, false);
+    }
+
+    @Test
+    public void add_whenNormal() {
+        ArrayOperationQueue queue = newQueue(4, 2);
+        queue.add("task", false);
+
+        assertEquals(1, queue.normalSize());
+        assertEquals(0, queue.prioritySize());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void add_whenPriority() {
+        ArrayOperationQueue queue = newQueue(4, 2);
+        queue.add("task", true);
+
+        assertEquals(0, queue.normalSize());
+        assertEquals(1, queue.prioritySize());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void poll_whenEmpty() {
+        ArrayOperationQueue queue = newQueue(4, 2);
+
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void poll_priorityTasksFirst() {
+        ArrayOperationQueue queue = newQueue(4, 2);
+        queue.add("normal1", false);
+        queue.add("normal2", false);
+        queue.add("normal3", false);
+        queue.add("priority1", true);
+
+        assertSame("priority1", queue.poll());
+        assertSame("normal1", queue.poll());
+
+        // the priority task is taken even though normal tasks are already drained
+        queue.add("priority2", true);
+        assertSame("priority2", queue.poll());
+        assertSame("normal2", queue.poll());
+        assertSame("normal3", queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void poll_whenDrainedInBatches_thenSizeIncludesBatch() {
+        ArrayOperationQueue queue = newQueue(16, 4);
+        for (int i = 0; i < 10; i++) {
+            queue.add(i, false);
+        }
+
+        assertEquals(0, queue.poll());
+        assertEquals(9, queue.normalSize());
+    }
+
+    @Test
+    public void poll_whenOverflow_thenFifoOrder() {
+        ArrayOperationQueue queue = newQueue(4, 2);
+        int taskCount = 20;
+        for (int i = 0; i < taskCount; i++) {
+            queue.add(i, false);
+            if (i % 3 == 0) {
+                queue.poll();
+            }
+        }
+
+        int expected = (taskCount + 2) / 3;
+        Object task;
+        while ((task = queue.poll()) != null) {
+            assertEquals(expected++, task);
+        }
+        assertEquals(taskCount, expected);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void take_whenBlocked_thenWokenUpByAdd() throws Exception {
+        ArrayOperationQueue queue = new ArrayOperationQueue(4, 2, null);
+        Future<Object> future = spawn(() -> {
+            queue.setConsumerThread(Thread.currentThread());
+            return queue.take(false);
+        });
+        sleepMillis(100);
+
+        queue.add("task", false);
+
+        assertSame("task", future.get());
+    }
+
+    @Test
+    public void take_whenPriorityOnly() throws Exception {
+        ArrayOperationQueue queue = newQueue(4, 2);
+        queue.add("normal", false);
+        queue.add("priority", true);
+
+        assertSame("priority", queue.take(true));
+        assertEquals(1, queue.normalSize());
+    }
+
+    private static ArrayOperationQueue newQueue(int capacity, int batchSize) {
+        ArrayOperationQueue queue = new ArrayOperationQueue(capacity, batchSize, new BusySpinIdleStrategy());
+        queue.setConsumerThread(Thread.currentThread());
+        return queue;
+    }
+}
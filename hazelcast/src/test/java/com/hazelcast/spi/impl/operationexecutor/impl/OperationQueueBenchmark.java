@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.util.concurrent.MPSCQueue;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+/**
+ * Compares the throughput of the {@link ArrayOperationQueue} with the
+ * default {@link OperationQueueImpl} backed by an {@link MPSCQueue}, as
+ * selected by {@code hazelcast.operation.partitionthread.queue}. Several
+ * producer threads add tasks to the queue of a single consumer thread,
+ * like the I/O threads do with the queue of a partition thread. Every
+ * 100th task is a priority task.
+ * <p>
+ * The queues are created as by the {@link OperationExecutorImpl} with the
+ * default settings: the consumer blocks when the queue is empty.
+ * <p>
+ * This is no JUnit test.
+ */
+public final class OperationQueueBenchmark {
+
+    private static final int TASK_COUNT = 10_000_000;
+    private static final int[] PRODUCER_COUNTS = {1, 2, 4, 8};
+    private static final int PRIORITY_INTERVAL = 100;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int ITERATIONS = 5;
+    private static final int ARRAY_CAPACITY = 1 << 14;
+    private static final int ARRAY_BATCH_SIZE = 64;
+
+    private static final Object TASK = new Object();
+
+    private OperationQueueBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Function<Thread, OperationQueue> mpsc = consumer -> {
+            MPSCQueue<Object> normalQueue = new MPSCQueue<>(null);
+            normalQueue.setConsumerThread(consumer);
+            return new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<>());
+        };
+        Function<Thread, OperationQueue> array = consumer -> {
+            ArrayOperationQueue queue = new ArrayOperationQueue(ARRAY_CAPACITY, ARRAY_BATCH_SIZE, null);
+            queue.setConsumerThread(consumer);
+            return queue;
+        };
+
+        for (int producerCount : PRODUCER_COUNTS) {
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                run(mpsc, producerCount);
+                run(array, producerCount);
+            }
+
+            long mpscNanos = 0;
+            long arrayNanos = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                mpscNanos += run(mpsc, producerCount);
+                arrayNanos += run(array, producerCount);
+            }
+            System.out.printf("%d producers: mpsc %,d tasks/s, array %,d tasks/s%n", producerCount,
+                    throughput(mpscNanos), throughput(arrayNanos));
+        }
+    }
+
+    private static long throughput(long totalNanos) {
+        return (long) ((double) TASK_COUNT * ITERATIONS * 1_000_000_000 / totalNanos);
+    }
+
+    /**
+     * Adds {@link #TASK_COUNT} tasks to the queue from the given number of
+     * producers and returns the nanoseconds until the consumer took the
+     * last of them.
+     */
+    private static long run(Function<Thread, OperationQueue> queueFactory, int producerCount) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        Consumer consumer = new Consumer();
+        OperationQueue queue = queueFactory.apply(consumer);
+        consumer.queue = queue;
+
+        Thread[] producers = new Thread[producerCount];
+        int tasksPerProducer = TASK_COUNT / producerCount;
+        for (int i = 0; i < producerCount; i++) {
+            // the first producer adds the remainder
+            int taskCount = i == 0 ? TASK_COUNT - tasksPerProducer * (producerCount - 1) : tasksPerProducer;
+            producers[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int k = 1; k <= taskCount; k++) {
+                    queue.add(TASK, k % PRIORITY_INTERVAL == 0);
+                }
+            });
+            producers[i].start();
+        }
+
+        consumer.start();
+        long startNanos = System.nanoTime();
+        start.countDown();
+        consumer.join();
+        long elapsedNanos = System.nanoTime() - startNanos;
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        if (consumer.failure != null) {
+            throw consumer.failure;
+        }
+        return elapsedNanos;
+    }
+
+    private static final class Consumer extends Thread {
+        private OperationQueue queue;
+        private Exception failure;
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < TASK_COUNT; i++) {
+                    if (queue.take(false) != TASK) {
+                        throw new AssertionError("Unexpected task");
+                    }
+                }
+            } catch (Exception e) {
+                failure = e;
+            }
+        }
+    }
+}
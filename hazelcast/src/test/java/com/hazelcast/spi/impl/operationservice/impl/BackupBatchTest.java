@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class BackupBatchTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 2000;
+
+    @Test
+    public void testSyncBackups_whenBatched() {
+        testBackups(1, 0, 1000);
+    }
+
+    @Test
+    public void testAsyncBackups_whenBatched() {
+        testBackups(0, 1, 1000);
+    }
+
+    @Test
+    public void testSyncBackups_whenBatchedWithoutDelay() {
+        testBackups(1, 0, 0);
+    }
+
+    private void testBackups(int backupCount, int asyncBackupCount, int maxDelayMicros) {
+        String mapName = randomMapName();
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.OPERATION_BACKUP_BATCH_SIZE.getName(), "16")
+                .setProperty(ClusterProperty.OPERATION_BACKUP_BATCH_MAX_DELAY_MICROS.getName(), String.valueOf(maxDelayMicros))
+                .setProperty(ClusterProperty.PARTITION_OPERATION_THREAD_COUNT.getName(), "1");
+        config.getMapConfig(mapName).setBackupCount(backupCount).setAsyncBackupCount(asyncBackupCount);
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        warmUpPartitions(instances);
+
+        IMap<Integer, Integer> map = instances[0].getMap(mapName);
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(ENTRY_COUNT);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            CompletionStage<Integer> future = map.putAsync(i, i);
+            futures.add(future.toCompletableFuture());
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertTrueEventually(() -> {
+            long backupEntryCount = 0;
+            for (HazelcastInstance instance : instances) {
+                backupEntryCount += instance.getMap(mapName).getLocalMapStats().getBackupEntryCount();
+            }
+            assertEquals(ENTRY_COUNT, backupEntryCount);
+        });
+
+        instances[0].getLifecycleService().terminate();
+        IMap<Integer, Integer> survivor = instances[1].getMap(mapName);
+        assertEquals(ENTRY_COUNT, survivor.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i, (int) survivor.get(i));
+        }
+    }
+}